@@ -0,0 +1,47 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop;
+
+import java.lang.reflect.Method;
+
+/**
+ * A specialized type of MethodMatcher that is able to evaluate all candidate
+ * methods of a target class in one pass, sharing per-class work across the
+ * individual method checks. Used for determining whether a pointcut can apply
+ * to a given class at all, e.g. during auto-proxying.
+ *
+ * @author agent
+ * @since 2.5.1
+ * @see org.springframework.aop.support.AopUtils#canApply(Pointcut, Class, boolean)
+ */
+public interface BulkMethodMatcher extends MethodMatcher {
+
+	/**
+	 * Perform static checking whether any of the given methods matches.
+	 * Equivalent to invoking the 2-arg {@link #matches(java.lang.reflect.Method, Class)}
+	 * method (or the corresponding {@link IntroductionAwareMethodMatcher} variant)
+	 * for each of the given methods, stopping at the first match.
+	 * @param methods the candidate methods: the public methods of the target class
+	 * and of all of its interfaces
+	 * @param targetClass the target class
+	 * @param hasIntroductions <code>true</code> if the object on whose behalf we are
+	 * asking is the subject on one or more introductions; <code>false</code> otherwise
+	 * @return whether or not any of the given methods matches statically
+	 */
+	boolean matchesAny(Method[] methods, Class targetClass, boolean hasIntroductions);
+
+}
@@ -138,7 +138,11 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
 
 	private Map argumentBindings = null;
 
-	private boolean argumentsIntrospected = false;
+	/** Whether any advice arguments get bound from pointcut parameters */
+	private boolean pointcutParametersBound = false;
+
+	/** Volatile for unsynchronized checks on every advice invocation */
+	private volatile boolean argumentsIntrospected = false;
 
 	// The actual type is java.lang.reflect.Type,
 	// but for JDK 1.4 compatibility we use Object as the static type.
@@ -356,13 +360,22 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
 	 * value. We need to calculate which advice parameter needs to be bound
 	 * to which argument name. There are multiple strategies for determining
 	 * this binding, which are arranged in a ChainOfResponsibility.
+	 * <p>Only synchronizes on the first call: Once the bindings have been
+	 * calculated, this method returns immediately without locking.
 	 */
-	public synchronized final void calculateArgumentBindings() {
+	public final void calculateArgumentBindings() {
 		// The simple case... nothing to bind.
 		if (this.argumentsIntrospected || this.adviceInvocationArgumentCount == 0) {
 			return;
 		}
+		synchronized (this) {
+			if (!this.argumentsIntrospected) {
+				doCalculateArgumentBindings();
+			}
+		}
+	}
 
+	private void doCalculateArgumentBindings() {
 		int numUnboundArgs = this.adviceInvocationArgumentCount;
 		Class[] parameterTypes = this.aspectJAdviceMethod.getParameterTypes();
 		if (maybeBindJoinPoint(parameterTypes[0]) || maybeBindProceedingJoinPoint(parameterTypes[0])) {
@@ -533,6 +546,25 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
 		
 		this.pointcut.setParameterNames(pointcutParameterNames);
 		this.pointcut.setParameterTypes(pointcutParameterTypes);
+		this.pointcutParametersBound = (pointcutParameterNames.length > 0);
+	}
+
+	/**
+	 * Return whether this advice needs access to the current MethodInvocation
+	 * through {@link ExposeInvocationInterceptor} at runtime: that is, whether it
+	 * binds the current JoinPoint (or its static part) without receiving it from
+	 * the MethodInvocation directly, or whether it binds pointcut parameters
+	 * (which get resolved by dynamic matching against the current invocation).
+	 * <p>Note that this does not cover advice methods that call
+	 * {@link #currentJoinPoint()} themselves.
+	 * @since 2.5.1
+	 * @see org.springframework.aop.aspectj.autoproxy.AspectJAwareAdvisorAutoProxyCreator#setAlwaysExposeInvocation
+	 */
+	public boolean isInvocationExposureRequired() {
+		calculateArgumentBindings();
+		return (this.pointcutParametersBound ||
+				(!supportsProceedingJoinPoint() &&
+						(this.joinPointArgumentIndex != -1 || this.joinPointStaticPartArgumentIndex != -1)));
 	}
 
 	/**
@@ -606,7 +638,13 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
 	 * @throws Throwable in case of invocation failure
 	 */
 	protected Object invokeAdviceMethod(JoinPointMatch jpMatch, Object returnValue, Throwable ex) throws Throwable {
-		return invokeAdviceMethodWithGivenArgs(argBinding(getJoinPoint(), jpMatch, returnValue, ex));
+		calculateArgumentBindings();
+		// Only create the JoinPoint (requiring the exposed invocation) if actually bound.
+		JoinPoint jp = null;
+		if (this.joinPointArgumentIndex != -1 || this.joinPointStaticPartArgumentIndex != -1) {
+			jp = getJoinPoint();
+		}
+		return invokeAdviceMethodWithGivenArgs(argBinding(jp, jpMatch, returnValue, ex));
 	}
 
 	// As above, but in this case we are given the join point.
@@ -645,8 +683,14 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
 
 	/**
 	 * Get the current join point match at the join point we are being dispatched on.
+	 * @return the current join point match, or <code>null</code> if this advice
+	 * does not bind any pointcut parameters (not requiring a join point match)
 	 */
 	protected JoinPointMatch getJoinPointMatch() {
+		calculateArgumentBindings();
+		if (!this.pointcutParametersBound) {
+			return null;
+		}
 		MethodInvocation mi = ExposeInvocationInterceptor.currentInvocation();
 		if (!(mi instanceof ProxyMethodInvocation)) {
 			throw new IllegalStateException("MethodInvocation is not a Spring ProxyMethodInvocation: " + mi);
@@ -17,7 +17,6 @@
 package org.springframework.aop.aspectj;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -39,6 +38,7 @@ import org.aspectj.weaver.tools.PointcutParser;
 import org.aspectj.weaver.tools.PointcutPrimitive;
 import org.aspectj.weaver.tools.ShadowMatch;
 
+import org.springframework.aop.BulkMethodMatcher;
 import org.springframework.aop.ClassFilter;
 import org.springframework.aop.IntroductionAwareMethodMatcher;
 import org.springframework.aop.MethodMatcher;
@@ -48,6 +48,7 @@ import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
 import org.springframework.aop.support.AbstractExpressionPointcut;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.core.CollectionFactory;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
@@ -69,7 +70,7 @@ import org.springframework.util.StringUtils;
  * @since 2.0
  */
 public class AspectJExpressionPointcut extends AbstractExpressionPointcut
-		implements ClassFilter, IntroductionAwareMethodMatcher {
+		implements ClassFilter, IntroductionAwareMethodMatcher, BulkMethodMatcher {
 
 	private static final Set DEFAULT_SUPPORTED_PRIMITIVES = new HashSet();
 
@@ -89,7 +90,7 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 
 	private static final Log logger = LogFactory.getLog(AspectJExpressionPointcut.class);
 
-	private final Map shadowMapCache = new HashMap();
+	private final Map shadowMapCache = CollectionFactory.createConcurrentMapIfPossible(32);
 
 	private PointcutParser pointcutParser;
 
@@ -234,6 +235,34 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 	public boolean matches(Method method, Class targetClass, boolean beanHasIntroductions) {
 		checkReadyToMatch();
 		Method targetMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+		return matchesTargetMethod(targetMethod, method, targetClass, beanHasIntroductions);
+	}
+
+	/**
+	 * This implementation evaluates each distinct target method only once:
+	 * Interface methods get resolved to their implementation in the target class,
+	 * which is usually among the given candidate methods already.
+	 */
+	public boolean matchesAny(Method[] methods, Class targetClass, boolean hasIntroductions) {
+		checkReadyToMatch();
+		Set checkedMethods = new HashSet(methods.length);
+		for (int i = 0; i < methods.length; i++) {
+			Method method = methods[i];
+			// Public methods of the target class and its superclasses do not need
+			// to be looked up on the target class again: only resolve bridge methods.
+			Method targetMethod = (method.getDeclaringClass().isInterface() ?
+					AopUtils.getMostSpecificMethod(method, targetClass) : AopUtils.getMostSpecificMethod(method, null));
+			if (checkedMethods.add(targetMethod) &&
+					matchesTargetMethod(targetMethod, method, targetClass, hasIntroductions)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean matchesTargetMethod(
+			Method targetMethod, Method method, Class targetClass, boolean beanHasIntroductions) {
+
 		ShadowMatch shadowMatch = null;
 		try {
 			shadowMatch = getShadowMatch(targetMethod, method);
@@ -355,8 +384,15 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 	}
 
 	private ShadowMatch getShadowMatch(Method targetMethod, Method originalMethod) {
+		// Quick check on the concurrent map, without locking.
+		ShadowMatch shadowMatch = (ShadowMatch) this.shadowMapCache.get(targetMethod);
+		if (shadowMatch != null) {
+			return shadowMatch;
+		}
+		// Not cached yet: evaluate the pointcut expression under the lock,
+		// since the underlying AspectJ world is not designed for concurrent use.
 		synchronized (this.shadowMapCache) {
-			ShadowMatch shadowMatch = (ShadowMatch) this.shadowMapCache.get(targetMethod);
+			shadowMatch = (ShadowMatch) this.shadowMapCache.get(targetMethod);
 			if (shadowMatch == null) {
 				try {
 					shadowMatch = this.pointcutExpression.matchesMethodExecution(targetMethod);
@@ -19,6 +19,8 @@ package org.springframework.aop.aspectj;
 import java.util.Iterator;
 import java.util.List;
 
+import org.aopalliance.aop.Advice;
+
 import org.springframework.aop.Advisor;
 import org.springframework.aop.PointcutAdvisor;
 import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
@@ -60,6 +62,45 @@ public abstract class AspectJProxyUtils {
 		return false;
 	}
 
+	/**
+	 * Determine whether any of the given advisors needs the current invocation
+	 * to be exposed through {@link ExposeInvocationInterceptor} at runtime:
+	 * AspectJ advisors with a pointcut that requires dynamic matching, and
+	 * AspectJ advice that binds the JoinPoint or pointcut parameters.
+	 * <p>Advisors with lazily instantiated advice that has not been instantiated
+	 * yet are conservatively considered as requiring the exposed invocation.
+	 * @param advisors Advisors available
+	 * @return <code>true</code> if the invocation needs to be exposed
+	 * @since 2.5.1
+	 * @see #makeAdvisorChainAspectJCapableIfNecessary
+	 * @see AbstractAspectJAdvice#isInvocationExposureRequired()
+	 */
+	public static boolean isInvocationExposureRequired(List advisors) {
+		for (Iterator it = advisors.iterator(); it.hasNext();) {
+			Advisor advisor = (Advisor) it.next();
+			if (!isAspectJAdvice(advisor)) {
+				continue;
+			}
+			if (advisor instanceof InstantiationModelAwarePointcutAdvisor) {
+				InstantiationModelAwarePointcutAdvisor imapa = (InstantiationModelAwarePointcutAdvisor) advisor;
+				if (imapa.isLazy() && !imapa.isAdviceInstantiated()) {
+					// Don't instantiate a non-singleton aspect just for this check.
+					return true;
+				}
+			}
+			if (advisor instanceof PointcutAdvisor &&
+					((PointcutAdvisor) advisor).getPointcut().getMethodMatcher().isRuntime()) {
+				return true;
+			}
+			Advice advice = advisor.getAdvice();
+			if (advice instanceof AbstractAspectJAdvice &&
+					((AbstractAspectJAdvice) advice).isInvocationExposureRequired()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Determine whether the given Advisor contains an AspectJ advice.
 	 * @param advisor the Advisor to check
@@ -49,6 +49,37 @@ public class AspectJAwareAdvisorAutoProxyCreator extends AbstractAdvisorAutoProx
 	private static final Comparator DEFAULT_PRECEDENCE_COMPARATOR = new AspectJPrecedenceComparator();
 
 
+	private boolean alwaysExposeInvocation = false;
+
+
+	/**
+	 * Set whether to always expose the current MethodInvocation (through an
+	 * {@link ExposeInvocationInterceptor} at the beginning of the advice chain)
+	 * for proxies with AspectJ advisors.
+	 * <p>Default is "false", exposing the invocation only if any of the applicable
+	 * advisors actually needs it: that is, for AspectJ pointcuts that require
+	 * dynamic matching and for AspectJ advice that binds the JoinPoint or pointcut
+	 * parameters. This saves thread-local operations on each proxy invocation.
+	 * <p>Switch this flag to "true" if application code accesses the current
+	 * invocation or join point directly, e.g. through
+	 * {@link ExposeInvocationInterceptor#currentInvocation()} or
+	 * {@link AbstractAspectJAdvice#currentJoinPoint()}.
+	 * @since 2.5.1
+	 */
+	public void setAlwaysExposeInvocation(boolean alwaysExposeInvocation) {
+		this.alwaysExposeInvocation = alwaysExposeInvocation;
+	}
+
+	/**
+	 * Return whether to always expose the current MethodInvocation
+	 * for proxies with AspectJ advisors.
+	 * @since 2.5.1
+	 */
+	public boolean isAlwaysExposeInvocation() {
+		return this.alwaysExposeInvocation;
+	}
+
+
 	/**
 	 * Sort the rest by AspectJ precedence. If two pieces of advice have
 	 * come from the same aspect they will have the same order.
@@ -94,10 +125,15 @@ public class AspectJAwareAdvisorAutoProxyCreator extends AbstractAdvisorAutoProx
 	/**
 	 * Adds an {@link ExposeInvocationInterceptor} to the beginning of the advice chain.
 	 * These additional advices are needed when using AspectJ expression pointcuts
-	 * and when using AspectJ-style advice.
+	 * with dynamic matching and when using AspectJ-style advice that binds the
+	 * JoinPoint or pointcut parameters (or always, if demanded).
+	 * @see #setAlwaysExposeInvocation
+	 * @see AspectJProxyUtils#isInvocationExposureRequired
 	 */
 	protected void extendAdvisors(List candidateAdvisors) {
-		AspectJProxyUtils.makeAdvisorChainAspectJCapableIfNecessary(candidateAdvisors);
+		if (this.alwaysExposeInvocation || AspectJProxyUtils.isInvocationExposureRequired(candidateAdvisors)) {
+			AspectJProxyUtils.makeAdvisorChainAspectJCapableIfNecessary(candidateAdvisors);
+		}
 	}
 
 	protected boolean shouldSkip(Class beanClass, String beanName) {
@@ -159,9 +159,20 @@ public abstract class AbstractSingletonProxyFactoryBean extends ProxyConfig
 			proxyFactory.setInterfaces(ClassUtils.getAllInterfacesForClass(targetSource.getTargetClass()));
 		}
 
+		postProcessProxyFactory(proxyFactory);
+
 		this.proxy = getProxy(proxyFactory);
 	}
 
+	/**
+	 * Template method for post-processing the fully configured ProxyFactory
+	 * right before the proxy gets created.
+	 * <p>The default implementation is empty.
+	 * @param proxyFactory the ProxyFactory that is about to create the proxy
+	 */
+	protected void postProcessProxyFactory(ProxyFactory proxyFactory) {
+	}
+
 	/**
 	 * Determine a TargetSource for the given target (or TargetSource).
 	 * @param target target. If this is an implementation of TargetSource it is
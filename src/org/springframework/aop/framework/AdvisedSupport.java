@@ -19,11 +19,14 @@ package org.springframework.aop.framework;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.aopalliance.aop.Advice;
 
@@ -69,6 +72,9 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 	 */
 	public static final TargetSource EMPTY_TARGET_SOURCE = EmptyTargetSource.INSTANCE;
 
+	/** Marker for methods whose advice chain cannot be compiled */
+	private static final Object NOT_COMPILABLE = new Object();
+
 
 	/** Package-protected to allow direct access for efficiency */
 	TargetSource targetSource = EMPTY_TARGET_SOURCE;
@@ -82,6 +88,12 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 	/** Cache with Method as key and advisor chain List as value */
 	private transient Map methodCache;
 
+	/** Cache with Method as key and CompiledAdviceChain (or marker) as value */
+	private transient Map compiledChainCache;
+
+	/** Advisor chains precomputed for all proxied methods of a frozen configuration */
+	private transient volatile AdvisorChainTable advisorChainTable;
+
 	/**
 	 * Interfaces to be implemented by the proxy. Held in List to keep the order
 	 * of registration, to create JDK proxy with specified order of interfaces.
@@ -122,6 +134,7 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 	 */
 	private void initMethodCache() {
 		this.methodCache = CollectionFactory.createConcurrentMapIfPossible(32);
+		this.compiledChainCache = CollectionFactory.createConcurrentMapIfPossible(32);
 	}
 
 
@@ -459,6 +472,13 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 	 * @return List of MethodInterceptors (may also include InterceptorAndDynamicMethodMatchers)
 	 */
 	public List getInterceptorsAndDynamicInterceptionAdvice(Method method, Class targetClass) {
+		AdvisorChainTable table = this.advisorChainTable;
+		if (table != null && table.targetClass == targetClass) {
+			int index = table.indexOf(method);
+			if (index >= 0) {
+				return table.chains[index];
+			}
+		}
 		MethodCacheKey cacheKey = new MethodCacheKey(method);
 		List cached = (List) this.methodCache.get(cacheKey);
 		if (cached == null) {
@@ -469,13 +489,136 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 		return cached;
 	}
 
+	/**
+	 * Determine a compiled advice chain for the given method, if applicable.
+	 * <p>Only available for {@link #isFrozen() frozen} configurations with
+	 * the {@link #isCompileAdviceChains() "compileAdviceChains"} flag set,
+	 * and only for advice chains without dynamic method matchers.
+	 * @param method the proxied method
+	 * @param targetClass the target class
+	 * @return the compiled advice chain, or <code>null</code> if the
+	 * generic advice chain needs to be used for the given method
+	 * @see #getInterceptorsAndDynamicInterceptionAdvice
+	 */
+	CompiledAdviceChain getCompiledAdviceChain(Method method, Class targetClass) {
+		if (!isFrozen() || !isCompileAdviceChains()) {
+			return null;
+		}
+		Object cached = null;
+		AdvisorChainTable table = this.advisorChainTable;
+		int index = -1;
+		if (table != null && table.targetClass == targetClass) {
+			index = table.indexOf(method);
+			if (index >= 0) {
+				cached = table.compiledChains[index];
+				if (cached == null) {
+					cached = compileAdviceChain(method, targetClass, table.chains[index]);
+					table.compiledChains[index] = cached;
+				}
+			}
+		}
+		if (index < 0) {
+			MethodCacheKey cacheKey = new MethodCacheKey(method);
+			cached = this.compiledChainCache.get(cacheKey);
+			if (cached == null) {
+				List chain = getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+				cached = compileAdviceChain(method, targetClass, chain);
+				this.compiledChainCache.put(cacheKey, cached);
+			}
+		}
+		if (cached == NOT_COMPILABLE) {
+			return null;
+		}
+		CompiledAdviceChain compiledChain = (CompiledAdviceChain) cached;
+		return (compiledChain.isApplicableTo(targetClass) ? compiledChain : null);
+	}
+
+	private Object compileAdviceChain(Method method, Class targetClass, List chain) {
+		CompiledAdviceChain compiledChain = CompiledAdviceChain.compile(method, targetClass, chain);
+		return (compiledChain != null ? (Object) compiledChain : NOT_COMPILABLE);
+	}
+
+	/**
+	 * Precompute the advisor chains for all methods that a proxy for this
+	 * configuration may receive: the methods of the proxied interfaces
+	 * and the public methods of the target class.
+	 * <p>Only applies to {@link #isFrozen() frozen} configurations, since their
+	 * advice cannot change anymore. Subsequent lookups for the same target class
+	 * are then served from an array-backed table, without any per-call allocation.
+	 * Does nothing if the chains have already been precomputed for the current
+	 * target class.
+	 * @see #getInterceptorsAndDynamicInterceptionAdvice
+	 */
+	void precomputeAdvisorChains() {
+		if (!isFrozen()) {
+			return;
+		}
+		Class targetClass = getTargetClass();
+		AdvisorChainTable table = this.advisorChainTable;
+		if (table != null && table.targetClass == targetClass) {
+			return;
+		}
+		Set methods = new LinkedHashSet();
+		for (Iterator it = this.interfaces.iterator(); it.hasNext();) {
+			addProxiableMethods(((Class) it.next()).getMethods(), methods);
+		}
+		if (targetClass != null) {
+			addProxiableMethods(targetClass.getMethods(), methods);
+		}
+		table = new AdvisorChainTable(targetClass, methods.size());
+		for (Iterator it = methods.iterator(); it.hasNext();) {
+			Method method = (Method) it.next();
+			List chain = this.advisorChainFactory.getInterceptorsAndDynamicInterceptionAdvice(
+					this, method, targetClass);
+			int index = table.add(method, chain);
+			if (isCompileAdviceChains()) {
+				table.compiledChains[index] = compileAdviceChain(method, targetClass, chain);
+			}
+		}
+		this.advisorChainTable = table;
+	}
+
+	private void addProxiableMethods(Method[] candidates, Set methods) {
+		for (int i = 0; i < candidates.length; i++) {
+			int modifiers = candidates[i].getModifiers();
+			if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers)) {
+				methods.add(candidates[i]);
+			}
+		}
+	}
+
+	/**
+	 * Return the number of methods whose advisor chains have been precomputed
+	 * for this (frozen) configuration.
+	 * @return the number of precomputed methods, or -1 if the advisor chains
+	 * have not been precomputed (e.g. because this configuration is not frozen)
+	 * @see #isFrozen()
+	 */
+	public int getPrecomputedMethodCount() {
+		AdvisorChainTable table = this.advisorChainTable;
+		return (table != null ? table.size : -1);
+	}
+
+	/**
+	 * Return the number of precomputed methods without any applicable advice.
+	 * Proxies dispatch calls to such methods straight to the target,
+	 * so a high count may indicate that a narrower proxy would do.
+	 * @return the number of unadvised methods, or -1 if the advisor chains
+	 * have not been precomputed (e.g. because this configuration is not frozen)
+	 * @see #getPrecomputedMethodCount()
+	 */
+	public int getUnadvisedMethodCount() {
+		AdvisorChainTable table = this.advisorChainTable;
+		return (table != null ? table.emptyChainCount : -1);
+	}
+
 	/**
 	 * Invoked when advice has changed.
 	 */
 	protected void adviceChanged() {
-		synchronized (this.methodCache) {
-			this.methodCache.clear();
-		}
+		this.advisorChainTable = null;
+		this.methodCache.clear();
+		this.compiledChainCache.clear();
 	}
 
 	/**
@@ -587,4 +730,71 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 		}
 	}
 
+
+	/**
+	 * Open-addressing hash table from Method to advisor chain, built once for
+	 * a frozen configuration. Lookups compare by identity first, falling back
+	 * to <code>Method.equals</code> for the distinct (but equal) Method instances
+	 * that JDK and CGLIB proxies pass in.
+	 */
+	private static class AdvisorChainTable {
+
+		public final Class targetClass;
+
+		public final List[] chains;
+
+		public final Object[] compiledChains;
+
+		public int size;
+
+		public int emptyChainCount;
+
+		private final Method[] methods;
+
+		private final int mask;
+
+		public AdvisorChainTable(Class targetClass, int expectedSize) {
+			int capacity = 2;
+			while (capacity < expectedSize * 2) {
+				capacity <<= 1;
+			}
+			this.targetClass = targetClass;
+			this.methods = new Method[capacity];
+			this.chains = new List[capacity];
+			this.compiledChains = new Object[capacity];
+			this.mask = capacity - 1;
+		}
+
+		public int add(Method method, List chain) {
+			int index = spread(method.hashCode()) & this.mask;
+			while (this.methods[index] != null) {
+				index = (index + 1) & this.mask;
+			}
+			this.methods[index] = method;
+			this.chains[index] = chain;
+			this.size++;
+			if (chain.isEmpty()) {
+				this.emptyChainCount++;
+			}
+			return index;
+		}
+
+		public int indexOf(Method method) {
+			int index = spread(method.hashCode()) & this.mask;
+			Method candidate = this.methods[index];
+			while (candidate != null) {
+				if (candidate == method || candidate.equals(method)) {
+					return index;
+				}
+				index = (index + 1) & this.mask;
+				candidate = this.methods[index];
+			}
+			return -1;
+		}
+
+		private static int spread(int hashCode) {
+			return hashCode ^ (hashCode >>> 16);
+		}
+	}
+
 }
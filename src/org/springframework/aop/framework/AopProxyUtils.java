@@ -21,6 +21,7 @@ import java.util.Arrays;
 import org.springframework.aop.SpringProxy;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 
 /**
  * Utility methods for AOP proxy factories.
@@ -35,6 +36,11 @@ import org.springframework.util.Assert;
  */
 public abstract class AopProxyUtils {
 
+	/** Whether the CGLIB2 library is present on the classpath */
+	private static final boolean cglibAvailable =
+			ClassUtils.isPresent("net.sf.cglib.proxy.Enhancer", AopProxyUtils.class.getClassLoader());
+
+
 	/**
 	 * Determine the target class of the given bean instance,
 	 * which might be an AOP proxy.
@@ -140,4 +146,19 @@ public abstract class AopProxyUtils {
 		return Arrays.equals(a.getAdvisors(), b.getAdvisors());
 	}
 
+	/**
+	 * Clear the shared cache of CGLIB proxy classes for the given ClassLoader,
+	 * removing the proxy classes for that ClassLoader and all of its children.
+	 * <p>To be called on shutdown of an application that created CGLIB proxies
+	 * while the Spring AOP framework resides in a shared ClassLoader.
+	 * @param classLoader the ClassLoader to clear the cache for
+	 * @since 2.5.1
+	 * @see org.springframework.web.util.IntrospectorCleanupListener
+	 */
+	public static void clearProxyClassCache(ClassLoader classLoader) {
+		if (cglibAvailable) {
+			Cglib2AopProxy.clearClassLoader(classLoader);
+		}
+	}
+
 }
@@ -17,15 +17,19 @@
 package org.springframework.aop.framework;
 
 import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
 
 import net.sf.cglib.core.CodeGenerationException;
+import net.sf.cglib.core.ReflectUtils;
 import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.CallbackFilter;
 import net.sf.cglib.proxy.Dispatcher;
@@ -45,8 +49,10 @@ import org.springframework.aop.PointcutAdvisor;
 import org.springframework.aop.RawTargetAccess;
 import org.springframework.aop.TargetSource;
 import org.springframework.aop.support.AopUtils;
+import org.springframework.core.CollectionFactory;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.StripedCounter;
 
 /**
  * CGLIB2-based {@link AopProxy} implementation for the Spring AOP framework.
@@ -91,6 +97,18 @@ final class Cglib2AopProxy implements AopProxy, Serializable {
 	/** Keeps track of the Classes that we have validated for final methods */
 	private static final Map validatedClasses = new WeakHashMap();
 
+	/**
+	 * Cache of generated proxy classes, shared across all proxy instances:
+	 * ClassLoader --> Map of ProxyClassKey --> Reference to proxy Class
+	 */
+	private static final Map proxyClassCache = new WeakHashMap();
+
+	private static final StripedCounter proxyClassCacheHits = new StripedCounter();
+
+	private static int generatedProxyClassCount = 0;
+
+	private static long proxyClassGenerationTime = 0;
+
 
 	/** The configuration used to configure this proxy */
 	protected final AdvisedSupport advised;
@@ -172,15 +190,18 @@ final class Cglib2AopProxy implements AopProxy, Serializable {
 			// Validate the class, writing log messages as necessary.
 			validateClassIfNecessary(proxySuperClass);
 
+			Class[] proxyInterfaces = AopProxyUtils.completeProxiedInterfaces(this.advised);
 			enhancer.setSuperclass(proxySuperClass);
 			enhancer.setStrategy(new UndeclaredThrowableStrategy(UndeclaredThrowableException.class));
-			enhancer.setInterfaces(AopProxyUtils.completeProxiedInterfaces(this.advised));
+			enhancer.setInterfaces(proxyInterfaces);
 			enhancer.setInterceptDuringConstruction(false);
+			// We cache generated proxy classes ourselves: see getProxyClass.
+			enhancer.setUseCache(false);
 
 			Callback[] callbacks = getCallbacks(rootClass);
-			enhancer.setCallbacks(callbacks);
-			enhancer.setCallbackFilter(new ProxyCallbackFilter(
-					this.advised.getConfigurationOnlyCopy(), this.fixedInterceptorMap, this.fixedInterceptorOffset));
+			ProxyCallbackFilter callbackFilter = new ProxyCallbackFilter(
+					this.advised.getConfigurationOnlyCopy(), this.fixedInterceptorMap, this.fixedInterceptorOffset);
+			enhancer.setCallbackFilter(callbackFilter);
 
 			Class[] types = new Class[callbacks.length];
 			for (int x = 0; x < types.length; x++) {
@@ -188,16 +209,23 @@ final class Cglib2AopProxy implements AopProxy, Serializable {
 			}
 			enhancer.setCallbackTypes(types);
 
-			// Generate the proxy class and create a proxy instance.
-			Object proxy;
-			if (this.constructorArgs != null) {
-				proxy = enhancer.create(this.constructorArgTypes, this.constructorArgs);
+			// Obtain the (potentially shared) proxy class and create a proxy instance.
+			ClassLoader proxyClassLoader = (classLoader != null ? classLoader : proxySuperClass.getClassLoader());
+			ProxyClassKey key = new ProxyClassKey(proxySuperClass, proxyInterfaces, types, callbackFilter);
+			Class proxyClass = getProxyClass(enhancer, proxyClassLoader, key);
+			Enhancer.registerCallbacks(proxyClass, callbacks);
+			try {
+				if (this.constructorArgs != null) {
+					return ReflectUtils.newInstance(proxyClass, this.constructorArgTypes, this.constructorArgs);
+				}
+				else {
+					return ReflectUtils.newInstance(proxyClass);
+				}
 			}
-			else {
-				proxy = enhancer.create();
+			finally {
+				// Do not keep the callbacks bound to the current thread.
+				Enhancer.registerCallbacks(proxyClass, null);
 			}
-
-			return proxy;
 		}
 		catch (CodeGenerationException ex) {
 			throw new AopConfigException("Could not generate CGLIB subclass of class [" +
@@ -217,6 +245,143 @@ final class Cglib2AopProxy implements AopProxy, Serializable {
 		}
 	}
 
+	/**
+	 * Obtain the proxy class for the given key, reusing a previously generated
+	 * class for the same ClassLoader if possible.
+	 * @param enhancer the fully configured Enhancer to generate a class with
+	 * @param classLoader the ClassLoader to define the proxy class in
+	 * @param key the key that identifies the proxy class
+	 * @return the proxy class
+	 */
+	private static Class getProxyClass(Enhancer enhancer, ClassLoader classLoader, ProxyClassKey key) {
+		Map classesForLoader = null;
+		synchronized (proxyClassCache) {
+			classesForLoader = (Map) proxyClassCache.get(classLoader);
+			if (classesForLoader == null) {
+				classesForLoader = CollectionFactory.createConcurrentMapIfPossible(16);
+				proxyClassCache.put(classLoader, classesForLoader);
+			}
+		}
+		Class proxyClass = getCachedProxyClass(classesForLoader, key);
+		if (proxyClass != null) {
+			proxyClassCacheHits.increment();
+			return proxyClass;
+		}
+		synchronized (classesForLoader) {
+			// Another thread might have generated the class in the meantime.
+			proxyClass = getCachedProxyClass(classesForLoader, key);
+			if (proxyClass != null) {
+				proxyClassCacheHits.increment();
+				return proxyClass;
+			}
+			long startTime = System.currentTimeMillis();
+			proxyClass = enhancer.createClass();
+			synchronized (proxyClassCache) {
+				generatedProxyClassCount++;
+				proxyClassGenerationTime += System.currentTimeMillis() - startTime;
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Generated CGLIB proxy class [" + proxyClass.getName() + "]");
+			}
+			// Remove entries for proxy classes or key classes that have been garbage-collected.
+			for (Iterator it = classesForLoader.entrySet().iterator(); it.hasNext();) {
+				Map.Entry entry = (Map.Entry) it.next();
+				if (((Reference) entry.getValue()).get() == null || ((ProxyClassKey) entry.getKey()).isStale()) {
+					it.remove();
+				}
+			}
+			// Only hold a weak reference: The proxy class references its ClassLoader.
+			classesForLoader.put(key, new WeakReference(proxyClass));
+			return proxyClass;
+		}
+	}
+
+	private static Class getCachedProxyClass(Map classesForLoader, ProxyClassKey key) {
+		Reference ref = (Reference) classesForLoader.get(key);
+		return (ref != null ? (Class) ref.get() : null);
+	}
+
+	/**
+	 * Return the number of proxy classes generated so far.
+	 */
+	static int getGeneratedProxyClassCount() {
+		synchronized (proxyClassCache) {
+			return generatedProxyClassCount;
+		}
+	}
+
+	/**
+	 * Return the total time spent in proxy class generation so far, in milliseconds.
+	 */
+	static long getProxyClassGenerationTime() {
+		synchronized (proxyClassCache) {
+			return proxyClassGenerationTime;
+		}
+	}
+
+	/**
+	 * Return the number of proxy instances created for an already generated proxy class.
+	 */
+	static long getProxyClassCacheHits() {
+		return proxyClassCacheHits.get();
+	}
+
+	/**
+	 * Clear the proxy class cache for the given ClassLoader, removing the
+	 * cached proxy classes for that ClassLoader and all of its children.
+	 * <p>Releases the callback filters held for those proxy classes, which
+	 * refer to the advice of the proxies that they have been created for.
+	 * @param classLoader the ClassLoader to clear the cache for
+	 */
+	static void clearClassLoader(ClassLoader classLoader) {
+		if (classLoader == null) {
+			return;
+		}
+		synchronized (proxyClassCache) {
+			for (Iterator it = proxyClassCache.keySet().iterator(); it.hasNext();) {
+				ClassLoader segmentLoader = (ClassLoader) it.next();
+				if (isUnderneathClassLoader(segmentLoader, classLoader)) {
+					it.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Check whether the given ClassLoader is underneath the given parent,
+	 * that is, whether the parent is within the candidate's hierarchy.
+	 * @param candidate the candidate ClassLoader to check
+	 * @param parent the parent ClassLoader to check for
+	 */
+	private static boolean isUnderneathClassLoader(ClassLoader candidate, ClassLoader parent) {
+		ClassLoader classLoaderToCheck = candidate;
+		while (classLoaderToCheck != null) {
+			if (classLoaderToCheck == parent) {
+				return true;
+			}
+			classLoaderToCheck = classLoaderToCheck.getParent();
+		}
+		return false;
+	}
+
+	/**
+	 * Return the number of proxy classes currently held in the cache.
+	 */
+	static int getCachedProxyClassCount() {
+		int count = 0;
+		synchronized (proxyClassCache) {
+			for (Iterator it = proxyClassCache.values().iterator(); it.hasNext();) {
+				Map classesForLoader = (Map) it.next();
+				for (Iterator it2 = classesForLoader.values().iterator(); it2.hasNext();) {
+					if (((Reference) it2.next()).get() != null) {
+						count++;
+					}
+				}
+			}
+		}
+		return count;
+	}
+
 	/**
 	 * Creates the CGLIB {@link Enhancer}. Subclasses may wish to override this to return a custom
 	 * {@link Enhancer} implementation.
@@ -307,8 +472,11 @@ final class Cglib2AopProxy implements AopProxy, Serializable {
 			// methods with no advice)
 			for (int x = 0; x < methods.length; x++) {
 				List chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(methods[x], rootClass);
+				Object target = this.advised.getTargetSource().getTarget();
+				CompiledAdviceChain compiledChain = this.advised.getCompiledAdviceChain(
+						methods[x], (target != null ? target.getClass() : null));
 				fixedCallbacks[x] = new FixedChainStaticTargetInterceptor(
-						chain, this.advised.getTargetSource().getTarget(), this.advised.getTargetClass());
+						chain, compiledChain, target, this.advised.getTargetClass());
 				this.fixedInterceptorMap.put(methods[x].toString(), new Integer(x));
 			}
 
@@ -560,20 +728,27 @@ final class Cglib2AopProxy implements AopProxy, Serializable {
 
 		private final List adviceChain;
 
+		private final transient CompiledAdviceChain compiledChain;
+
 		private final Object target;
 
 		private final Class targetClass;
 
-		public FixedChainStaticTargetInterceptor(List adviceChain, Object target, Class targetClass) {
+		public FixedChainStaticTargetInterceptor(
+				List adviceChain, CompiledAdviceChain compiledChain, Object target, Class targetClass) {
+
 			this.adviceChain = adviceChain;
+			this.compiledChain = compiledChain;
 			this.target = target;
 			this.targetClass = targetClass;
 		}
 
 		public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
 			Object retVal = null;
-			MethodInvocation invocation = new CglibMethodInvocation(proxy, this.target, method, args,
-					this.targetClass, this.adviceChain, methodProxy);
+			MethodInvocation invocation = (this.compiledChain != null ?
+					this.compiledChain.createInvocation(proxy, this.target, method, args) :
+					new CglibMethodInvocation(proxy, this.target, method, args,
+							this.targetClass, this.adviceChain, methodProxy));
 			// If we get here, we need to create a MethodInvocation.
 			retVal = invocation.proceed();
 			retVal = massageReturnTypeIfNecessary(proxy, this.target, method, retVal);
@@ -613,10 +788,17 @@ final class Cglib2AopProxy implements AopProxy, Serializable {
 				if (target != null) {
 					targetClass = target.getClass();
 				}
-				List chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+				CompiledAdviceChain compiledChain = this.advised.getCompiledAdviceChain(method, targetClass);
+				List chain = (compiledChain == null ?
+						this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass) : null);
+				if (compiledChain != null) {
+					// Frozen configuration: proceed through the precompiled chain.
+					invocation = compiledChain.createInvocation(proxy, target, method, args);
+					retVal = invocation.proceed();
+				}
 				// Check whether we only have one InvokerInterceptor: that is,
 				// no real advice, but just reflective invocation of the target.
-				if (chain.isEmpty() && Modifier.isPublic(method.getModifiers())) {
+				else if (chain.isEmpty() && Modifier.isPublic(method.getModifiers())) {
 					// We can skip creating a MethodInvocation: just invoke the target directly.
 					// Note that the final invoker must be an InvokerInterceptor, so we know
 					// it does nothing but a reflective operation on the target, and no hot
@@ -699,6 +881,81 @@ final class Cglib2AopProxy implements AopProxy, Serializable {
 	}
 
 
+	/**
+	 * Key for a generated proxy class: superclass, interfaces,
+	 * callback types and callback filter.
+	 * <p>The classes are only weakly referenced, in order to not keep them
+	 * (and their ClassLoaders) alive through the static proxy class cache.
+	 * The callback filter needs to be held strongly, since nothing else refers
+	 * to it after class generation; it gets released along with the proxy class
+	 * or through an explicit {@link Cglib2AopProxy#clearClassLoader} call.
+	 */
+	private static class ProxyClassKey {
+
+		private final Reference[] classes;
+
+		private final int interfaceCount;
+
+		private final ProxyCallbackFilter callbackFilter;
+
+		private final int hashCode;
+
+		public ProxyClassKey(Class superclass, Class[] interfaces, Class[] callbackTypes,
+				ProxyCallbackFilter callbackFilter) {
+
+			this.classes = new Reference[1 + interfaces.length + callbackTypes.length];
+			this.classes[0] = new WeakReference(superclass);
+			for (int i = 0; i < interfaces.length; i++) {
+				this.classes[1 + i] = new WeakReference(interfaces[i]);
+			}
+			for (int i = 0; i < callbackTypes.length; i++) {
+				this.classes[1 + interfaces.length + i] = new WeakReference(callbackTypes[i]);
+			}
+			this.interfaceCount = interfaces.length;
+			this.callbackFilter = callbackFilter;
+			this.hashCode = (superclass.hashCode() * 29 + ObjectUtils.nullSafeHashCode(interfaces)) * 29 +
+					callbackFilter.hashCode();
+		}
+
+		/**
+		 * Return whether any of the classes in this key has been garbage-collected.
+		 */
+		public boolean isStale() {
+			for (int i = 0; i < this.classes.length; i++) {
+				if (this.classes[i].get() == null) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ProxyClassKey)) {
+				return false;
+			}
+			ProxyClassKey otherKey = (ProxyClassKey) other;
+			if (this.hashCode != otherKey.hashCode || this.interfaceCount != otherKey.interfaceCount ||
+					this.classes.length != otherKey.classes.length) {
+				return false;
+			}
+			for (int i = 0; i < this.classes.length; i++) {
+				Object clazz = this.classes[i].get();
+				if (clazz == null || clazz != otherKey.classes[i].get()) {
+					return false;
+				}
+			}
+			return this.callbackFilter.equals(otherKey.callbackFilter);
+		}
+
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+
 	/**
 	 * CallbackFilter to assign Callbacks to methods.
 	 */
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+/**
+ * Exposes statistics about the CGLIB proxy classes generated by the AOP framework,
+ * as collected by the shared proxy class cache of CGLIB-based AOP proxies.
+ *
+ * <p>Proxy classes get reused across all proxy instances with an equivalent
+ * configuration (same target class, interfaces and advice structure) within the
+ * same ClassLoader, independent from the ProxyFactory that created them.
+ * A steadily growing generated class count hence indicates proxy configurations
+ * that cannot share a proxy class, e.g. different advice types per prototype.
+ *
+ * <p>Designed for export as a JMX MBean through Spring's
+ * {@link org.springframework.jmx.export.MBeanExporter}, exposing all getters
+ * as read-only attributes. All values refer to the entire VM (more specifically,
+ * to the ClassLoader that loaded the Spring AOP framework).
+ *
+ * @author agent
+ * @since 2.5.1
+ */
+public class CglibProxyClassStatistics {
+
+	/**
+	 * Return the number of CGLIB proxy classes generated so far.
+	 */
+	public int getGeneratedClassCount() {
+		return Cglib2AopProxy.getGeneratedProxyClassCount();
+	}
+
+	/**
+	 * Return the total time spent generating CGLIB proxy classes so far,
+	 * in milliseconds.
+	 */
+	public long getTotalGenerationTime() {
+		return Cglib2AopProxy.getProxyClassGenerationTime();
+	}
+
+	/**
+	 * Return the number of CGLIB proxy instances that have been created
+	 * for an existing proxy class, without generating a new class.
+	 */
+	public long getCacheHitCount() {
+		return Cglib2AopProxy.getProxyClassCacheHits();
+	}
+
+	/**
+	 * Return the number of generated CGLIB proxy classes that are currently
+	 * held in the cache, that is, that have not been garbage-collected yet.
+	 */
+	public int getCachedClassCount() {
+		return Cglib2AopProxy.getCachedProxyClassCount();
+	}
+
+}
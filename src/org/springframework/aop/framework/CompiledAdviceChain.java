@@ -0,0 +1,232 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import net.sf.cglib.reflect.FastClass;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Precompiled advice chain for a single method of a frozen proxy:
+ * the method's interceptors as a fixed array, together with a generated
+ * call to the target method. Not intended for direct use by application code.
+ *
+ * <p>Only built for advice chains that consist of plain MethodInterceptors,
+ * that is, without any dynamic method matchers that need to be evaluated
+ * at runtime. The target method gets invoked through CGLIB's {@link FastClass}
+ * if available, falling back to reflection for methods that the generated
+ * class cannot reach and for <code>null</code> values for primitive parameters.
+ *
+ * <p>Note that an invocation object still gets created for each call, since
+ * a MethodInvocation carries per-call state (arguments, current interceptor
+ * position, user attributes) and may be retained or cloned by interceptors.
+ *
+ * @author agent
+ * @since 2.5.1
+ * @see ProxyConfig#setCompileAdviceChains
+ * @see AdvisedSupport#getCompiledAdviceChain
+ */
+final class CompiledAdviceChain {
+
+	private static final boolean cglibAvailable =
+			ClassUtils.isPresent("net.sf.cglib.reflect.FastClass", CompiledAdviceChain.class.getClassLoader());
+
+
+	private final List chain;
+
+	private final MethodInterceptor[] interceptors;
+
+	private final Class targetClass;
+
+	private final GeneratedTargetInvoker targetInvoker;
+
+
+	private CompiledAdviceChain(List chain, MethodInterceptor[] interceptors,
+			Class targetClass, GeneratedTargetInvoker targetInvoker) {
+
+		this.chain = chain;
+		this.interceptors = interceptors;
+		this.targetClass = targetClass;
+		this.targetInvoker = targetInvoker;
+	}
+
+	/**
+	 * Return whether this advice chain has been compiled for the given target class.
+	 * @param targetClass the class of the current target object
+	 */
+	public boolean isApplicableTo(Class targetClass) {
+		return (this.targetClass == targetClass);
+	}
+
+	/**
+	 * Create a MethodInvocation for a call through this advice chain.
+	 * @param proxy the proxy object that the invocation was made on
+	 * @param target the target object to invoke
+	 * @param method the method to invoke
+	 * @param args the arguments to invoke the method with
+	 * @return the MethodInvocation, ready to {@link MethodInvocation#proceed() proceed}
+	 */
+	public MethodInvocation createInvocation(Object proxy, Object target, Method method, Object[] args) {
+		return new CompiledMethodInvocation(proxy, target, method, args, this);
+	}
+
+	/**
+	 * Invoke the target method, through the generated call if possible.
+	 * <p>Mirrors the exception semantics of
+	 * {@link AopUtils#invokeJoinpointUsingReflection}.
+	 */
+	private Object invokeJoinpoint(Object target, Method method, Object[] args) throws Throwable {
+		if (this.targetInvoker == null || !this.targetInvoker.canInvoke(args)) {
+			return AopUtils.invokeJoinpointUsingReflection(target, method, args);
+		}
+		try {
+			return this.targetInvoker.invoke(target, args);
+		}
+		catch (InvocationTargetException ex) {
+			throw ex.getTargetException();
+		}
+	}
+
+
+	/**
+	 * Compile the given advice chain for the given method.
+	 * @param method the proxied method
+	 * @param targetClass the target class
+	 * @param chain the advice chain, as determined by the AdvisorChainFactory
+	 * @return the compiled advice chain, or <code>null</code> if the
+	 * given advice chain does not qualify for compilation
+	 */
+	public static CompiledAdviceChain compile(Method method, Class targetClass, List chain) {
+		if (chain.isEmpty()) {
+			return null;
+		}
+		MethodInterceptor[] interceptors = new MethodInterceptor[chain.size()];
+		for (int i = 0; i < interceptors.length; i++) {
+			Object interceptor = chain.get(i);
+			if (!(interceptor instanceof MethodInterceptor)) {
+				// InterceptorAndDynamicMethodMatcher: needs to be evaluated per call.
+				return null;
+			}
+			interceptors[i] = (MethodInterceptor) interceptor;
+		}
+		GeneratedTargetInvoker targetInvoker = null;
+		if (cglibAvailable && targetClass != null) {
+			targetInvoker = GeneratedTargetInvoker.create(method, targetClass);
+		}
+		return new CompiledAdviceChain(chain, interceptors, targetClass, targetInvoker);
+	}
+
+
+	/**
+	 * MethodInvocation that proceeds through the compiled interceptor array.
+	 */
+	private static class CompiledMethodInvocation extends ReflectiveMethodInvocation {
+
+		private final CompiledAdviceChain compiledChain;
+
+		private int interceptorIndex = -1;
+
+		public CompiledMethodInvocation(
+				Object proxy, Object target, Method method, Object[] arguments, CompiledAdviceChain compiledChain) {
+
+			super(proxy, target, method, arguments, compiledChain.targetClass, compiledChain.chain);
+			this.compiledChain = compiledChain;
+		}
+
+		public Object proceed() throws Throwable {
+			MethodInterceptor[] interceptors = this.compiledChain.interceptors;
+			if (this.interceptorIndex == interceptors.length - 1) {
+				return invokeJoinpoint();
+			}
+			return interceptors[++this.interceptorIndex].invoke(this);
+		}
+
+		protected Object invokeJoinpoint() throws Throwable {
+			return this.compiledChain.invokeJoinpoint(this.target, this.method, this.arguments);
+		}
+	}
+
+
+	/**
+	 * Inner class to avoid a hard dependency on CGLIB at runtime.
+	 */
+	private static class GeneratedTargetInvoker {
+
+		private final FastClass fastClass;
+
+		private final int index;
+
+		private final boolean primitiveParams;
+
+		private GeneratedTargetInvoker(FastClass fastClass, int index, boolean primitiveParams) {
+			this.fastClass = fastClass;
+			this.index = index;
+			this.primitiveParams = primitiveParams;
+		}
+
+		public boolean canInvoke(Object[] args) {
+			if (this.primitiveParams) {
+				for (int i = 0; i < args.length; i++) {
+					if (args[i] == null) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+
+		public Object invoke(Object target, Object[] args) throws InvocationTargetException {
+			return this.fastClass.invoke(this.index, target, args);
+		}
+
+		public static GeneratedTargetInvoker create(Method method, Class targetClass) {
+			if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(targetClass.getModifiers()) ||
+					Proxy.isProxyClass(targetClass)) {
+				return null;
+			}
+			try {
+				FastClass fastClass = FastClass.create(targetClass);
+				Class[] paramTypes = method.getParameterTypes();
+				int index = fastClass.getIndex(method.getName(), paramTypes);
+				if (index < 0) {
+					return null;
+				}
+				boolean primitiveParams = false;
+				for (int i = 0; i < paramTypes.length; i++) {
+					if (paramTypes[i].isPrimitive()) {
+						primitiveParams = true;
+					}
+				}
+				return new GeneratedTargetInvoker(fastClass, index, primitiveParams);
+			}
+			catch (RuntimeException ex) {
+				// Class generation failed: fall back to reflection.
+				return null;
+			}
+		}
+	}
+
+}
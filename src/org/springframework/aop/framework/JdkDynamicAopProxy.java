@@ -187,11 +187,18 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 			}
 
 			// Get the interception chain for this method.
-			List chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			CompiledAdviceChain compiledChain = this.advised.getCompiledAdviceChain(method, targetClass);
+			List chain = (compiledChain == null ?
+					this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass) : null);
 
+			if (compiledChain != null) {
+				// Frozen configuration: proceed through the precompiled chain.
+				invocation = compiledChain.createInvocation(proxy, target, method, args);
+				retVal = invocation.proceed();
+			}
 			// Check whether we have any advice. If we don't, we can fallback on direct
 			// reflective invocation of the target, and avoid creating a MethodInvocation.
-			if (chain.isEmpty()) {
+			else if (chain.isEmpty()) {
 				// We can skip creating a MethodInvocation: just invoke the target directly
 				// Note that the final invoker must be an InvokerInterceptor so we know it does
 				// nothing but a reflective operation on the target, and no hot swapping or fancy proxying.
@@ -44,6 +44,8 @@ public class ProxyConfig implements Serializable {
 
 	private boolean frozen = false;
 
+	private boolean compileAdviceChains = false;
+
 
 	/**
 	 * Set whether to proxy the target class directly, instead of just proxying
@@ -145,6 +147,31 @@ public class ProxyConfig implements Serializable {
 	}
 
 
+	/**
+	 * Set whether frozen proxies should invoke their advice chains through
+	 * precompiled invocations. Default is "false".
+	 * <p>Switch this flag to "true" in order to let each advised method of a
+	 * {@link #setFrozen frozen} configuration compile its interceptor chain into
+	 * a fixed array, invoking the interceptors directly instead of walking and
+	 * type-checking the generic chain on every call. If CGLIB is present, the
+	 * target method will be reached through a generated call as well, instead
+	 * of through reflection.
+	 * <p>Has no effect on configurations that are not frozen, since advice
+	 * changes would invalidate compiled chains.
+	 */
+	public void setCompileAdviceChains(boolean compileAdviceChains) {
+		this.compileAdviceChains = compileAdviceChains;
+	}
+
+	/**
+	 * Return whether frozen proxies should invoke their advice chains
+	 * through precompiled invocations.
+	 */
+	public boolean isCompileAdviceChains() {
+		return this.compileAdviceChains;
+	}
+
+
 	/**
 	 * Copy configuration from the other config object.
 	 * @param other object to copy configuration from
@@ -156,6 +183,7 @@ public class ProxyConfig implements Serializable {
 		this.exposeProxy = other.exposeProxy;
 		this.frozen = other.frozen;
 		this.opaque = other.opaque;
+		this.compileAdviceChains = other.compileAdviceChains;
 	}
 
 	public String toString() {
@@ -164,7 +192,8 @@ public class ProxyConfig implements Serializable {
 		sb.append("optimize=").append(this.optimize).append("; ");
 		sb.append("opaque=").append(this.opaque).append("; ");
 		sb.append("exposeProxy=").append(this.exposeProxy).append("; ");
-		sb.append("frozen=").append(this.frozen);
+		sb.append("frozen=").append(this.frozen).append("; ");
+		sb.append("compileAdviceChains=").append(this.compileAdviceChains);
 		return sb.toString();
 	}
 
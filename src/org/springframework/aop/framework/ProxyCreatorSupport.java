@@ -103,6 +103,7 @@ public class ProxyCreatorSupport extends AdvisedSupport {
 		if (!this.active) {
 			activate();
 		}
+		precomputeAdvisorChains();
 		return getAopProxyFactory().createAopProxy(this);
 	}
 
@@ -20,7 +20,7 @@ import java.util.Collections;
 import java.util.List;
 
 import org.springframework.aop.TargetSource;
-import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.AdvisorApplicabilityEvaluator;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.core.OrderComparator;
@@ -48,6 +48,8 @@ public abstract class AbstractAdvisorAutoProxyCreator extends AbstractAutoProxyC
 
 	private BeanFactoryAdvisorRetrievalHelper advisorRetrievalHelper;
 
+	private final AdvisorApplicabilityEvaluator advisorApplicabilityEvaluator = new AdvisorApplicabilityEvaluator();
+
 
 	public void setBeanFactory(BeanFactory beanFactory) {
 		super.setBeanFactory(beanFactory);
@@ -110,13 +112,23 @@ public abstract class AbstractAdvisorAutoProxyCreator extends AbstractAutoProxyC
 	protected List findAdvisorsThatCanApply(List candidateAdvisors, Class beanClass, String beanName) {
 		ProxyCreationContext.setCurrentProxiedBeanName(beanName);
 		try {
-			return AopUtils.findAdvisorsThatCanApply(candidateAdvisors, beanClass);
+			return this.advisorApplicabilityEvaluator.findAdvisorsThatCanApply(candidateAdvisors, beanClass);
 		}
 		finally {
 			ProxyCreationContext.setCurrentProxiedBeanName(null);
 		}
 	}
 
+	/**
+	 * Return a report of the time spent determining the applicability of
+	 * each candidate Advisor so far, most expensive Advisors first.
+	 * <p>Useful for identifying expensive pointcuts that slow down startup.
+	 * @see AdvisorApplicabilityEvaluator#getMatchingReport()
+	 */
+	public String getAdvisorMatchingReport() {
+		return this.advisorApplicabilityEvaluator.getMatchingReport();
+	}
+
 	/**
 	 * Return whether the Advisor bean with the given name is eligible
 	 * for proxying in the first place.
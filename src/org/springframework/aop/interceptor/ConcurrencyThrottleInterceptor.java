@@ -21,6 +21,7 @@ import java.io.Serializable;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 
+import org.springframework.core.HighResolutionTimer;
 import org.springframework.util.ConcurrencyThrottleSupport;
 
 /**
@@ -34,6 +35,9 @@ import org.springframework.util.ConcurrencyThrottleSupport;
  *
  * <p>The default concurrency limit of this interceptor is 1.
  * Specify the "concurrencyLimit" bean property to change this value.
+ * Further options include a bounded wait queue, a maximum waiting time
+ * and an adaptive concurrency limit that reacts to the latency of the
+ * intercepted methods (see {@link ConcurrencyThrottleSupport}).
  *
  * @author Juergen Hoeller
  * @since 11.02.2004
@@ -48,11 +52,17 @@ public class ConcurrencyThrottleInterceptor extends ConcurrencyThrottleSupport
 
 	public Object invoke(MethodInvocation methodInvocation) throws Throwable {
 		beforeAccess();
+		long startTime = (isAdaptiveConcurrency() ? HighResolutionTimer.nanoTime() : -1);
 		try {
 			return methodInvocation.proceed();
 		}
 		finally {
-			afterAccess();
+			if (startTime >= 0) {
+				afterAccess(HighResolutionTimer.nanoTime() - startTime);
+			}
+			else {
+				afterAccess();
+			}
 		}
 	}
 
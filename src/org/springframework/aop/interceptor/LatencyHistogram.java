@@ -0,0 +1,221 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.interceptor;
+
+import org.springframework.util.AtomicCounterArray;
+
+/**
+ * Histogram of latency values in nanoseconds, with a fixed set of
+ * log-linear buckets: each power of two is divided into 16 linear
+ * sub-buckets, resulting in a relative error of at most 6.25% for
+ * any reported percentile. Values of 2^40 nanoseconds (about 18 minutes)
+ * and above are counted in the highest bucket.
+ *
+ * <p>Recording a value does not allocate any objects and does not acquire
+ * any locks on JDK 1.5+, updating the counters of an {@link AtomicCounterArray}.
+ *
+ * <p>Readers see a consistent view of each individual counter, but not
+ * necessarily of the histogram as a whole while values are being recorded.
+ *
+ * @author agent
+ * @since 2.5.1
+ * @see LatencyMonitorInterceptor
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	private static final int MAX_EXPONENT = 39;
+
+	private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+	private static final int ERROR_COUNT_SLOT = BUCKET_COUNT;
+
+	private static final int TOTAL_SLOT = BUCKET_COUNT + 1;
+
+	private static final int MAX_SLOT = BUCKET_COUNT + 2;
+
+	private static final int SLOT_COUNT = BUCKET_COUNT + 3;
+
+
+	private final AtomicCounterArray counters = new AtomicCounterArray(SLOT_COUNT);
+
+
+	/**
+	 * Create a new, empty LatencyHistogram.
+	 */
+	public LatencyHistogram() {
+	}
+
+
+	/**
+	 * Record the given latency value.
+	 * @param nanos the latency in nanoseconds (negative values count as 0)
+	 * @param error whether the measured operation failed
+	 */
+	public void record(long nanos, boolean error) {
+		long value = (nanos > 0 ? nanos : 0);
+		this.counters.increment(bucketIndex(value));
+		this.counters.add(TOTAL_SLOT, value);
+		this.counters.updateMax(MAX_SLOT, value);
+		if (error) {
+			this.counters.increment(ERROR_COUNT_SLOT);
+		}
+	}
+
+	/**
+	 * Clear all recorded values.
+	 */
+	public void reset() {
+		for (int i = 0; i < SLOT_COUNT; i++) {
+			this.counters.set(i, 0);
+		}
+	}
+
+	/**
+	 * Return the number of recorded values.
+	 */
+	public long getCount() {
+		long count = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			count += this.counters.get(i);
+		}
+		return count;
+	}
+
+	/**
+	 * Return the number of recorded values that refer to failed operations.
+	 */
+	public long getErrorCount() {
+		return this.counters.get(ERROR_COUNT_SLOT);
+	}
+
+	/**
+	 * Return the sum of all recorded values, in nanoseconds.
+	 */
+	public long getTotalValue() {
+		return this.counters.get(TOTAL_SLOT);
+	}
+
+	/**
+	 * Return the highest recorded value, in nanoseconds (exact, not bucketed).
+	 */
+	public long getMaxValue() {
+		return this.counters.get(MAX_SLOT);
+	}
+
+	/**
+	 * Return the mean of all recorded values, in nanoseconds.
+	 */
+	public double getMeanValue() {
+		long count = getCount();
+		return (count > 0 ? (double) getTotalValue() / count : 0);
+	}
+
+	/**
+	 * Return the value below which the given percentage of recorded values fall,
+	 * in nanoseconds. The result is the upper bound of the bucket that holds the
+	 * requested percentile, capped by the highest recorded value.
+	 * @param percentile the percentile, between 0 and 100 (e.g. 99.9)
+	 * @return the value at the given percentile, or 0 if no values have been recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long[] buckets = new long[BUCKET_COUNT];
+		long count = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			buckets[i] = this.counters.get(i);
+			count += buckets[i];
+		}
+		if (count == 0) {
+			return 0;
+		}
+		double pct = Math.min(Math.max(percentile, 0), 100);
+		long threshold = Math.max((long) Math.ceil(count * pct / 100), 1);
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += buckets[i];
+			if (seen >= threshold) {
+				long max = getMaxValue();
+				long upper = highestValueInBucket(i);
+				return (max > 0 && max < upper ? max : upper);
+			}
+		}
+		return getMaxValue();
+	}
+
+
+	/**
+	 * Determine the bucket for the given value: values below 16 get
+	 * a bucket of their own, all other values get grouped by their highest
+	 * bit, with the next 4 bits determining the linear sub-bucket.
+	 */
+	static int bucketIndex(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		int exponent = highestBit(value);
+		if (exponent > MAX_EXPONENT) {
+			return BUCKET_COUNT - 1;
+		}
+		int shift = exponent - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+		return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	/**
+	 * Determine the highest value that falls into the given bucket.
+	 */
+	static long highestValueInBucket(int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		long lowest = ((long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT)) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+
+	private static int highestBit(long value) {
+		int bit = 0;
+		if ((value >>> 32) != 0) {
+			value >>>= 32;
+			bit += 32;
+		}
+		if ((value >>> 16) != 0) {
+			value >>>= 16;
+			bit += 16;
+		}
+		if ((value >>> 8) != 0) {
+			value >>>= 8;
+			bit += 8;
+		}
+		if ((value >>> 4) != 0) {
+			value >>>= 4;
+			bit += 4;
+		}
+		if ((value >>> 2) != 0) {
+			value >>>= 2;
+			bit += 2;
+		}
+		if ((value >>> 1) != 0) {
+			bit += 1;
+		}
+		return bit;
+	}
+
+}
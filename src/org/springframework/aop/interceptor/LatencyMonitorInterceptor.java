@@ -0,0 +1,340 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.interceptor;
+
+import java.lang.reflect.Method;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import org.springframework.core.CollectionFactory;
+import org.springframework.core.HighResolutionTimer;
+
+/**
+ * AOP Alliance <code>MethodInterceptor</code> that records the latency of each
+ * intercepted method in a {@link LatencyHistogram}, keeping track of invocation
+ * count, error count, maximum and percentiles (such as p50, p99 and p999) per method.
+ * This interceptor has no effect on the intercepted method call.
+ *
+ * <p>In contrast to {@link PerformanceMonitorInterceptor}, this interceptor
+ * does not log but rather aggregates: Recording a measurement neither allocates
+ * any objects nor acquires any locks (on JDK 1.5+), so it can remain active
+ * for all service methods in production.
+ *
+ * <p>Designed for export as a JMX MBean through Spring's
+ * {@link org.springframework.jmx.export.MBeanExporter}: The {@link #getReport() report}
+ * and the number of monitored methods are exposed as attributes, the per-method
+ * values as operations that take the method name (as listed in the report).
+ *
+ * <p>By default, statistics are cumulative since startup or since the last
+ * {@link #reset()}. Specify a {@link #setIntervalMillis reporting interval}
+ * to report on the last completed interval instead.
+ *
+ * @author agent
+ * @since 2.5.1
+ * @see LatencyHistogram
+ * @see #setIntervalMillis
+ * @see #getReport()
+ */
+public class LatencyMonitorInterceptor implements MethodInterceptor {
+
+	private long intervalMillis = -1;
+
+	/** Statistics per method: Method --> MethodLatency */
+	private final Map methodLatencies = CollectionFactory.createConcurrentMapIfPossible(16);
+
+
+	/**
+	 * Set the reporting interval in milliseconds. Default is -1, reporting
+	 * cumulative statistics.
+	 * <p>If specified, the reported statistics refer to the last completed
+	 * interval, with a fresh histogram being used for recording in the meantime.
+	 * Histograms get recycled rather than recreated for each interval.
+	 */
+	public void setIntervalMillis(long intervalMillis) {
+		this.intervalMillis = intervalMillis;
+	}
+
+	/**
+	 * Return the reporting interval in milliseconds.
+	 */
+	public long getIntervalMillis() {
+		return this.intervalMillis;
+	}
+
+
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		MethodLatency latency = getMethodLatency(invocation.getMethod());
+		boolean error = true;
+		long startTime = HighResolutionTimer.nanoTime();
+		try {
+			Object retVal = invocation.proceed();
+			error = false;
+			return retVal;
+		}
+		finally {
+			latency.record(HighResolutionTimer.nanoTime() - startTime, error);
+		}
+	}
+
+	private MethodLatency getMethodLatency(Method method) {
+		MethodLatency latency = (MethodLatency) this.methodLatencies.get(method);
+		if (latency == null) {
+			synchronized (this.methodLatencies) {
+				latency = (MethodLatency) this.methodLatencies.get(method);
+				if (latency == null) {
+					// Overloaded methods share the statistics for their common name.
+					String methodName = method.getDeclaringClass().getName() + "." + method.getName();
+					latency = findMethodLatency(methodName);
+					if (latency == null) {
+						latency = new MethodLatency(methodName);
+					}
+					this.methodLatencies.put(method, latency);
+				}
+			}
+		}
+		return latency;
+	}
+
+
+	/**
+	 * Return the number of methods that statistics have been recorded for.
+	 */
+	public int getMonitoredMethodCount() {
+		return getDistinctMethodLatencies().size();
+	}
+
+	/**
+	 * Return the number of invocations of the given method.
+	 * @param methodName the fully-qualified method name (class name plus method name)
+	 * @return the invocation count, or 0 if no such method has been monitored
+	 */
+	public long getInvocationCount(String methodName) {
+		LatencyHistogram histogram = getReportedHistogram(methodName);
+		return (histogram != null ? histogram.getCount() : 0);
+	}
+
+	/**
+	 * Return the number of invocations of the given method that threw an exception.
+	 * @param methodName the fully-qualified method name (class name plus method name)
+	 * @return the error count, or 0 if no such method has been monitored
+	 */
+	public long getErrorCount(String methodName) {
+		LatencyHistogram histogram = getReportedHistogram(methodName);
+		return (histogram != null ? histogram.getErrorCount() : 0);
+	}
+
+	/**
+	 * Return the highest latency of the given method, in milliseconds.
+	 * @param methodName the fully-qualified method name (class name plus method name)
+	 * @return the maximum latency, or 0 if no such method has been monitored
+	 */
+	public double getMaxTime(String methodName) {
+		LatencyHistogram histogram = getReportedHistogram(methodName);
+		return (histogram != null ? toMillis(histogram.getMaxValue()) : 0);
+	}
+
+	/**
+	 * Return the latency of the given method at the given percentile, in milliseconds.
+	 * @param methodName the fully-qualified method name (class name plus method name)
+	 * @param percentile the percentile, between 0 and 100 (e.g. 99.9)
+	 * @return the latency at the given percentile, or 0 if no such method has been monitored
+	 */
+	public double getTimeAtPercentile(String methodName, double percentile) {
+		LatencyHistogram histogram = getReportedHistogram(methodName);
+		return (histogram != null ? toMillis(histogram.getValueAtPercentile(percentile)) : 0);
+	}
+
+	/**
+	 * Return a report of all monitored methods, sorted by method name.
+	 * <p>Lists invocation count, error count, mean, p50, p99, p999 and maximum
+	 * for each method, with all times in milliseconds.
+	 */
+	public String getReport() {
+		List latencies = getDistinctMethodLatencies();
+		Collections.sort(latencies);
+		StringBuffer sb = new StringBuffer("Method latencies");
+		if (this.intervalMillis > 0) {
+			sb.append(" (last ").append(this.intervalMillis).append(" ms interval)");
+		}
+		sb.append(": ").append(latencies.size()).append(" methods monitored\n");
+		sb.append("-----------------------------------------\n");
+		sb.append("count    errors   mean     p50      p99      p999     max      Method\n");
+		sb.append("-----------------------------------------\n");
+		NumberFormat cf = NumberFormat.getNumberInstance();
+		cf.setGroupingUsed(false);
+		NumberFormat tf = NumberFormat.getNumberInstance();
+		tf.setGroupingUsed(false);
+		tf.setMinimumFractionDigits(3);
+		tf.setMaximumFractionDigits(3);
+		for (Iterator it = latencies.iterator(); it.hasNext();) {
+			MethodLatency latency = (MethodLatency) it.next();
+			LatencyHistogram histogram = latency.getReportedHistogram(this.intervalMillis);
+			appendColumn(sb, cf.format(histogram.getCount()));
+			appendColumn(sb, cf.format(histogram.getErrorCount()));
+			appendColumn(sb, tf.format(histogram.getMeanValue() / 1000000));
+			appendColumn(sb, tf.format(toMillis(histogram.getValueAtPercentile(50))));
+			appendColumn(sb, tf.format(toMillis(histogram.getValueAtPercentile(99))));
+			appendColumn(sb, tf.format(toMillis(histogram.getValueAtPercentile(99.9))));
+			appendColumn(sb, tf.format(toMillis(histogram.getMaxValue())));
+			sb.append(latency.getMethodName()).append('\n');
+		}
+		return sb.toString();
+	}
+
+	private void appendColumn(StringBuffer sb, String value) {
+		sb.append(value).append(' ');
+		for (int i = value.length(); i < 8; i++) {
+			sb.append(' ');
+		}
+	}
+
+	/**
+	 * Clear the statistics for all monitored methods.
+	 */
+	public void reset() {
+		for (Iterator it = getDistinctMethodLatencies().iterator(); it.hasNext();) {
+			((MethodLatency) it.next()).reset();
+		}
+	}
+
+	private LatencyHistogram getReportedHistogram(String methodName) {
+		MethodLatency latency = findMethodLatency(methodName);
+		return (latency != null ? latency.getReportedHistogram(this.intervalMillis) : null);
+	}
+
+	private MethodLatency findMethodLatency(String methodName) {
+		for (Iterator it = this.methodLatencies.values().iterator(); it.hasNext();) {
+			MethodLatency latency = (MethodLatency) it.next();
+			if (latency.getMethodName().equals(methodName)) {
+				return latency;
+			}
+		}
+		return null;
+	}
+
+	private List getDistinctMethodLatencies() {
+		List latencies = new ArrayList(this.methodLatencies.size());
+		for (Iterator it = this.methodLatencies.values().iterator(); it.hasNext();) {
+			Object latency = it.next();
+			if (!latencies.contains(latency)) {
+				latencies.add(latency);
+			}
+		}
+		return latencies;
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1000000.0;
+	}
+
+
+	/**
+	 * Latency statistics for a single method: the histogram that is currently
+	 * being recorded into, plus the histogram of the last completed interval
+	 * (if running with a reporting interval).
+	 */
+	private class MethodLatency implements Comparable {
+
+		private final String methodName;
+
+		private volatile LatencyHistogram current = new LatencyHistogram();
+
+		private volatile LatencyHistogram completed;
+
+		private volatile long intervalEnd = -1;
+
+		public MethodLatency(String methodName) {
+			this.methodName = methodName;
+		}
+
+		public String getMethodName() {
+			return this.methodName;
+		}
+
+		public void record(long nanos, boolean error) {
+			if (intervalMillis > 0) {
+				checkInterval(intervalMillis);
+			}
+			this.current.record(nanos, error);
+		}
+
+		public LatencyHistogram getReportedHistogram(long interval) {
+			if (interval > 0) {
+				checkInterval(interval);
+				LatencyHistogram completed = this.completed;
+				return (completed != null ? completed : new LatencyHistogram());
+			}
+			return this.current;
+		}
+
+		private void checkInterval(long interval) {
+			long now = System.currentTimeMillis();
+			if (now >= this.intervalEnd) {
+				rollOver(now, interval);
+			}
+		}
+
+		/**
+		 * Start a new interval: the current histogram becomes the completed one,
+		 * with the previously completed histogram getting reset and reused for
+		 * recording. Only a single histogram gets created for this purpose.
+		 */
+		private synchronized void rollOver(long now, long interval) {
+			if (this.intervalEnd < 0) {
+				this.intervalEnd = now + interval;
+				return;
+			}
+			if (now < this.intervalEnd) {
+				return;
+			}
+			LatencyHistogram finished = this.current;
+			LatencyHistogram recycled = this.completed;
+			if (recycled != null) {
+				recycled.reset();
+			}
+			else {
+				recycled = new LatencyHistogram();
+			}
+			if (now >= this.intervalEnd + interval) {
+				// No recording during the entire last interval.
+				finished.reset();
+			}
+			this.current = recycled;
+			this.completed = finished;
+			this.intervalEnd = now + interval - (now - this.intervalEnd) % interval;
+		}
+
+		public synchronized void reset() {
+			this.current.reset();
+			if (this.completed != null) {
+				this.completed.reset();
+			}
+		}
+
+		public int compareTo(Object other) {
+			return this.methodName.compareTo(((MethodLatency) other).methodName);
+		}
+	}
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.support;
+
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.aop.Advisor;
+import org.springframework.core.CollectionFactory;
+
+/**
+ * Determines the Advisors that can apply to a given class through
+ * {@link AopUtils#findAdvisorsThatCanApply}, keeping track of the time
+ * spent on each advisor.
+ *
+ * <p>Note that ClassFilter results are not cached across target classes, since
+ * they might depend on the bean currently being proxied (as is the case for
+ * AspectJ's <code>bean()</code> pointcut designator).
+ *
+ * <p>Instances of this class are thread-safe. The collected statistics are
+ * intended for identifying expensive pointcuts: see {@link #getMatchingReport()}.
+ *
+ * @author agent
+ * @since 2.5.1
+ * @see org.springframework.aop.framework.autoproxy.AbstractAdvisorAutoProxyCreator#getAdvisorMatchingReport()
+ */
+public class AdvisorApplicabilityEvaluator {
+
+	/** Statistics per Advisor: Advisor --> AdvisorStatistics */
+	private final Map advisorStatistics = CollectionFactory.createConcurrentMapIfPossible(16);
+
+
+	/**
+	 * Determine the sublist of the <code>candidateAdvisors</code> list
+	 * that is applicable to the given class.
+	 * @param candidateAdvisors the Advisors to evaluate
+	 * @param clazz the target class
+	 * @return sublist of Advisors that can apply to an object of the given class
+	 * (may be the incoming List as-is)
+	 */
+	public List findAdvisorsThatCanApply(List candidateAdvisors, Class clazz) {
+		return AopUtils.findAdvisorsThatCanApply(candidateAdvisors, clazz, this);
+	}
+
+	/**
+	 * Record the evaluation of the given advisor against a target class.
+	 * Called by AopUtils for each advisor evaluated in {@link #findAdvisorsThatCanApply}.
+	 * @param advisor the Advisor that has been evaluated
+	 * @param time the time spent on the evaluation, in nanoseconds
+	 * @param applies whether the advisor applies to the target class
+	 */
+	void recordEvaluation(Advisor advisor, long time, boolean applies) {
+		AdvisorStatistics statistics = (AdvisorStatistics) this.advisorStatistics.get(advisor);
+		if (statistics == null) {
+			// Create the statistics holder only once per advisor, even when evaluated concurrently.
+			synchronized (this.advisorStatistics) {
+				statistics = (AdvisorStatistics) this.advisorStatistics.get(advisor);
+				if (statistics == null) {
+					statistics = new AdvisorStatistics(advisor);
+					this.advisorStatistics.put(advisor, statistics);
+				}
+			}
+		}
+		statistics.record(time, applies);
+	}
+
+
+	/**
+	 * Return the total time spent determining the applicability of the given advisor,
+	 * in milliseconds.
+	 * @param advisor the Advisor to check
+	 * @return the total time, or 0 if the advisor has not been evaluated yet
+	 */
+	public long getMatchingTime(Advisor advisor) {
+		AdvisorStatistics statistics = (AdvisorStatistics) this.advisorStatistics.get(advisor);
+		return (statistics != null ? statistics.getTimeMillis() : 0);
+	}
+
+	/**
+	 * Return the number of classes that the given advisor has been evaluated against.
+	 * @param advisor the Advisor to check
+	 * @return the number of evaluations, or 0 if the advisor has not been evaluated yet
+	 */
+	public int getEvaluationCount(Advisor advisor) {
+		AdvisorStatistics statistics = (AdvisorStatistics) this.advisorStatistics.get(advisor);
+		return (statistics != null ? statistics.getEvaluationCount() : 0);
+	}
+
+	/**
+	 * Return a report of the time spent per advisor, most expensive advisors first.
+	 * <p>Lists the total time in milliseconds, the number of classes evaluated,
+	 * the number of classes that the advisor applies to, and the advisor itself.
+	 */
+	public String getMatchingReport() {
+		List statisticsList = new ArrayList(this.advisorStatistics.size());
+		for (Iterator it = this.advisorStatistics.values().iterator(); it.hasNext();) {
+			// Sort a consistent snapshot, unaffected by concurrent evaluations.
+			statisticsList.add(((AdvisorStatistics) it.next()).snapshot());
+		}
+		Collections.sort(statisticsList, new Comparator() {
+			public int compare(Object o1, Object o2) {
+				long time1 = ((AdvisorStatistics) o1).getTime();
+				long time2 = ((AdvisorStatistics) o2).getTime();
+				return (time1 > time2 ? -1 : (time1 < time2 ? 1 : 0));
+			}
+		});
+		StringBuffer sb = new StringBuffer("Advisor matching: ");
+		sb.append(statisticsList.size()).append(" advisors evaluated\n");
+		sb.append("-----------------------------------------\n");
+		sb.append("ms     classes  applies  Advisor\n");
+		sb.append("-----------------------------------------\n");
+		NumberFormat nf = NumberFormat.getNumberInstance();
+		nf.setMinimumIntegerDigits(5);
+		nf.setGroupingUsed(false);
+		NumberFormat cf = NumberFormat.getNumberInstance();
+		cf.setMinimumIntegerDigits(7);
+		cf.setGroupingUsed(false);
+		for (Iterator it = statisticsList.iterator(); it.hasNext();) {
+			AdvisorStatistics statistics = (AdvisorStatistics) it.next();
+			sb.append(nf.format(statistics.getTimeMillis())).append("  ");
+			sb.append(cf.format(statistics.getEvaluationCount())).append("  ");
+			sb.append(cf.format(statistics.getMatchCount())).append("  ");
+			sb.append(statistics.getAdvisor()).append('\n');
+		}
+		return sb.toString();
+	}
+
+
+	/**
+	 * Statistics for a single Advisor.
+	 */
+	private static class AdvisorStatistics {
+
+		private final Advisor advisor;
+
+		private long time;
+
+		private int evaluationCount;
+
+		private int matchCount;
+
+		public AdvisorStatistics(Advisor advisor) {
+			this.advisor = advisor;
+		}
+
+		public synchronized void record(long time, boolean applies) {
+			this.time += time;
+			this.evaluationCount++;
+			if (applies) {
+				this.matchCount++;
+			}
+		}
+
+		public synchronized AdvisorStatistics snapshot() {
+			AdvisorStatistics snapshot = new AdvisorStatistics(this.advisor);
+			snapshot.time = this.time;
+			snapshot.evaluationCount = this.evaluationCount;
+			snapshot.matchCount = this.matchCount;
+			return snapshot;
+		}
+
+		public Advisor getAdvisor() {
+			return this.advisor;
+		}
+
+		public synchronized long getTime() {
+			return this.time;
+		}
+
+		public long getTimeMillis() {
+			return getTime() / 1000000;
+		}
+
+		public synchronized int getEvaluationCount() {
+			return this.evaluationCount;
+		}
+
+		public synchronized int getMatchCount() {
+			return this.matchCount;
+		}
+	}
+
+}
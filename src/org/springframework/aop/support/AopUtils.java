@@ -19,14 +19,20 @@ package org.springframework.aop.support;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.aop.Advisor;
 import org.springframework.aop.AopInvocationException;
+import org.springframework.aop.BulkMethodMatcher;
+import org.springframework.aop.ClassFilter;
 import org.springframework.aop.IntroductionAdvisor;
 import org.springframework.aop.IntroductionAwareMethodMatcher;
 import org.springframework.aop.MethodMatcher;
@@ -35,6 +41,7 @@ import org.springframework.aop.PointcutAdvisor;
 import org.springframework.aop.SpringProxy;
 import org.springframework.aop.TargetClassAware;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.HighResolutionTimer;
 import org.springframework.core.JdkVersion;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -186,31 +193,77 @@ public abstract class AopUtils {
 	 * @return whether the pointcut can apply on any method
 	 */
 	public static boolean canApply(Pointcut pc, Class targetClass, boolean hasIntroductions) {
+		return canApply(pc, targetClass, hasIntroductions, null);
+	}
+
+	/**
+	 * Can the given pointcut apply at all on the given class?
+	 * @param pc the static or dynamic pointcut to check
+	 * @param targetClass the class to test
+	 * @param hasIntroductions whether or not the advisor chain
+	 * for this bean includes any introductions
+	 * @param candidateMethods the candidate methods of the target class,
+	 * or <code>null</code> to determine them on demand
+	 * @return whether the pointcut can apply on any method
+	 * @see #getCandidateMethods
+	 */
+	private static boolean canApply(
+			Pointcut pc, Class targetClass, boolean hasIntroductions, Method[] candidateMethods) {
+
 		if (!pc.getClassFilter().matches(targetClass)) {
 			return false;
 		}
+		Method[] methods = (candidateMethods != null ? candidateMethods : getCandidateMethods(targetClass));
+		return matchesAnyMethod(pc.getMethodMatcher(), targetClass, hasIntroductions, methods);
+	}
+
+	/**
+	 * Does the given MethodMatcher statically match any of the given methods?
+	 * @param methodMatcher the MethodMatcher to check
+	 * @param targetClass the class to test
+	 * @param hasIntroductions whether or not the advisor chain
+	 * for this bean includes any introductions
+	 * @param methods the candidate methods of the target class
+	 * @return whether the MethodMatcher matches any method
+	 * @see #getCandidateMethods
+	 */
+	static boolean matchesAnyMethod(
+			MethodMatcher methodMatcher, Class targetClass, boolean hasIntroductions, Method[] methods) {
+
+		if (methodMatcher instanceof BulkMethodMatcher) {
+			return ((BulkMethodMatcher) methodMatcher).matchesAny(methods, targetClass, hasIntroductions);
+		}
 
-		MethodMatcher methodMatcher = pc.getMethodMatcher();
 		IntroductionAwareMethodMatcher introductionAwareMethodMatcher = null;
 		if (methodMatcher instanceof IntroductionAwareMethodMatcher) {
 			introductionAwareMethodMatcher = (IntroductionAwareMethodMatcher) methodMatcher;
 		}
+		for (int j = 0; j < methods.length; j++) {
+			if ((introductionAwareMethodMatcher != null &&
+					introductionAwareMethodMatcher.matches(methods[j], targetClass, hasIntroductions)) ||
+					methodMatcher.matches(methods[j], targetClass)) {
+				return true;
+			}
+		}
 
+		return false;
+	}
+
+	/**
+	 * Determine the candidate methods for pointcut matching on the given class:
+	 * the public methods of the class itself and of all of its interfaces.
+	 * @param targetClass the class to introspect
+	 * @return the candidate methods
+	 */
+	static Method[] getCandidateMethods(Class targetClass) {
 		Set classes = new HashSet(ClassUtils.getAllInterfacesForClassAsSet(targetClass));
 		classes.add(targetClass);
+		List methods = new ArrayList();
 		for (Iterator it = classes.iterator(); it.hasNext();) {
 			Class clazz = (Class) it.next();
-			Method[] methods = clazz.getMethods();
-			for (int j = 0; j < methods.length; j++) {
-				if ((introductionAwareMethodMatcher != null &&
-						introductionAwareMethodMatcher.matches(methods[j], targetClass, hasIntroductions)) ||
-						methodMatcher.matches(methods[j], targetClass)) {
-					return true;
-				}
-			}
+			methods.addAll(Arrays.asList(clazz.getMethods()));
 		}
-
-		return false;
+		return (Method[]) methods.toArray(new Method[methods.size()]);
 	}
 
 	/**
@@ -236,12 +289,18 @@ public abstract class AopUtils {
 	 * @return whether the pointcut can apply on any method
 	 */
 	public static boolean canApply(Advisor advisor, Class targetClass, boolean hasIntroductions) {
+		return canApply(advisor, targetClass, hasIntroductions, null);
+	}
+
+	private static boolean canApply(
+			Advisor advisor, Class targetClass, boolean hasIntroductions, Method[] candidateMethods) {
+
 		if (advisor instanceof IntroductionAdvisor) {
 			return ((IntroductionAdvisor) advisor).getClassFilter().matches(targetClass);
 		}
 		else if (advisor instanceof PointcutAdvisor) {
 			PointcutAdvisor pca = (PointcutAdvisor) advisor;
-			return canApply(pca.getPointcut(), targetClass, hasIntroductions);
+			return canApply(pca.getPointcut(), targetClass, hasIntroductions, candidateMethods);
 		}
 		else {
 			// It doesn't have a pointcut so we assume it applies.
@@ -258,30 +317,90 @@ public abstract class AopUtils {
 	 * (may be the incoming List as-is)
 	 */
 	public static List findAdvisorsThatCanApply(List candidateAdvisors, Class clazz) {
+		return findAdvisorsThatCanApply(candidateAdvisors, clazz, null);
+	}
+
+	/**
+	 * Determine the sublist of the <code>candidateAdvisors</code> list
+	 * that is applicable to the given class, optionally reporting the
+	 * time spent on each advisor to the given evaluator.
+	 * <p>Equal ClassFilters (for example, the same AspectJ pointcut expression
+	 * used by several advice methods) are evaluated only once, and the candidate
+	 * methods of the class are determined once and shared by all advisors.
+	 * @param candidateAdvisors the Advisors to evaluate
+	 * @param clazz the target class
+	 * @param evaluator the evaluator to record the evaluation of each advisor with
+	 * (may be <code>null</code> if no statistics are to be recorded)
+	 * @return sublist of Advisors that can apply to an object of the given class
+	 * (may be the incoming List as-is)
+	 */
+	static List findAdvisorsThatCanApply(
+			List candidateAdvisors, Class clazz, AdvisorApplicabilityEvaluator evaluator) {
+
 		if (candidateAdvisors.isEmpty()) {
 			return candidateAdvisors;
 		}
+		// ClassFilter --> Boolean, for the given class only
+		Map classFilterResults = new HashMap();
 		List eligibleAdvisors = new LinkedList();
 		for (Iterator it = candidateAdvisors.iterator(); it.hasNext();) {
 			Advisor candidate = (Advisor) it.next();
-			if (candidate instanceof IntroductionAdvisor && canApply(candidate, clazz)) {
-				eligibleAdvisors.add(candidate);
+			if (candidate instanceof IntroductionAdvisor) {
+				long startTime = (evaluator != null ? HighResolutionTimer.nanoTime() : 0);
+				boolean applies =
+						matchesClassFilter(((IntroductionAdvisor) candidate).getClassFilter(), clazz, classFilterResults);
+				if (evaluator != null) {
+					evaluator.recordEvaluation(candidate, HighResolutionTimer.nanoTime() - startTime, applies);
+				}
+				if (applies) {
+					eligibleAdvisors.add(candidate);
+				}
 			}
 		}
 		boolean hasIntroductions = !eligibleAdvisors.isEmpty();
+		Method[] candidateMethods = null;
 		for (Iterator it = candidateAdvisors.iterator(); it.hasNext();) {
 			Advisor candidate = (Advisor) it.next();
 			if (candidate instanceof IntroductionAdvisor) {
 				// already processed
 				continue;
 			}
-			if (canApply(candidate, clazz, hasIntroductions)) {
+			if (!(candidate instanceof PointcutAdvisor)) {
+				// It doesn't have a pointcut so we assume it applies.
+				eligibleAdvisors.add(candidate);
+				continue;
+			}
+			long startTime = (evaluator != null ? HighResolutionTimer.nanoTime() : 0);
+			Pointcut pc = ((PointcutAdvisor) candidate).getPointcut();
+			boolean applies = matchesClassFilter(pc.getClassFilter(), clazz, classFilterResults);
+			if (applies) {
+				if (candidateMethods == null) {
+					candidateMethods = getCandidateMethods(clazz);
+				}
+				applies = matchesAnyMethod(pc.getMethodMatcher(), clazz, hasIntroductions, candidateMethods);
+			}
+			if (evaluator != null) {
+				evaluator.recordEvaluation(candidate, HighResolutionTimer.nanoTime() - startTime, applies);
+			}
+			if (applies) {
 				eligibleAdvisors.add(candidate);
 			}
 		}
 		return eligibleAdvisors;
 	}
 
+	private static boolean matchesClassFilter(ClassFilter classFilter, Class clazz, Map classFilterResults) {
+		if (classFilter == ClassFilter.TRUE) {
+			return true;
+		}
+		Boolean result = (Boolean) classFilterResults.get(classFilter);
+		if (result == null) {
+			result = (classFilter.matches(clazz) ? Boolean.TRUE : Boolean.FALSE);
+			classFilterResults.put(classFilter, result);
+		}
+		return result.booleanValue();
+	}
+
 
 	/**
 	 * Invoke the given target via reflection, as part of an AOP method invocation.
@@ -16,9 +16,15 @@
 
 package org.springframework.aop.support;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import org.springframework.aop.Advisor;
 import org.springframework.aop.ClassFilter;
 import org.springframework.aop.MethodMatcher;
 import org.springframework.aop.Pointcut;
@@ -32,8 +38,15 @@ import org.springframework.util.ObjectUtils;
  * Note that evaluating such pointcuts is 10-15 times slower than evaluating
  * normal pointcuts, but they are useful in some cases.
  *
+ * <p>Alternatively, this pointcut can track the control flow through entry
+ * markers instead of stack introspection: see {@link #setUseEntryMarker}.
+ * In that mode, evaluation is as cheap as a ThreadLocal lookup, provided
+ * that the entry point itself is advised with the {@link #getEntryMarkerAdvisor()
+ * entry marker advisor}.
+ *
  * @author Rod Johnson
  * @author Rob Harrop
+ * @author Juergen Hoeller
  * @see org.springframework.core.ControlFlow
  */
 public class ControlFlowPointcut implements Pointcut, ClassFilter, MethodMatcher, Serializable {
@@ -42,6 +55,11 @@ public class ControlFlowPointcut implements Pointcut, ClassFilter, MethodMatcher
 
 	private String methodName;
 
+	private boolean useEntryMarker = false;
+
+	/** Number of active entry point invocations per thread, as int[1] holder */
+	private transient ThreadLocal entryCount = new ThreadLocal();
+
 	private int evaluations;
 
 
@@ -67,6 +85,44 @@ public class ControlFlowPointcut implements Pointcut, ClassFilter, MethodMatcher
 	}
 
 
+	/**
+	 * Set whether to track the control flow through entry markers instead of
+	 * through stack introspection. Default is "false".
+	 * <p>Switch this flag to "true" in order to determine whether we are below
+	 * the specified class/method through a per-thread counter, maintained by the
+	 * {@link #getEntryMarkerAdvisor() entry marker advisor}: This avoids the cost
+	 * of creating and scanning a stack trace for every evaluation.
+	 * <p><b>NOTE:</b> In this mode, the entry marker advisor needs to be applied
+	 * to the specified class, i.e. calls to the entry point need to go through
+	 * an AOP proxy. Calls that do not go through the entry marker advisor
+	 * (e.g. internal calls within the target object) will not be detected.
+	 */
+	public void setUseEntryMarker(boolean useEntryMarker) {
+		this.useEntryMarker = useEntryMarker;
+	}
+
+	/**
+	 * Return whether the control flow is tracked through entry markers
+	 * instead of through stack introspection.
+	 */
+	public boolean isUseEntryMarker() {
+		return this.useEntryMarker;
+	}
+
+	/**
+	 * Return an Advisor that marks entry into the specified class/method,
+	 * to be applied to proxies for the specified class (and its subclasses).
+	 * <p>Like stack introspection, the advisor only marks methods declared in
+	 * the specified class itself: on a subclass, methods inherited from the
+	 * specified class count as entry points, while methods declared or
+	 * overridden in the subclass do not.
+	 * <p>Only relevant in {@link #setUseEntryMarker "useEntryMarker"} mode.
+	 */
+	public Advisor getEntryMarkerAdvisor() {
+		return new DefaultPointcutAdvisor(new EntryPointPointcut(), new EntryMarkerInterceptor());
+	}
+
+
 	/**
 	 * Subclasses can override this for greater filtering (and performance).
 	 */
@@ -88,6 +144,10 @@ public class ControlFlowPointcut implements Pointcut, ClassFilter, MethodMatcher
 
 	public boolean matches(Method method, Class targetClass, Object[] args) {
 		++this.evaluations;
+		if (this.useEntryMarker) {
+			int[] count = (int[]) this.entryCount.get();
+			return (count != null && count[0] > 0);
+		}
 		ControlFlow cflow = ControlFlowFactory.createControlFlow();
 		return (this.methodName != null) ? cflow.under(this.clazz, this.methodName) : cflow.under(this.clazz);
 	}
@@ -116,7 +176,8 @@ public class ControlFlowPointcut implements Pointcut, ClassFilter, MethodMatcher
 			return false;
 		}
 		ControlFlowPointcut that = (ControlFlowPointcut) other;
-		return (this.clazz.equals(that.clazz)) && ObjectUtils.nullSafeEquals(that.methodName, this.methodName);
+		return (this.clazz.equals(that.clazz)) && ObjectUtils.nullSafeEquals(that.methodName, this.methodName) &&
+				this.useEntryMarker == that.useEntryMarker;
 	}
 
 	public int hashCode() {
@@ -125,7 +186,73 @@ public class ControlFlowPointcut implements Pointcut, ClassFilter, MethodMatcher
 		if (this.methodName != null) {
 			code = 37 * code + this.methodName.hashCode();
 		}
+		if (this.useEntryMarker) {
+			code = 37 * code + 1;
+		}
 		return code;
 	}
 
+
+	//---------------------------------------------------------------------
+	// Serialization support
+	//---------------------------------------------------------------------
+
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		// Rely on default serialization; just initialize state after deserialization.
+		ois.defaultReadObject();
+
+		// Initialize transient fields.
+		this.entryCount = new ThreadLocal();
+	}
+
+
+	/**
+	 * Static pointcut that matches the entry point: the specified method
+	 * (or all methods, if no method name specified) of the specified class.
+	 */
+	private class EntryPointPointcut extends StaticMethodMatcherPointcut implements ClassFilter, Serializable {
+
+		public EntryPointPointcut() {
+			setClassFilter(this);
+		}
+
+		public boolean matches(Class targetClass) {
+			return clazz.isAssignableFrom(targetClass);
+		}
+
+		public boolean matches(Method method, Class targetClass) {
+			// Match the class that declares the method to be executed,
+			// as recorded in the stack trace for stack introspection.
+			Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+			return (clazz.equals(specificMethod.getDeclaringClass()) &&
+					(methodName == null || methodName.equals(method.getName())));
+		}
+	}
+
+
+	/**
+	 * Interceptor that keeps track of active entry point invocations
+	 * on the current thread.
+	 */
+	private class EntryMarkerInterceptor implements MethodInterceptor, Serializable {
+
+		public Object invoke(MethodInvocation mi) throws Throwable {
+			int[] count = (int[]) entryCount.get();
+			if (count == null) {
+				count = new int[1];
+				entryCount.set(count);
+			}
+			count[0]++;
+			try {
+				return mi.proceed();
+			}
+			finally {
+				if (--count[0] == 0) {
+					// Do not keep the counter bound to pooled threads.
+					entryCount.set(null);
+				}
+			}
+		}
+	}
+
 }
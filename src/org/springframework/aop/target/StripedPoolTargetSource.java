@@ -0,0 +1,496 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.target;
+
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * TargetSource implementation that holds objects in a striped pool,
+ * designed for highly concurrent access without a global pool lock.
+ *
+ * <p>Idle objects are kept in a number of independent stripes, each guarded
+ * by its own lock. Every thread has a home stripe that it borrows from and
+ * returns to, so that a thread typically gets its most recently used object
+ * back without contending with other threads. Only if its home stripe is
+ * empty, a thread takes an idle object from one of the other stripes.
+ * The global pool state is only touched when creating new objects or when
+ * waiting for an object to be returned to an exhausted pool.
+ *
+ * <p>Offers the same configuration properties as {@link CommonsPoolTargetSource}
+ * (with the same defaults), allowing for switching between the two pool types
+ * through a change of the class name. An exhausted pool blocks for the configured
+ * {@link #setMaxWait maximum waiting time}, throwing a NoSuchElementException
+ * when timing out; a maximum waiting time of 0 makes it fail fast.
+ *
+ * <p>Note that the idle object limits are enforced on a best-effort basis:
+ * Concurrent returns may temporarily exceed the maximum number of idle objects
+ * by a few objects, up to the maximum size of the pool.
+ *
+ * @author agent
+ * @since 2.5.1
+ * @see #setMaxSize
+ * @see #setMaxIdle
+ * @see #setMinIdle
+ * @see #setMaxWait
+ * @see #setTimeBetweenEvictionRunsMillis
+ * @see #setMinEvictableIdleTimeMillis
+ * @see #setStripeCount
+ */
+public class StripedPoolTargetSource extends AbstractPoolingTargetSource {
+
+	private int maxIdle = 8;
+
+	private int minIdle = 0;
+
+	private long maxWait = -1;
+
+	private long timeBetweenEvictionRunsMillis = -1;
+
+	private long minEvictableIdleTimeMillis = 1000L * 60L * 30L;
+
+	private int stripeCount = -1;
+
+	/** The stripes holding idle objects */
+	private Stripe[] stripes;
+
+	/** Monitor for the created object count and for threads waiting on an exhausted pool */
+	private final Object poolMonitor = new Object();
+
+	/** Number of objects currently created, guarded by the pool monitor */
+	private int createdCount = 0;
+
+	/** Number of threads currently waiting for an object to be returned */
+	private volatile int waiterCount = 0;
+
+	private volatile boolean closed = false;
+
+	private Timer evictionTimer;
+
+
+	/**
+	 * Create a StripedPoolTargetSource with default settings.
+	 * Default maximum size of the pool is 8.
+	 * @see #setMaxSize
+	 */
+	public StripedPoolTargetSource() {
+		setMaxSize(8);
+	}
+
+	/**
+	 * Set the maximum number of idle objects in the pool.
+	 * Default is 8. A negative value indicates no limit.
+	 */
+	public void setMaxIdle(int maxIdle) {
+		this.maxIdle = maxIdle;
+	}
+
+	/**
+	 * Return the maximum number of idle objects in the pool.
+	 */
+	public int getMaxIdle() {
+		return this.maxIdle;
+	}
+
+	/**
+	 * Set the minimum number of idle objects in the pool.
+	 * Default is 0.
+	 * <p>The pool gets filled up to this number of objects on startup
+	 * as well as during each eviction run.
+	 * @see #setTimeBetweenEvictionRunsMillis
+	 */
+	public void setMinIdle(int minIdle) {
+		this.minIdle = minIdle;
+	}
+
+	/**
+	 * Return the minimum number of idle objects in the pool.
+	 */
+	public int getMinIdle() {
+		return this.minIdle;
+	}
+
+	/**
+	 * Set the maximum waiting time for fetching an object from the pool.
+	 * Default is -1, waiting forever. Specify 0 to fail immediately
+	 * when the pool is exhausted.
+	 */
+	public void setMaxWait(long maxWait) {
+		this.maxWait = maxWait;
+	}
+
+	/**
+	 * Return the maximum waiting time for fetching an object from the pool.
+	 */
+	public long getMaxWait() {
+		return this.maxWait;
+	}
+
+	/**
+	 * Set the time between eviction runs that check idle objects whether
+	 * they have been idle for too long. Default is -1, not performing any eviction.
+	 */
+	public void setTimeBetweenEvictionRunsMillis(long timeBetweenEvictionRunsMillis) {
+		this.timeBetweenEvictionRunsMillis = timeBetweenEvictionRunsMillis;
+	}
+
+	/**
+	 * Return the time between eviction runs that check idle objects.
+	 */
+	public long getTimeBetweenEvictionRunsMillis() {
+		return this.timeBetweenEvictionRunsMillis;
+	}
+
+	/**
+	 * Set the minimum time that an idle object can sit in the pool before
+	 * it becomes subject to eviction. Default is 1800000 (30 minutes).
+	 * <p>Note that eviction runs need to be performed to take this
+	 * setting into effect.
+	 * @see #setTimeBetweenEvictionRunsMillis
+	 */
+	public void setMinEvictableIdleTimeMillis(long minEvictableIdleTimeMillis) {
+		this.minEvictableIdleTimeMillis = minEvictableIdleTimeMillis;
+	}
+
+	/**
+	 * Return the minimum time that an idle object can sit in the pool.
+	 */
+	public long getMinEvictableIdleTimeMillis() {
+		return this.minEvictableIdleTimeMillis;
+	}
+
+	/**
+	 * Set the number of stripes to hold idle objects in.
+	 * <p>Default is the number of available processors, rounded up to the
+	 * next power of two. A value of 1 results in a single pool lock,
+	 * without any thread affinity.
+	 */
+	public void setStripeCount(int stripeCount) {
+		this.stripeCount = stripeCount;
+	}
+
+	/**
+	 * Return the number of stripes to hold idle objects in.
+	 */
+	public int getStripeCount() {
+		return this.stripeCount;
+	}
+
+
+	/**
+	 * Creates the stripes, fills the pool up to the minimum number of idle objects
+	 * and starts the eviction timer (if necessary).
+	 */
+	protected final void createPool() {
+		int count = this.stripeCount;
+		if (count <= 0) {
+			count = Runtime.getRuntime().availableProcessors();
+		}
+		int size = 1;
+		while (size < count) {
+			size <<= 1;
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Creating striped object pool with " + size + " stripes");
+		}
+		this.stripes = new Stripe[size];
+		for (int i = 0; i < size; i++) {
+			this.stripes[i] = new Stripe();
+		}
+		ensureMinIdle();
+		if (this.timeBetweenEvictionRunsMillis > 0) {
+			this.evictionTimer = new Timer(true);
+			this.evictionTimer.schedule(new EvictionTask(),
+					this.timeBetweenEvictionRunsMillis, this.timeBetweenEvictionRunsMillis);
+		}
+	}
+
+
+	/**
+	 * Borrow an object from the pool: from the current thread's home stripe
+	 * if possible, else from any other stripe, else creating a new object
+	 * if the maximum size has not been reached yet.
+	 * @throws NoSuchElementException if the pool is exhausted and no object
+	 * has been returned within the maximum waiting time
+	 */
+	public Object getTarget() throws Exception {
+		Object target = pollIdle();
+		if (target != null) {
+			return target;
+		}
+		long deadline = (this.maxWait > 0 ? System.currentTimeMillis() + this.maxWait : 0);
+		while (true) {
+			if (this.closed) {
+				throw new IllegalStateException("Pool has been closed");
+			}
+			synchronized (this.poolMonitor) {
+				if (getMaxSize() < 0 || this.createdCount < getMaxSize()) {
+					this.createdCount++;
+					break;
+				}
+				// Register as waiter before checking the stripes again,
+				// so that any concurrent return is going to notify us.
+				this.waiterCount++;
+				try {
+					target = pollIdle();
+					if (target != null) {
+						return target;
+					}
+					if (this.maxWait == 0) {
+						throw new NoSuchElementException("Pool exhausted");
+					}
+					if (this.maxWait < 0) {
+						this.poolMonitor.wait();
+					}
+					else {
+						long timeToWait = deadline - System.currentTimeMillis();
+						if (timeToWait <= 0) {
+							throw new NoSuchElementException("Timeout waiting for idle object");
+						}
+						this.poolMonitor.wait(timeToWait);
+					}
+				}
+				finally {
+					this.waiterCount--;
+				}
+			}
+			target = pollIdle();
+			if (target != null) {
+				return target;
+			}
+		}
+		return createTarget();
+	}
+
+	/**
+	 * Return the given object to the current thread's home stripe,
+	 * destroying it if the pool already holds the maximum number of idle objects.
+	 */
+	public void releaseTarget(Object target) throws Exception {
+		if (this.closed || (this.maxIdle >= 0 && getIdleCount() >= this.maxIdle)) {
+			destroyTarget(target);
+			return;
+		}
+		getHomeStripe().push(target);
+		if (this.waiterCount > 0) {
+			synchronized (this.poolMonitor) {
+				this.poolMonitor.notify();
+			}
+		}
+	}
+
+	public int getActiveCount() {
+		synchronized (this.poolMonitor) {
+			return Math.max(this.createdCount - getIdleCount(), 0);
+		}
+	}
+
+	public int getIdleCount() {
+		int count = 0;
+		for (int i = 0; i < this.stripes.length; i++) {
+			count += this.stripes[i].size;
+		}
+		return count;
+	}
+
+
+	/**
+	 * Take an idle object from the current thread's home stripe,
+	 * else from any other stripe.
+	 * @return the idle object, or <code>null</code> if none available
+	 */
+	private Object pollIdle() {
+		int home = getHomeStripeIndex();
+		for (int i = 0; i < this.stripes.length; i++) {
+			Stripe stripe = this.stripes[(home + i) & (this.stripes.length - 1)];
+			if (stripe.size > 0) {
+				Object target = stripe.pop();
+				if (target != null) {
+					return target;
+				}
+			}
+		}
+		return null;
+	}
+
+	private Stripe getHomeStripe() {
+		return this.stripes[getHomeStripeIndex()];
+	}
+
+	private int getHomeStripeIndex() {
+		int hash = System.identityHashCode(Thread.currentThread());
+		// Spread the bits of the identity hash code, as done by java.util.HashMap.
+		hash ^= (hash >>> 20) ^ (hash >>> 12);
+		hash ^= (hash >>> 7) ^ (hash >>> 4);
+		return (hash & (this.stripes.length - 1));
+	}
+
+	/**
+	 * Create a new target object, with a slot already reserved in the
+	 * created object count. Frees the slot if object creation failed.
+	 */
+	private Object createTarget() {
+		boolean created = false;
+		try {
+			Object target = newPrototypeInstance();
+			created = true;
+			return target;
+		}
+		finally {
+			if (!created) {
+				synchronized (this.poolMonitor) {
+					this.createdCount--;
+					this.poolMonitor.notify();
+				}
+			}
+		}
+	}
+
+	private void destroyTarget(Object target) {
+		synchronized (this.poolMonitor) {
+			this.createdCount--;
+			this.poolMonitor.notify();
+		}
+		destroyPrototypeInstance(target);
+	}
+
+	/**
+	 * Fill the pool up to the minimum number of idle objects,
+	 * as far as allowed by the maximum size.
+	 */
+	private void ensureMinIdle() {
+		while (!this.closed && getIdleCount() < this.minIdle) {
+			synchronized (this.poolMonitor) {
+				if (getMaxSize() >= 0 && this.createdCount >= getMaxSize()) {
+					return;
+				}
+				this.createdCount++;
+			}
+			Object target = createTarget();
+			this.stripes[getIdleCount() & (this.stripes.length - 1)].push(target);
+		}
+	}
+
+	/**
+	 * Destroy idle objects that have exceeded the minimum evictable idle time,
+	 * keeping at least the minimum number of idle objects.
+	 */
+	private void evict() {
+		long evictionThreshold = System.currentTimeMillis() - this.minEvictableIdleTimeMillis;
+		for (int i = 0; i < this.stripes.length && !this.closed; i++) {
+			Object target;
+			while (getIdleCount() > this.minIdle &&
+					(target = this.stripes[i].pollOldest(evictionThreshold)) != null) {
+				destroyTarget(target);
+			}
+		}
+		ensureMinIdle();
+	}
+
+
+	/**
+	 * Stops the eviction timer and destroys all idle objects.
+	 * Objects that are still in use get destroyed when returned.
+	 */
+	public void destroy() {
+		logger.debug("Closing striped object pool");
+		this.closed = true;
+		if (this.evictionTimer != null) {
+			this.evictionTimer.cancel();
+		}
+		for (int i = 0; i < this.stripes.length; i++) {
+			Object target;
+			while ((target = this.stripes[i].pop()) != null) {
+				destroyTarget(target);
+			}
+		}
+		synchronized (this.poolMonitor) {
+			this.poolMonitor.notifyAll();
+		}
+	}
+
+
+	/**
+	 * A stripe of idle objects, with the most recently returned objects at the head.
+	 */
+	private static class Stripe {
+
+		/** IdleTarget objects, most recently returned first */
+		private final LinkedList idleTargets = new LinkedList();
+
+		/** Number of idle objects, readable without locking */
+		private volatile int size = 0;
+
+		public synchronized void push(Object target) {
+			this.idleTargets.addFirst(new IdleTarget(target));
+			this.size = this.idleTargets.size();
+		}
+
+		public synchronized Object pop() {
+			if (this.idleTargets.isEmpty()) {
+				return null;
+			}
+			Object target = ((IdleTarget) this.idleTargets.removeFirst()).target;
+			this.size = this.idleTargets.size();
+			return target;
+		}
+
+		public synchronized Object pollOldest(long idleSinceThreshold) {
+			if (this.idleTargets.isEmpty() ||
+					((IdleTarget) this.idleTargets.getLast()).idleSince > idleSinceThreshold) {
+				return null;
+			}
+			Object target = ((IdleTarget) this.idleTargets.removeLast()).target;
+			this.size = this.idleTargets.size();
+			return target;
+		}
+	}
+
+
+	/**
+	 * Holder for an idle object, together with the time that it got returned.
+	 */
+	private static class IdleTarget {
+
+		public final Object target;
+
+		public final long idleSince = System.currentTimeMillis();
+
+		public IdleTarget(Object target) {
+			this.target = target;
+		}
+	}
+
+
+	/**
+	 * Timer task that performs an eviction run.
+	 */
+	private class EvictionTask extends TimerTask {
+
+		public void run() {
+			try {
+				evict();
+			}
+			catch (Throwable ex) {
+				logger.warn("Eviction run failed for striped object pool", ex);
+			}
+		}
+	}
+
+}
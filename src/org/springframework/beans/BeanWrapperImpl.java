@@ -98,6 +98,9 @@ public class BeanWrapperImpl extends AbstractPropertyAccessor implements BeanWra
 	 */
 	private Map nestedBeanWrappers;
 
+	/** Whether to invoke property methods through a generated accessor class */
+	private boolean useGeneratedAccessors = false;
+
 
 	/**
 	 * Create new empty BeanWrapperImpl. Wrapped instance needs to be set afterwards.
@@ -161,6 +164,7 @@ public class BeanWrapperImpl extends AbstractPropertyAccessor implements BeanWra
 	private BeanWrapperImpl(Object object, String nestedPath, BeanWrapperImpl superBw) {
 		setWrappedInstance(object, nestedPath, superBw.getWrappedInstance());
 		setExtractOldValueForEditor(superBw.isExtractOldValueForEditor());
+		setUseGeneratedAccessors(superBw.isUseGeneratedAccessors());
 	}
 
 
@@ -237,6 +241,26 @@ public class BeanWrapperImpl extends AbstractPropertyAccessor implements BeanWra
 		}
 	}
 
+	/**
+	 * Set whether to invoke property read and write methods through a generated
+	 * accessor class (one per bean class, based on CGLIB) instead of through
+	 * reflection. This avoids the overhead of <code>Method.invoke</code> for
+	 * frequently used bean classes, e.g. in data binding scenarios.
+	 * <p>Default is "false". Falls back to reflective invocation if CGLIB is
+	 * not available or if the accessor class could not be generated, for
+	 * example because of a restrictive ClassLoader or SecurityManager.
+	 */
+	public void setUseGeneratedAccessors(boolean useGeneratedAccessors) {
+		this.useGeneratedAccessors = useGeneratedAccessors;
+	}
+
+	/**
+	 * Return whether to invoke property methods through a generated accessor class.
+	 */
+	public boolean isUseGeneratedAccessors() {
+		return this.useGeneratedAccessors;
+	}
+
 	/**
 	 * Obtain a lazily initializted CachedIntrospectionResults instance
 	 * for the wrapped object.
@@ -548,7 +572,7 @@ public class BeanWrapperImpl extends AbstractPropertyAccessor implements BeanWra
 			if (!Modifier.isPublic(readMethod.getDeclaringClass().getModifiers())) {
 				readMethod.setAccessible(true);
 			}
-			Object value = readMethod.invoke(this.object, (Object[]) null);
+			Object value = invokePropertyMethod(readMethod, null);
 			if (tokens.keys != null) {
 				// apply indexes and map keys
 				for (int i = 0; i < tokens.keys.length; i++) {
@@ -824,7 +848,7 @@ public class BeanWrapperImpl extends AbstractPropertyAccessor implements BeanWra
 								readMethod.setAccessible(true);
 							}
 							try {
-								oldValue = readMethod.invoke(this.object, new Object[0]);
+								oldValue = invokePropertyMethod(readMethod, new Object[0]);
 							}
 							catch (Exception ex) {
 								if (logger.isDebugEnabled()) {
@@ -841,7 +865,7 @@ public class BeanWrapperImpl extends AbstractPropertyAccessor implements BeanWra
 				if (!Modifier.isPublic(writeMethod.getDeclaringClass().getModifiers())) {
 					writeMethod.setAccessible(true);
 				}
-				writeMethod.invoke(this.object, new Object[] {valueToApply});
+				invokePropertyMethod(writeMethod, new Object[] {valueToApply});
 			}
 			catch (InvocationTargetException ex) {
 				PropertyChangeEvent propertyChangeEvent =
@@ -867,6 +891,27 @@ public class BeanWrapperImpl extends AbstractPropertyAccessor implements BeanWra
 	}
 
 
+	/**
+	 * Invoke the given property read or write method on the wrapped object,
+	 * either through the generated accessor class or through reflection.
+	 * @param method the property method to invoke
+	 * @param args the arguments for the invocation
+	 * @return the return value of the method, if any
+	 * @see #setUseGeneratedAccessors
+	 */
+	private Object invokePropertyMethod(Method method, Object[] args)
+			throws InvocationTargetException, IllegalAccessException {
+
+		if (this.useGeneratedAccessors) {
+			GeneratedPropertyAccessor accessor = getCachedIntrospectionResults().getGeneratedAccessor();
+			if (accessor != null) {
+				return accessor.invoke(method, this.object, args);
+			}
+		}
+		return method.invoke(this.object, args);
+	}
+
+
 	public String toString() {
 		StringBuffer sb = new StringBuffer(getClass().getName());
 		if (this.object != null) {
@@ -21,18 +21,21 @@ import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.WeakHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.core.CollectionFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StripedCounter;
+
 /**
  * Internal class that caches JavaBeans {@link java.beans.PropertyDescriptor}
  * information for a Java class. Not intended for direct use by application code.
@@ -57,18 +60,45 @@ public class CachedIntrospectionResults {
 
 	private static final Log logger = LogFactory.getLog(CachedIntrospectionResults.class);
 
+	/** Whether the CGLIB2 library is present on the classpath, for generated property accessors */
+	private static final boolean cglibAvailable =
+			ClassUtils.isPresent("net.sf.cglib.reflect.FastClass", CachedIntrospectionResults.class.getClassLoader());
+
 	/**
-	 * Set of ClassLoaders that this CachedIntrospectionResults class will always
+	 * ClassLoaders that this CachedIntrospectionResults class will always
 	 * accept classes from, even if the classes do not qualify as cache-safe.
+	 * Replaced as a whole on modification, in order to allow for unsynchronized reads.
 	 */
-	static final Set acceptedClassLoaders = Collections.synchronizedSet(new HashSet());
+	private static volatile ClassLoader[] acceptedClassLoaders = new ClassLoader[0];
+
+	/** Monitor for modifications of the accepted ClassLoaders */
+	private static final Object acceptedClassLoadersMonitor = new Object();
 
 	/**
-	 * Map keyed by class containing CachedIntrospectionResults.
-	 * Needs to be a WeakHashMap with WeakReferences as values to allow
-	 * for proper garbage collection in case of multiple class loaders.
+	 * Map keyed by ClassLoader, containing a concurrent Map per ClassLoader that
+	 * holds the CachedIntrospectionResults for the classes defined by that
+	 * ClassLoader, keyed by class name. The ClassLoaders are only weakly
+	 * referenced; results for classes that are not cache-safe are held through
+	 * WeakReferences, to allow for proper garbage collection in case of
+	 * multiple class loaders.
+	 */
+	static final Map classCache = CollectionFactory.createConcurrentMapIfPossible(16);
+
+	/** Cache segment for classes loaded by the bootstrap ClassLoader */
+	private static final Map bootstrapClassCache = CollectionFactory.createConcurrentMapIfPossible(16);
+
+	/** Queue for keys of ClassLoaders that have been garbage-collected */
+	private static final ReferenceQueue staleClassLoaders = new ReferenceQueue();
+
+	/*
+	 * Cache statistics. Striped, in order to keep threads on the cache hit path
+	 * from contending on a shared counter.
 	 */
-	static final Map classCache = Collections.synchronizedMap(new WeakHashMap());
+	private static final StripedCounter hitCount = new StripedCounter();
+
+	private static final StripedCounter missCount = new StripedCounter();
+
+	private static final StripedCounter evictionCount = new StripedCounter();
 
 
 	/**
@@ -85,7 +115,18 @@ public class CachedIntrospectionResults {
 	 */
 	public static void acceptClassLoader(ClassLoader classLoader) {
 		if (classLoader != null) {
-			acceptedClassLoaders.add(classLoader);
+			synchronized (acceptedClassLoadersMonitor) {
+				ClassLoader[] current = acceptedClassLoaders;
+				for (int i = 0; i < current.length; i++) {
+					if (current[i] == classLoader) {
+						return;
+					}
+				}
+				ClassLoader[] updated = new ClassLoader[current.length + 1];
+				System.arraycopy(current, 0, updated, 0, current.length);
+				updated[current.length] = classLoader;
+				acceptedClassLoaders = updated;
+			}
 		}
 	}
 
@@ -101,23 +142,51 @@ public class CachedIntrospectionResults {
 			return;
 		}
 		synchronized (classCache) {
-			for (Iterator it = classCache.keySet().iterator(); it.hasNext();) {
-				Class beanClass = (Class) it.next();
-				if (isUnderneathClassLoader(beanClass.getClassLoader(), classLoader)) {
+			for (Iterator it = classCache.entrySet().iterator(); it.hasNext();) {
+				Map.Entry entry = (Map.Entry) it.next();
+				ClassLoader segmentLoader = (ClassLoader) ((ClassLoaderKey) entry.getKey()).get();
+				if (segmentLoader == null || isUnderneathClassLoader(segmentLoader, classLoader)) {
+					evictionCount.add(((Map) entry.getValue()).size());
 					it.remove();
 				}
 			}
 		}
-		synchronized (acceptedClassLoaders) {
-			for (Iterator it = acceptedClassLoaders.iterator(); it.hasNext();) {
-				ClassLoader registeredLoader = (ClassLoader) it.next();
-				if (isUnderneathClassLoader(registeredLoader, classLoader)) {
-					it.remove();
+		synchronized (acceptedClassLoadersMonitor) {
+			ClassLoader[] current = acceptedClassLoaders;
+			List retained = new ArrayList(current.length);
+			for (int i = 0; i < current.length; i++) {
+				if (!isUnderneathClassLoader(current[i], classLoader)) {
+					retained.add(current[i]);
 				}
 			}
+			acceptedClassLoaders = (ClassLoader[]) retained.toArray(new ClassLoader[retained.size()]);
 		}
 	}
 
+	/**
+	 * Return the number of cache lookups that found existing introspection results.
+	 */
+	public static long getCacheHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Return the number of cache lookups that required a new introspection
+	 * of the given class.
+	 */
+	public static long getCacheMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Return the number of introspection results that have been evicted from
+	 * the cache: through {@link #clearClassLoader}, through garbage collection
+	 * of their ClassLoader, or through garbage collection of weakly held results.
+	 */
+	public static long getCacheEvictionCount() {
+		return evictionCount.get();
+	}
+
 	/**
 	 * Create CachedIntrospectionResults for the given bean class.
 	 * <P>We don't want to use synchronization here. Object references are atomic,
@@ -127,31 +196,87 @@ public class CachedIntrospectionResults {
 	 * @throws BeansException in case of introspection failure
 	 */
 	static CachedIntrospectionResults forClass(Class beanClass) throws BeansException {
-		CachedIntrospectionResults results = null;
-		Object value = classCache.get(beanClass);
-		if (value instanceof Reference) {
-			Reference ref = (Reference) value;
-			results = (CachedIntrospectionResults) ref.get();
-		}
-		else {
-			results = (CachedIntrospectionResults) value;
-		}
-		if (results == null) {
-			// can throw BeansException
-			results = new CachedIntrospectionResults(beanClass);
-			if (isCacheSafe(beanClass) || isClassLoaderAccepted(beanClass.getClassLoader())) {
-				classCache.put(beanClass, results);
+		ClassLoader classLoader = beanClass.getClassLoader();
+		Map segment = getSegment(classLoader, false);
+		if (segment != null) {
+			Object value = segment.get(beanClass.getName());
+			CachedIntrospectionResults results = null;
+			if (value instanceof Reference) {
+				results = (CachedIntrospectionResults) ((Reference) value).get();
+				if (results == null) {
+					evictionCount.increment();
+				}
 			}
 			else {
-				if (logger.isDebugEnabled()) {
-					logger.debug("Not strongly caching class [" + beanClass.getName() + "] because it is not cache-safe");
-				}
-				classCache.put(beanClass, new WeakReference(results));
+				results = (CachedIntrospectionResults) value;
+			}
+			if (results != null) {
+				hitCount.increment();
+				return results;
 			}
 		}
+
+		missCount.increment();
+		expungeStaleSegments();
+		// can throw BeansException
+		CachedIntrospectionResults results = new CachedIntrospectionResults(beanClass);
+		Object value = results;
+		if (!isCacheSafe(beanClass) && !isClassLoaderAccepted(classLoader)) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Not strongly caching class [" + beanClass.getName() + "] because it is not cache-safe");
+			}
+			value = new WeakReference(results);
+		}
+		getSegment(classLoader, true).put(beanClass.getName(), value);
 		return results;
 	}
 
+	/**
+	 * Check whether introspection results for the given class are currently cached.
+	 * @param beanClass the bean class to check
+	 */
+	static boolean isCached(Class beanClass) {
+		Map segment = getSegment(beanClass.getClassLoader(), false);
+		return (segment != null && segment.containsKey(beanClass.getName()));
+	}
+
+	/**
+	 * Obtain the cache segment for the given ClassLoader.
+	 * @param classLoader the ClassLoader (<code>null</code> for the bootstrap ClassLoader)
+	 * @param create whether to create the segment if it does not exist yet
+	 * @return the cache segment, or <code>null</code> if none found and not created
+	 */
+	private static Map getSegment(ClassLoader classLoader, boolean create) {
+		if (classLoader == null) {
+			return bootstrapClassCache;
+		}
+		Map segment = (Map) classCache.get(new ClassLoaderLookupKey(classLoader));
+		if (segment == null && create) {
+			synchronized (classCache) {
+				segment = (Map) classCache.get(new ClassLoaderLookupKey(classLoader));
+				if (segment == null) {
+					segment = CollectionFactory.createConcurrentMapIfPossible(64);
+					classCache.put(new ClassLoaderKey(classLoader, staleClassLoaders), segment);
+				}
+			}
+		}
+		return segment;
+	}
+
+	/**
+	 * Remove the cache segments for all ClassLoaders that have been garbage-collected.
+	 */
+	private static void expungeStaleSegments() {
+		Reference staleKey = staleClassLoaders.poll();
+		while (staleKey != null) {
+			Map segment = (Map) classCache.remove(staleKey);
+			if (segment != null) {
+				evictionCount.add(segment.size());
+			}
+			staleKey = staleClassLoaders.poll();
+		}
+	}
+
 	/**
 	 * Check whether this CachedIntrospectionResults class is configured
 	 * to accept the given ClassLoader.
@@ -160,12 +285,9 @@ public class CachedIntrospectionResults {
 	 * @see #acceptClassLoader
 	 */
 	private static boolean isClassLoaderAccepted(ClassLoader classLoader) {
-		// Iterate over array copy in order to avoid synchronization for the entire
-		// ClassLoader check (avoiding a synchronized acceptedClassLoaders Iterator).
-		Object[] acceptedLoaderArray = acceptedClassLoaders.toArray();
+		ClassLoader[] acceptedLoaderArray = acceptedClassLoaders;
 		for (int i = 0; i < acceptedLoaderArray.length; i++) {
-			ClassLoader registeredLoader = (ClassLoader) acceptedLoaderArray[i];
-			if (isUnderneathClassLoader(classLoader, registeredLoader)) {
+			if (isUnderneathClassLoader(classLoader, acceptedLoaderArray[i])) {
 				return true;
 			}
 		}
@@ -228,6 +350,12 @@ public class CachedIntrospectionResults {
 	/** PropertyDescriptor objects keyed by property name String */
 	private final Map propertyDescriptorCache;
 
+	/**
+	 * Lazily generated property accessor for the introspected bean class,
+	 * or <code>Boolean.FALSE</code> if no accessor could be generated
+	 */
+	private volatile Object generatedAccessor;
+
 
 	/**
 	 * Create a new CachedIntrospectionResults instance for the given class.
@@ -288,4 +416,110 @@ public class CachedIntrospectionResults {
 		return (PropertyDescriptor) this.propertyDescriptorCache.get(propertyName);
 	}
 
+	/**
+	 * Return a generated accessor for the property methods of the introspected
+	 * bean class, generating it on first access.
+	 * @return the generated accessor, or <code>null</code> if not available
+	 * (because CGLIB is not present or class generation failed, e.g. due to
+	 * a restrictive ClassLoader or SecurityManager)
+	 */
+	GeneratedPropertyAccessor getGeneratedAccessor() {
+		Object accessor = this.generatedAccessor;
+		if (accessor == null) {
+			accessor = Boolean.FALSE;
+			if (cglibAvailable) {
+				Class beanClass = getBeanClass();
+				try {
+					accessor = GeneratedAccessorFactory.createAccessor(beanClass, this.beanInfo.getPropertyDescriptors());
+				}
+				catch (Throwable ex) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Could not generate property accessor for class [" + beanClass.getName() +
+								"] - falling back to reflection", ex);
+					}
+				}
+			}
+			this.generatedAccessor = accessor;
+		}
+		return (accessor instanceof GeneratedPropertyAccessor ? (GeneratedPropertyAccessor) accessor : null);
+	}
+
+
+	/**
+	 * Key for a ClassLoader's cache segment, weakly referencing the ClassLoader.
+	 */
+	private static class ClassLoaderKey extends WeakReference {
+
+		private final int hashCode;
+
+		public ClassLoaderKey(ClassLoader classLoader, ReferenceQueue queue) {
+			super(classLoader, queue);
+			this.hashCode = System.identityHashCode(classLoader);
+		}
+
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			Object classLoader = get();
+			if (classLoader == null) {
+				return false;
+			}
+			if (other instanceof ClassLoaderKey) {
+				return (((ClassLoaderKey) other).get() == classLoader);
+			}
+			if (other instanceof ClassLoaderLookupKey) {
+				return (((ClassLoaderLookupKey) other).classLoader == classLoader);
+			}
+			return false;
+		}
+
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+
+	/**
+	 * Short-lived key for looking up a ClassLoader's cache segment,
+	 * avoiding the creation of a WeakReference for every lookup.
+	 */
+	private static class ClassLoaderLookupKey {
+
+		private final ClassLoader classLoader;
+
+		public ClassLoaderLookupKey(ClassLoader classLoader) {
+			this.classLoader = classLoader;
+		}
+
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (other instanceof ClassLoaderKey) {
+				return (((ClassLoaderKey) other).get() == this.classLoader);
+			}
+			if (other instanceof ClassLoaderLookupKey) {
+				return (((ClassLoaderLookupKey) other).classLoader == this.classLoader);
+			}
+			return false;
+		}
+
+		public int hashCode() {
+			return System.identityHashCode(this.classLoader);
+		}
+	}
+
+
+	/**
+	 * Inner factory class used to just introduce a CGLIB2 dependency
+	 * when actually generating a property accessor.
+	 */
+	private static class GeneratedAccessorFactory {
+
+		public static Object createAccessor(Class beanClass, PropertyDescriptor[] pds) {
+			return new GeneratedPropertyAccessor(beanClass, pds);
+		}
+	}
+
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.sf.cglib.reflect.FastClass;
+
+/**
+ * Internal helper that invokes the read and write methods of a bean class
+ * through a generated accessor class instead of through reflection.
+ * Not intended for direct use by application code.
+ *
+ * <p>Based on CGLIB's {@link FastClass}: One accessor class gets generated
+ * per bean class, dispatching to the actual property methods via direct
+ * (and hence JIT-inlinable) calls. Methods that the generated class cannot
+ * reach, as well as <code>null</code> values for primitive parameters,
+ * are handled through reflection, for consistent exception semantics.
+ *
+ * @author agent
+ * @since 2.5.1
+ * @see BeanWrapperImpl#setUseGeneratedAccessors
+ * @see CachedIntrospectionResults#getGeneratedAccessor
+ */
+final class GeneratedPropertyAccessor {
+
+	private final FastClass fastClass;
+
+	/** Index information for all accessible property methods: Method --> MethodIndex */
+	private final Map methodIndexes = new HashMap();
+
+
+	/**
+	 * Generate an accessor class for the given bean class.
+	 * @param beanClass the bean class to generate an accessor for
+	 * @param pds the PropertyDescriptors of the bean class
+	 * @throws net.sf.cglib.core.CodeGenerationException if class generation failed
+	 */
+	public GeneratedPropertyAccessor(Class beanClass, PropertyDescriptor[] pds) {
+		this.fastClass = FastClass.create(beanClass);
+		for (int i = 0; i < pds.length; i++) {
+			addMethod(pds[i].getReadMethod());
+			addMethod(pds[i].getWriteMethod());
+		}
+	}
+
+	private void addMethod(Method method) {
+		if (method == null || !Modifier.isPublic(method.getModifiers()) ||
+				!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+			return;
+		}
+		Class[] paramTypes = method.getParameterTypes();
+		int index = this.fastClass.getIndex(method.getName(), paramTypes);
+		if (index >= 0) {
+			boolean primitiveParam = (paramTypes.length == 1 && paramTypes[0].isPrimitive());
+			this.methodIndexes.put(method, new MethodIndex(index, primitiveParam));
+		}
+	}
+
+	/**
+	 * Invoke the given property method on the given target object.
+	 * @param method the read or write method to invoke
+	 * @param target the target object to invoke the method on
+	 * @param args the arguments for the method invocation
+	 * @return the return value of the method, if any
+	 * @throws InvocationTargetException if the method itself threw an exception
+	 * @throws IllegalAccessException in case of reflective fallback without access
+	 */
+	public Object invoke(Method method, Object target, Object[] args)
+			throws InvocationTargetException, IllegalAccessException {
+
+		MethodIndex methodIndex = (MethodIndex) this.methodIndexes.get(method);
+		if (methodIndex == null || (methodIndex.primitiveParam && args[0] == null)) {
+			return method.invoke(target, args);
+		}
+		return this.fastClass.invoke(methodIndex.index, target, args);
+	}
+
+
+	/**
+	 * Index of a method within the generated accessor class.
+	 */
+	private static class MethodIndex {
+
+		public final int index;
+
+		public final boolean primitiveParam;
+
+		public MethodIndex(int index, boolean primitiveParam) {
+			this.index = index;
+			this.primitiveParam = primitiveParam;
+		}
+	}
+
+}
@@ -65,6 +65,7 @@ import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
 import org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
 import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.core.CollectionFactory;
 import org.springframework.core.MethodParameter;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
@@ -117,6 +118,9 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	private boolean allowRawInjectionDespiteWrapping = false;
 
+	/** Whether to cache precompiled instantiation plans for non-singleton beans */
+	private boolean cacheInstantiationPlans = false;
+
 	/**
 	 * Dependency types to ignore on dependency check and autowire, as Set of
 	 * Class objects: for example, String. Default is none.
@@ -133,7 +137,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	private final Map factoryBeanInstanceCache = new HashMap();
 
 	/** Cache of filtered PropertyDescriptors: bean Class -> PropertyDescriptor array */
-	private final Map filteredPropertyDescriptorsCache = new HashMap();
+	private final Map filteredPropertyDescriptorsCache = CollectionFactory.createConcurrentMapIfPossible(64);
 
 
 	/**
@@ -207,6 +211,28 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 		this.allowRawInjectionDespiteWrapping = allowRawInjectionDespiteWrapping;
 	}
 
+	/**
+	 * Set whether to cache a precompiled instantiation plan for each non-singleton
+	 * bean definition, to be replayed for every subsequently created instance.
+	 * <p>Once a bean definition's property values have been fully converted
+	 * (i.e. they consist of constant values only), the resolved setter methods and
+	 * the pre-converted values will be applied directly to new bean instances,
+	 * bypassing BeanWrapper property resolution and type conversion.
+	 * <p>Default is "false". Turn this on for prototype or request/session-scoped
+	 * beans that get created at a high rate.
+	 * @see RootBeanDefinition
+	 */
+	public void setCacheInstantiationPlans(boolean cacheInstantiationPlans) {
+		this.cacheInstantiationPlans = cacheInstantiationPlans;
+	}
+
+	/**
+	 * Return whether to cache precompiled instantiation plans for non-singleton beans.
+	 */
+	public boolean isCacheInstantiationPlans() {
+		return this.cacheInstantiationPlans;
+	}
+
 	/**
 	 * Ignore the given dependency type for autowiring:
 	 * for example, String. Default is none.
@@ -237,6 +263,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 					(AbstractAutowireCapableBeanFactory) otherFactory;
 			this.instantiationStrategy = otherAutowireFactory.instantiationStrategy;
 			this.allowCircularReferences = otherAutowireFactory.allowCircularReferences;
+			this.cacheInstantiationPlans = otherAutowireFactory.cacheInstantiationPlans;
 			this.ignoredDependencyTypes.addAll(otherAutowireFactory.ignoredDependencyTypes);
 			this.ignoredDependencyInterfaces.addAll(otherAutowireFactory.ignoredDependencyInterfaces);
 		}
@@ -530,7 +557,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 				logger.debug("Eagerly caching bean '" + beanName +
 						"' to allow for resolving potential circular references");
 			}
-			addSingleton(beanName, bean);
+			addEarlySingleton(beanName, bean);
 		}
 
 		// Initialize the bean instance.
@@ -1154,22 +1181,25 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 * @see #isExcludedFromDependencyCheck
 	 */
 	protected PropertyDescriptor[] filterPropertyDescriptorsForDependencyCheck(BeanWrapper bw) {
-		synchronized (this.filteredPropertyDescriptorsCache) {
-			PropertyDescriptor[] filtered = (PropertyDescriptor[])
-					this.filteredPropertyDescriptorsCache.get(bw.getWrappedClass());
-			if (filtered == null) {
-				List pds = new LinkedList(Arrays.asList(bw.getPropertyDescriptors()));
-				for (Iterator it = pds.iterator(); it.hasNext();) {
-					PropertyDescriptor pd = (PropertyDescriptor) it.next();
-					if (isExcludedFromDependencyCheck(pd)) {
-						it.remove();
+		PropertyDescriptor[] filtered = (PropertyDescriptor[])
+				this.filteredPropertyDescriptorsCache.get(bw.getWrappedClass());
+		if (filtered == null) {
+			synchronized (this.filteredPropertyDescriptorsCache) {
+				filtered = (PropertyDescriptor[]) this.filteredPropertyDescriptorsCache.get(bw.getWrappedClass());
+				if (filtered == null) {
+					List pds = new LinkedList(Arrays.asList(bw.getPropertyDescriptors()));
+					for (Iterator it = pds.iterator(); it.hasNext();) {
+						PropertyDescriptor pd = (PropertyDescriptor) it.next();
+						if (isExcludedFromDependencyCheck(pd)) {
+							it.remove();
+						}
 					}
+					filtered = (PropertyDescriptor[]) pds.toArray(new PropertyDescriptor[pds.size()]);
+					this.filteredPropertyDescriptorsCache.put(bw.getWrappedClass(), filtered);
 				}
-				filtered = (PropertyDescriptor[]) pds.toArray(new PropertyDescriptor[pds.size()]);
-				this.filteredPropertyDescriptorsCache.put(bw.getWrappedClass(), filtered);
 			}
-			return filtered;
 		}
+		return filtered;
 	}
 
 	/**
@@ -1240,6 +1270,22 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 			if (mpvs.isConverted()) {
 				// Shortcut: use the pre-converted values as-is.
 				try {
+					if (isInstantiationPlanCandidate(mbd, pvs)) {
+						RootBeanDefinition rbd = (RootBeanDefinition) mbd;
+						BeanInstantiationPlan plan = rbd.instantiationPlan;
+						if (plan != null && plan.isApplicableTo(bw.getWrappedClass())) {
+							if (plan.isExecutable()) {
+								plan.apply(bw.getWrappedInstance());
+							}
+							else {
+								bw.setPropertyValues(mpvs);
+							}
+							return;
+						}
+						bw.setPropertyValues(mpvs);
+						rbd.instantiationPlan = BeanInstantiationPlan.build(bw, mpvs);
+						return;
+					}
 					bw.setPropertyValues(mpvs);
 					return;
 				}
@@ -1305,6 +1351,18 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 		}
 	}
 
+	/**
+	 * Determine whether the given property values qualify for a cached
+	 * instantiation plan: that is, whether they are the bean definition's own
+	 * property values (not modified through autowiring or post-processing)
+	 * of a non-singleton bean, with instantiation plan caching turned on.
+	 * @see #setCacheInstantiationPlans
+	 */
+	private boolean isInstantiationPlanCandidate(BeanDefinition mbd, PropertyValues pvs) {
+		return (this.cacheInstantiationPlans && mbd instanceof RootBeanDefinition &&
+				!mbd.isSingleton() && pvs == mbd.getPropertyValues());
+	}
+
 	/**
 	 * Convert the given value for the specified target property.
 	 */
@@ -143,7 +143,7 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
 	private final ThreadLocal prototypesCurrentlyInCreation = new ThreadLocal();
 
 	/** Cache of singleton objects created by FactoryBeans: FactoryBean name --> object */
-	private final Map factoryBeanObjectCache = new HashMap();
+	private final Map factoryBeanObjectCache = CollectionFactory.createConcurrentMapIfPossible(16);
 
 
 	/**
@@ -1266,11 +1266,17 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
 						(containsBeanDefinition(beanName) ? getMergedLocalBeanDefinition(beanName) :  null);
 				boolean shared = (mbd == null || mbd.isSingleton());
 				if (shared && factory.isSingleton()) {
-					synchronized (getSingletonMutex()) {
-						object = this.factoryBeanObjectCache.get(beanName);
-						if (object == null) {
-							object = getObjectFromFactoryBean(factory, beanName, mbd);
-							this.factoryBeanObjectCache.put(beanName, object);
+					// Quick check for an already cached object, without obtaining the singleton lock.
+					object = this.factoryBeanObjectCache.get(beanName);
+					if (object == null) {
+						synchronized (getSingletonMutex()) {
+							object = this.factoryBeanObjectCache.get(beanName);
+							if (object == null) {
+								object = getObjectFromFactoryBean(factory, beanName, mbd);
+								if (object != null) {
+									this.factoryBeanObjectCache.put(beanName, object);
+								}
+							}
 						}
 					}
 				}
@@ -16,8 +16,6 @@
 
 package org.springframework.beans.factory.support;
 
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -82,14 +80,17 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 	/** Logger available to subclasses */
 	protected final Log logger = LogFactory.getLog(getClass());
 
-	/** Cache of singleton objects: bean name --> bean instance */
+	/** Cache of fully initialized singleton objects: bean name --> bean instance */
 	private final Map singletonObjects = CollectionFactory.createConcurrentMapIfPossible(16);
 
+	/** Cache of eagerly exposed singleton objects that are still in creation: bean name --> bean instance */
+	private final Map earlySingletonObjects = CollectionFactory.createConcurrentMapIfPossible(16);
+
 	/** Set of registered singletons, containing the bean names in registration order */
 	private final Set registeredSingletons = new LinkedHashSet(16);
 
-	/** Names of beans that are currently in creation */
-	private final Set singletonsCurrentlyInCreation = Collections.synchronizedSet(new HashSet());
+	/** Names of beans that are currently in creation: bean name --> Boolean.TRUE */
+	private final Map singletonsCurrentlyInCreation = CollectionFactory.createConcurrentMapIfPossible(16);
 
 	/** List of suppressed Exceptions, available for associating related causes */
 	private List suppressedExceptions;
@@ -129,12 +130,38 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 	protected void addSingleton(String beanName, Object singletonObject) {
 		synchronized (this.singletonObjects) {
 			this.singletonObjects.put(beanName, (singletonObject != null ? singletonObject : NULL_OBJECT));
+			this.earlySingletonObjects.remove(beanName);
+			this.registeredSingletons.add(beanName);
+		}
+	}
+
+	/**
+	 * Add the given early singleton object to the singleton cache of this factory.
+	 * <p>To be called for eager exposure of a singleton that is still in creation,
+	 * in order to be able to resolve circular references. The object will be
+	 * superseded by the fully initialized instance passed to {@link #addSingleton}.
+	 * @param beanName the name of the bean
+	 * @param singletonObject the early singleton object
+	 */
+	protected void addEarlySingleton(String beanName, Object singletonObject) {
+		synchronized (this.singletonObjects) {
+			this.earlySingletonObjects.put(beanName, (singletonObject != null ? singletonObject : NULL_OBJECT));
 			this.registeredSingletons.add(beanName);
 		}
 	}
 
+	/**
+	 * Return the (raw) singleton object registered under the given name.
+	 * <p>Fully initialized singletons are looked up without any locking,
+	 * falling back to early references to singletons still in creation.
+	 * @param beanName the name of the bean to look for
+	 * @return the registered singleton object, or <code>null</code> if none found
+	 */
 	public Object getSingleton(String beanName) {
 		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject == null) {
+			singletonObject = this.earlySingletonObjects.get(beanName);
+		}
 		return (singletonObject != NULL_OBJECT ? singletonObject : null);
 	}
 
@@ -148,9 +175,17 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 	 */
 	public Object getSingleton(String beanName, ObjectFactory singletonFactory) {
 		Assert.notNull(beanName, "'beanName' must not be null");
+		// Quick check for a fully initialized singleton, without obtaining the lock.
+		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject != null) {
+			return (singletonObject != NULL_OBJECT ? singletonObject : null);
+		}
 		synchronized (this.singletonObjects) {
 			// Re-check singleton cache within synchronized block.
-			Object singletonObject = this.singletonObjects.get(beanName);
+			singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				singletonObject = this.earlySingletonObjects.get(beanName);
+			}
 			if (singletonObject == null) {
 				if (this.singletonsCurrentlyInDestruction) {
 					throw new BeanCreationNotAllowedException(beanName,
@@ -205,12 +240,15 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 	 * @param beanName the name of the bean
 	 */
 	protected void removeSingleton(String beanName) {
-		this.singletonObjects.remove(beanName);
-		this.registeredSingletons.remove(beanName);
+		synchronized (this.singletonObjects) {
+			this.singletonObjects.remove(beanName);
+			this.earlySingletonObjects.remove(beanName);
+			this.registeredSingletons.remove(beanName);
+		}
 	}
 
 	public boolean containsSingleton(String beanName) {
-		return (this.singletonObjects.containsKey(beanName));
+		return (this.singletonObjects.containsKey(beanName) || this.earlySingletonObjects.containsKey(beanName));
 	}
 
 	public String[] getSingletonNames() {
@@ -233,7 +271,7 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 	 * @see #isSingletonCurrentlyInCreation
 	 */
 	protected void beforeSingletonCreation(String beanName) {
-		if (!this.singletonsCurrentlyInCreation.add(beanName)) {
+		if (this.singletonsCurrentlyInCreation.put(beanName, Boolean.TRUE) != null) {
 			throw new BeanCurrentlyInCreationException(beanName);
 		}
 	}
@@ -245,7 +283,7 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 	 * @see #isSingletonCurrentlyInCreation
 	 */
 	protected void afterSingletonCreation(String beanName) {
-		if (!this.singletonsCurrentlyInCreation.remove(beanName)) {
+		if (this.singletonsCurrentlyInCreation.remove(beanName) == null) {
 			throw new IllegalStateException("Singleton '" + beanName + "' isn't currently in creation");
 		}
 	}
@@ -256,7 +294,7 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 	 * @param beanName the name of the bean
 	 */
 	public final boolean isSingletonCurrentlyInCreation(String beanName) {
-		return this.singletonsCurrentlyInCreation.contains(beanName);
+		return this.singletonsCurrentlyInCreation.containsKey(beanName);
 	}
 
 
@@ -350,6 +388,7 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 		}
 		synchronized (this.singletonObjects) {
 			this.singletonObjects.clear();
+			this.earlySingletonObjects.clear();
 			this.registeredSingletons.clear();
 			this.singletonsCurrentlyInDestruction = false;
 		}
@@ -408,6 +447,8 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 	 * any sort of extended singleton creation phase. In particular, subclasses
 	 * should <i>not</i> have their own mutexes involved in singleton creation,
 	 * to avoid the potential for deadlocks in lazy-init situations.
+	 * <p>Note that lookups of fully initialized singletons do not synchronize
+	 * on this mutex: It only guards singleton creation and registration.
 	 */
 	protected final Object getSingletonMutex() {
 		return this.singletonObjects;
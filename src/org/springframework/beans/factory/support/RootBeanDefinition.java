@@ -66,6 +66,9 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
 	/** Package-visible field that indicates MergedBeanDefinitionPostProcessor having been applied */
 	volatile boolean postProcessed = false;
 
+	/** Package-visible field for caching a precompiled BeanInstantiationPlan */
+	volatile BeanInstantiationPlan instantiationPlan;
+
 
 	/**
 	 * Create a new RootBeanDefinition, to be configured through its bean
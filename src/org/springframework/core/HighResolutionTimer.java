@@ -0,0 +1,45 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+/**
+ * Internal helper class for measuring elapsed time with the most precise
+ * timer that the present platform offers: <code>System.nanoTime()</code>
+ * on Java 5 or higher, <code>System.currentTimeMillis()</code> else.
+ *
+ * <p>Values are only meaningful as differences between two calls,
+ * not as wall-clock time.
+ *
+ * @author agent
+ * @since 2.5.1
+ * @see JdkVersion#isAtLeastJava15()
+ */
+public abstract class HighResolutionTimer {
+
+	private static final boolean nanoTimeAvailable = JdkVersion.isAtLeastJava15();
+
+
+	/**
+	 * Return the current value of the timer, in nanoseconds.
+	 * <p>Has millisecond granularity only when running on JDK 1.4.
+	 * @see System#nanoTime()
+	 */
+	public static long nanoTime() {
+		return (nanoTimeAvailable ? System.nanoTime() : System.currentTimeMillis() * 1000000);
+	}
+
+}
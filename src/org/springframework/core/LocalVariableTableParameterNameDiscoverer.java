@@ -21,7 +21,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -39,7 +42,11 @@ import org.springframework.util.ClassUtils;
  * information in the method attributes to discover parameter names. Returns
  * <code>null</code> if the class file was compiled without debug information.
  *
- * <p>Uses ObjectWeb's ASM library for analyzing class files.
+ * <p>Uses ObjectWeb's ASM library for analyzing class files. Each class file
+ * gets read only once, recording the parameter names of all of its methods and
+ * constructors. The results are cached per class in a cache shared by all
+ * discoverer instances, with weak references to the classes, so that class
+ * loaders can be garbage-collected.
  *
  * @author Adrian Colyer
  * @author Juergen Hoeller
@@ -50,65 +57,78 @@ public class LocalVariableTableParameterNameDiscoverer implements ParameterNameD
 	private static Log logger = LogFactory.getLog(LocalVariableTableParameterNameDiscoverer.class);
 
 
+	/**
+	 * Cache of parameter names per class: Class --> Map from member key
+	 * (name + descriptor) to String array of parameter names.
+	 * Shared across instances, since discoverers tend to get created per use.
+	 */
+	private static final Map parameterNamesCache = Collections.synchronizedMap(new WeakHashMap());
+
+
 	public String[] getParameterNames(Method method) {
-		ParameterNameDiscoveringVisitor visitor = null;
-		try {
-			visitor = visitMethod(method);
-			if (visitor.foundTargetMember()) {
-				return visitor.getParameterNames();
-			} 
-		} 
-		catch (IOException ex) {
-			// We couldn't load the class file, which is not fatal as it
-			// simply means this method of discovering parameter names won't work.
-			if (logger.isDebugEnabled()) {
-				logger.debug("IOException whilst attempting to read '.class' file for class [" +
-						method.getDeclaringClass().getName() +
-						"] - unable to determine parameter names for method: " + method, ex);
-			}
-		}
-		return null;
+		Map memberParameterNames = getParameterNamesForClass(method.getDeclaringClass());
+		return getParameterNames(memberParameterNames, method.getName(), Type.getMethodDescriptor(method));
 	}
 
 	public String[] getParameterNames(Constructor ctor) {
-		ParameterNameDiscoveringVisitor visitor = null;
-		try {
-			visitor = visitConstructor(ctor);
-			if (visitor.foundTargetMember()) {
-				return visitor.getParameterNames();
-			} 
+		Map memberParameterNames = getParameterNamesForClass(ctor.getDeclaringClass());
+		Class[] paramTypes = ctor.getParameterTypes();
+		Type[] pTypes = new Type[paramTypes.length];
+		for (int i = 0; i < pTypes.length; i++) {
+			pTypes[i] = Type.getType(paramTypes[i]);
 		}
-		catch (IOException ex) {
-			// We couldn't load the class file, which is not fatal as it
-			// simply means this method of discovering parameter names won't work.
-			if (logger.isDebugEnabled()) {
-				logger.debug("IOException whilst attempting to read '.class' file for class [" +
-						ctor.getDeclaringClass().getName() +
-						"] - unable to determine parameter names for constructor: " + ctor,
-						ex);
-			}
+		return getParameterNames(memberParameterNames, "<init>", Type.getMethodDescriptor(Type.VOID_TYPE, pTypes));
+	}
+
+	private String[] getParameterNames(Map memberParameterNames, String name, String descriptor) {
+		String[] parameterNames = (String[]) memberParameterNames.get(name + descriptor);
+		return (parameterNames != null ? (String[]) parameterNames.clone() : null);
+	}
+
+	/**
+	 * Obtain the parameter names for all members of the given class,
+	 * reading the class file if not cached yet.
+	 * @param clazz the class to introspect
+	 * @return a Map from member key (name + descriptor) to String array
+	 * of parameter names (never <code>null</code>)
+	 */
+	private Map getParameterNamesForClass(Class clazz) {
+		Map memberParameterNames = (Map) parameterNamesCache.get(clazz);
+		if (memberParameterNames == null) {
+			memberParameterNames = inspectClass(clazz);
+			parameterNamesCache.put(clazz, memberParameterNames);
 		}
-		return null;
+		return memberParameterNames;
 	}
 
 	/**
-	 * Visit the given method and discover its parameter names.
+	 * Check whether the parameter names of the given class are currently cached.
+	 * @param clazz the class to check
 	 */
-	private ParameterNameDiscoveringVisitor visitMethod(Method method) throws IOException {
-		ClassReader classReader = createClassReader(method.getDeclaringClass());
-		FindMethodParameterNamesClassVisitor classVisitor = new FindMethodParameterNamesClassVisitor(method);
-		classReader.accept(classVisitor, false);
-		return classVisitor;
+	static boolean isCached(Class clazz) {
+		return parameterNamesCache.containsKey(clazz);
 	}
 
 	/**
-	 * Visit the given constructor and discover its parameter names.
+	 * Read the class file for the given class and discover the parameter names
+	 * of all of its methods and constructors.
 	 */
-	private ParameterNameDiscoveringVisitor visitConstructor(Constructor ctor) throws IOException {
-		ClassReader classReader = createClassReader(ctor.getDeclaringClass());
-		FindConstructorParameterNamesClassVisitor classVisitor = new FindConstructorParameterNamesClassVisitor(ctor);
-		classReader.accept(classVisitor, false);
-		return classVisitor;
+	private Map inspectClass(Class clazz) {
+		try {
+			ClassReader classReader = createClassReader(clazz);
+			ParameterNameDiscoveringVisitor classVisitor = new ParameterNameDiscoveringVisitor();
+			classReader.accept(classVisitor, false);
+			return classVisitor.getMemberParameterNames();
+		}
+		catch (IOException ex) {
+			// We couldn't load the class file, which is not fatal as it
+			// simply means this method of discovering parameter names won't work.
+			if (logger.isDebugEnabled()) {
+				logger.debug("IOException whilst attempting to read '.class' file for class [" +
+						clazz.getName() + "] - unable to determine parameter names", ex);
+			}
+			return Collections.EMPTY_MAP;
+		}
 	}
 
 	/**
@@ -129,107 +149,28 @@ public class LocalVariableTableParameterNameDiscoverer implements ParameterNameD
 
 
 	/**
-	 * Helper class that looks for a given member name and descriptor, and then
-	 * attempts to find the parameter names for that member.
+	 * Helper class that collects the parameter names of all methods
+	 * and constructors in a class file.
 	 */
-	private static abstract class ParameterNameDiscoveringVisitor extends EmptyVisitor {
+	private static class ParameterNameDiscoveringVisitor extends EmptyVisitor {
 
-		private String methodNameToMatch;
-
-		private String descriptorToMatch;
-
-		private int numParamsExpected;
-		
-		/*
-		 * the nth entry contains the slot index of the LVT table entry holding the
-		 * argument name for the nth parameter
-		 */
-		private int[] lvtSlotIndex;
-
-		private boolean foundTargetMember = false;
-
-		private String[] parameterNames;
-		
-		public ParameterNameDiscoveringVisitor(String name, boolean isStatic, Class[] paramTypes) {
-			this.methodNameToMatch = name;
-			this.numParamsExpected = paramTypes.length;
-			computeLVTSlotIndices(isStatic, paramTypes);
-		}
-		
-		public void setDescriptorToMatch(String descriptor) {
-			this.descriptorToMatch = descriptor;			
-		}
+		/** Member key (name + descriptor) --> String array of parameter names */
+		private final Map memberParameterNames = new HashMap();
 
 		public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
-			if (name.equals(this.methodNameToMatch) &&
-				desc.equals(this.descriptorToMatch)) {
-				this.foundTargetMember = true;
-				return new LocalVariableTableVisitor(isStatic(access), this,this.numParamsExpected,this.lvtSlotIndex);	
-			} 
-			else {
-				// Not interested in this method...
-				return null;
-			}
+			return new LocalVariableTableVisitor(this, name + desc, isStatic(access), Type.getArgumentTypes(desc));
 		}
-		
+
 		private boolean isStatic(int access) {
 			return ((access & Opcodes.ACC_STATIC) > 0);
 		}
 
-		public boolean foundTargetMember() {
-			return this.foundTargetMember;
-		}
-		
-		public String[] getParameterNames() {
-			if (!foundTargetMember()) {
-				throw new IllegalStateException("Can't ask for parameter names when target member has not been found");
-			}
-			
-			return this.parameterNames;
-		}
-		
-		public void setParameterNames(String[] names) {
-			this.parameterNames = names;
-		}
-		
-		private void computeLVTSlotIndices(boolean isStatic, Class[] paramTypes) {
-			this.lvtSlotIndex = new int[paramTypes.length];
-			int nextIndex = (isStatic ? 0 : 1);
-			for (int i = 0; i < paramTypes.length; i++) {
-				this.lvtSlotIndex[i] = nextIndex;
-				if (isWideType(paramTypes[i])) {
-					nextIndex += 2;
-				}
-				else {
-					nextIndex++;
-				}
-			}
-		}
-		
-		private boolean isWideType(Class aType) {
-			return (aType ==Long.TYPE || aType == Double.TYPE);
-		}
-	}
-
-
-	private static class FindMethodParameterNamesClassVisitor extends ParameterNameDiscoveringVisitor {
-		
-		public FindMethodParameterNamesClassVisitor(Method method) {
-			super(method.getName(),Modifier.isStatic(method.getModifiers()),method.getParameterTypes());
-			setDescriptorToMatch(Type.getMethodDescriptor(method));
+		public void setParameterNames(String memberKey, String[] names) {
+			this.memberParameterNames.put(memberKey, names);
 		}
-	}
-
 
-	private static class FindConstructorParameterNamesClassVisitor extends ParameterNameDiscoveringVisitor {
-		
-		public FindConstructorParameterNamesClassVisitor(Constructor cons) {
-			super("<init>",false,cons.getParameterTypes());
-			Type[] pTypes = new Type[cons.getParameterTypes().length];
-			for (int i = 0; i < pTypes.length; i++) {
-				pTypes[i] = Type.getType(cons.getParameterTypes()[i]);
-			}
-			setDescriptorToMatch(Type.getMethodDescriptor(Type.VOID_TYPE,pTypes));
+		public Map getMemberParameterNames() {
+			return this.memberParameterNames;
 		}
 	}
 
@@ -238,18 +179,20 @@ public class LocalVariableTableParameterNameDiscoverer implements ParameterNameD
 
 		private boolean isStatic;
 		private ParameterNameDiscoveringVisitor memberVisitor;
+		private String memberKey;
 		private int numParameters;
 		private int[] lvtSlotIndices;
 		private String[] parameterNames;
 		private boolean hasLVTInfo = false;
 
 		public LocalVariableTableVisitor(
-				boolean isStatic, ParameterNameDiscoveringVisitor memberVisitor, int numParams, int[] lvtSlotIndices) {
+				ParameterNameDiscoveringVisitor memberVisitor, String memberKey, boolean isStatic, Type[] paramTypes) {
 			this.isStatic = isStatic;
-			this.numParameters = numParams;
+			this.numParameters = paramTypes.length;
 			this.parameterNames = new String[this.numParameters];
 			this.memberVisitor = memberVisitor;
-			this.lvtSlotIndices = lvtSlotIndices;
+			this.memberKey = memberKey;
+			this.lvtSlotIndices = computeLVTSlotIndices(isStatic, paramTypes);
 		}
 
 		public void visitLocalVariable(
@@ -266,8 +209,23 @@ public class LocalVariableTableParameterNameDiscoverer implements ParameterNameD
 				 // which doesn't use any local variables.
 				 // This means that hasLVTInfo could be false for that kind of methods
 				 // even if the class has local variable info.
-				this.memberVisitor.setParameterNames(this.parameterNames);
+				this.memberVisitor.setParameterNames(this.memberKey, this.parameterNames);
+			}
+		}
+
+		/**
+		 * The nth entry contains the slot index of the LVT table entry
+		 * holding the argument name for the nth parameter.
+		 */
+		private static int[] computeLVTSlotIndices(boolean isStatic, Type[] paramTypes) {
+			int[] lvtSlotIndex = new int[paramTypes.length];
+			int nextIndex = (isStatic ? 0 : 1);
+			for (int i = 0; i < paramTypes.length; i++) {
+				lvtSlotIndex[i] = nextIndex;
+				// long and double parameters take two slots
+				nextIndex += paramTypes[i].getSize();
 			}
+			return lvtSlotIndex;
 		}
 
 		/**
@@ -18,6 +18,7 @@ package org.springframework.core.task;
 
 import java.io.Serializable;
 
+import org.springframework.core.HighResolutionTimer;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ConcurrencyThrottleSupport;
@@ -116,6 +117,80 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator implement
 		return this.concurrencyThrottle.isThrottleActive();
 	}
 
+	/**
+	 * Set the maximum number of tasks that may wait for the concurrency limit
+	 * to permit their execution. Further tasks get rejected with a
+	 * {@link TaskRejectedException}. Default is -1, for no limit.
+	 * @see ConcurrencyThrottleSupport#setMaxQueueSize
+	 */
+	public void setMaxQueueSize(int maxQueueSize) {
+		this.concurrencyThrottle.setMaxQueueSize(maxQueueSize);
+	}
+
+	/**
+	 * Set the maximum time in milliseconds that a task may wait for the
+	 * concurrency limit to permit its execution, getting rejected with a
+	 * {@link TaskRejectedException} afterwards. Default is -1, waiting forever.
+	 * @see ConcurrencyThrottleSupport#setMaxWait
+	 */
+	public void setMaxWait(long maxWait) {
+		this.concurrencyThrottle.setMaxWait(maxWait);
+	}
+
+	/**
+	 * Set whether to adapt the concurrency limit to the execution times of tasks,
+	 * using the specified concurrency limit as initial value. Default is "false".
+	 * @see ConcurrencyThrottleSupport#setAdaptiveConcurrency
+	 */
+	public void setAdaptiveConcurrency(boolean adaptiveConcurrency) {
+		this.concurrencyThrottle.setAdaptiveConcurrency(adaptiveConcurrency);
+	}
+
+	/**
+	 * Set the lowest limit that adaptive mode may reduce the concurrency limit to.
+	 * @see ConcurrencyThrottleSupport#setMinConcurrencyLimit
+	 */
+	public void setMinConcurrencyLimit(int minConcurrencyLimit) {
+		this.concurrencyThrottle.setMinConcurrencyLimit(minConcurrencyLimit);
+	}
+
+	/**
+	 * Set the highest limit that adaptive mode may raise the concurrency limit to.
+	 * @see ConcurrencyThrottleSupport#setMaxConcurrencyLimit
+	 */
+	public void setMaxConcurrencyLimit(int maxConcurrencyLimit) {
+		this.concurrencyThrottle.setMaxConcurrencyLimit(maxConcurrencyLimit);
+	}
+
+
+	/**
+	 * Return the concurrency limit currently in effect (adjusted in adaptive mode).
+	 */
+	public int getCurrentConcurrencyLimit() {
+		return this.concurrencyThrottle.getCurrentConcurrencyLimit();
+	}
+
+	/**
+	 * Return the number of throttled tasks currently executing.
+	 */
+	public int getConcurrencyCount() {
+		return this.concurrencyThrottle.getConcurrencyCount();
+	}
+
+	/**
+	 * Return the number of tasks currently waiting for their execution.
+	 */
+	public int getQueuedCount() {
+		return this.concurrencyThrottle.getQueuedCount();
+	}
+
+	/**
+	 * Return the number of tasks rejected so far.
+	 */
+	public long getRejectedCount() {
+		return this.concurrencyThrottle.getRejectedCount();
+	}
+
 
 	/**
 	 * Executes the given task, within a concurrency throttle
@@ -169,9 +244,17 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator implement
 			super.beforeAccess();
 		}
 
+		protected void onAccessRejected(String msg) {
+			throw new TaskRejectedException(msg);
+		}
+
 		protected void afterAccess() {
 			super.afterAccess();
 		}
+
+		protected void afterAccess(long latency) {
+			super.afterAccess(latency);
+		}
 	}
 
 
@@ -188,11 +271,17 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator implement
 		}
 
 		public void run() {
+			long startTime = (concurrencyThrottle.isAdaptiveConcurrency() ? HighResolutionTimer.nanoTime() : -1);
 			try {
 				this.target.run();
 			}
 			finally {
-				concurrencyThrottle.afterAccess();
+				if (startTime >= 0) {
+					concurrencyThrottle.afterAccess(HighResolutionTimer.nanoTime() - startTime);
+				}
+				else {
+					concurrencyThrottle.afterAccess();
+				}
 			}
 		}
 	}
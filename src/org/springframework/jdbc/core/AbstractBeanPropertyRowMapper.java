@@ -18,24 +18,40 @@ package org.springframework.jdbc.core;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.MethodInvocationException;
 import org.springframework.beans.NotWritablePropertyException;
+import org.springframework.beans.TypeMismatchException;
 import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataRetrievalFailureException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.util.BoundedConcurrentCache;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyDescriptor;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Abstract base class for BeanPropertyRowMapper implementations. Provides initialization of mapped/persistent fields
@@ -46,6 +62,29 @@ import java.util.Map;
  */
 public abstract class AbstractBeanPropertyRowMapper {
 
+	private static final int ACCESS_NONE = 0;
+
+	private static final int ACCESS_STRING = 1;
+
+	private static final int ACCESS_BYTE = 2;
+
+	private static final int ACCESS_SHORT = 3;
+
+	private static final int ACCESS_INT = 4;
+
+	private static final int ACCESS_LONG = 5;
+
+	private static final int ACCESS_FLOAT = 6;
+
+	private static final int ACCESS_DOUBLE = 7;
+
+	private static final int ACCESS_BIG_DECIMAL = 8;
+
+	private static final int ACCESS_BOOLEAN = 9;
+
+	private static final int ACCESS_OBJECT = 10;
+
+
 	/** Logger available to subclasses */
 	protected final Log logger = LogFactory.getLog(getClass());
 
@@ -58,6 +97,16 @@ public abstract class AbstractBeanPropertyRowMapper {
 	/** Map of the fields we provide mapping for */
 	private Map mappedFields;
 
+	/** Column mappings per ResultSet shape: List of column names --> ColumnMapping[] */
+	private final BoundedConcurrentCache columnMappingsCache = new BoundedConcurrentCache(16);
+
+	/**
+	 * The ResultSet currently being mapped on each thread, along with its column
+	 * mappings. Holds a two-element array of weak references, so that neither
+	 * the ResultSet nor the mapped class are kept alive by pooled threads.
+	 */
+	private final ThreadLocal currentColumnMappings = new ThreadLocal();
+
 
 	/**
 	 * Set the class that each row should be mapped to.
@@ -99,73 +148,26 @@ public abstract class AbstractBeanPropertyRowMapper {
 		catch (InstantiationException e) {
 			throw new DataAccessResourceFailureException("Failed to load class " + this.mappedClass.getName(), e);
 		}
-		ResultSetMetaData rsmd = rs.getMetaData();
-		int columns = rsmd.getColumnCount();
-		for (int i = 1; i <= columns; i++) {
-			String column = JdbcUtils.lookupColumnName(rsmd, i).toLowerCase();
-			PersistentField fieldMeta = (PersistentField) this.mappedFields.get(column);
-			if (fieldMeta != null) {
-				BeanWrapper bw = new BeanWrapperImpl(mappedClass);
-				bw.setWrappedInstance(result);
-				fieldMeta.setSqlType(rsmd.getColumnType(i));
-				Object value = null;
-				Class fieldType = fieldMeta.getJavaType();
-				if (fieldType.equals(String.class)) {
-					value = rs.getString(column);
-				}
-				else if (fieldType.equals(byte.class) || fieldType.equals(Byte.class)) {
-					value = new Byte(rs.getByte(column));
-				}
-				else if (fieldType.equals(short.class) || fieldType.equals(Short.class)) {
-					value = new Short(rs.getShort(column));
-				}
-				else if (fieldType.equals(int.class) || fieldType.equals(Integer.class)) {
-					value = new Integer(rs.getInt(column));
+		ColumnMapping[] mappings = getColumnMappings(rs, rowNumber);
+		BeanWrapper bw = null;
+		for (int i = 0; i < mappings.length; i++) {
+			ColumnMapping mapping = mappings[i];
+			Object value = mapping.getColumnValue(rs);
+			if (value != null) {
+				if (ClassUtils.isAssignableValue(mapping.parameterType, value)) {
+					mapping.setPropertyValue(result, value);
 				}
-				else if (fieldType.equals(long.class) || fieldType.equals(Long.class)) {
-					value = new Long(rs.getLong(column));
-				}
-				else if (fieldType.equals(float.class) || fieldType.equals(Float.class)) {
-					value = new Float(rs.getFloat(column));
-				}
-				else if (fieldType.equals(double.class) || fieldType.equals(Double.class)) {
-					value = new Double(rs.getDouble(column));
-				}
-				else if (fieldType.equals(BigDecimal.class)) {
-					value = rs.getBigDecimal(column);
-				}
-				else if (fieldType.equals(boolean.class) || fieldType.equals(Boolean.class)) {
-					value = (rs.getBoolean(column)) ? Boolean.TRUE : Boolean.FALSE;
-				}
-				else if (fieldType.equals(java.util.Date.class) ||
-						fieldType.equals(java.sql.Timestamp.class) ||
-						fieldType.equals(java.sql.Time.class) ||
-						fieldType.equals(Number.class)) {
-					value = JdbcUtils.getResultSetValue(rs, rs.findColumn(column));
-				}
-				if (value != null) {
-					if (bw.isWritableProperty(fieldMeta.getFieldName())) {
-						try {
-							if (logger.isDebugEnabled() && rowNumber == 0) {
-								logger.debug(
-										"Mapping column named \"" + column + "\"" +
-										" containing values of SQL type " + fieldMeta.getSqlType() +
-										" to property \"" + fieldMeta.getFieldName() + "\"" +
-										" of type " + fieldMeta.getJavaType());
-							}
-							bw.setPropertyValue(fieldMeta.getFieldName(), value);
-						}
-						catch (NotWritablePropertyException ex) {
-							throw new DataRetrievalFailureException("Unable to map column " + column + " to property " + fieldMeta.getFieldName(), ex);							
-						}
+				else {
+					// Let the BeanWrapper attempt a type conversion.
+					if (bw == null) {
+						bw = new BeanWrapperImpl(result);
+					}
+					try {
+						bw.setPropertyValue(mapping.field.getFieldName(), value);
 					}
-					else {
-						if (rowNumber == 0)
-						{
-							logger.warn("Unable to access the setter for " + fieldMeta.getFieldName() +
-									".  Check that " + "set" + StringUtils.capitalize(fieldMeta.getFieldName()) +
-									" is declared and has public access.");
-						}
+					catch (NotWritablePropertyException ex) {
+						throw new DataRetrievalFailureException("Unable to map column " + mapping.column +
+								" to property " + mapping.field.getFieldName(), ex);
 					}
 				}
 			}
@@ -173,6 +175,119 @@ public abstract class AbstractBeanPropertyRowMapper {
 		return result;
 	}
 
+	/**
+	 * Obtain the column mappings for the given ResultSet. Metadata is only
+	 * inspected for the first row of each ResultSet on the current thread;
+	 * the mappings are shared by all ResultSets with the same columns.
+	 */
+	private ColumnMapping[] getColumnMappings(ResultSet rs, int rowNumber) throws SQLException {
+		if (rowNumber > 0) {
+			Reference[] current = (Reference[]) this.currentColumnMappings.get();
+			if (current != null && current[0].get() == rs) {
+				ColumnMapping[] mappings = (ColumnMapping[]) current[1].get();
+				if (mappings != null) {
+					return mappings;
+				}
+			}
+		}
+		ResultSetMetaData rsmd = rs.getMetaData();
+		int columns = rsmd.getColumnCount();
+		String[] columnNames = new String[columns];
+		for (int i = 1; i <= columns; i++) {
+			columnNames[i - 1] = JdbcUtils.lookupColumnName(rsmd, i).toLowerCase();
+		}
+		List shape = Arrays.asList(columnNames);
+		ColumnMapping[] mappings = (ColumnMapping[]) this.columnMappingsCache.get(shape);
+		if (mappings == null) {
+			mappings = buildColumnMappings(rsmd, columnNames);
+			this.columnMappingsCache.put(shape, mappings);
+		}
+		this.currentColumnMappings.set(new Reference[] {new WeakReference(rs), new WeakReference(mappings)});
+		return mappings;
+	}
+
+	/**
+	 * Determine the mapped property, the value accessor and the setter
+	 * for each column that maps to a writable property of the mapped class.
+	 * <p>Of several columns with the same name, only the first one gets mapped,
+	 * just like access to a ResultSet column by name returns the first match.
+	 */
+	private ColumnMapping[] buildColumnMappings(ResultSetMetaData rsmd, String[] columnNames)
+			throws SQLException {
+
+		List mappings = new ArrayList(columnNames.length);
+		Set mappedColumns = new HashSet();
+		for (int i = 0; i < columnNames.length; i++) {
+			String column = columnNames[i];
+			PersistentField fieldMeta = (PersistentField) this.mappedFields.get(column);
+			if (fieldMeta == null || !mappedColumns.add(column)) {
+				continue;
+			}
+			int accessType = determineAccessType(fieldMeta.getJavaType());
+			if (accessType == ACCESS_NONE) {
+				continue;
+			}
+			fieldMeta.setSqlType(rsmd.getColumnType(i + 1));
+			PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(this.mappedClass, fieldMeta.getFieldName());
+			Method writeMethod = (pd != null ? pd.getWriteMethod() : null);
+			if (writeMethod == null) {
+				logger.warn("Unable to access the setter for " + fieldMeta.getFieldName() +
+						".  Check that " + "set" + StringUtils.capitalize(fieldMeta.getFieldName()) +
+						" is declared and has public access.");
+				continue;
+			}
+			if (!Modifier.isPublic(writeMethod.getDeclaringClass().getModifiers())) {
+				writeMethod.setAccessible(true);
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug(
+						"Mapping column named \"" + column + "\"" +
+						" containing values of SQL type " + fieldMeta.getSqlType() +
+						" to property \"" + fieldMeta.getFieldName() + "\"" +
+						" of type " + fieldMeta.getJavaType());
+			}
+			mappings.add(new ColumnMapping(i + 1, column, fieldMeta, accessType, writeMethod));
+		}
+		return (ColumnMapping[]) mappings.toArray(new ColumnMapping[mappings.size()]);
+	}
+
+	private static int determineAccessType(Class fieldType) {
+		if (fieldType.equals(String.class)) {
+			return ACCESS_STRING;
+		}
+		else if (fieldType.equals(byte.class) || fieldType.equals(Byte.class)) {
+			return ACCESS_BYTE;
+		}
+		else if (fieldType.equals(short.class) || fieldType.equals(Short.class)) {
+			return ACCESS_SHORT;
+		}
+		else if (fieldType.equals(int.class) || fieldType.equals(Integer.class)) {
+			return ACCESS_INT;
+		}
+		else if (fieldType.equals(long.class) || fieldType.equals(Long.class)) {
+			return ACCESS_LONG;
+		}
+		else if (fieldType.equals(float.class) || fieldType.equals(Float.class)) {
+			return ACCESS_FLOAT;
+		}
+		else if (fieldType.equals(double.class) || fieldType.equals(Double.class)) {
+			return ACCESS_DOUBLE;
+		}
+		else if (fieldType.equals(BigDecimal.class)) {
+			return ACCESS_BIG_DECIMAL;
+		}
+		else if (fieldType.equals(boolean.class) || fieldType.equals(Boolean.class)) {
+			return ACCESS_BOOLEAN;
+		}
+		else if (fieldType.equals(java.util.Date.class) ||
+				fieldType.equals(java.sql.Timestamp.class) ||
+				fieldType.equals(java.sql.Time.class) ||
+				fieldType.equals(Number.class)) {
+			return ACCESS_OBJECT;
+		}
+		return ACCESS_NONE;
+	}
+
 	/**
 	 * Initialize the mapping metadata
 	 * @param mappedClass
@@ -188,6 +303,7 @@ public abstract class AbstractBeanPropertyRowMapper {
 					append(mappedClass.getName()).toString(), ex);
 		}
 		this.mappedFields = new HashMap();
+		this.columnMappingsCache.clear();
 		Class metaDataClass = mappedClass;
 		while (metaDataClass != null) {
 			Field[] f = metaDataClass.getDeclaredFields();
@@ -266,4 +382,85 @@ public abstract class AbstractBeanPropertyRowMapper {
 			this.sqlType = sqlType;
 		}
 	}
+
+
+	/**
+	 * Mapping of a single column index to a bean property, with the
+	 * typed ResultSet accessor to use and the setter to invoke.
+	 */
+	private static class ColumnMapping {
+
+		public final int index;
+
+		public final String column;
+
+		public final PersistentField field;
+
+		public final Class parameterType;
+
+		private final int accessType;
+
+		private final Method writeMethod;
+
+		public ColumnMapping(int index, String column, PersistentField field, int accessType, Method writeMethod) {
+			this.index = index;
+			this.column = column;
+			this.field = field;
+			this.accessType = accessType;
+			this.writeMethod = writeMethod;
+			this.parameterType = writeMethod.getParameterTypes()[0];
+		}
+
+		public Object getColumnValue(ResultSet rs) throws SQLException {
+			switch (this.accessType) {
+				case ACCESS_STRING:
+					return rs.getString(this.index);
+				case ACCESS_BYTE:
+					return new Byte(rs.getByte(this.index));
+				case ACCESS_SHORT:
+					return new Short(rs.getShort(this.index));
+				case ACCESS_INT:
+					return new Integer(rs.getInt(this.index));
+				case ACCESS_LONG:
+					return new Long(rs.getLong(this.index));
+				case ACCESS_FLOAT:
+					return new Float(rs.getFloat(this.index));
+				case ACCESS_DOUBLE:
+					return new Double(rs.getDouble(this.index));
+				case ACCESS_BIG_DECIMAL:
+					return rs.getBigDecimal(this.index);
+				case ACCESS_BOOLEAN:
+					return (rs.getBoolean(this.index) ? Boolean.TRUE : Boolean.FALSE);
+				default:
+					return JdbcUtils.getResultSetValue(rs, this.index);
+			}
+		}
+
+		/**
+		 * Invoke the setter directly, reporting failures with the same
+		 * exceptions that a BeanWrapper would throw.
+		 */
+		public void setPropertyValue(Object target, Object value) {
+			try {
+				this.writeMethod.invoke(target, new Object[] {value});
+			}
+			catch (InvocationTargetException ex) {
+				PropertyChangeEvent pce = new PropertyChangeEvent(target, this.field.getFieldName(), null, value);
+				if (ex.getTargetException() instanceof ClassCastException) {
+					throw new TypeMismatchException(pce, this.parameterType, ex.getTargetException());
+				}
+				else {
+					throw new MethodInvocationException(pce, ex.getTargetException());
+				}
+			}
+			catch (IllegalArgumentException ex) {
+				PropertyChangeEvent pce = new PropertyChangeEvent(target, this.field.getFieldName(), null, value);
+				throw new TypeMismatchException(pce, this.parameterType, ex);
+			}
+			catch (IllegalAccessException ex) {
+				PropertyChangeEvent pce = new PropertyChangeEvent(target, this.field.getFieldName(), null, value);
+				throw new MethodInvocationException(pce, ex);
+			}
+		}
+	}
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.support.rowset.ColumnarResult;
+
+/**
+ * ResultSetExtractor implementation that returns a column-oriented
+ * {@link ColumnarResult} for each given ResultSet, holding numeric
+ * columns in primitive arrays rather than as boxed values.
+ *
+ * <p>Intended for analytical queries that return large numbers of numeric
+ * values: In contrast to <code>queryForList</code>, which creates a Map
+ * per row with a wrapper object per value, the memory footprint is close
+ * to the size of the actual data.
+ *
+ * @author agent
+ * @since 2.5.1
+ * @see org.springframework.jdbc.support.rowset.ColumnarResult
+ * @see SqlRowSetResultSetExtractor
+ */
+public class ColumnarResultSetExtractor implements ResultSetExtractor {
+
+	private int chunkSize = ColumnarResult.DEFAULT_CHUNK_SIZE;
+
+
+	/**
+	 * Set the number of rows per chunk of column values. Default is 1024.
+	 * <p>Columns grow chunk by chunk as rows are read; specify a larger
+	 * value for results that are known to be large.
+	 */
+	public void setChunkSize(int chunkSize) {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("chunkSize must be greater than 0");
+		}
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Return the number of rows per chunk of column values.
+	 */
+	public int getChunkSize() {
+		return this.chunkSize;
+	}
+
+
+	public Object extractData(ResultSet rs) throws SQLException {
+		return new ColumnarResult(rs, this.chunkSize);
+	}
+
+}
@@ -253,17 +253,15 @@ public interface JdbcOperations {
 	 * <code>queryForRowSet</code> method with <code>null</code> as argument array.
 	 * <p>The results will be mapped to an SqlRowSet which holds the data in a
 	 * disconnected fashion. This wrapper will translate any SQLExceptions thrown.
-	 * <p>Note that that, for the default implementation, JDBC RowSet support needs to
-	 * be available at runtime: by default, Sun's <code>com.sun.rowset.CachedRowSetImpl</code>
-	 * class is used, which is part of JDK 1.5+ and also available separately as part of
-	 * Sun's JDBC RowSet Implementations download (rowset.jar).
+	 * <p>Note that, as of Spring 2.5.1, the default implementation holds the data
+	 * in a {@link org.springframework.jdbc.support.rowset.DisconnectedSqlRowSet},
+	 * not requiring JDBC RowSet support at runtime.
 	 * @param sql SQL query to execute
-	 * @return a SqlRowSet representation (possibly a wrapper around a
-	 * <code>javax.sql.rowset.CachedRowSet</code>)
+	 * @return a SqlRowSet representation
 	 * @throws DataAccessException if there is any problem executing the query
 	 * @see #queryForRowSet(String, Object[])
 	 * @see SqlRowSetResultSetExtractor
-	 * @see javax.sql.rowset.CachedRowSet
+	 * @see org.springframework.jdbc.support.rowset.DisconnectedSqlRowSet
 	 */
 	SqlRowSet queryForRowSet(String sql) throws DataAccessException;
 
@@ -497,6 +495,58 @@ public interface JdbcOperations {
 	 */
 	List query(String sql, Object[] args, RowMapper rowMapper) throws DataAccessException;
 
+	/**
+	 * Query using a prepared statement, returning an iterator that maps
+	 * each row to a Java object via a RowMapper when it is requested.
+	 * <p>In contrast to the List-returning <code>query</code> methods, the result
+	 * is not held in memory: Rows are fetched from the open ResultSet as the
+	 * iterator advances, in batches of the template's fetch size.
+	 * The caller is responsible for closing the iterator.
+	 * @param psc object that can create a PreparedStatement given a Connection
+	 * @param rowMapper object that will map one object per row
+	 * @return the iterator over mapped objects, holding on to the
+	 * underlying JDBC resources until exhausted or closed
+	 * @throws DataAccessException if the query fails
+	 * @see RowIterator#close()
+	 */
+	RowIterator queryForIterator(PreparedStatementCreator psc, RowMapper rowMapper) throws DataAccessException;
+
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a
+	 * PreparedStatementSetter implementation that knows how to bind values
+	 * to the query, returning an iterator that maps each row to a Java object
+	 * via a RowMapper when it is requested.
+	 * The caller is responsible for closing the iterator.
+	 * @param sql SQL query to execute
+	 * @param pss object that knows how to set values on the prepared statement.
+	 * If this is <code>null</code>, the SQL will be assumed to contain no bind parameters.
+	 * @param rowMapper object that will map one object per row
+	 * @return the iterator over mapped objects, holding on to the
+	 * underlying JDBC resources until exhausted or closed
+	 * @throws DataAccessException if the query fails
+	 * @see RowIterator#close()
+	 */
+	RowIterator queryForIterator(String sql, PreparedStatementSetter pss, RowMapper rowMapper)
+			throws DataAccessException;
+
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a list
+	 * of arguments to bind to the query, returning an iterator that maps
+	 * each row to a Java object via a RowMapper when it is requested.
+	 * The caller is responsible for closing the iterator.
+	 * @param sql SQL query to execute
+	 * @param args arguments to bind to the query
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type);
+	 * may also contain {@link SqlParameterValue} objects which indicate not
+	 * only the argument value but also the SQL type and optionally the scale
+	 * @param rowMapper object that will map one object per row
+	 * @return the iterator over mapped objects, holding on to the
+	 * underlying JDBC resources until exhausted or closed
+	 * @throws DataAccessException if the query fails
+	 * @see RowIterator#close()
+	 */
+	RowIterator queryForIterator(String sql, Object[] args, RowMapper rowMapper) throws DataAccessException;
+
 	/**
 	 * Query given SQL to create a prepared statement from SQL and a list
 	 * of arguments to bind to the query, mapping a single result row to a
@@ -766,20 +816,18 @@ public interface JdbcOperations {
 	 * list of arguments to bind to the query, expecting a SqlRowSet.
 	 * <p>The results will be mapped to an SqlRowSet which holds the data in a
 	 * disconnected fashion. This wrapper will translate any SQLExceptions thrown.
-	 * <p>Note that that, for the default implementation, JDBC RowSet support needs to
-	 * be available at runtime: by default, Sun's <code>com.sun.rowset.CachedRowSetImpl</code>
-	 * class is used, which is part of JDK 1.5+ and also available separately as part of
-	 * Sun's JDBC RowSet Implementations download (rowset.jar).
+	 * <p>Note that, as of Spring 2.5.1, the default implementation holds the data
+	 * in a {@link org.springframework.jdbc.support.rowset.DisconnectedSqlRowSet},
+	 * not requiring JDBC RowSet support at runtime.
 	 * @param sql SQL query to execute
 	 * @param args arguments to bind to the query
 	 * @param argTypes SQL types of the arguments
 	 * (constants from <code>java.sql.Types</code>)
-	 * @return a SqlRowSet representation (possibly a wrapper around a
-	 * <code>javax.sql.rowset.CachedRowSet</code>)
+	 * @return a SqlRowSet representation
 	 * @throws DataAccessException if there is any problem executing the query
 	 * @see #queryForRowSet(String)
 	 * @see SqlRowSetResultSetExtractor
-	 * @see javax.sql.rowset.CachedRowSet
+	 * @see org.springframework.jdbc.support.rowset.DisconnectedSqlRowSet
 	 * @see java.sql.Types
 	 */
 	SqlRowSet queryForRowSet(String sql, Object[] args, int[] argTypes) throws DataAccessException;
@@ -789,21 +837,19 @@ public interface JdbcOperations {
 	 * list of arguments to bind to the query, expecting a SqlRowSet.
 	 * <p>The results will be mapped to an SqlRowSet which holds the data in a
 	 * disconnected fashion. This wrapper will translate any SQLExceptions thrown.
-	 * <p>Note that that, for the default implementation, JDBC RowSet support needs to
-	 * be available at runtime: by default, Sun's <code>com.sun.rowset.CachedRowSetImpl</code>
-	 * class is used, which is part of JDK 1.5+ and also available separately as part of
-	 * Sun's JDBC RowSet Implementations download (rowset.jar).
+	 * <p>Note that, as of Spring 2.5.1, the default implementation holds the data
+	 * in a {@link org.springframework.jdbc.support.rowset.DisconnectedSqlRowSet},
+	 * not requiring JDBC RowSet support at runtime.
 	 * @param sql SQL query to execute
 	 * @param args arguments to bind to the query
 	 * (leaving it to the PreparedStatement to guess the corresponding SQL type);
 	 * may also contain {@link SqlParameterValue} objects which indicate not
 	 * only the argument value but also the SQL type and optionally the scale
-	 * @return a SqlRowSet representation (possibly a wrapper around a
-	 * <code>javax.sql.rowset.CachedRowSet</code>)
+	 * @return a SqlRowSet representation
 	 * @throws DataAccessException if there is any problem executing the query
 	 * @see #queryForRowSet(String)
 	 * @see SqlRowSetResultSetExtractor
-	 * @see javax.sql.rowset.CachedRowSet
+	 * @see org.springframework.jdbc.support.rowset.DisconnectedSqlRowSet
 	 */
 	SqlRowSet queryForRowSet(String sql, Object[] args) throws DataAccessException;
 
@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 import javax.sql.DataSource;
 
@@ -685,6 +686,101 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return (List) query(sql, args, new RowMapperResultSetExtractor(rowMapper));
 	}
 
+	/**
+	 * Query using a prepared statement, returning an iterator over the mapped
+	 * rows of the still open ResultSet. The JDBC Connection is obtained through
+	 * DataSourceUtils, participating in a current transaction if any, and gets
+	 * released once the iterator is exhausted or closed.
+	 * @param psc Callback handler that can create a PreparedStatement given a
+	 * Connection
+	 * @param pss object that knows how to set values on the prepared statement.
+	 * If this is null, the SQL will be assumed to contain no bind parameters.
+	 * @param rowMapper object that will map one object per row
+	 * @return the iterator over mapped objects
+	 * @throws DataAccessException if there is any problem
+	 * @see RowIterator
+	 */
+	public RowIterator queryForIterator(
+			PreparedStatementCreator psc, PreparedStatementSetter pss, RowMapper rowMapper)
+			throws DataAccessException {
+
+		Assert.notNull(psc, "PreparedStatementCreator must not be null");
+		Assert.notNull(rowMapper, "RowMapper must not be null");
+		if (logger.isDebugEnabled()) {
+			String sql = getSql(psc);
+			logger.debug("Executing prepared SQL query for iteration" + (sql != null ? " [" + sql + "]" : ""));
+		}
+
+		Connection con = DataSourceUtils.getConnection(getDataSource());
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+		try {
+			Connection conToUse = con;
+			if (this.nativeJdbcExtractor != null &&
+					this.nativeJdbcExtractor.isNativeConnectionNecessaryForNativePreparedStatements()) {
+				conToUse = this.nativeJdbcExtractor.getNativeConnection(con);
+			}
+			ps = psc.createPreparedStatement(conToUse);
+			applyStatementSettings(ps);
+			PreparedStatement psToUse = ps;
+			if (this.nativeJdbcExtractor != null) {
+				psToUse = this.nativeJdbcExtractor.getNativePreparedStatement(ps);
+			}
+			if (pss != null) {
+				pss.setValues(psToUse);
+			}
+			rs = psToUse.executeQuery();
+			ResultSet rsToUse = rs;
+			if (this.nativeJdbcExtractor != null) {
+				rsToUse = this.nativeJdbcExtractor.getNativeResultSet(rs);
+			}
+			return new ResultSetRowIterator(con, ps, rsToUse, psc, pss, rowMapper);
+		}
+		catch (SQLException ex) {
+			JdbcUtils.closeResultSet(rs);
+			if (pss instanceof ParameterDisposer) {
+				((ParameterDisposer) pss).cleanupParameters();
+			}
+			if (psc instanceof ParameterDisposer) {
+				((ParameterDisposer) psc).cleanupParameters();
+			}
+			String sql = getSql(psc);
+			JdbcUtils.closeStatement(ps);
+			DataSourceUtils.releaseConnection(con, getDataSource());
+			throw getExceptionTranslator().translate("RowIterator", sql, ex);
+		}
+		catch (RuntimeException ex) {
+			JdbcUtils.closeResultSet(rs);
+			if (pss instanceof ParameterDisposer) {
+				((ParameterDisposer) pss).cleanupParameters();
+			}
+			if (psc instanceof ParameterDisposer) {
+				((ParameterDisposer) psc).cleanupParameters();
+			}
+			JdbcUtils.closeStatement(ps);
+			DataSourceUtils.releaseConnection(con, getDataSource());
+			throw ex;
+		}
+	}
+
+	public RowIterator queryForIterator(PreparedStatementCreator psc, RowMapper rowMapper)
+			throws DataAccessException {
+
+		return queryForIterator(psc, null, rowMapper);
+	}
+
+	public RowIterator queryForIterator(String sql, PreparedStatementSetter pss, RowMapper rowMapper)
+			throws DataAccessException {
+
+		return queryForIterator(new SimplePreparedStatementCreator(sql), pss, rowMapper);
+	}
+
+	public RowIterator queryForIterator(String sql, Object[] args, RowMapper rowMapper)
+			throws DataAccessException {
+
+		return queryForIterator(sql, new ArgPreparedStatementSetter(args), rowMapper);
+	}
+
 	public Object queryForObject(String sql, Object[] args, int[] argTypes, RowMapper rowMapper)
 			throws DataAccessException {
 
@@ -1312,6 +1408,118 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		}
 	}
 
+	/**
+	 * RowIterator implementation that reads ahead one row on <code>hasNext()</code>
+	 * and releases all JDBC resources once the ResultSet is exhausted.
+	 */
+	private class ResultSetRowIterator implements RowIterator {
+
+		private Connection con;
+
+		private PreparedStatement ps;
+
+		private ResultSet rs;
+
+		private final PreparedStatementCreator psc;
+
+		private final PreparedStatementSetter pss;
+
+		private final RowMapper rowMapper;
+
+		private int rowNum = 0;
+
+		private boolean rowAvailable = false;
+
+		private boolean closed = false;
+
+		public ResultSetRowIterator(Connection con, PreparedStatement ps, ResultSet rs,
+				PreparedStatementCreator psc, PreparedStatementSetter pss, RowMapper rowMapper) {
+
+			this.con = con;
+			this.ps = ps;
+			this.rs = rs;
+			this.psc = psc;
+			this.pss = pss;
+			this.rowMapper = rowMapper;
+		}
+
+		public boolean hasNext() {
+			if (this.closed) {
+				return false;
+			}
+			if (!this.rowAvailable) {
+				try {
+					this.rowAvailable = this.rs.next();
+					if (!this.rowAvailable) {
+						handleWarnings(this.ps.getWarnings());
+					}
+				}
+				catch (SQLException ex) {
+					throw translateAndClose(ex);
+				}
+				catch (RuntimeException ex) {
+					release();
+					throw ex;
+				}
+				if (!this.rowAvailable) {
+					release();
+				}
+			}
+			return this.rowAvailable;
+		}
+
+		public Object next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException("No more rows available");
+			}
+			this.rowAvailable = false;
+			try {
+				return this.rowMapper.mapRow(this.rs, this.rowNum++);
+			}
+			catch (SQLException ex) {
+				throw translateAndClose(ex);
+			}
+			catch (RuntimeException ex) {
+				release();
+				throw ex;
+			}
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException("RowIterator does not support removal");
+		}
+
+		public void close() {
+			release();
+		}
+
+		private DataAccessException translateAndClose(SQLException ex) {
+			String sql = getSql(this.psc);
+			release();
+			return getExceptionTranslator().translate("RowIterator", sql, ex);
+		}
+
+		private void release() {
+			if (this.closed) {
+				return;
+			}
+			this.closed = true;
+			this.rowAvailable = false;
+			JdbcUtils.closeResultSet(this.rs);
+			this.rs = null;
+			if (this.pss instanceof ParameterDisposer) {
+				((ParameterDisposer) this.pss).cleanupParameters();
+			}
+			if (this.psc instanceof ParameterDisposer) {
+				((ParameterDisposer) this.psc).cleanupParameters();
+			}
+			JdbcUtils.closeStatement(this.ps);
+			this.ps = null;
+			DataSourceUtils.releaseConnection(this.con, getDataSource());
+			this.con = null;
+		}
+	}
+
 	/**
 	 * Create a Map instance to be used as results map.
 	 * <p>If "isResultsMapCaseInsensitive" has been set to true, a linked case-insensitive Map 
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.Iterator;
+
+import org.springframework.dao.DataAccessException;
+
+/**
+ * Iterator over the mapped rows of a query that is still open on the database,
+ * as returned by {@link JdbcOperations}' <code>queryForIterator</code> methods.
+ * Rows are read from the underlying {@link java.sql.ResultSet} and mapped
+ * on demand, so that arbitrarily large results can be processed without
+ * holding them in memory.
+ *
+ * <p>The iterator holds on to a JDBC Connection, Statement and ResultSet until
+ * it is either exhausted or explicitly closed. It should therefore always be
+ * closed in a <code>finally</code> block:
+ *
+ * <pre class="code">
+ * RowIterator it = jdbcTemplate.queryForIterator(
+ *     "SELECT * FROM orders WHERE customer_id = ?", new Object[] {customerId}, rowMapper);
+ * try {
+ *   while (it.hasNext()) {
+ *     Order order = (Order) it.next();
+ *     ...
+ *   }
+ * }
+ * finally {
+ *   it.close();
+ * }</pre>
+ *
+ * <p>{@link java.sql.SQLException SQLExceptions} encountered while moving
+ * to the next row or while mapping it get translated into
+ * {@link DataAccessException DataAccessExceptions}, closing the iterator.
+ * Statement warnings are checked once <code>hasNext()</code> has reached
+ * the end of the ResultSet, throwing an exception unless warnings are ignored.
+ * Instances are not thread-safe; removal is not supported.
+ *
+ * @author agent
+ * @since 2.5.1
+ * @see JdbcOperations#queryForIterator(String, Object[], RowMapper)
+ * @see RowMapper
+ */
+public interface RowIterator extends Iterator {
+
+	/**
+	 * Release the underlying ResultSet, Statement and Connection.
+	 * <p>Called automatically once the last row has been read.
+	 * Can be called at any time to stop reading further rows;
+	 * calling it more than once has no effect.
+	 * <p>Does not throw any exceptions: failures to close JDBC resources
+	 * get logged. Statement warnings are not checked on close either.
+	 */
+	void close();
+
+}
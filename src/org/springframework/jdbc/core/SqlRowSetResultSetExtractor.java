@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2005 the original author or authors.
+ * Copyright 2002-2007 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,28 +23,72 @@ import javax.sql.rowset.CachedRowSet;
 
 import com.sun.rowset.CachedRowSetImpl;
 
+import org.springframework.jdbc.support.rowset.DisconnectedSqlRowSet;
 import org.springframework.jdbc.support.rowset.ResultSetWrappingSqlRowSet;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * ResultSetExtractor implementation that returns a Spring SqlRowSet
  * representation for each given ResultSet.
  *
- * <p>The default implementation uses a standard JDBC CachedRowSet underneath.
- * This means that JDBC RowSet support needs to be available at runtime:
- * by default, Sun's <code>com.sun.rowset.CachedRowSetImpl</code> class is
- * used, which is part of JDK 1.5+ and also available separately as part of
- * Sun's JDBC RowSet Implementations download (rowset.jar).
+ * <p>As of Spring 2.5.1, the default implementation copies the data into
+ * a {@link DisconnectedSqlRowSet}, which does not require JDBC RowSet support
+ * at runtime and holds each row in a single value array. A maximum number of
+ * rows can be specified, with the remaining rows not being read at all.
+ *
+ * <p>Subclasses that override {@link #newCachedRowSet} (for example, to plug in
+ * a vendor-specific CachedRowSet) keep getting a {@link ResultSetWrappingSqlRowSet}
+ * around their CachedRowSet, as before Spring 2.5.1. Other subclasses can override
+ * {@link #createSqlRowSet} to delegate to {@link #createCachedSqlRowSet}, using
+ * Sun's <code>com.sun.rowset.CachedRowSetImpl</code> class underneath, which is
+ * part of JDK 1.5+ and also available separately as part of Sun's JDBC RowSet
+ * Implementations download (rowset.jar).
+ *
+ * <p><b>Note:</b> Code that casts the returned SqlRowSet to ResultSetWrappingSqlRowSet
+ * (in order to access the underlying CachedRowSet) needs to use such a subclass
+ * as of Spring 2.5.1, since the default SqlRowSet is a DisconnectedSqlRowSet.
  *
  * @author Juergen Hoeller
  * @since 1.2
+ * @see #setMaxRows
  * @see #newCachedRowSet
  * @see org.springframework.jdbc.support.rowset.SqlRowSet
+ * @see org.springframework.jdbc.support.rowset.DisconnectedSqlRowSet
  * @see JdbcTemplate#queryForRowSet(String)
  * @see javax.sql.rowset.CachedRowSet
  */
 public class SqlRowSetResultSetExtractor implements ResultSetExtractor {
 
+	/** Whether a subclass provides its own CachedRowSet through newCachedRowSet() */
+	private final boolean customCachedRowSet =
+			(ReflectionUtils.findMethod(getClass(), "newCachedRowSet").getDeclaringClass() !=
+					SqlRowSetResultSetExtractor.class);
+
+	private int maxRows = 0;
+
+
+	/**
+	 * Set the maximum number of rows to read into the SqlRowSet.
+	 * Default is 0, reading all rows of the given ResultSet.
+	 * <p>In contrast to JdbcTemplate's "maxRows" setting, this limit
+	 * is enforced on the client side: Rows beyond the limit will not
+	 * be fetched from the ResultSet, even if the driver ignores
+	 * the statement's maximum row setting.
+	 * @see JdbcTemplate#setMaxRows
+	 */
+	public void setMaxRows(int maxRows) {
+		this.maxRows = maxRows;
+	}
+
+	/**
+	 * Return the maximum number of rows to read into the SqlRowSet.
+	 */
+	public int getMaxRows() {
+		return this.maxRows;
+	}
+
+
 	public Object extractData(ResultSet rs) throws SQLException {
 		return createSqlRowSet(rs);
 	}
@@ -52,16 +96,38 @@ public class SqlRowSetResultSetExtractor implements ResultSetExtractor {
 	/**
 	 * Create a SqlRowSet that wraps the given ResultSet,
 	 * representing its data in a disconnected fashion.
-	 * <p>This implementation creates a Spring ResultSetWrappingSqlRowSet
-	 * instance that wraps a standard JDBC CachedRowSet instance.
+	 * <p>This implementation creates a Spring DisconnectedSqlRowSet
+	 * instance, reading up to the specified maximum number of rows,
+	 * unless a subclass overrides <code>newCachedRowSet</code>: in that
+	 * case, the CachedRowSet-based variant is used for compatibility.
 	 * Can be overridden to use a different implementation.
 	 * @param rs the original ResultSet (connected)
 	 * @return the disconnected SqlRowSet
 	 * @throws SQLException if thrown by JDBC methods
+	 * @see #setMaxRows
+	 * @see #createCachedSqlRowSet
+	 */
+	protected SqlRowSet createSqlRowSet(ResultSet rs) throws SQLException {
+		if (this.customCachedRowSet) {
+			return createCachedSqlRowSet(rs);
+		}
+		return new DisconnectedSqlRowSet(rs, getMaxRows());
+	}
+
+	/**
+	 * Create a Spring ResultSetWrappingSqlRowSet instance that wraps
+	 * a standard JDBC CachedRowSet instance, populated with the data
+	 * of the given ResultSet. Can be called by subclasses that override
+	 * <code>createSqlRowSet</code>, for the pre-2.5.1 default behavior.
+	 * <p>Note that the "maxRows" setting does not apply here.
+	 * @param rs the original ResultSet (connected)
+	 * @return the disconnected SqlRowSet
+	 * @throws SQLException if thrown by JDBC methods
+	 * @see #createSqlRowSet
 	 * @see #newCachedRowSet
 	 * @see org.springframework.jdbc.support.rowset.ResultSetWrappingSqlRowSet
 	 */
-	protected SqlRowSet createSqlRowSet(ResultSet rs) throws SQLException {
+	protected SqlRowSet createCachedSqlRowSet(ResultSet rs) throws SQLException {
 		CachedRowSet rowSet = newCachedRowSet();
 		rowSet.populate(rs);
 		return new ResultSetWrappingSqlRowSet(rowSet);
@@ -69,14 +135,14 @@ public class SqlRowSetResultSetExtractor implements ResultSetExtractor {
 
 	/**
 	 * Create a new CachedRowSet instance, to be populated by
-	 * the <code>createSqlRowSet</code> implementation.
+	 * the <code>createCachedSqlRowSet</code> implementation.
 	 * <p>The default implementation creates a new instance of
 	 * Sun's <code>com.sun.rowset.CachedRowSetImpl</code> class,
 	 * which is part of JDK 1.5+ and also available separately
 	 * as part of Sun's JDBC RowSet Implementations download.
 	 * @return a new CachedRowSet instance
 	 * @throws SQLException if thrown by JDBC methods
-	 * @see #createSqlRowSet
+	 * @see #createCachedSqlRowSet
 	 * @see com.sun.rowset.CachedRowSetImpl
 	 */
 	protected CachedRowSet newCachedRowSet() throws SQLException {
@@ -404,18 +404,16 @@ public interface NamedParameterJdbcOperations {
 	 * list of arguments to bind to the query, expecting a SqlRowSet.
 	 * <p>The results will be mapped to an SqlRowSet which holds the data in a
 	 * disconnected fashion. This wrapper will translate any SQLExceptions thrown.
-	 * <p>Note that that, for the default implementation, JDBC RowSet support needs to
-	 * be available at runtime: by default, Sun's <code>com.sun.rowset.CachedRowSetImpl</code>
-	 * class is used, which is part of JDK 1.5+ and also available separately as part of
-	 * Sun's JDBC RowSet Implementations download (rowset.jar).
+	 * <p>Note that, as of Spring 2.5.1, the default implementation holds the data
+	 * in a {@link org.springframework.jdbc.support.rowset.DisconnectedSqlRowSet},
+	 * not requiring JDBC RowSet support at runtime.
 	 * @param sql SQL query to execute
 	 * @param paramSource container of arguments to bind to the query
-	 * @return a SqlRowSet representation (possibly a wrapper around a
-	 * <code>javax.sql.rowset.CachedRowSet</code>)
+	 * @return a SqlRowSet representation
 	 * @throws org.springframework.dao.DataAccessException if there is any problem executing the query
 	 * @see org.springframework.jdbc.core.JdbcTemplate#queryForRowSet(String)
 	 * @see org.springframework.jdbc.core.SqlRowSetResultSetExtractor
-	 * @see javax.sql.rowset.CachedRowSet
+	 * @see org.springframework.jdbc.support.rowset.DisconnectedSqlRowSet
 	 */
 	SqlRowSet queryForRowSet(String sql, SqlParameterSource paramSource) throws DataAccessException;
 
@@ -424,19 +422,17 @@ public interface NamedParameterJdbcOperations {
 	 * list of arguments to bind to the query, expecting a SqlRowSet.
 	 * <p>The results will be mapped to an SqlRowSet which holds the data in a
 	 * disconnected fashion. This wrapper will translate any SQLExceptions thrown.
-	 * <p>Note that that, for the default implementation, JDBC RowSet support needs to
-	 * be available at runtime: by default, Sun's <code>com.sun.rowset.CachedRowSetImpl</code>
-	 * class is used, which is part of JDK 1.5+ and also available separately as part of
-	 * Sun's JDBC RowSet Implementations download (rowset.jar).
+	 * <p>Note that, as of Spring 2.5.1, the default implementation holds the data
+	 * in a {@link org.springframework.jdbc.support.rowset.DisconnectedSqlRowSet},
+	 * not requiring JDBC RowSet support at runtime.
 	 * @param sql SQL query to execute
 	 * @param paramMap map of parameters to bind to the query
 	 * (leaving it to the PreparedStatement to guess the corresponding SQL type)
-	 * @return a SqlRowSet representation (possibly a wrapper around a
-	 * <code>javax.sql.rowset.CachedRowSet</code>)
+	 * @return a SqlRowSet representation
 	 * @throws org.springframework.dao.DataAccessException if there is any problem executing the query
 	 * @see org.springframework.jdbc.core.JdbcTemplate#queryForRowSet(String)
 	 * @see org.springframework.jdbc.core.SqlRowSetResultSetExtractor
-	 * @see javax.sql.rowset.CachedRowSet
+	 * @see org.springframework.jdbc.support.rowset.DisconnectedSqlRowSet
 	 */
 	SqlRowSet queryForRowSet(String sql, Map paramMap) throws DataAccessException;
 
@@ -16,7 +16,8 @@
 
 package org.springframework.jdbc.core.namedparam;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -38,6 +39,7 @@ import org.springframework.jdbc.core.SqlRowSetResultSetExtractor;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.util.Assert;
+import org.springframework.util.BoundedConcurrentCache;
 
 /**
  * Template class with a basic set of JDBC operations, allowing the use
@@ -52,6 +54,10 @@ import org.springframework.util.Assert;
  * exposed to allow for convenient access to the traditional
  * {@link org.springframework.jdbc.core.JdbcTemplate} methods.
  *
+ * <p>Parsed SQL statements as well as the PreparedStatementCreatorFactory
+ * for each combination of SQL statement and parameter types are cached,
+ * up to a configurable {@link #setCacheLimit cache limit}.
+ *
  * @author Thomas Risberg
  * @author Juergen Hoeller
  * @since 2.0
@@ -60,11 +66,18 @@ import org.springframework.util.Assert;
  */
 public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations {
 
+	/** Default maximum number of entries for each of the SQL caches: 256 */
+	public static final int DEFAULT_CACHE_LIMIT = 256;
+
+
 	/** The JdbcTemplate we are wrapping */
 	private final JdbcOperations classicJdbcTemplate;
 
-	/** Map of original SQL String to ParsedSql representation */
-	private final Map parsedSqlCache = new HashMap();
+	/** Cache of original SQL String to ParsedSql representation */
+	private final BoundedConcurrentCache parsedSqlCache = new BoundedConcurrentCache(DEFAULT_CACHE_LIMIT);
+
+	/** Cache of FactoryCacheKey (SQL String + parameter types) to PreparedStatementCreatorFactory */
+	private final BoundedConcurrentCache factoryCache = new BoundedConcurrentCache(DEFAULT_CACHE_LIMIT);
 
 
 	/**
@@ -96,6 +109,25 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 		return this.classicJdbcTemplate;
 	}
 
+	/**
+	 * Specify the maximum number of entries for the parsed SQL cache as well as
+	 * for the PreparedStatementCreatorFactory cache. Once the limit has been
+	 * reached, the least recently used entries get evicted (approximately:
+	 * entries used since the last eviction pass get a second chance).
+	 * <p>Default is 256. A limit of 0 or below means no limit.
+	 */
+	public void setCacheLimit(int cacheLimit) {
+		this.parsedSqlCache.setLimit(cacheLimit);
+		this.factoryCache.setLimit(cacheLimit);
+	}
+
+	/**
+	 * Return the maximum number of entries for the SQL caches.
+	 */
+	public int getCacheLimit() {
+		return this.parsedSqlCache.getLimit();
+	}
+
 
 	public Object execute(String sql, SqlParameterSource paramSource, PreparedStatementCallback action)
 			throws DataAccessException {
@@ -252,26 +284,89 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 	 */
 	protected PreparedStatementCreator getPreparedStatementCreator(String sql, SqlParameterSource paramSource) {
 		ParsedSql parsedSql = getParsedSql(sql);
-		String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource);
 		Object[] params = NamedParameterUtils.buildValueArray(parsedSql, paramSource, null);
 		int[] paramTypes = NamedParameterUtils.buildSqlTypeArray(parsedSql, paramSource);
-		PreparedStatementCreatorFactory pscf = new PreparedStatementCreatorFactory(sqlToUse, paramTypes);
+		PreparedStatementCreatorFactory pscf = getPreparedStatementCreatorFactory(parsedSql, paramSource, params, paramTypes);
 		return pscf.newPreparedStatementCreator(params);
 	}
 
+	/**
+	 * Obtain a PreparedStatementCreatorFactory for the given parsed SQL statement
+	 * and parameter types. The factory will be taken from the cache unless the
+	 * given parameter values contain a Collection, in which case the number of
+	 * placeholders in the actual SQL statement depends on the concrete values.
+	 * @param parsedSql the parsed SQL statement
+	 * @param paramSource container of arguments to bind
+	 * @param params the parameter values, as built from the given parameter source
+	 * @param paramTypes the SQL types of the parameters
+	 * @return the PreparedStatementCreatorFactory to use
+	 */
+	private PreparedStatementCreatorFactory getPreparedStatementCreatorFactory(
+			ParsedSql parsedSql, SqlParameterSource paramSource, Object[] params, int[] paramTypes) {
+
+		for (int i = 0; i < params.length; i++) {
+			if (params[i] instanceof Collection) {
+				String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource);
+				return new PreparedStatementCreatorFactory(sqlToUse, paramTypes);
+			}
+		}
+		FactoryCacheKey cacheKey = new FactoryCacheKey(parsedSql.getOriginalSql(), paramTypes);
+		PreparedStatementCreatorFactory pscf = (PreparedStatementCreatorFactory) this.factoryCache.get(cacheKey);
+		if (pscf == null) {
+			String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource);
+			pscf = new PreparedStatementCreatorFactory(sqlToUse, paramTypes);
+			this.factoryCache.put(cacheKey, pscf);
+		}
+		return pscf;
+	}
+
 	/**
 	 * Obtain a parsed representation of the given SQL statement.
 	 * @param sql the original SQL
 	 * @return a representation of the parsed SQL statement
 	 */
 	protected ParsedSql getParsedSql(String sql) {
-		synchronized (this.parsedSqlCache) {
-			ParsedSql parsedSql = (ParsedSql) this.parsedSqlCache.get(sql);
-			if (parsedSql == null) {
-				parsedSql = NamedParameterUtils.parseSqlStatement(sql);
-				this.parsedSqlCache.put(sql, parsedSql);
+		ParsedSql parsedSql = (ParsedSql) this.parsedSqlCache.get(sql);
+		if (parsedSql == null) {
+			parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+			this.parsedSqlCache.put(sql, parsedSql);
+		}
+		return parsedSql;
+	}
+
+
+	/**
+	 * Cache key for PreparedStatementCreatorFactory instances:
+	 * the original SQL String plus the SQL types of its parameters.
+	 */
+	private static class FactoryCacheKey {
+
+		private final String sql;
+
+		private final int[] paramTypes;
+
+		public FactoryCacheKey(String sql, int[] paramTypes) {
+			this.sql = sql;
+			this.paramTypes = paramTypes;
+		}
+
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof FactoryCacheKey)) {
+				return false;
+			}
+			FactoryCacheKey otherKey = (FactoryCacheKey) other;
+			return (this.sql.equals(otherKey.sql) && Arrays.equals(this.paramTypes, otherKey.paramTypes));
+		}
+
+		public int hashCode() {
+			int hashCode = this.sql.hashCode();
+			for (int i = 0; i < this.paramTypes.length; i++) {
+				hashCode = hashCode * 29 + this.paramTypes[i];
 			}
-			return parsedSql;
+			return hashCode;
 		}
 	}
 
@@ -0,0 +1,500 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.support;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helper for executing a prepared statement for an arbitrarily large number
+ * of parameter sets, sending them in JDBC batches of a configurable
+ * {@link #setChunkSize chunk size} rather than all at once.
+ *
+ * <p>Parameter sets are obtained from an Iterator of argument arrays, with
+ * only the current chunk being held in memory. Arguments are applied like
+ * in JdbcTemplate's <code>update(String, Object[])</code> method, that is,
+ * they may also be {@link SqlParameterValue} objects.
+ *
+ * <p>With a {@link #setTaskExecutor TaskExecutor} configured, chunks get
+ * executed on up to {@link #setConcurrency "concurrency"} threads, each of
+ * which obtains its own JDBC Connection. Note that each chunk is then committed
+ * independently, so a failure will leave preceding chunks applied. In case of
+ * an existing transaction or transaction synchronization on the calling thread,
+ * all chunks are executed on the calling thread instead, participating in the
+ * transaction.
+ *
+ * <p>Returns a {@link BatchResult} with the update counts and the execution
+ * time of each chunk.
+ *
+ * @author agent
+ * @since 2.5.1
+ * @see JdbcTemplate#batchUpdate(String, BatchPreparedStatementSetter)
+ * @see org.springframework.jdbc.object.BatchSqlUpdate
+ */
+public class ChunkedBatchUpdater implements InitializingBean {
+
+	/** Default number of parameter sets per JDBC batch */
+	public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private JdbcTemplate jdbcTemplate;
+
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+	private TaskExecutor taskExecutor;
+
+	private int concurrency = 1;
+
+
+	/**
+	 * Create a new ChunkedBatchUpdater for bean-style usage.
+	 * @see #setDataSource
+	 * @see #setJdbcTemplate
+	 */
+	public ChunkedBatchUpdater() {
+	}
+
+	/**
+	 * Create a new ChunkedBatchUpdater for the given DataSource.
+	 * @param dataSource the JDBC DataSource to obtain connections from
+	 */
+	public ChunkedBatchUpdater(DataSource dataSource) {
+		setDataSource(dataSource);
+		afterPropertiesSet();
+	}
+
+	/**
+	 * Create a new ChunkedBatchUpdater for the given JdbcTemplate.
+	 * @param jdbcTemplate the JdbcTemplate to execute the batches with
+	 */
+	public ChunkedBatchUpdater(JdbcTemplate jdbcTemplate) {
+		setJdbcTemplate(jdbcTemplate);
+		afterPropertiesSet();
+	}
+
+
+	/**
+	 * Set the JDBC DataSource to obtain connections from.
+	 */
+	public void setDataSource(DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	/**
+	 * Set the JdbcTemplate to execute the batches with,
+	 * as an alternative to specifying a DataSource.
+	 */
+	public void setJdbcTemplate(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Return the JdbcTemplate that executes the batches.
+	 */
+	public JdbcTemplate getJdbcTemplate() {
+		return this.jdbcTemplate;
+	}
+
+	/**
+	 * Set the number of parameter sets to send in one JDBC batch.
+	 * Default is 1000.
+	 */
+	public void setChunkSize(int chunkSize) {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("chunkSize must be greater than 0");
+		}
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Return the number of parameter sets to send in one JDBC batch.
+	 */
+	public int getChunkSize() {
+		return this.chunkSize;
+	}
+
+	/**
+	 * Set the TaskExecutor to execute chunks with. Default is none,
+	 * executing all chunks on the calling thread.
+	 * <p>The given executor should be able to run the specified number
+	 * of chunks concurrently, for example a thread pool of that size.
+	 * @see #setConcurrency
+	 */
+	public void setTaskExecutor(TaskExecutor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+
+	/**
+	 * Return the TaskExecutor to execute chunks with, if any.
+	 */
+	public TaskExecutor getTaskExecutor() {
+		return this.taskExecutor;
+	}
+
+	/**
+	 * Set the maximum number of chunks to execute concurrently through the
+	 * TaskExecutor, which is also the maximum number of JDBC Connections used.
+	 * Default is 1, overlapping the execution of one chunk with the reading
+	 * of the next one from the given Iterator.
+	 * <p>Only applies if a TaskExecutor has been specified.
+	 * @see #setTaskExecutor
+	 */
+	public void setConcurrency(int concurrency) {
+		if (concurrency <= 0) {
+			throw new IllegalArgumentException("concurrency must be greater than 0");
+		}
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * Return the maximum number of chunks to execute concurrently.
+	 */
+	public int getConcurrency() {
+		return this.concurrency;
+	}
+
+	public void afterPropertiesSet() {
+		if (this.jdbcTemplate == null) {
+			throw new IllegalArgumentException("dataSource or jdbcTemplate is required");
+		}
+	}
+
+
+	/**
+	 * Execute the given SQL statement for all parameter sets that the given
+	 * Iterator returns, in chunks of the configured size.
+	 * @param sql the SQL statement to execute
+	 * @param batchArgs Iterator over the argument arrays (<code>Object[]</code>)
+	 * to bind to the statement, one per execution
+	 * @return the update counts and execution times of all chunks
+	 * @throws DataAccessException if there is any problem executing a chunk,
+	 * after all chunks that are already in progress have finished
+	 */
+	public BatchResult batchUpdate(String sql, Iterator batchArgs) throws DataAccessException {
+		BatchResult result = new BatchResult();
+		if (this.taskExecutor == null || isBoundToTransaction()) {
+			List chunk = nextChunk(batchArgs);
+			while (!chunk.isEmpty()) {
+				result.addChunk(executeChunk(sql, chunk));
+				chunk = nextChunk(batchArgs);
+			}
+		}
+		else {
+			executeConcurrently(sql, batchArgs, result);
+		}
+		result.complete();
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executed batch of " + result.getRowCount() + " parameter sets in " +
+					result.getChunkCount() + " chunks: " + result.getTotalTime() + " ms");
+		}
+		return result;
+	}
+
+	/**
+	 * Determine whether the calling thread has a transaction or transaction
+	 * synchronization, requiring all chunks to be executed on that thread.
+	 */
+	protected boolean isBoundToTransaction() {
+		DataSource dataSource = this.jdbcTemplate.getDataSource();
+		return (TransactionSynchronizationManager.isSynchronizationActive() ||
+				(dataSource != null && TransactionSynchronizationManager.hasResource(dataSource)));
+	}
+
+	/**
+	 * Execute the chunks through the TaskExecutor, reading the next chunk
+	 * from the Iterator only once fewer than "concurrency" chunks are in progress.
+	 */
+	private void executeConcurrently(final String sql, Iterator batchArgs, final BatchResult result) {
+		final Object monitor = new Object();
+		final int[] inProgress = new int[1];
+		final Throwable[] failure = new Throwable[1];
+		try {
+			List chunk = nextChunk(batchArgs);
+			while (!chunk.isEmpty()) {
+				synchronized (monitor) {
+					while (inProgress[0] >= this.concurrency && failure[0] == null) {
+						monitor.wait();
+					}
+					if (failure[0] != null) {
+						break;
+					}
+					inProgress[0]++;
+				}
+				final int chunkIndex = result.reserveChunk();
+				final List chunkToExecute = chunk;
+				boolean submitted = false;
+				try {
+					this.taskExecutor.execute(new Runnable() {
+						public void run() {
+							try {
+								result.setChunk(chunkIndex, executeChunk(sql, chunkToExecute));
+							}
+							catch (Throwable ex) {
+								// Record Errors as well: the chunk has not been applied.
+								synchronized (monitor) {
+									if (failure[0] == null) {
+										failure[0] = ex;
+									}
+								}
+							}
+							finally {
+								synchronized (monitor) {
+									inProgress[0]--;
+									monitor.notifyAll();
+								}
+							}
+						}
+					});
+					submitted = true;
+				}
+				finally {
+					if (!submitted) {
+						synchronized (monitor) {
+							inProgress[0]--;
+						}
+					}
+				}
+				chunk = nextChunk(batchArgs);
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for batch chunks to complete");
+		}
+		finally {
+			awaitCompletion(monitor, inProgress);
+		}
+		if (failure[0] instanceof RuntimeException) {
+			throw (RuntimeException) failure[0];
+		}
+		if (failure[0] instanceof Error) {
+			throw (Error) failure[0];
+		}
+		if (failure[0] != null) {
+			throw new UndeclaredThrowableException(failure[0]);
+		}
+	}
+
+	private void awaitCompletion(Object monitor, int[] inProgress) {
+		boolean interrupted = false;
+		synchronized (monitor) {
+			while (inProgress[0] > 0) {
+				try {
+					monitor.wait();
+				}
+				catch (InterruptedException ex) {
+					interrupted = true;
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private List nextChunk(Iterator batchArgs) {
+		List chunk = new ArrayList(this.chunkSize);
+		while (chunk.size() < this.chunkSize && batchArgs.hasNext()) {
+			chunk.add(batchArgs.next());
+		}
+		return chunk;
+	}
+
+	/**
+	 * Execute a single chunk as one JDBC batch.
+	 * @param sql the SQL statement to execute
+	 * @param chunk the argument arrays for the chunk
+	 * @return the chunk's update counts and execution time
+	 */
+	protected Chunk executeChunk(String sql, final List chunk) throws DataAccessException {
+		long startTime = System.currentTimeMillis();
+		int[] updateCounts;
+		try {
+			updateCounts = this.jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+				public void setValues(PreparedStatement ps, int i) throws SQLException {
+					Object[] args = (Object[]) chunk.get(i);
+					for (int j = 0; j < args.length; j++) {
+						Object arg = args[j];
+						if (arg instanceof SqlParameterValue) {
+							SqlParameterValue paramValue = (SqlParameterValue) arg;
+							StatementCreatorUtils.setParameterValue(ps, j + 1, paramValue, paramValue.getValue());
+						}
+						else {
+							StatementCreatorUtils.setParameterValue(ps, j + 1, SqlTypeValue.TYPE_UNKNOWN, arg);
+						}
+					}
+				}
+				public int getBatchSize() {
+					return chunk.size();
+				}
+			});
+		}
+		finally {
+			for (Iterator it = chunk.iterator(); it.hasNext();) {
+				StatementCreatorUtils.cleanupParameters((Object[]) it.next());
+			}
+		}
+		return new Chunk(updateCounts, System.currentTimeMillis() - startTime);
+	}
+
+
+	/**
+	 * Update counts and execution time of a single chunk.
+	 */
+	protected static class Chunk {
+
+		private final int[] updateCounts;
+
+		private final long executionTime;
+
+		public Chunk(int[] updateCounts, long executionTime) {
+			this.updateCounts = updateCounts;
+			this.executionTime = executionTime;
+		}
+	}
+
+
+	/**
+	 * Aggregated result of a chunked batch update: update counts and
+	 * execution time per chunk, in the order of the parameter sets.
+	 */
+	public static class BatchResult {
+
+		private final List chunks = new ArrayList();
+
+		private final long startTime = System.currentTimeMillis();
+
+		private long totalTime;
+
+		synchronized void addChunk(Chunk chunk) {
+			this.chunks.add(chunk);
+		}
+
+		synchronized int reserveChunk() {
+			this.chunks.add(null);
+			return this.chunks.size() - 1;
+		}
+
+		synchronized void setChunk(int index, Chunk chunk) {
+			this.chunks.set(index, chunk);
+		}
+
+		private synchronized Chunk getChunk(int index) {
+			Chunk chunk = (Chunk) this.chunks.get(index);
+			return (chunk != null ? chunk : new Chunk(new int[0], 0));
+		}
+
+		/**
+		 * Return the number of chunks that have been executed.
+		 */
+		public synchronized int getChunkCount() {
+			return this.chunks.size();
+		}
+
+		/**
+		 * Return the JDBC update counts of the given chunk.
+		 * @param chunkIndex the index of the chunk (starting at 0)
+		 */
+		public int[] getUpdateCounts(int chunkIndex) {
+			return getChunk(chunkIndex).updateCounts;
+		}
+
+		/**
+		 * Return the execution time of the given chunk, in milliseconds.
+		 * @param chunkIndex the index of the chunk (starting at 0)
+		 */
+		public long getExecutionTime(int chunkIndex) {
+			return getChunk(chunkIndex).executionTime;
+		}
+
+		/**
+		 * Return the JDBC update counts of all chunks, concatenated
+		 * in the order of the parameter sets.
+		 */
+		public synchronized int[] getUpdateCounts() {
+			int[] result = new int[getRowCount()];
+			int pos = 0;
+			for (int i = 0; i < this.chunks.size(); i++) {
+				int[] updateCounts = getUpdateCounts(i);
+				System.arraycopy(updateCounts, 0, result, pos, updateCounts.length);
+				pos += updateCounts.length;
+			}
+			return result;
+		}
+
+		/**
+		 * Return the number of parameter sets that have been executed.
+		 */
+		public synchronized int getRowCount() {
+			int count = 0;
+			for (int i = 0; i < this.chunks.size(); i++) {
+				count += getUpdateCounts(i).length;
+			}
+			return count;
+		}
+
+		/**
+		 * Return the total number of affected rows, as far as reported by
+		 * the driver (not counting <code>Statement.SUCCESS_NO_INFO</code>).
+		 */
+		public synchronized int getTotalUpdateCount() {
+			int count = 0;
+			for (int i = 0; i < this.chunks.size(); i++) {
+				int[] updateCounts = getUpdateCounts(i);
+				for (int j = 0; j < updateCounts.length; j++) {
+					if (updateCounts[j] > 0) {
+						count += updateCounts[j];
+					}
+				}
+			}
+			return count;
+		}
+
+		synchronized void complete() {
+			this.totalTime = System.currentTimeMillis() - this.startTime;
+		}
+
+		/**
+		 * Return the wall-clock time of the entire batch update, in milliseconds.
+		 */
+		public synchronized long getTotalTime() {
+			return this.totalTime;
+		}
+	}
+
+}
@@ -0,0 +1,640 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.rowset;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.support.JdbcUtils;
+
+/**
+ * Disconnected, column-oriented representation of a query result,
+ * holding numeric columns in primitive arrays instead of boxed values.
+ * A compact alternative to {@link SqlRowSet} and to Lists of row Maps
+ * for analytical queries that return large numbers of numeric values.
+ *
+ * <p>Column types are determined from the ResultSet metadata:
+ * <ul>
+ * <li><code>TINYINT</code>, <code>SMALLINT</code> and <code>INTEGER</code>
+ * columns are held as <code>int</code> values;
+ * <li><code>BIGINT</code> columns as well as <code>NUMERIC</code> and
+ * <code>DECIMAL</code> columns with a scale of 0 and a precision of up to
+ * 18 digits are held as <code>long</code> values;
+ * <li><code>REAL</code>, <code>FLOAT</code> and <code>DOUBLE</code> columns
+ * as well as any other <code>NUMERIC</code> and <code>DECIMAL</code> columns
+ * are held as <code>double</code> values (note that the latter may lose
+ * precision; use a SqlRowSet for exact decimal values);
+ * <li>all other columns are held as objects, as returned by
+ * {@link JdbcUtils#getResultSetValue}.
+ * </ul>
+ *
+ * <p>Values are stored in chunks of a fixed number of rows, so that reading
+ * a large result does not involve copying arrays as it grows. Once all rows
+ * have been read, the last chunk gets trimmed to the rows it actually holds,
+ * so that small results do not occupy a full chunk per column. SQL NULL values
+ * in primitive columns are tracked in a bitmap that only gets allocated
+ * once the first NULL value is encountered.
+ *
+ * <p>Rows are indexed starting at 0, while columns are indexed starting at 1,
+ * as in JDBC. Columns can also be accessed by their label (case-insensitive).
+ * Primitive values can be read as wider types (<code>int</code> as
+ * <code>long</code>, <code>int</code> and <code>long</code> as
+ * <code>double</code>); reading a NULL value returns 0.
+ *
+ * <p>Instances are immutable once created and thus thread-safe.
+ *
+ * @author agent
+ * @since 2.5.1
+ * @see org.springframework.jdbc.core.ColumnarResultSetExtractor
+ * @see SqlRowSet
+ */
+public class ColumnarResult implements Serializable {
+
+	/** Default number of rows per chunk */
+	public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+
+	private final String[] columnNames;
+
+	private final Column[] columns;
+
+	private final int rowCount;
+
+
+	/**
+	 * Create a new ColumnarResult with the data of the given ResultSet,
+	 * reading all of its remaining rows.
+	 * @param rs the ResultSet to read
+	 * @throws SQLException if thrown by JDBC methods
+	 */
+	public ColumnarResult(ResultSet rs) throws SQLException {
+		this(rs, DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Create a new ColumnarResult with the data of the given ResultSet,
+	 * reading all of its remaining rows.
+	 * @param rs the ResultSet to read
+	 * @param chunkSize the number of rows per chunk
+	 * (rounded up to the next power of two)
+	 * @throws SQLException if thrown by JDBC methods
+	 */
+	public ColumnarResult(ResultSet rs, int chunkSize) throws SQLException {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("chunkSize must be greater than 0");
+		}
+		int chunkBits = 0;
+		while ((1 << chunkBits) < chunkSize) {
+			chunkBits++;
+		}
+		ResultSetMetaData rsmd = rs.getMetaData();
+		int columnCount = rsmd.getColumnCount();
+		this.columnNames = new String[columnCount];
+		this.columns = new Column[columnCount];
+		for (int i = 1; i <= columnCount; i++) {
+			this.columnNames[i - 1] = JdbcUtils.lookupColumnName(rsmd, i);
+			this.columns[i - 1] = createColumn(rsmd, i, chunkBits);
+		}
+		int row = 0;
+		while (rs.next()) {
+			for (int i = 0; i < columnCount; i++) {
+				this.columns[i].read(rs, i + 1, row);
+			}
+			row++;
+		}
+		for (int i = 0; i < columnCount; i++) {
+			this.columns[i].trim(row);
+		}
+		this.rowCount = row;
+	}
+
+	private static Column createColumn(ResultSetMetaData rsmd, int index, int chunkBits) throws SQLException {
+		switch (rsmd.getColumnType(index)) {
+			case Types.TINYINT:
+			case Types.SMALLINT:
+			case Types.INTEGER:
+				return new IntColumn(chunkBits);
+			case Types.BIGINT:
+				return new LongColumn(chunkBits);
+			case Types.NUMERIC:
+			case Types.DECIMAL:
+				int precision = rsmd.getPrecision(index);
+				if (rsmd.getScale(index) == 0 && precision > 0 && precision <= 18) {
+					return new LongColumn(chunkBits);
+				}
+				return new DoubleColumn(chunkBits);
+			case Types.REAL:
+			case Types.FLOAT:
+			case Types.DOUBLE:
+				return new DoubleColumn(chunkBits);
+			default:
+				return new ObjectColumn(chunkBits);
+		}
+	}
+
+
+	/**
+	 * Return the number of rows.
+	 */
+	public int getRowCount() {
+		return this.rowCount;
+	}
+
+	/**
+	 * Return the number of columns.
+	 */
+	public int getColumnCount() {
+		return this.columns.length;
+	}
+
+	/**
+	 * Return the column labels, in column order.
+	 */
+	public String[] getColumnNames() {
+		return (String[]) this.columnNames.clone();
+	}
+
+	/**
+	 * Return the index of the column with the given label (case-insensitive).
+	 * @param columnLabel the column label
+	 * @return the column index (starting at 1)
+	 * @throws InvalidDataAccessApiUsageException if there is no such column
+	 */
+	public int findColumn(String columnLabel) throws InvalidDataAccessApiUsageException {
+		for (int i = 0; i < this.columnNames.length; i++) {
+			if (this.columnNames[i].equalsIgnoreCase(columnLabel)) {
+				return i + 1;
+			}
+		}
+		throw new InvalidDataAccessApiUsageException("No column with label '" + columnLabel + "'");
+	}
+
+	/**
+	 * Return the type that the values of the given column are held as:
+	 * <code>int.class</code>, <code>long.class</code>, <code>double.class</code>
+	 * or <code>Object.class</code>.
+	 * @param columnIndex the column index (starting at 1)
+	 */
+	public Class getColumnType(int columnIndex) {
+		return getColumn(columnIndex).getType();
+	}
+
+	/**
+	 * Return whether the given value is SQL NULL.
+	 * @param rowIndex the row index (starting at 0)
+	 * @param columnIndex the column index (starting at 1)
+	 */
+	public boolean isNull(int rowIndex, int columnIndex) {
+		return getColumn(columnIndex).isNull(checkRow(rowIndex));
+	}
+
+	/**
+	 * Return the given value of an <code>int</code> column.
+	 * @param rowIndex the row index (starting at 0)
+	 * @param columnIndex the column index (starting at 1)
+	 * @return the value, or 0 if SQL NULL
+	 * @throws InvalidDataAccessApiUsageException if the column is not held as <code>int</code>
+	 */
+	public int getInt(int rowIndex, int columnIndex) throws InvalidDataAccessApiUsageException {
+		return getColumn(columnIndex).getInt(checkRow(rowIndex));
+	}
+
+	/**
+	 * Return the given value of an <code>int</code> column.
+	 * @param rowIndex the row index (starting at 0)
+	 * @param columnLabel the column label
+	 * @see #getInt(int, int)
+	 */
+	public int getInt(int rowIndex, String columnLabel) throws InvalidDataAccessApiUsageException {
+		return getInt(rowIndex, findColumn(columnLabel));
+	}
+
+	/**
+	 * Return the given value of a <code>long</code> or <code>int</code> column.
+	 * @param rowIndex the row index (starting at 0)
+	 * @param columnIndex the column index (starting at 1)
+	 * @return the value, or 0 if SQL NULL
+	 * @throws InvalidDataAccessApiUsageException if the column is not held as
+	 * <code>long</code> or <code>int</code>
+	 */
+	public long getLong(int rowIndex, int columnIndex) throws InvalidDataAccessApiUsageException {
+		return getColumn(columnIndex).getLong(checkRow(rowIndex));
+	}
+
+	/**
+	 * Return the given value of a <code>long</code> or <code>int</code> column.
+	 * @param rowIndex the row index (starting at 0)
+	 * @param columnLabel the column label
+	 * @see #getLong(int, int)
+	 */
+	public long getLong(int rowIndex, String columnLabel) throws InvalidDataAccessApiUsageException {
+		return getLong(rowIndex, findColumn(columnLabel));
+	}
+
+	/**
+	 * Return the given value of a numeric column.
+	 * @param rowIndex the row index (starting at 0)
+	 * @param columnIndex the column index (starting at 1)
+	 * @return the value, or 0 if SQL NULL
+	 * @throws InvalidDataAccessApiUsageException if the column is held as objects
+	 */
+	public double getDouble(int rowIndex, int columnIndex) throws InvalidDataAccessApiUsageException {
+		return getColumn(columnIndex).getDouble(checkRow(rowIndex));
+	}
+
+	/**
+	 * Return the given value of a numeric column.
+	 * @param rowIndex the row index (starting at 0)
+	 * @param columnLabel the column label
+	 * @see #getDouble(int, int)
+	 */
+	public double getDouble(int rowIndex, String columnLabel) throws InvalidDataAccessApiUsageException {
+		return getDouble(rowIndex, findColumn(columnLabel));
+	}
+
+	/**
+	 * Return the given value as an object, boxing primitive values.
+	 * @param rowIndex the row index (starting at 0)
+	 * @param columnIndex the column index (starting at 1)
+	 * @return the value, or <code>null</code> if SQL NULL
+	 */
+	public Object getObject(int rowIndex, int columnIndex) {
+		return getColumn(columnIndex).getObject(checkRow(rowIndex));
+	}
+
+	/**
+	 * Return the given value as an object, boxing primitive values.
+	 * @param rowIndex the row index (starting at 0)
+	 * @param columnLabel the column label
+	 * @see #getObject(int, int)
+	 */
+	public Object getObject(int rowIndex, String columnLabel) throws InvalidDataAccessApiUsageException {
+		return getObject(rowIndex, findColumn(columnLabel));
+	}
+
+	/**
+	 * Return all values of an <code>int</code> column, with 0 for SQL NULL.
+	 * @param columnIndex the column index (starting at 1)
+	 * @return a new array with one value per row
+	 */
+	public int[] getIntColumn(int columnIndex) throws InvalidDataAccessApiUsageException {
+		Column column = getColumn(columnIndex);
+		int[] values = new int[this.rowCount];
+		for (int i = 0; i < this.rowCount; i++) {
+			values[i] = column.getInt(i);
+		}
+		return values;
+	}
+
+	/**
+	 * Return all values of a <code>long</code> or <code>int</code> column,
+	 * with 0 for SQL NULL.
+	 * @param columnIndex the column index (starting at 1)
+	 * @return a new array with one value per row
+	 */
+	public long[] getLongColumn(int columnIndex) throws InvalidDataAccessApiUsageException {
+		Column column = getColumn(columnIndex);
+		long[] values = new long[this.rowCount];
+		for (int i = 0; i < this.rowCount; i++) {
+			values[i] = column.getLong(i);
+		}
+		return values;
+	}
+
+	/**
+	 * Return all values of a numeric column, with 0 for SQL NULL.
+	 * @param columnIndex the column index (starting at 1)
+	 * @return a new array with one value per row
+	 */
+	public double[] getDoubleColumn(int columnIndex) throws InvalidDataAccessApiUsageException {
+		Column column = getColumn(columnIndex);
+		double[] values = new double[this.rowCount];
+		for (int i = 0; i < this.rowCount; i++) {
+			values[i] = column.getDouble(i);
+		}
+		return values;
+	}
+
+	private Column getColumn(int columnIndex) {
+		if (columnIndex < 1 || columnIndex > this.columns.length) {
+			throw new InvalidDataAccessApiUsageException(
+					"Invalid column index " + columnIndex + ": " + this.columns.length + " columns available");
+		}
+		return this.columns[columnIndex - 1];
+	}
+
+	private int checkRow(int rowIndex) {
+		if (rowIndex < 0 || rowIndex >= this.rowCount) {
+			throw new InvalidDataAccessApiUsageException(
+					"Invalid row index " + rowIndex + ": " + this.rowCount + " rows available");
+		}
+		return rowIndex;
+	}
+
+
+	/**
+	 * Base class for the values of a single column, stored in chunks.
+	 */
+	private static abstract class Column implements Serializable {
+
+		protected final int chunkBits;
+
+		protected final int chunkMask;
+
+		/** Null flags per chunk: allocated on first NULL value */
+		private long[][] nullChunks;
+
+		protected Column(int chunkBits) {
+			this.chunkBits = chunkBits;
+			this.chunkMask = (1 << chunkBits) - 1;
+		}
+
+		/**
+		 * Determine the number of chunks required for the given row,
+		 * growing the given chunk count by half if necessary.
+		 */
+		protected int requiredChunks(int row, int currentChunks) {
+			int chunk = row >>> this.chunkBits;
+			if (chunk < currentChunks) {
+				return currentChunks;
+			}
+			return Math.max(chunk + 1, currentChunks + (currentChunks >> 1) + 1);
+		}
+
+		protected void markNull(int row) {
+			int chunk = row >>> this.chunkBits;
+			if (this.nullChunks == null || chunk >= this.nullChunks.length) {
+				long[][] newChunks = new long[requiredChunks(row, (this.nullChunks != null ? this.nullChunks.length : 0))][];
+				if (this.nullChunks != null) {
+					System.arraycopy(this.nullChunks, 0, newChunks, 0, this.nullChunks.length);
+				}
+				this.nullChunks = newChunks;
+			}
+			if (this.nullChunks[chunk] == null) {
+				this.nullChunks[chunk] = new long[((1 << this.chunkBits) + 63) >>> 6];
+			}
+			int offset = row & this.chunkMask;
+			this.nullChunks[chunk][offset >>> 6] |= (1L << (offset & 63));
+		}
+
+		public boolean isNull(int row) {
+			if (this.nullChunks == null) {
+				return false;
+			}
+			int chunk = row >>> this.chunkBits;
+			if (chunk >= this.nullChunks.length || this.nullChunks[chunk] == null) {
+				return false;
+			}
+			int offset = row & this.chunkMask;
+			return ((this.nullChunks[chunk][offset >>> 6] & (1L << (offset & 63))) != 0);
+		}
+
+		public abstract Class getType();
+
+		public abstract void read(ResultSet rs, int index, int row) throws SQLException;
+
+		/**
+		 * Release the unused capacity after the given number of rows has been read.
+		 */
+		public abstract void trim(int rowCount);
+
+		/**
+		 * Copy the given chunks into an array that holds exactly the chunks
+		 * for the given number of rows, with the last chunk trimmed to the
+		 * rows it actually holds.
+		 */
+		protected Object[] trimChunks(Object[] chunks, int rowCount) {
+			int chunkCount = (rowCount + this.chunkMask) >>> this.chunkBits;
+			Class chunkType = chunks.getClass().getComponentType();
+			Object[] trimmed = (Object[]) Array.newInstance(chunkType, chunkCount);
+			System.arraycopy(chunks, 0, trimmed, 0, chunkCount);
+			int lastChunkSize = rowCount - ((chunkCount - 1) << this.chunkBits);
+			if (chunkCount > 0 && lastChunkSize < Array.getLength(trimmed[chunkCount - 1])) {
+				Object lastChunk = Array.newInstance(chunkType.getComponentType(), lastChunkSize);
+				System.arraycopy(trimmed[chunkCount - 1], 0, lastChunk, 0, lastChunkSize);
+				trimmed[chunkCount - 1] = lastChunk;
+			}
+			return trimmed;
+		}
+
+		public int getInt(int row) {
+			throw typeMismatch("int");
+		}
+
+		public long getLong(int row) {
+			throw typeMismatch("long");
+		}
+
+		public double getDouble(int row) {
+			throw typeMismatch("double");
+		}
+
+		public abstract Object getObject(int row);
+
+		private InvalidDataAccessApiUsageException typeMismatch(String requestedType) {
+			return new InvalidDataAccessApiUsageException(
+					"Column of type [" + getType().getName() + "] cannot be read as " + requestedType);
+		}
+	}
+
+
+	private static class IntColumn extends Column {
+
+		private int[][] chunks = new int[0][];
+
+		public IntColumn(int chunkBits) {
+			super(chunkBits);
+		}
+
+		public Class getType() {
+			return int.class;
+		}
+
+		public void read(ResultSet rs, int index, int row) throws SQLException {
+			int value = rs.getInt(index);
+			if (value == 0 && rs.wasNull()) {
+				markNull(row);
+			}
+			int chunk = row >>> this.chunkBits;
+			if (chunk >= this.chunks.length) {
+				int[][] newChunks = new int[requiredChunks(row, this.chunks.length)][];
+				System.arraycopy(this.chunks, 0, newChunks, 0, this.chunks.length);
+				this.chunks = newChunks;
+			}
+			if (this.chunks[chunk] == null) {
+				this.chunks[chunk] = new int[1 << this.chunkBits];
+			}
+			this.chunks[chunk][row & this.chunkMask] = value;
+		}
+
+		public void trim(int rowCount) {
+			this.chunks = (int[][]) trimChunks(this.chunks, rowCount);
+		}
+
+		public int getInt(int row) {
+			return this.chunks[row >>> this.chunkBits][row & this.chunkMask];
+		}
+
+		public long getLong(int row) {
+			return getInt(row);
+		}
+
+		public double getDouble(int row) {
+			return getInt(row);
+		}
+
+		public Object getObject(int row) {
+			return (isNull(row) ? null : new Integer(getInt(row)));
+		}
+	}
+
+
+	private static class LongColumn extends Column {
+
+		private long[][] chunks = new long[0][];
+
+		public LongColumn(int chunkBits) {
+			super(chunkBits);
+		}
+
+		public Class getType() {
+			return long.class;
+		}
+
+		public void read(ResultSet rs, int index, int row) throws SQLException {
+			long value = rs.getLong(index);
+			if (value == 0 && rs.wasNull()) {
+				markNull(row);
+			}
+			int chunk = row >>> this.chunkBits;
+			if (chunk >= this.chunks.length) {
+				long[][] newChunks = new long[requiredChunks(row, this.chunks.length)][];
+				System.arraycopy(this.chunks, 0, newChunks, 0, this.chunks.length);
+				this.chunks = newChunks;
+			}
+			if (this.chunks[chunk] == null) {
+				this.chunks[chunk] = new long[1 << this.chunkBits];
+			}
+			this.chunks[chunk][row & this.chunkMask] = value;
+		}
+
+		public void trim(int rowCount) {
+			this.chunks = (long[][]) trimChunks(this.chunks, rowCount);
+		}
+
+		public long getLong(int row) {
+			return this.chunks[row >>> this.chunkBits][row & this.chunkMask];
+		}
+
+		public double getDouble(int row) {
+			return getLong(row);
+		}
+
+		public Object getObject(int row) {
+			return (isNull(row) ? null : new Long(getLong(row)));
+		}
+	}
+
+
+	private static class DoubleColumn extends Column {
+
+		private double[][] chunks = new double[0][];
+
+		public DoubleColumn(int chunkBits) {
+			super(chunkBits);
+		}
+
+		public Class getType() {
+			return double.class;
+		}
+
+		public void read(ResultSet rs, int index, int row) throws SQLException {
+			double value = rs.getDouble(index);
+			if (value == 0 && rs.wasNull()) {
+				markNull(row);
+			}
+			int chunk = row >>> this.chunkBits;
+			if (chunk >= this.chunks.length) {
+				double[][] newChunks = new double[requiredChunks(row, this.chunks.length)][];
+				System.arraycopy(this.chunks, 0, newChunks, 0, this.chunks.length);
+				this.chunks = newChunks;
+			}
+			if (this.chunks[chunk] == null) {
+				this.chunks[chunk] = new double[1 << this.chunkBits];
+			}
+			this.chunks[chunk][row & this.chunkMask] = value;
+		}
+
+		public void trim(int rowCount) {
+			this.chunks = (double[][]) trimChunks(this.chunks, rowCount);
+		}
+
+		public double getDouble(int row) {
+			return this.chunks[row >>> this.chunkBits][row & this.chunkMask];
+		}
+
+		public Object getObject(int row) {
+			return (isNull(row) ? null : new Double(getDouble(row)));
+		}
+	}
+
+
+	private static class ObjectColumn extends Column {
+
+		private Object[][] chunks = new Object[0][];
+
+		public ObjectColumn(int chunkBits) {
+			super(chunkBits);
+		}
+
+		public Class getType() {
+			return Object.class;
+		}
+
+		public void read(ResultSet rs, int index, int row) throws SQLException {
+			Object value = JdbcUtils.getResultSetValue(rs, index);
+			int chunk = row >>> this.chunkBits;
+			if (chunk >= this.chunks.length) {
+				Object[][] newChunks = new Object[requiredChunks(row, this.chunks.length)][];
+				System.arraycopy(this.chunks, 0, newChunks, 0, this.chunks.length);
+				this.chunks = newChunks;
+			}
+			if (this.chunks[chunk] == null) {
+				this.chunks[chunk] = new Object[1 << this.chunkBits];
+			}
+			this.chunks[chunk][row & this.chunkMask] = value;
+		}
+
+		public void trim(int rowCount) {
+			this.chunks = (Object[][]) trimChunks(this.chunks, rowCount);
+		}
+
+		public boolean isNull(int row) {
+			return (getObject(row) == null);
+		}
+
+		public Object getObject(int row) {
+			return this.chunks[row >>> this.chunkBits][row & this.chunkMask];
+		}
+	}
+
+}
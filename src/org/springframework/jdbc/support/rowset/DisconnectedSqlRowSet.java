@@ -0,0 +1,676 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.rowset;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.InvalidResultSetAccessException;
+import org.springframework.jdbc.support.JdbcUtils;
+
+/**
+ * Native implementation of Spring's SqlRowSet interface, holding a copy of
+ * the data and metadata of a <code>java.sql.ResultSet</code> without relying
+ * on a JDBC <code>CachedRowSet</code> implementation.
+ *
+ * <p>Each row is stored as a single array of column values, as returned by
+ * {@link JdbcUtils#getResultSetValue} (with LOBs being materialized as
+ * <code>byte[]</code> or String), without the original-value copies and
+ * internal synchronization of an updatable CachedRowSet. The typed getters
+ * convert stored values like a lenient JDBC driver would: for example,
+ * numbers can be read as any numeric type or as String, and Strings get
+ * parsed on demand.
+ *
+ * <p>Supports the full SqlRowSet contract including scrolling, that is,
+ * absolute and relative positioning in both directions.
+ *
+ * <p>A maximum number of rows can be specified on construction, in which
+ * case no further rows are read from the given ResultSet once that limit
+ * has been reached.
+ *
+ * <p>Instances are not thread-safe, since each of them maintains a cursor.
+ * They are serializable as long as the contained column values are.
+ *
+ * @author agent
+ * @since 2.5.1
+ * @see ResultSetWrappingSqlRowSet
+ * @see org.springframework.jdbc.core.SqlRowSetResultSetExtractor
+ */
+public class DisconnectedSqlRowSet implements SqlRowSet {
+
+	private final ColumnMetaData metaData;
+
+	private final List rows;
+
+	/** Current row number: 0 means before first row, rows.size() + 1 after last row */
+	private int cursor = 0;
+
+	private boolean wasNull = false;
+
+
+	/**
+	 * Create a new DisconnectedSqlRowSet with the data of the given ResultSet,
+	 * reading all of its remaining rows.
+	 * @param resultSet the ResultSet to read (connected)
+	 * @throws SQLException if thrown by JDBC methods
+	 */
+	public DisconnectedSqlRowSet(ResultSet resultSet) throws SQLException {
+		this(resultSet, 0);
+	}
+
+	/**
+	 * Create a new DisconnectedSqlRowSet with the data of the given ResultSet,
+	 * reading up to the given number of rows.
+	 * @param resultSet the ResultSet to read (connected)
+	 * @param maxRows the maximum number of rows to read, or 0 for all rows.
+	 * The remaining rows of the ResultSet will not be fetched.
+	 * @throws SQLException if thrown by JDBC methods
+	 */
+	public DisconnectedSqlRowSet(ResultSet resultSet, int maxRows) throws SQLException {
+		this.metaData = new ColumnMetaData(resultSet.getMetaData());
+		int columnCount = this.metaData.getColumnCount();
+		this.rows = new ArrayList(maxRows > 0 && maxRows < 256 ? maxRows : 16);
+		while ((maxRows <= 0 || this.rows.size() < maxRows) && resultSet.next()) {
+			Object[] row = new Object[columnCount];
+			for (int i = 0; i < columnCount; i++) {
+				row[i] = JdbcUtils.getResultSetValue(resultSet, i + 1);
+			}
+			this.rows.add(row);
+		}
+	}
+
+
+	public SqlRowSetMetaData getMetaData() {
+		return this.metaData;
+	}
+
+	public int findColumn(String columnName) throws InvalidResultSetAccessException {
+		return this.metaData.findColumn(columnName);
+	}
+
+	/**
+	 * Return the number of rows held by this row set.
+	 */
+	public int getRowCount() {
+		return this.rows.size();
+	}
+
+
+	// RowSet methods for extracting data values
+
+	public BigDecimal getBigDecimal(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getValue(columnIndex);
+		if (value == null || value instanceof BigDecimal) {
+			return (BigDecimal) value;
+		}
+		if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return BigDecimal.valueOf(((Number) value).longValue());
+		}
+		if (value instanceof Number || value instanceof String) {
+			try {
+				return new BigDecimal(value.toString().trim());
+			}
+			catch (NumberFormatException ex) {
+				throw conversionFailure(value, "BigDecimal");
+			}
+		}
+		if (value instanceof Boolean) {
+			return BigDecimal.valueOf(((Boolean) value).booleanValue() ? 1 : 0);
+		}
+		throw conversionFailure(value, "BigDecimal");
+	}
+
+	public BigDecimal getBigDecimal(String columnName) throws InvalidResultSetAccessException {
+		return getBigDecimal(findColumn(columnName));
+	}
+
+	public boolean getBoolean(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getValue(columnIndex);
+		if (value == null) {
+			return false;
+		}
+		if (value instanceof Boolean) {
+			return ((Boolean) value).booleanValue();
+		}
+		if (value instanceof Number) {
+			return (((Number) value).doubleValue() != 0);
+		}
+		if (value instanceof String) {
+			String str = ((String) value).trim();
+			return (str.equalsIgnoreCase("true") || str.equals("1") ||
+					str.equalsIgnoreCase("y") || str.equalsIgnoreCase("yes"));
+		}
+		throw conversionFailure(value, "boolean");
+	}
+
+	public boolean getBoolean(String columnName) throws InvalidResultSetAccessException {
+		return getBoolean(findColumn(columnName));
+	}
+
+	public byte getByte(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getValue(columnIndex);
+		return (value != null ? toNumber(value, "byte").byteValue() : 0);
+	}
+
+	public byte getByte(String columnName) throws InvalidResultSetAccessException {
+		return getByte(findColumn(columnName));
+	}
+
+	public Date getDate(int columnIndex, Calendar cal) throws InvalidResultSetAccessException {
+		Date date = getDate(columnIndex);
+		return (date != null && cal != null ? new Date(adjustToCalendar(date, cal)) : date);
+	}
+
+	public Date getDate(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getValue(columnIndex);
+		if (value == null || value instanceof Date) {
+			return (Date) value;
+		}
+		if (value instanceof java.util.Date) {
+			return new Date(((java.util.Date) value).getTime());
+		}
+		if (value instanceof String) {
+			try {
+				return Date.valueOf(((String) value).trim());
+			}
+			catch (IllegalArgumentException ex) {
+				throw conversionFailure(value, "java.sql.Date");
+			}
+		}
+		throw conversionFailure(value, "java.sql.Date");
+	}
+
+	public Date getDate(String columnName, Calendar cal) throws InvalidResultSetAccessException {
+		return getDate(findColumn(columnName), cal);
+	}
+
+	public Date getDate(String columnName) throws InvalidResultSetAccessException {
+		return getDate(findColumn(columnName));
+	}
+
+	public double getDouble(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getValue(columnIndex);
+		return (value != null ? toNumber(value, "double").doubleValue() : 0);
+	}
+
+	public double getDouble(String columnName) throws InvalidResultSetAccessException {
+		return getDouble(findColumn(columnName));
+	}
+
+	public float getFloat(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getValue(columnIndex);
+		return (value != null ? toNumber(value, "float").floatValue() : 0);
+	}
+
+	public float getFloat(String columnName) throws InvalidResultSetAccessException {
+		return getFloat(findColumn(columnName));
+	}
+
+	public int getInt(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getValue(columnIndex);
+		return (value != null ? toNumber(value, "int").intValue() : 0);
+	}
+
+	public int getInt(String columnName) throws InvalidResultSetAccessException {
+		return getInt(findColumn(columnName));
+	}
+
+	public long getLong(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getValue(columnIndex);
+		return (value != null ? toNumber(value, "long").longValue() : 0);
+	}
+
+	public long getLong(String columnName) throws InvalidResultSetAccessException {
+		return getLong(findColumn(columnName));
+	}
+
+	/**
+	 * This implementation ignores the given type map: Values are held as
+	 * read from the original ResultSet, including any user-defined types.
+	 */
+	public Object getObject(int columnIndex, Map map) throws InvalidResultSetAccessException {
+		return getObject(columnIndex);
+	}
+
+	public Object getObject(int columnIndex) throws InvalidResultSetAccessException {
+		return getValue(columnIndex);
+	}
+
+	public Object getObject(String columnName, Map map) throws InvalidResultSetAccessException {
+		return getObject(findColumn(columnName), map);
+	}
+
+	public Object getObject(String columnName) throws InvalidResultSetAccessException {
+		return getObject(findColumn(columnName));
+	}
+
+	public short getShort(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getValue(columnIndex);
+		return (value != null ? toNumber(value, "short").shortValue() : 0);
+	}
+
+	public short getShort(String columnName) throws InvalidResultSetAccessException {
+		return getShort(findColumn(columnName));
+	}
+
+	public String getString(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getValue(columnIndex);
+		return (value != null ? value.toString() : null);
+	}
+
+	public String getString(String columnName) throws InvalidResultSetAccessException {
+		return getString(findColumn(columnName));
+	}
+
+	public Time getTime(int columnIndex, Calendar cal) throws InvalidResultSetAccessException {
+		Time time = getTime(columnIndex);
+		return (time != null && cal != null ? new Time(adjustToCalendar(time, cal)) : time);
+	}
+
+	public Time getTime(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getValue(columnIndex);
+		if (value == null || value instanceof Time) {
+			return (Time) value;
+		}
+		if (value instanceof java.util.Date) {
+			return new Time(((java.util.Date) value).getTime());
+		}
+		if (value instanceof String) {
+			try {
+				return Time.valueOf(((String) value).trim());
+			}
+			catch (IllegalArgumentException ex) {
+				throw conversionFailure(value, "java.sql.Time");
+			}
+		}
+		throw conversionFailure(value, "java.sql.Time");
+	}
+
+	public Time getTime(String columnName, Calendar cal) throws InvalidResultSetAccessException {
+		return getTime(findColumn(columnName), cal);
+	}
+
+	public Time getTime(String columnName) throws InvalidResultSetAccessException {
+		return getTime(findColumn(columnName));
+	}
+
+	public Timestamp getTimestamp(int columnIndex, Calendar cal) throws InvalidResultSetAccessException {
+		Timestamp timestamp = getTimestamp(columnIndex);
+		if (timestamp != null && cal != null) {
+			Timestamp adjusted = new Timestamp(adjustToCalendar(timestamp, cal));
+			adjusted.setNanos(timestamp.getNanos());
+			return adjusted;
+		}
+		return timestamp;
+	}
+
+	public Timestamp getTimestamp(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getValue(columnIndex);
+		if (value == null || value instanceof Timestamp) {
+			return (Timestamp) value;
+		}
+		if (value instanceof java.util.Date) {
+			return new Timestamp(((java.util.Date) value).getTime());
+		}
+		if (value instanceof String) {
+			try {
+				return Timestamp.valueOf(((String) value).trim());
+			}
+			catch (IllegalArgumentException ex) {
+				throw conversionFailure(value, "java.sql.Timestamp");
+			}
+		}
+		throw conversionFailure(value, "java.sql.Timestamp");
+	}
+
+	public Timestamp getTimestamp(String columnName, Calendar cal) throws InvalidResultSetAccessException {
+		return getTimestamp(findColumn(columnName), cal);
+	}
+
+	public Timestamp getTimestamp(String columnName) throws InvalidResultSetAccessException {
+		return getTimestamp(findColumn(columnName));
+	}
+
+
+	// RowSet navigation methods
+
+	public boolean absolute(int row) throws InvalidResultSetAccessException {
+		int size = this.rows.size();
+		if (row >= 0) {
+			this.cursor = Math.min(row, size + 1);
+		}
+		else {
+			this.cursor = Math.max(size + 1 + row, 0);
+		}
+		return isOnRow();
+	}
+
+	public void afterLast() throws InvalidResultSetAccessException {
+		this.cursor = this.rows.size() + 1;
+	}
+
+	public void beforeFirst() throws InvalidResultSetAccessException {
+		this.cursor = 0;
+	}
+
+	public boolean first() throws InvalidResultSetAccessException {
+		return absolute(1);
+	}
+
+	public int getRow() throws InvalidResultSetAccessException {
+		return (isOnRow() ? this.cursor : 0);
+	}
+
+	public boolean isAfterLast() throws InvalidResultSetAccessException {
+		return (!this.rows.isEmpty() && this.cursor > this.rows.size());
+	}
+
+	public boolean isBeforeFirst() throws InvalidResultSetAccessException {
+		return (!this.rows.isEmpty() && this.cursor == 0);
+	}
+
+	public boolean isFirst() throws InvalidResultSetAccessException {
+		return (!this.rows.isEmpty() && this.cursor == 1);
+	}
+
+	public boolean isLast() throws InvalidResultSetAccessException {
+		return (!this.rows.isEmpty() && this.cursor == this.rows.size());
+	}
+
+	public boolean last() throws InvalidResultSetAccessException {
+		return absolute(-1);
+	}
+
+	public boolean next() throws InvalidResultSetAccessException {
+		if (this.cursor <= this.rows.size()) {
+			this.cursor++;
+		}
+		return isOnRow();
+	}
+
+	public boolean previous() throws InvalidResultSetAccessException {
+		if (this.cursor > 0) {
+			this.cursor--;
+		}
+		return isOnRow();
+	}
+
+	public boolean relative(int rows) throws InvalidResultSetAccessException {
+		long target = (long) this.cursor + rows;
+		this.cursor = (int) Math.max(0, Math.min(target, this.rows.size() + 1));
+		return isOnRow();
+	}
+
+	public boolean wasNull() throws InvalidResultSetAccessException {
+		return this.wasNull;
+	}
+
+
+	private boolean isOnRow() {
+		return (this.cursor > 0 && this.cursor <= this.rows.size());
+	}
+
+	private Object getValue(int columnIndex) {
+		if (!isOnRow()) {
+			throw new InvalidResultSetAccessException(new SQLException("Invalid cursor position"));
+		}
+		Object[] row = (Object[]) this.rows.get(this.cursor - 1);
+		if (columnIndex < 1 || columnIndex > row.length) {
+			throw new InvalidResultSetAccessException(new SQLException("Invalid column index: " + columnIndex));
+		}
+		Object value = row[columnIndex - 1];
+		this.wasNull = (value == null);
+		return value;
+	}
+
+	private Number toNumber(Object value, String targetType) {
+		if (value instanceof Number) {
+			return (Number) value;
+		}
+		if (value instanceof String) {
+			try {
+				return new BigDecimal(((String) value).trim());
+			}
+			catch (NumberFormatException ex) {
+				throw conversionFailure(value, targetType);
+			}
+		}
+		if (value instanceof Boolean) {
+			return new Integer(((Boolean) value).booleanValue() ? 1 : 0);
+		}
+		throw conversionFailure(value, targetType);
+	}
+
+	/**
+	 * Interpret the date and time fields of the given value (as seen in the
+	 * default time zone) in the time zone of the given Calendar.
+	 */
+	private long adjustToCalendar(java.util.Date value, Calendar cal) {
+		Calendar defaultCal = Calendar.getInstance();
+		defaultCal.setTime(value);
+		Calendar targetCal = (Calendar) cal.clone();
+		targetCal.clear();
+		targetCal.set(defaultCal.get(Calendar.YEAR), defaultCal.get(Calendar.MONTH),
+				defaultCal.get(Calendar.DAY_OF_MONTH), defaultCal.get(Calendar.HOUR_OF_DAY),
+				defaultCal.get(Calendar.MINUTE), defaultCal.get(Calendar.SECOND));
+		targetCal.set(Calendar.MILLISECOND, defaultCal.get(Calendar.MILLISECOND));
+		return targetCal.getTime().getTime();
+	}
+
+	private InvalidResultSetAccessException conversionFailure(Object value, String targetType) {
+		return new InvalidResultSetAccessException(new SQLException(
+				"Cannot convert value [" + value + "] of type [" + value.getClass().getName() + "] to " + targetType));
+	}
+
+
+	/**
+	 * Disconnected copy of the metadata of the original ResultSet.
+	 * Properties that the JDBC driver fails to provide are held as
+	 * <code>null</code>, 0 or <code>false</code>, respectively.
+	 */
+	private static class ColumnMetaData implements SqlRowSetMetaData, Serializable {
+
+		private final String[] catalogNames;
+
+		private final String[] columnClassNames;
+
+		private final int[] columnDisplaySizes;
+
+		private final String[] columnLabels;
+
+		private final String[] columnNames;
+
+		private final int[] columnTypes;
+
+		private final String[] columnTypeNames;
+
+		private final int[] precisions;
+
+		private final int[] scales;
+
+		private final String[] schemaNames;
+
+		private final String[] tableNames;
+
+		private final boolean[] caseSensitive;
+
+		private final boolean[] currency;
+
+		private final boolean[] signed;
+
+		public ColumnMetaData(ResultSetMetaData rsmd) throws SQLException {
+			int columnCount = rsmd.getColumnCount();
+			this.catalogNames = new String[columnCount];
+			this.columnClassNames = new String[columnCount];
+			this.columnDisplaySizes = new int[columnCount];
+			this.columnLabels = new String[columnCount];
+			this.columnNames = new String[columnCount];
+			this.columnTypes = new int[columnCount];
+			this.columnTypeNames = new String[columnCount];
+			this.precisions = new int[columnCount];
+			this.scales = new int[columnCount];
+			this.schemaNames = new String[columnCount];
+			this.tableNames = new String[columnCount];
+			this.caseSensitive = new boolean[columnCount];
+			this.currency = new boolean[columnCount];
+			this.signed = new boolean[columnCount];
+			for (int i = 0; i < columnCount; i++) {
+				int column = i + 1;
+				String name = rsmd.getColumnName(column);
+				String label = rsmd.getColumnLabel(column);
+				this.columnNames[i] = name;
+				this.columnLabels[i] = (label != null && label.length() > 0 ? label : name);
+				this.columnTypes[i] = rsmd.getColumnType(column);
+				try {
+					this.catalogNames[i] = rsmd.getCatalogName(column);
+					this.schemaNames[i] = rsmd.getSchemaName(column);
+					this.tableNames[i] = rsmd.getTableName(column);
+				}
+				catch (SQLException ex) {
+					// optional table information not supported by the driver
+				}
+				try {
+					this.columnClassNames[i] = rsmd.getColumnClassName(column);
+					this.columnTypeNames[i] = rsmd.getColumnTypeName(column);
+				}
+				catch (SQLException ex) {
+					// optional type information not supported by the driver
+				}
+				try {
+					this.columnDisplaySizes[i] = rsmd.getColumnDisplaySize(column);
+				}
+				catch (SQLException ex) {
+					// optional display size not supported by the driver
+				}
+				try {
+					this.precisions[i] = rsmd.getPrecision(column);
+					this.scales[i] = rsmd.getScale(column);
+				}
+				catch (SQLException ex) {
+					// optional numeric information not supported by the driver
+				}
+				catch (RuntimeException ex) {
+					// some drivers fail on precision of LOB columns
+				}
+				try {
+					this.caseSensitive[i] = rsmd.isCaseSensitive(column);
+					this.currency[i] = rsmd.isCurrency(column);
+					this.signed[i] = rsmd.isSigned(column);
+				}
+				catch (SQLException ex) {
+					// optional flags not supported by the driver
+				}
+			}
+		}
+
+		public int findColumn(String columnName) throws InvalidResultSetAccessException {
+			for (int i = 0; i < this.columnLabels.length; i++) {
+				if (this.columnLabels[i].equalsIgnoreCase(columnName)) {
+					return i + 1;
+				}
+			}
+			for (int i = 0; i < this.columnNames.length; i++) {
+				if (columnName.equalsIgnoreCase(this.columnNames[i])) {
+					return i + 1;
+				}
+			}
+			throw new InvalidResultSetAccessException(new SQLException("Invalid column name: " + columnName));
+		}
+
+		private int checkColumn(int column) {
+			if (column < 1 || column > this.columnNames.length) {
+				throw new InvalidResultSetAccessException(new SQLException("Invalid column index: " + column));
+			}
+			return column - 1;
+		}
+
+		public String getCatalogName(int column) throws InvalidResultSetAccessException {
+			return this.catalogNames[checkColumn(column)];
+		}
+
+		public String getColumnClassName(int column) throws InvalidResultSetAccessException {
+			return this.columnClassNames[checkColumn(column)];
+		}
+
+		public int getColumnCount() throws InvalidResultSetAccessException {
+			return this.columnNames.length;
+		}
+
+		public String[] getColumnNames() throws InvalidResultSetAccessException {
+			return (String[]) this.columnNames.clone();
+		}
+
+		public int getColumnDisplaySize(int column) throws InvalidResultSetAccessException {
+			return this.columnDisplaySizes[checkColumn(column)];
+		}
+
+		public String getColumnLabel(int column) throws InvalidResultSetAccessException {
+			return this.columnLabels[checkColumn(column)];
+		}
+
+		public String getColumnName(int column) throws InvalidResultSetAccessException {
+			return this.columnNames[checkColumn(column)];
+		}
+
+		public int getColumnType(int column) throws InvalidResultSetAccessException {
+			return this.columnTypes[checkColumn(column)];
+		}
+
+		public String getColumnTypeName(int column) throws InvalidResultSetAccessException {
+			return this.columnTypeNames[checkColumn(column)];
+		}
+
+		public int getPrecision(int column) throws InvalidResultSetAccessException {
+			return this.precisions[checkColumn(column)];
+		}
+
+		public int getScale(int column) throws InvalidResultSetAccessException {
+			return this.scales[checkColumn(column)];
+		}
+
+		public String getSchemaName(int column) throws InvalidResultSetAccessException {
+			return this.schemaNames[checkColumn(column)];
+		}
+
+		public String getTableName(int column) throws InvalidResultSetAccessException {
+			return this.tableNames[checkColumn(column)];
+		}
+
+		public boolean isCaseSensitive(int column) throws InvalidResultSetAccessException {
+			return this.caseSensitive[checkColumn(column)];
+		}
+
+		public boolean isCurrency(int column) throws InvalidResultSetAccessException {
+			return this.currency[checkColumn(column)];
+		}
+
+		public boolean isSigned(int column) throws InvalidResultSetAccessException {
+			return this.signed[checkColumn(column)];
+		}
+	}
+
+}
@@ -18,16 +18,20 @@ package org.springframework.transaction.interceptor;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.CollectionFactory;
 import org.springframework.core.JdkVersion;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.StripedCounter;
 
 /**
  * Abstract implementation of {@link TransactionAttributeSource} that caches
@@ -43,7 +47,10 @@ import org.springframework.util.ObjectUtils;
  * <p>This implementation caches attributes by method after they are first used.
  * If it is ever desirable to allow dynamic changing of transaction attributes
  * (which is very unlikely), caching could be made configurable. Caching is
- * desirable because of the cost of evaluating rollback rules.
+ * desirable because of the cost of evaluating rollback rules. The cache is
+ * non-blocking for lookups of already resolved methods; it can be pre-populated
+ * through {@link #resolveTransactionAttributes(Class)}, and exposes hit and
+ * miss statistics (including negative hits for non-transactional methods).
  *
  * @author Rod Johnson
  * @author Juergen Hoeller
@@ -70,7 +77,16 @@ public abstract class AbstractFallbackTransactionAttributeSource implements Tran
 	 * <p>As this base class is not marked Serializable, the cache will be recreated
 	 * after serialization - provided that the concrete subclass is Serializable.
 	 */
-	final Map attributeCache = new HashMap();
+	final Map attributeCache = CollectionFactory.createConcurrentMapIfPossible(16);
+
+	/** Number of lookups answered by a cached transaction attribute */
+	private final StripedCounter cacheHitCount = new StripedCounter();
+
+	/** Number of lookups answered by a cached "no attribute" entry */
+	private final StripedCounter negativeCacheHitCount = new StripedCounter();
+
+	/** Number of lookups that had to compute the attribute */
+	private final StripedCounter cacheMissCount = new StripedCounter();
 
 
 	/**
@@ -84,34 +100,70 @@ public abstract class AbstractFallbackTransactionAttributeSource implements Tran
 	public TransactionAttribute getTransactionAttribute(Method method, Class targetClass) {
 		// First, see if we have a cached value.
 		Object cacheKey = getCacheKey(method, targetClass);
-		synchronized (this.attributeCache) {
-			Object cached = this.attributeCache.get(cacheKey);
-			if (cached != null) {
-				// Value will either be canonical value indicating there is no transaction attribute,
-				// or an actual transaction attribute.
-				if (cached == NULL_TRANSACTION_ATTRIBUTE) {
-					return null;
-				}
-				else {
-					return (TransactionAttribute) cached;
-				}
+		Object cached = this.attributeCache.get(cacheKey);
+		if (cached != null) {
+			// Value will either be canonical value indicating there is no transaction attribute,
+			// or an actual transaction attribute.
+			if (cached == NULL_TRANSACTION_ATTRIBUTE) {
+				this.negativeCacheHitCount.increment();
+				return null;
 			}
 			else {
-				// We need to work it out.
-				TransactionAttribute txAtt = computeTransactionAttribute(method, targetClass);
-				// Put it in the cache.
-				if (txAtt == null) {
-					this.attributeCache.put(cacheKey, NULL_TRANSACTION_ATTRIBUTE);
-				}
-				else {
-					if (logger.isDebugEnabled()) {
-						logger.debug("Adding transactional method [" + method.getName() + "] with attribute [" + txAtt + "]");
-					}
-					this.attributeCache.put(cacheKey, txAtt);
+				this.cacheHitCount.increment();
+				return (TransactionAttribute) cached;
+			}
+		}
+		else {
+			// We need to work it out. Concurrent callers might compute the same
+			// attribute in parallel; the result is the same for all of them.
+			this.cacheMissCount.increment();
+			TransactionAttribute txAtt = computeTransactionAttribute(method, targetClass);
+			// Put it in the cache.
+			if (txAtt == null) {
+				this.attributeCache.put(cacheKey, NULL_TRANSACTION_ATTRIBUTE);
+			}
+			else {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Adding transactional method [" + method.getName() + "] with attribute [" + txAtt + "]");
 				}
-				return txAtt;
+				this.attributeCache.put(cacheKey, txAtt);
+			}
+			return txAtt;
+		}
+	}
+
+	/**
+	 * Resolve and cache the transaction attributes for all public methods
+	 * that a proxy for the given target class may be invoked through:
+	 * the methods of the target class itself as well as the methods of all
+	 * of its interfaces. Typically called once at startup, so that the
+	 * attribute lookup cost does not show up in the first invocations.
+	 * @param targetClass the target class to resolve attributes for
+	 * @return the number of transactional methods found
+	 * @see #getTransactionAttribute
+	 */
+	public int resolveTransactionAttributes(Class targetClass) {
+		Set methods = new LinkedHashSet();
+		Method[] classMethods = targetClass.getMethods();
+		for (int i = 0; i < classMethods.length; i++) {
+			if (classMethods[i].getDeclaringClass() != Object.class) {
+				methods.add(classMethods[i]);
+			}
+		}
+		Class[] ifcs = ClassUtils.getAllInterfacesForClass(targetClass);
+		for (int i = 0; i < ifcs.length; i++) {
+			Method[] ifcMethods = ifcs[i].getMethods();
+			for (int j = 0; j < ifcMethods.length; j++) {
+				methods.add(ifcMethods[j]);
+			}
+		}
+		int transactionalCount = 0;
+		for (Iterator it = methods.iterator(); it.hasNext();) {
+			if (getTransactionAttribute((Method) it.next(), targetClass) != null) {
+				transactionalCount++;
 			}
 		}
+		return transactionalCount;
 	}
 
 	/**
@@ -198,6 +250,54 @@ public abstract class AbstractFallbackTransactionAttributeSource implements Tran
 	}
 
 
+	/**
+	 * Return the number of lookups that have been answered by a cached
+	 * transaction attribute.
+	 */
+	public long getCacheHitCount() {
+		return this.cacheHitCount.get();
+	}
+
+	/**
+	 * Return the number of lookups that have been answered by a cached
+	 * "no transaction attribute" entry, i.e. for non-transactional methods.
+	 */
+	public long getNegativeCacheHitCount() {
+		return this.negativeCacheHitCount.get();
+	}
+
+	/**
+	 * Return the number of lookups that had to compute the transaction
+	 * attribute, including lookups performed by
+	 * {@link #resolveTransactionAttributes}.
+	 */
+	public long getCacheMissCount() {
+		return this.cacheMissCount.get();
+	}
+
+	/**
+	 * Return the number of methods that currently have a cached entry,
+	 * including cached "no transaction attribute" entries.
+	 */
+	public int getCachedMethodCount() {
+		return this.attributeCache.size();
+	}
+
+	/**
+	 * Return the number of cached "no transaction attribute" entries,
+	 * i.e. the number of non-transactional methods resolved so far.
+	 */
+	public int getCachedNonTransactionalMethodCount() {
+		int count = 0;
+		for (Iterator it = this.attributeCache.values().iterator(); it.hasNext();) {
+			if (it.next() == NULL_TRANSACTION_ATTRIBUTE) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+
 	/**
 	 * Default cache key for the TransactionAttribute cache.
 	 */
@@ -20,6 +20,7 @@ import java.util.Properties;
 
 import org.springframework.aop.Pointcut;
 import org.springframework.aop.framework.AbstractSingletonProxyFactoryBean;
+import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.aop.support.DefaultPointcutAdvisor;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
@@ -109,6 +110,8 @@ public class TransactionProxyFactoryBean extends AbstractSingletonProxyFactoryBe
 
 	private Pointcut pointcut;
 
+	private boolean resolveAttributesOnStartup = false;
+
 
 	/**
 	 * Set the transaction manager. This will perform actual
@@ -163,6 +166,20 @@ public class TransactionProxyFactoryBean extends AbstractSingletonProxyFactoryBe
 		this.pointcut = pointcut;
 	}
 
+	/**
+	 * Set whether to resolve the transaction attributes for all methods of
+	 * the target class when creating the proxy, rather than on first invocation
+	 * of each method. Default is "false".
+	 * <p>Switch this on to keep attribute lookup (e.g. annotation introspection)
+	 * out of the first transactional calls at runtime. Only applies to
+	 * TransactionAttributeSources that cache their attributes, i.e. subclasses
+	 * of {@link AbstractFallbackTransactionAttributeSource}.
+	 * @see AbstractFallbackTransactionAttributeSource#resolveTransactionAttributes
+	 */
+	public void setResolveAttributesOnStartup(boolean resolveAttributesOnStartup) {
+		this.resolveAttributesOnStartup = resolveAttributesOnStartup;
+	}
+
 	/**
 	 * This callback is optional: If running in a BeanFactory and no transaction
 	 * manager has been set explicitly, a single matching bean of type
@@ -195,4 +212,19 @@ public class TransactionProxyFactoryBean extends AbstractSingletonProxyFactoryBe
 		}
 	}
 
+	/**
+	 * Resolves the transaction attributes for the target class upfront,
+	 * if demanded.
+	 * @see #setResolveAttributesOnStartup
+	 */
+	protected void postProcessProxyFactory(ProxyFactory proxyFactory) {
+		if (this.resolveAttributesOnStartup) {
+			TransactionAttributeSource tas = this.transactionInterceptor.getTransactionAttributeSource();
+			Class targetClass = proxyFactory.getTargetSource().getTargetClass();
+			if (tas instanceof AbstractFallbackTransactionAttributeSource && targetClass != null) {
+				((AbstractFallbackTransactionAttributeSource) tas).resolveTransactionAttributes(targetClass);
+			}
+		}
+	}
+
 }
@@ -56,8 +56,19 @@ public class AntPathMatcher implements PathMatcher {
 	/** Default path separator: "/" */
 	public static final String DEFAULT_PATH_SEPARATOR = "/";
 
+	/** Number of slots in the compiled pattern cache (a power of two) */
+	private static final int PATTERN_CACHE_SIZE = 256;
+
+
 	private String pathSeparator = DEFAULT_PATH_SEPARATOR;
 
+	/**
+	 * Direct-mapped cache of compiled patterns, indexed by pattern hash.
+	 * Slots are read and written without locking: CompiledPattern instances
+	 * are immutable, and a lost update merely leads to recompilation.
+	 */
+	private CompiledPattern[] patternCache = new CompiledPattern[PATTERN_CACHE_SIZE];
+
 
 	/**
 	 * Set the path separator to use for pattern parsing.
@@ -65,6 +76,7 @@ public class AntPathMatcher implements PathMatcher {
 	 */
 	public void setPathSeparator(String pathSeparator) {
 		this.pathSeparator = (pathSeparator != null ? pathSeparator : DEFAULT_PATH_SEPARATOR);
+		this.patternCache = new CompiledPattern[PATTERN_CACHE_SIZE];
 	}
 
 
@@ -83,6 +95,9 @@ public class AntPathMatcher implements PathMatcher {
 
 	/**
 	 * Actually match the given <code>path</code> against the given <code>pattern</code>.
+	 * <p>Patterns get compiled into pre-split segments once and are cached
+	 * for subsequent matches. The path is neither split into substrings nor
+	 * into an array of segment boundaries but just scanned in place.
 	 * @param pattern the pattern to match against
 	 * @param path the path String to test
 	 * @param fullMatch whether a full pattern match is required
@@ -91,46 +106,51 @@ public class AntPathMatcher implements PathMatcher {
 	 * <code>false</code> if it didn't
 	 */
 	protected boolean doMatch(String pattern, String path, boolean fullMatch) {
-		if (path.startsWith(this.pathSeparator) != pattern.startsWith(this.pathSeparator)) {
+		CompiledPattern compiledPattern = getCompiledPattern(pattern);
+		if (path.startsWith(this.pathSeparator) != compiledPattern.startsWithSeparator) {
 			return false;
 		}
 
-		String[] pattDirs = StringUtils.tokenizeToStringArray(pattern, this.pathSeparator);
-		String[] pathDirs = StringUtils.tokenizeToStringArray(path, this.pathSeparator);
-
+		PatternSegment[] pattDirs = compiledPattern.segments;
 		int pattIdxStart = 0;
 		int pattIdxEnd = pattDirs.length - 1;
-		int pathIdxStart = 0;
-		int pathIdxEnd = pathDirs.length - 1;
+		// Remaining region of the path to match: from pathStart (inclusive) to pathEnd (exclusive)
+		int pathStart = 0;
+		int pathEnd = path.length();
 
 		// Match all elements up to the first **
-		while (pattIdxStart <= pattIdxEnd && pathIdxStart <= pathIdxEnd) {
-			String patDir = pattDirs[pattIdxStart];
-			if ("**".equals(patDir)) {
+		while (pattIdxStart <= pattIdxEnd) {
+			int segStart = nextSegmentStart(path, pathStart, pathEnd);
+			if (segStart == -1) {
 				break;
 			}
-			if (!matchStrings(patDir, pathDirs[pathIdxStart])) {
+			PatternSegment patDir = pattDirs[pattIdxStart];
+			if (patDir.doubleStar) {
+				break;
+			}
+			int segEnd = segmentEnd(path, segStart, pathEnd);
+			if (!patDir.matches(path, segStart, segEnd)) {
 				return false;
 			}
 			pattIdxStart++;
-			pathIdxStart++;
+			pathStart = segEnd;
 		}
 
-		if (pathIdxStart > pathIdxEnd) {
+		if (nextSegmentStart(path, pathStart, pathEnd) == -1) {
 			// Path is exhausted, only match if rest of pattern is * or **'s
 			if (pattIdxStart > pattIdxEnd) {
-				return (pattern.endsWith(this.pathSeparator) ?
+				return (compiledPattern.endsWithSeparator ?
 						path.endsWith(this.pathSeparator) : !path.endsWith(this.pathSeparator));
 			}
 			if (!fullMatch) {
 				return true;
 			}
-			if (pattIdxStart == pattIdxEnd && pattDirs[pattIdxStart].equals("*") &&
+			if (pattIdxStart == pattIdxEnd && pattDirs[pattIdxStart].singleStar &&
 					path.endsWith(this.pathSeparator)) {
 				return true;
 			}
 			for (int i = pattIdxStart; i <= pattIdxEnd; i++) {
-				if (!pattDirs[i].equals("**")) {
+				if (!pattDirs[i].doubleStar) {
 					return false;
 				}
 			}
@@ -140,37 +160,42 @@ public class AntPathMatcher implements PathMatcher {
 			// String not exhausted, but pattern is. Failure.
 			return false;
 		}
-		else if (!fullMatch && "**".equals(pattDirs[pattIdxStart])) {
+		else if (!fullMatch && pattDirs[pattIdxStart].doubleStar) {
 			// Path start definitely matches due to "**" part in pattern.
 			return true;
 		}
 
 		// up to last '**'
-		while (pattIdxStart <= pattIdxEnd && pathIdxStart <= pathIdxEnd) {
-			String patDir = pattDirs[pattIdxEnd];
-			if (patDir.equals("**")) {
+		while (pattIdxStart <= pattIdxEnd) {
+			int segEnd = previousSegmentEnd(path, pathStart, pathEnd);
+			if (segEnd == -1) {
 				break;
 			}
-			if (!matchStrings(patDir, pathDirs[pathIdxEnd])) {
+			PatternSegment patDir = pattDirs[pattIdxEnd];
+			if (patDir.doubleStar) {
+				break;
+			}
+			int segStart = segmentStart(path, pathStart, segEnd);
+			if (!patDir.matches(path, segStart, segEnd)) {
 				return false;
 			}
 			pattIdxEnd--;
-			pathIdxEnd--;
+			pathEnd = segStart;
 		}
-		if (pathIdxStart > pathIdxEnd) {
+		if (nextSegmentStart(path, pathStart, pathEnd) == -1) {
 			// String is exhausted
 			for (int i = pattIdxStart; i <= pattIdxEnd; i++) {
-				if (!pattDirs[i].equals("**")) {
+				if (!pattDirs[i].doubleStar) {
 					return false;
 				}
 			}
 			return true;
 		}
 
-		while (pattIdxStart != pattIdxEnd && pathIdxStart <= pathIdxEnd) {
+		while (pattIdxStart != pattIdxEnd && nextSegmentStart(path, pathStart, pathEnd) != -1) {
 			int patIdxTmp = -1;
 			for (int i = pattIdxStart + 1; i <= pattIdxEnd; i++) {
-				if (pattDirs[i].equals("**")) {
+				if (pattDirs[i].doubleStar) {
 					patIdxTmp = i;
 					break;
 				}
@@ -180,35 +205,43 @@ public class AntPathMatcher implements PathMatcher {
 				pattIdxStart++;
 				continue;
 			}
-			// Find the pattern between padIdxStart & padIdxTmp in str between
-			// strIdxStart & strIdxEnd
+			// Find the pattern between padIdxStart & padIdxTmp in the remaining
+			// path region, trying each path segment as a starting point
 			int patLength = (patIdxTmp - pattIdxStart - 1);
-			int strLength = (pathIdxEnd - pathIdxStart + 1);
-			int foundIdx = -1;
+			int foundEnd = -1;
+			int candidate = nextSegmentStart(path, pathStart, pathEnd);
 
 			strLoop:
-			    for (int i = 0; i <= strLength - patLength; i++) {
-				    for (int j = 0; j < patLength; j++) {
-					    String subPat = (String) pattDirs[pattIdxStart + j + 1];
-					    String subStr = (String) pathDirs[pathIdxStart + i + j];
-					    if (!matchStrings(subPat, subStr)) {
-						    continue strLoop;
-					    }
-				    }
-				    foundIdx = pathIdxStart + i;
-				    break;
-			    }
-
-			if (foundIdx == -1) {
+			while (candidate != -1) {
+				int segStart = candidate;
+				int segEnd = -1;
+				for (int j = 0; j < patLength; j++) {
+					if (segStart == -1) {
+						// Not enough path segments left for any further candidate.
+						break strLoop;
+					}
+					segEnd = segmentEnd(path, segStart, pathEnd);
+					PatternSegment subPat = pattDirs[pattIdxStart + j + 1];
+					if (!subPat.matches(path, segStart, segEnd)) {
+						candidate = nextSegmentStart(path, segmentEnd(path, candidate, pathEnd), pathEnd);
+						continue strLoop;
+					}
+					segStart = nextSegmentStart(path, segEnd, pathEnd);
+				}
+				foundEnd = segEnd;
+				break;
+			}
+
+			if (foundEnd == -1) {
 				return false;
 			}
 
 			pattIdxStart = patIdxTmp;
-			pathIdxStart = foundIdx + patLength;
+			pathStart = foundEnd;
 		}
 
 		for (int i = pattIdxStart; i <= pattIdxEnd; i++) {
-			if (!pattDirs[i].equals("**")) {
+			if (!pattDirs[i].doubleStar) {
 				return false;
 			}
 		}
@@ -217,149 +250,105 @@ public class AntPathMatcher implements PathMatcher {
 	}
 
 	/**
-	 * Tests whether or not a string matches against a pattern.
-	 * The pattern may contain two special characters:<br>
-	 * '*' means zero or more characters<br>
-	 * '?' means one and only one character
-	 * @param pattern pattern to match against.
-	 * Must not be <code>null</code>.
-	 * @param str string which must be matched against the pattern.
-	 * Must not be <code>null</code>.
-	 * @return <code>true</code> if the string matches against the
-	 * pattern, or <code>false</code> otherwise.
+	 * Return the compiled form of the given pattern, from the pattern cache if possible.
 	 */
-	private boolean matchStrings(String pattern, String str) {
-		char[] patArr = pattern.toCharArray();
-		char[] strArr = str.toCharArray();
-		int patIdxStart = 0;
-		int patIdxEnd = patArr.length - 1;
-		int strIdxStart = 0;
-		int strIdxEnd = strArr.length - 1;
-		char ch;
-
-		boolean containsStar = false;
-		for (int i = 0; i < patArr.length; i++) {
-			if (patArr[i] == '*') {
-				containsStar = true;
-				break;
-			}
-		}
-
-		if (!containsStar) {
-			// No '*'s, so we make a shortcut
-			if (patIdxEnd != strIdxEnd) {
-				return false; // Pattern and string do not have the same size
-			}
-			for (int i = 0; i <= patIdxEnd; i++) {
-				ch = patArr[i];
-				if (ch != '?') {
-					if (ch != strArr[i]) {
-						return false;// Character mismatch
-					}
-				}
-			}
-			return true; // String matches against pattern
+	private CompiledPattern getCompiledPattern(String pattern) {
+		CompiledPattern[] cache = this.patternCache;
+		int slot = pattern.hashCode() & (cache.length - 1);
+		CompiledPattern compiledPattern = cache[slot];
+		if (compiledPattern == null || !compiledPattern.pattern.equals(pattern)) {
+			compiledPattern = new CompiledPattern(pattern, this.pathSeparator);
+			cache[slot] = compiledPattern;
 		}
+		return compiledPattern;
+	}
 
+	/*
+	 * The following methods scan the path for its segments in place, consistent with
+	 * StringUtils.tokenizeToStringArray: trimmed, with empty segments ignored.
+	 * All of them operate on a region of the path, given as start index (inclusive)
+	 * and end index (exclusive), and return character indexes into the path.
+	 */
 
-		if (patIdxEnd == 0) {
-			return true; // Pattern contains only '*', which matches anything
-		}
-
-		// Process characters before first star
-		while ((ch = patArr[patIdxStart]) != '*' && strIdxStart <= strIdxEnd) {
-			if (ch != '?') {
-				if (ch != strArr[strIdxStart]) {
-					return false;// Character mismatch
-				}
-			}
-			patIdxStart++;
-			strIdxStart++;
-		}
-		if (strIdxStart > strIdxEnd) {
-			// All characters in the string are used. Check if only '*'s are
-			// left in the pattern. If so, we succeeded. Otherwise failure.
-			for (int i = patIdxStart; i <= patIdxEnd; i++) {
-				if (patArr[i] != '*') {
-					return false;
-				}
+	/**
+	 * Find the start of the first segment within the given region of the path.
+	 * @return the start index of the segment, or -1 if there is none
+	 */
+	private int nextSegmentStart(String path, int from, int to) {
+		int start = from;
+		while (start < to) {
+			int end = findSeparator(path, start, to);
+			int trimmedStart = trimStart(path, start, end);
+			if (trimEnd(path, trimmedStart, end) > trimmedStart) {
+				return trimmedStart;
 			}
-			return true;
+			start = end + 1;
 		}
+		return -1;
+	}
 
-		// Process characters after last star
-		while ((ch = patArr[patIdxEnd]) != '*' && strIdxStart <= strIdxEnd) {
-			if (ch != '?') {
-				if (ch != strArr[strIdxEnd]) {
-					return false;// Character mismatch
-				}
-			}
-			patIdxEnd--;
-			strIdxEnd--;
-		}
-		if (strIdxStart > strIdxEnd) {
-			// All characters in the string are used. Check if only '*'s are
-			// left in the pattern. If so, we succeeded. Otherwise failure.
-			for (int i = patIdxStart; i <= patIdxEnd; i++) {
-				if (patArr[i] != '*') {
-					return false;
-				}
-			}
-			return true;
-		}
+	/**
+	 * Find the end of the segment that starts at the given index.
+	 */
+	private int segmentEnd(String path, int segStart, int to) {
+		return trimEnd(path, segStart, findSeparator(path, segStart, to));
+	}
 
-		// process pattern between stars. padIdxStart and patIdxEnd point
-		// always to a '*'.
-		while (patIdxStart != patIdxEnd && strIdxStart <= strIdxEnd) {
-			int patIdxTmp = -1;
-			for (int i = patIdxStart + 1; i <= patIdxEnd; i++) {
-				if (patArr[i] == '*') {
-					patIdxTmp = i;
-					break;
-				}
-			}
-			if (patIdxTmp == patIdxStart + 1) {
-				// Two stars next to each other, skip the first one.
-				patIdxStart++;
-				continue;
+	/**
+	 * Find the end of the last segment within the given region of the path.
+	 * @return the end index of the segment, or -1 if there is none
+	 */
+	private int previousSegmentEnd(String path, int from, int to) {
+		int end = to;
+		while (end > from) {
+			int start = findSeparatorBackwards(path, from, end);
+			int trimmedStart = trimStart(path, start, end);
+			int trimmedEnd = trimEnd(path, trimmedStart, end);
+			if (trimmedEnd > trimmedStart) {
+				return trimmedEnd;
 			}
-			// Find the pattern between padIdxStart & padIdxTmp in str between
-			// strIdxStart & strIdxEnd
-			int patLength = (patIdxTmp - patIdxStart - 1);
-			int strLength = (strIdxEnd - strIdxStart + 1);
-			int foundIdx = -1;
-			strLoop:
-			for (int i = 0; i <= strLength - patLength; i++) {
-				for (int j = 0; j < patLength; j++) {
-					ch = patArr[patIdxStart + j + 1];
-					if (ch != '?') {
-						if (ch != strArr[strIdxStart + i + j]) {
-							continue strLoop;
-						}
-					}
-				}
+			end = start - 1;
+		}
+		return -1;
+	}
 
-				foundIdx = strIdxStart + i;
-				break;
-			}
+	/**
+	 * Find the start of the segment that ends at the given index.
+	 */
+	private int segmentStart(String path, int from, int segEnd) {
+		return trimStart(path, findSeparatorBackwards(path, from, segEnd), segEnd);
+	}
 
-			if (foundIdx == -1) {
-				return false;
-			}
+	private int findSeparator(String path, int from, int len) {
+		int i = from;
+		while (i < len && this.pathSeparator.indexOf(path.charAt(i)) == -1) {
+			i++;
+		}
+		return i;
+	}
 
-			patIdxStart = patIdxTmp;
-			strIdxStart = foundIdx + patLength;
+	private int findSeparatorBackwards(String path, int from, int to) {
+		int i = to;
+		while (i > from && this.pathSeparator.indexOf(path.charAt(i - 1)) == -1) {
+			i--;
 		}
+		return i;
+	}
 
-		// All characters in the string are used. Check if only '*'s are left
-		// in the pattern. If so, we succeeded. Otherwise failure.
-		for (int i = patIdxStart; i <= patIdxEnd; i++) {
-			if (patArr[i] != '*') {
-				return false;
-			}
+	private static int trimStart(String path, int from, int to) {
+		int i = from;
+		while (i < to && path.charAt(i) <= ' ') {
+			i++;
 		}
+		return i;
+	}
 
-		return true;
+	private static int trimEnd(String path, int from, int to) {
+		int i = to;
+		while (i > from && path.charAt(i - 1) <= ' ') {
+			i--;
+		}
+		return i;
 	}
 
 	/**
@@ -408,4 +397,196 @@ public class AntPathMatcher implements PathMatcher {
 		return buffer.toString();
 	}
 
+
+	/**
+	 * Pre-split form of a pattern, as used by {@link #doMatch}.
+	 */
+	private static class CompiledPattern {
+
+		public final String pattern;
+
+		public final boolean startsWithSeparator;
+
+		public final boolean endsWithSeparator;
+
+		public final PatternSegment[] segments;
+
+		public CompiledPattern(String pattern, String pathSeparator) {
+			this.pattern = pattern;
+			this.startsWithSeparator = pattern.startsWith(pathSeparator);
+			this.endsWithSeparator = pattern.endsWith(pathSeparator);
+			String[] pattDirs = StringUtils.tokenizeToStringArray(pattern, pathSeparator);
+			this.segments = new PatternSegment[pattDirs.length];
+			for (int i = 0; i < pattDirs.length; i++) {
+				this.segments[i] = new PatternSegment(pattDirs[i]);
+			}
+		}
+	}
+
+
+	/**
+	 * Single segment of a compiled pattern, with precomputed wildcard markers.
+	 */
+	private static class PatternSegment {
+
+		private final String text;
+
+		private final char[] chars;
+
+		public final boolean doubleStar;
+
+		public final boolean singleStar;
+
+		private final boolean containsStar;
+
+		private final boolean literal;
+
+		public PatternSegment(String text) {
+			this.text = text;
+			this.chars = text.toCharArray();
+			this.doubleStar = "**".equals(text);
+			this.singleStar = "*".equals(text);
+			this.containsStar = (text.indexOf('*') != -1);
+			this.literal = (!this.containsStar && text.indexOf('?') == -1);
+		}
+
+		/**
+		 * Tests whether or not a string matches against this pattern segment.
+		 * The pattern may contain two special characters:<br>
+		 * '*' means zero or more characters<br>
+		 * '?' means one and only one character
+		 * @param str string containing the characters to match
+		 * @param strStart the index of the first character to match (inclusive)
+		 * @param strEnd the index of the last character to match (exclusive)
+		 * @return <code>true</code> if the string matches against the
+		 * pattern, or <code>false</code> otherwise.
+		 */
+		public boolean matches(String str, int strStart, int strEnd) {
+			char[] patArr = this.chars;
+			int patIdxStart = 0;
+			int patIdxEnd = patArr.length - 1;
+			int strIdxStart = strStart;
+			int strIdxEnd = strEnd - 1;
+			char ch;
+
+			if (!this.containsStar) {
+				// No '*'s, so we make a shortcut
+				if (patArr.length != strEnd - strStart) {
+					return false; // Pattern and string do not have the same size
+				}
+				if (this.literal) {
+					return str.regionMatches(strStart, this.text, 0, patArr.length);
+				}
+				for (int i = 0; i <= patIdxEnd; i++) {
+					ch = patArr[i];
+					if (ch != '?') {
+						if (ch != str.charAt(strStart + i)) {
+							return false;// Character mismatch
+						}
+					}
+				}
+				return true; // String matches against pattern
+			}
+
+			if (patIdxEnd == 0) {
+				return true; // Pattern contains only '*', which matches anything
+			}
+
+			// Process characters before first star
+			while ((ch = patArr[patIdxStart]) != '*' && strIdxStart <= strIdxEnd) {
+				if (ch != '?') {
+					if (ch != str.charAt(strIdxStart)) {
+						return false;// Character mismatch
+					}
+				}
+				patIdxStart++;
+				strIdxStart++;
+			}
+			if (strIdxStart > strIdxEnd) {
+				// All characters in the string are used. Check if only '*'s are
+				// left in the pattern. If so, we succeeded. Otherwise failure.
+				for (int i = patIdxStart; i <= patIdxEnd; i++) {
+					if (patArr[i] != '*') {
+						return false;
+					}
+				}
+				return true;
+			}
+
+			// Process characters after last star
+			while ((ch = patArr[patIdxEnd]) != '*' && strIdxStart <= strIdxEnd) {
+				if (ch != '?') {
+					if (ch != str.charAt(strIdxEnd)) {
+						return false;// Character mismatch
+					}
+				}
+				patIdxEnd--;
+				strIdxEnd--;
+			}
+			if (strIdxStart > strIdxEnd) {
+				// All characters in the string are used. Check if only '*'s are
+				// left in the pattern. If so, we succeeded. Otherwise failure.
+				for (int i = patIdxStart; i <= patIdxEnd; i++) {
+					if (patArr[i] != '*') {
+						return false;
+					}
+				}
+				return true;
+			}
+
+			// process pattern between stars. padIdxStart and patIdxEnd point
+			// always to a '*'.
+			while (patIdxStart != patIdxEnd && strIdxStart <= strIdxEnd) {
+				int patIdxTmp = -1;
+				for (int i = patIdxStart + 1; i <= patIdxEnd; i++) {
+					if (patArr[i] == '*') {
+						patIdxTmp = i;
+						break;
+					}
+				}
+				if (patIdxTmp == patIdxStart + 1) {
+					// Two stars next to each other, skip the first one.
+					patIdxStart++;
+					continue;
+				}
+				// Find the pattern between padIdxStart & padIdxTmp in str between
+				// strIdxStart & strIdxEnd
+				int patLength = (patIdxTmp - patIdxStart - 1);
+				int strLength = (strIdxEnd - strIdxStart + 1);
+				int foundIdx = -1;
+				strLoop:
+				for (int i = 0; i <= strLength - patLength; i++) {
+					for (int j = 0; j < patLength; j++) {
+						ch = patArr[patIdxStart + j + 1];
+						if (ch != '?') {
+							if (ch != str.charAt(strIdxStart + i + j)) {
+								continue strLoop;
+							}
+						}
+					}
+
+					foundIdx = strIdxStart + i;
+					break;
+				}
+
+				if (foundIdx == -1) {
+					return false;
+				}
+
+				patIdxStart = patIdxTmp;
+				strIdxStart = foundIdx + patLength;
+			}
+
+			// All characters in the string are used. Check if only '*'s are left
+			// in the pattern. If so, we succeeded. Otherwise failure.
+			for (int i = patIdxStart; i <= patIdxEnd; i++) {
+				if (patArr[i] != '*') {
+					return false;
+				}
+			}
+
+			return true;
+		}
+	}
+
 }
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size array of <code>long</code> counters that can be updated
+ * by many threads concurrently, for statistics that get recorded on
+ * hot code paths.
+ *
+ * <p>Updates are atomic on JDK 1.5+, without acquiring any locks.
+ * On JDK 1.4, updates fall back to synchronizing on a separate monitor
+ * for each block of 8 adjacent counters (one cache line's worth), so that
+ * threads updating counters far enough apart do not contend on a single lock.
+ *
+ * <p>Each individual counter is read consistently, but reading several
+ * counters does not provide a consistent snapshot while updates are in progress.
+ *
+ * @author agent
+ * @since 2.5.1
+ * @see StripedCounter
+ */
+public class AtomicCounterArray {
+
+	private static final boolean atomicsAvailable =
+			ClassUtils.isPresent("java.util.concurrent.atomic.AtomicLongArray", AtomicCounterArray.class.getClassLoader());
+
+
+	private final Counters counters;
+
+
+	/**
+	 * Create a new AtomicCounterArray with the given number of counters,
+	 * each with an initial value of 0.
+	 * @param length the number of counters
+	 */
+	public AtomicCounterArray(int length) {
+		Assert.isTrue(length >= 0, "Length must not be negative");
+		if (atomicsAvailable) {
+			this.counters = new AtomicCounters(length);
+		}
+		else {
+			this.counters = new SynchronizedCounters(length);
+		}
+	}
+
+
+	/**
+	 * Return the number of counters in this array.
+	 */
+	public int length() {
+		return this.counters.length();
+	}
+
+	/**
+	 * Return the current value of the counter at the given index.
+	 */
+	public long get(int index) {
+		return this.counters.get(index);
+	}
+
+	/**
+	 * Set the counter at the given index to the given value.
+	 */
+	public void set(int index, long value) {
+		this.counters.set(index, value);
+	}
+
+	/**
+	 * Add the given delta to the counter at the given index.
+	 * @param index the index of the counter
+	 * @param delta the value to add (may be negative)
+	 */
+	public void add(int index, long delta) {
+		this.counters.add(index, delta);
+	}
+
+	/**
+	 * Increment the counter at the given index by one.
+	 */
+	public void increment(int index) {
+		this.counters.add(index, 1);
+	}
+
+	/**
+	 * Raise the counter at the given index to the given value,
+	 * unless it already holds a higher value.
+	 */
+	public void updateMax(int index, long value) {
+		this.counters.updateMax(index, value);
+	}
+
+	public String toString() {
+		StringBuffer sb = new StringBuffer("[");
+		for (int i = 0; i < length(); i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(get(i));
+		}
+		return sb.append("]").toString();
+	}
+
+
+	/**
+	 * Strategy for the underlying array of counters.
+	 */
+	private static abstract class Counters {
+
+		public abstract int length();
+
+		public abstract long get(int index);
+
+		public abstract void set(int index, long value);
+
+		public abstract void add(int index, long delta);
+
+		public abstract void updateMax(int index, long value);
+	}
+
+
+	/**
+	 * Inner class to avoid a hard dependency on JDK 1.5.
+	 */
+	private static class AtomicCounters extends Counters {
+
+		private final AtomicLongArray slots;
+
+		public AtomicCounters(int length) {
+			this.slots = new AtomicLongArray(length);
+		}
+
+		public int length() {
+			return this.slots.length();
+		}
+
+		public long get(int index) {
+			return this.slots.get(index);
+		}
+
+		public void set(int index, long value) {
+			this.slots.set(index, value);
+		}
+
+		public void add(int index, long delta) {
+			this.slots.addAndGet(index, delta);
+		}
+
+		public void updateMax(int index, long value) {
+			long current = this.slots.get(index);
+			while (value > current && !this.slots.compareAndSet(index, current, value)) {
+				current = this.slots.get(index);
+			}
+		}
+	}
+
+
+	/**
+	 * Fallback for JDK 1.4, synchronizing on a separate monitor
+	 * per block of 8 adjacent counters.
+	 */
+	private static class SynchronizedCounters extends Counters {
+
+		private static final int BLOCK_SHIFT = 3;
+
+		private final long[] slots;
+
+		private final Object[] monitors;
+
+		public SynchronizedCounters(int length) {
+			this.slots = new long[length];
+			this.monitors = new Object[(length + (1 << BLOCK_SHIFT) - 1) >>> BLOCK_SHIFT];
+			for (int i = 0; i < this.monitors.length; i++) {
+				this.monitors[i] = new Object();
+			}
+		}
+
+		public int length() {
+			return this.slots.length;
+		}
+
+		public long get(int index) {
+			synchronized (this.monitors[index >>> BLOCK_SHIFT]) {
+				return this.slots[index];
+			}
+		}
+
+		public void set(int index, long value) {
+			synchronized (this.monitors[index >>> BLOCK_SHIFT]) {
+				this.slots[index] = value;
+			}
+		}
+
+		public void add(int index, long delta) {
+			synchronized (this.monitors[index >>> BLOCK_SHIFT]) {
+				this.slots[index] += delta;
+			}
+		}
+
+		public void updateMax(int index, long value) {
+			synchronized (this.monitors[index >>> BLOCK_SHIFT]) {
+				if (value > this.slots[index]) {
+					this.slots[index] = value;
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache with a maximum number of entries, designed for lookups from many
+ * threads: Reading an entry does not acquire any locks on JDK 1.5+.
+ *
+ * <p>Once the limit has been exceeded, entries get evicted in insertion order,
+ * except for entries that have been read since they were added or last passed
+ * over: Those get a second chance, being moved to the end of the eviction order.
+ * This approximates least-recently-used eviction without having to update any
+ * shared ordering on reads.
+ *
+ * <p>Writes and evictions synchronize on the eviction order. This cache is
+ * intended for values that are expensive to create, with writes being rare
+ * compared to reads. <code>null</code> keys and values are not supported.
+ *
+ * @author agent
+ * @since 2.5.1
+ */
+public class BoundedConcurrentCache {
+
+	private static final boolean concurrentMapAvailable =
+			ClassUtils.isPresent("java.util.concurrent.ConcurrentHashMap", BoundedConcurrentCache.class.getClassLoader());
+
+
+	private volatile int limit;
+
+	/** Cache key --> Entry, for lock-free access */
+	private final Map entries;
+
+	/** Cache key --> Entry, in eviction order */
+	private final Map evictionOrder = new LinkedHashMap();
+
+
+	/**
+	 * Create a new BoundedConcurrentCache with the given limit.
+	 * @param limit the maximum number of entries (0 or below for no limit)
+	 */
+	public BoundedConcurrentCache(int limit) {
+		this.limit = limit;
+		if (concurrentMapAvailable) {
+			this.entries = ConcurrentMapFactory.createConcurrentMap();
+		}
+		else {
+			this.entries = Collections.synchronizedMap(new HashMap(16));
+		}
+	}
+
+
+	/**
+	 * Set the maximum number of entries. Any excess entries get evicted
+	 * on the next write.
+	 * @param limit the maximum number of entries (0 or below for no limit)
+	 */
+	public void setLimit(int limit) {
+		this.limit = limit;
+	}
+
+	/**
+	 * Return the maximum number of entries.
+	 */
+	public int getLimit() {
+		return this.limit;
+	}
+
+
+	/**
+	 * Return the value cached for the given key, marking it as recently used.
+	 * @param key the cache key
+	 * @return the cached value, or <code>null</code> if none
+	 */
+	public Object get(Object key) {
+		Entry entry = (Entry) this.entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		entry.accessed = true;
+		return entry.value;
+	}
+
+	/**
+	 * Cache the given value for the given key, replacing any existing value
+	 * and evicting other entries if the limit has been exceeded.
+	 * @param key the cache key
+	 * @param value the value to cache
+	 */
+	public void put(Object key, Object value) {
+		Assert.notNull(key, "Key must not be null");
+		Assert.notNull(value, "Value must not be null");
+		Entry entry = new Entry(value);
+		synchronized (this.evictionOrder) {
+			this.evictionOrder.put(key, entry);
+			this.entries.put(key, entry);
+			int limit = this.limit;
+			if (limit > 0) {
+				int secondChances = this.evictionOrder.size();
+				while (this.evictionOrder.size() > limit) {
+					Iterator it = this.evictionOrder.entrySet().iterator();
+					Map.Entry eldest = (Map.Entry) it.next();
+					it.remove();
+					Entry eldestEntry = (Entry) eldest.getValue();
+					if (eldestEntry.accessed && secondChances-- > 0) {
+						eldestEntry.accessed = false;
+						this.evictionOrder.put(eldest.getKey(), eldestEntry);
+					}
+					else {
+						this.entries.remove(eldest.getKey());
+						onEviction(eldest.getKey(), eldestEntry.value);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Remove the value cached for the given key.
+	 * @param key the cache key
+	 * @return the value that has been removed, or <code>null</code> if none
+	 */
+	public Object remove(Object key) {
+		synchronized (this.evictionOrder) {
+			this.evictionOrder.remove(key);
+			Entry entry = (Entry) this.entries.remove(key);
+			return (entry != null ? entry.value : null);
+		}
+	}
+
+	/**
+	 * Remove all entries from this cache.
+	 */
+	public void clear() {
+		synchronized (this.evictionOrder) {
+			this.evictionOrder.clear();
+			this.entries.clear();
+		}
+	}
+
+	/**
+	 * Return the current number of entries.
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Template method called when an entry has been evicted because of the limit.
+	 * Called while holding the lock for writes. The default implementation is empty.
+	 * @param key the key of the evicted entry
+	 * @param value the value of the evicted entry
+	 */
+	protected void onEviction(Object key, Object value) {
+	}
+
+
+	/**
+	 * Holder for a cached value, tracking whether it has been read
+	 * since it was added or last passed over on eviction.
+	 */
+	private static class Entry {
+
+		public final Object value;
+
+		public volatile boolean accessed;
+
+		public Entry(Object value) {
+			this.value = value;
+		}
+	}
+
+
+	/**
+	 * Inner class to avoid a hard dependency on JDK 1.5.
+	 */
+	private static class ConcurrentMapFactory {
+
+		public static Map createConcurrentMap() {
+			return new ConcurrentHashMap(16);
+		}
+	}
+
+}
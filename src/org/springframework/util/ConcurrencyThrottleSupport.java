@@ -19,6 +19,7 @@ package org.springframework.util;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.LinkedList;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -35,6 +36,11 @@ import org.apache.commons.logging.LogFactory;
  * ("unbounded concurrency"). Subclasses may override this default;
  * check the javadoc of the concrete class that you're using.
  *
+ * <p>Blocked access attempts get permitted in arrival order. The number of
+ * waiting attempts and their waiting time can be bounded, rejecting further
+ * attempts. As of Spring 2.5.1, the concurrency limit may also be adapted
+ * to the observed access latencies: see {@link #setAdaptiveConcurrency}.
+ *
  * @author Juergen Hoeller
  * @since 1.2.5
  * @see #setConcurrencyLimit
@@ -61,16 +67,41 @@ public abstract class ConcurrencyThrottleSupport implements Serializable {
 
 	private transient Object monitor = new Object();
 
+	/** Waiting threads in arrival order, guarded by the monitor */
+	private transient LinkedList waiters = new LinkedList();
+
 	private int concurrencyLimit = UNBOUNDED_CONCURRENCY;
 
 	private int concurrencyCount = 0;
 
+	private int maxQueueSize = -1;
+
+	private long maxWait = -1;
+
+	private boolean adaptiveConcurrency = false;
+
+	private int minConcurrencyLimit = 1;
+
+	private int maxConcurrencyLimit = 1000;
+
+	/** Current limit in adaptive mode, guarded by the monitor */
+	private double adaptiveLimit = -1;
+
+	/** Lowest latency observed within the current probe window, in nanoseconds */
+	private long minLatency = -1;
+
+	private int sampleCount = 0;
+
+	private long rejectedCount = 0;
+
 
 	/**
 	 * Set the maximum number of concurrent access attempts allowed.
 	 * -1 indicates unbounded concurrency.
 	 * <p>In principle, this limit can be changed at runtime,
 	 * although it is generally designed as a config time setting.
+	 * <p>In {@link #setAdaptiveConcurrency adaptive mode}, this value serves
+	 * as the initial limit, to be adjusted according to observed latencies.
 	 * <p>NOTE: Do not switch between -1 and any concrete limit at runtime,
 	 * as this will lead to inconsistent concurrency counts: A limit
 	 * of -1 effectively turns off concurrency counting completely.
@@ -95,11 +126,142 @@ public abstract class ConcurrencyThrottleSupport implements Serializable {
 		return (this.concurrencyLimit > 0);
 	}
 
+	/**
+	 * Set the maximum number of access attempts that may wait for the
+	 * concurrency limit to permit access. Further attempts get rejected
+	 * immediately. Default is -1, for an unbounded number of waiting threads.
+	 * @see #onAccessRejected
+	 */
+	public void setMaxQueueSize(int maxQueueSize) {
+		this.maxQueueSize = maxQueueSize;
+	}
+
+	/**
+	 * Return the maximum number of access attempts that may wait.
+	 */
+	public int getMaxQueueSize() {
+		return this.maxQueueSize;
+	}
+
+	/**
+	 * Set the maximum time in milliseconds that an access attempt may wait
+	 * for the concurrency limit to permit access, getting rejected afterwards.
+	 * Default is -1, waiting forever.
+	 * @see #onAccessRejected
+	 */
+	public void setMaxWait(long maxWait) {
+		this.maxWait = maxWait;
+	}
+
+	/**
+	 * Return the maximum time in milliseconds that an access attempt may wait.
+	 */
+	public long getMaxWait() {
+		return this.maxWait;
+	}
+
+	/**
+	 * Set whether to adapt the concurrency limit to the latencies observed
+	 * for completed accesses. Default is "false", always enforcing the
+	 * configured concurrency limit.
+	 * <p>In adaptive mode, the configured concurrency limit serves as initial limit.
+	 * After each completed access, the limit gets adjusted by the gradient between
+	 * the lowest latency observed recently and the latency of the completed access:
+	 * Increasing latencies (e.g. a downstream system slowing down) lower the limit,
+	 * stable latencies allow the limit to grow again. The limit always stays between
+	 * the {@link #setMinConcurrencyLimit minimum} and the
+	 * {@link #setMaxConcurrencyLimit maximum} limit.
+	 * <p>Requires subclasses to report access latencies through
+	 * {@link #afterAccess(long)}.
+	 */
+	public void setAdaptiveConcurrency(boolean adaptiveConcurrency) {
+		this.adaptiveConcurrency = adaptiveConcurrency;
+	}
+
+	/**
+	 * Return whether to adapt the concurrency limit to observed latencies.
+	 */
+	public boolean isAdaptiveConcurrency() {
+		return this.adaptiveConcurrency;
+	}
+
+	/**
+	 * Set the lowest limit that adaptive mode may reduce the concurrency limit to.
+	 * Default is 1.
+	 */
+	public void setMinConcurrencyLimit(int minConcurrencyLimit) {
+		this.minConcurrencyLimit = minConcurrencyLimit;
+	}
+
+	/**
+	 * Return the lowest limit that adaptive mode may reduce the concurrency limit to.
+	 */
+	public int getMinConcurrencyLimit() {
+		return this.minConcurrencyLimit;
+	}
+
+	/**
+	 * Set the highest limit that adaptive mode may raise the concurrency limit to.
+	 * Default is 1000.
+	 */
+	public void setMaxConcurrencyLimit(int maxConcurrencyLimit) {
+		this.maxConcurrencyLimit = maxConcurrencyLimit;
+	}
+
+	/**
+	 * Return the highest limit that adaptive mode may raise the concurrency limit to.
+	 */
+	public int getMaxConcurrencyLimit() {
+		return this.maxConcurrencyLimit;
+	}
+
+
+	/**
+	 * Return the concurrency limit that is currently in effect: the configured
+	 * limit, or the adjusted limit in adaptive mode.
+	 */
+	public int getCurrentConcurrencyLimit() {
+		synchronized (this.monitor) {
+			return currentLimit();
+		}
+	}
+
+	/**
+	 * Return the number of accesses currently in progress.
+	 */
+	public int getConcurrencyCount() {
+		synchronized (this.monitor) {
+			return this.concurrencyCount;
+		}
+	}
+
+	/**
+	 * Return the number of access attempts currently waiting.
+	 */
+	public int getQueuedCount() {
+		synchronized (this.monitor) {
+			return this.waiters.size();
+		}
+	}
+
+	/**
+	 * Return the number of access attempts rejected so far,
+	 * because of a full wait queue or because of a timeout.
+	 */
+	public long getRejectedCount() {
+		synchronized (this.monitor) {
+			return this.rejectedCount;
+		}
+	}
+
 
 	/**
 	 * To be invoked before the main execution logic of concrete subclasses.
-	 * <p>This implementation applies the concurrency throttle.
-	 * @see #afterAccess() 
+	 * <p>This implementation applies the concurrency throttle. Waiting access
+	 * attempts get permitted in arrival order, with each completed access
+	 * handing its permit directly to the longest waiting attempt.
+	 * @see #afterAccess()
+	 * @see #onAccessRejected
 	 */
 	protected void beforeAccess() {
 		if (this.concurrencyLimit == NO_CONCURRENCY) {
@@ -108,44 +270,155 @@ public abstract class ConcurrencyThrottleSupport implements Serializable {
 		}
 		if (this.concurrencyLimit > 0) {
 			boolean debug = logger.isDebugEnabled();
+			Waiter waiter = null;
 			synchronized (this.monitor) {
-				while (this.concurrencyCount >= this.concurrencyLimit) {
+				if (this.waiters.isEmpty() && this.concurrencyCount < currentLimit()) {
+					if (debug) {
+						logger.debug("Entering throttle at concurrency count " + this.concurrencyCount);
+					}
+					this.concurrencyCount++;
+					return;
+				}
+				if (this.maxQueueSize >= 0 && this.waiters.size() >= this.maxQueueSize) {
+					this.rejectedCount++;
+				}
+				else {
 					if (debug) {
 						logger.debug("Concurrency count " + this.concurrencyCount +
-								" has reached limit " + this.concurrencyLimit + " - blocking");
+								" has reached limit " + currentLimit() + " - blocking");
 					}
-					try {
-						this.monitor.wait();
+					waiter = new Waiter();
+					this.waiters.addLast(waiter);
+				}
+			}
+			if (waiter == null) {
+				rejectAccess("Concurrency limit reached and " + this.maxQueueSize +
+						" access attempts waiting already - rejecting");
+			}
+			if (!waiter.await(this.maxWait)) {
+				synchronized (this.monitor) {
+					// Only rejected if not granted access in the meantime.
+					if (this.waiters.remove(waiter)) {
+						this.rejectedCount++;
 					}
-					catch (InterruptedException ex) {
-						// Re-interrupt current thread, to allow other threads to react.
-						Thread.currentThread().interrupt();
+					else {
+						waiter = null;
 					}
 				}
-				if (debug) {
-					logger.debug("Entering throttle at concurrency count " + this.concurrencyCount);
+				if (waiter != null) {
+					rejectAccess("Concurrency limit did not permit access within " + this.maxWait + " ms");
 				}
-				this.concurrencyCount++;
 			}
 		}
 	}
 
+	/**
+	 * Called when an access attempt gets rejected by {@link #beforeAccess()},
+	 * either because of a full wait queue or because of a timeout.
+	 * <p>Implementations must throw an exception, since the rejected access
+	 * attempt has not been granted a permit: If this method returns normally,
+	 * an IllegalStateException gets thrown regardless.
+	 * <p>The default implementation throws an IllegalStateException.
+	 * Subclasses may throw a specific exception instead.
+	 * @param msg the reason for the rejection
+	 * @see #setMaxQueueSize
+	 * @see #setMaxWait
+	 */
+	protected void onAccessRejected(String msg) {
+		throw new IllegalStateException(msg);
+	}
+
+	/**
+	 * Reject the current access attempt, making sure that it does not
+	 * proceed even if {@link #onAccessRejected} returns normally.
+	 */
+	private void rejectAccess(String msg) {
+		onAccessRejected(msg);
+		throw new IllegalStateException(msg);
+	}
+
 	/**
 	 * To be invoked after the main execution logic of concrete subclasses.
 	 * @see #beforeAccess()
 	 */
 	protected void afterAccess() {
+		afterAccess(-1);
+	}
+
+	/**
+	 * To be invoked after the main execution logic of concrete subclasses,
+	 * reporting the time that the access took, as input for
+	 * {@link #setAdaptiveConcurrency adaptive mode}.
+	 * @param latency the time that the access took, in nanoseconds
+	 * (or -1 if not measured)
+	 * @see #beforeAccess()
+	 */
+	protected void afterAccess(long latency) {
 		if (this.concurrencyLimit >= 0) {
+			Waiter[] granted = null;
 			synchronized (this.monitor) {
+				if (this.adaptiveConcurrency && latency >= 0) {
+					adaptLimit(latency);
+				}
 				this.concurrencyCount--;
 				if (logger.isDebugEnabled()) {
 					logger.debug("Returning from throttle at concurrency count " + this.concurrencyCount);
 				}
-				this.monitor.notify();
+				int limit = currentLimit();
+				if (!this.waiters.isEmpty() && this.concurrencyCount < limit) {
+					granted = new Waiter[Math.min(this.waiters.size(), limit - this.concurrencyCount)];
+					for (int i = 0; i < granted.length; i++) {
+						granted[i] = (Waiter) this.waiters.removeFirst();
+						this.concurrencyCount++;
+					}
+				}
+			}
+			if (granted != null) {
+				for (int i = 0; i < granted.length; i++) {
+					granted[i].grant();
+				}
 			}
 		}
 	}
 
+	private int currentLimit() {
+		if (this.adaptiveConcurrency && this.adaptiveLimit > 0) {
+			return (int) this.adaptiveLimit;
+		}
+		return this.concurrencyLimit;
+	}
+
+	/**
+	 * Adjust the adaptive limit by the gradient between the lowest recent latency
+	 * and the given latency, plus some headroom for probing higher concurrency.
+	 * Only grows the limit if it is actually being used, and starts a new probe
+	 * window for the lowest latency every 1000 samples. To be called under the monitor.
+	 */
+	private void adaptLimit(long latency) {
+		if (this.adaptiveLimit <= 0) {
+			this.adaptiveLimit = this.concurrencyLimit;
+		}
+		if (++this.sampleCount >= 1000) {
+			this.sampleCount = 0;
+			this.minLatency = -1;
+		}
+		long sample = Math.max(latency, 1);
+		if (this.minLatency < 0 || sample < this.minLatency) {
+			this.minLatency = sample;
+		}
+		double gradient = Math.max(0.5, Math.min(1.0, (double) this.minLatency / sample));
+		double newLimit = this.adaptiveLimit * gradient + Math.sqrt(this.adaptiveLimit);
+		if (newLimit > this.adaptiveLimit && this.concurrencyCount < this.adaptiveLimit / 2) {
+			// Limit not in use: no evidence that higher concurrency would be fine.
+			return;
+		}
+		newLimit = this.adaptiveLimit * 0.8 + newLimit * 0.2;
+		if (this.maxConcurrencyLimit > 0) {
+			newLimit = Math.min(newLimit, this.maxConcurrencyLimit);
+		}
+		this.adaptiveLimit = Math.max(newLimit, Math.max(this.minConcurrencyLimit, 1));
+	}
+
 
 	//---------------------------------------------------------------------
 	// Serialization support
@@ -158,6 +431,56 @@ public abstract class ConcurrencyThrottleSupport implements Serializable {
 		// Initialize transient fields.
 		this.logger = LogFactory.getLog(getClass());
 		this.monitor = new Object();
+		this.waiters = new LinkedList();
+	}
+
+
+	/**
+	 * An access attempt waiting for its permit, to be notified individually.
+	 */
+	private static class Waiter {
+
+		private boolean granted = false;
+
+		public synchronized void grant() {
+			this.granted = true;
+			notify();
+		}
+
+		/**
+		 * Wait until granted or until the given time has elapsed.
+		 * Preserves the interrupt status of the current thread but keeps waiting.
+		 * @param maxWait the maximum time to wait in milliseconds (-1 for no limit)
+		 * @return whether access has been granted
+		 */
+		public synchronized boolean await(long maxWait) {
+			boolean interrupted = false;
+			long deadline = (maxWait >= 0 ? System.currentTimeMillis() + maxWait : 0);
+			try {
+				while (!this.granted) {
+					long timeToWait = 0;
+					if (maxWait >= 0) {
+						timeToWait = deadline - System.currentTimeMillis();
+						if (timeToWait <= 0) {
+							return false;
+						}
+					}
+					try {
+						wait(timeToWait);
+					}
+					catch (InterruptedException ex) {
+						interrupted = true;
+					}
+				}
+				return true;
+			}
+			finally {
+				if (interrupted) {
+					// Re-interrupt current thread, to allow other threads to react.
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
 	}
 
 }
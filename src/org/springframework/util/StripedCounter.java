@@ -0,0 +1,116 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+/**
+ * Counter for statistics that get updated on hot code paths by many threads
+ * concurrently, such as cache hits. Updates go to one of several stripes,
+ * selected by the current thread, with each stripe residing on a cache line
+ * of its own; the stripes only get summed up when the value is read.
+ *
+ * <p>The stripes are kept in an {@link AtomicCounterArray}: Updates are atomic
+ * on JDK 1.5+, without acquiring any locks. On JDK 1.4, each stripe falls back
+ * to synchronizing on a monitor of its own, which still keeps threads from
+ * contending on a single lock.
+ *
+ * <p>Reading the value is comparatively expensive and does not provide
+ * a consistent snapshot while updates are in progress: This class is
+ * designed for monitoring purposes, not for coordinating threads.
+ *
+ * @author agent
+ * @since 2.5.1
+ */
+public class StripedCounter {
+
+	/** Number of stripes: the number of processors, rounded up to a power of two */
+	private static final int STRIPE_COUNT;
+
+	/** Number of array slots between stripes, keeping them on separate cache lines */
+	private static final int PADDING = 8;
+
+	static {
+		int processors = Math.min(Runtime.getRuntime().availableProcessors(), 64);
+		int stripeCount = 1;
+		while (stripeCount < processors) {
+			stripeCount <<= 1;
+		}
+		STRIPE_COUNT = stripeCount;
+	}
+
+
+	private final AtomicCounterArray stripes = new AtomicCounterArray(STRIPE_COUNT * PADDING);
+
+
+	/**
+	 * Create a new StripedCounter with an initial value of 0.
+	 */
+	public StripedCounter() {
+	}
+
+
+	/**
+	 * Increment this counter by one.
+	 */
+	public void increment() {
+		this.stripes.increment(stripeIndex() * PADDING);
+	}
+
+	/**
+	 * Add the given delta to this counter.
+	 * @param delta the value to add (may be negative)
+	 */
+	public void add(long delta) {
+		this.stripes.add(stripeIndex() * PADDING, delta);
+	}
+
+	/**
+	 * Return the current value of this counter, summed up across all stripes.
+	 */
+	public long get() {
+		long sum = 0;
+		for (int i = 0; i < STRIPE_COUNT; i++) {
+			sum += this.stripes.get(i * PADDING);
+		}
+		return sum;
+	}
+
+	/**
+	 * Reset this counter to 0. Concurrent updates may or may not be retained.
+	 */
+	public void reset() {
+		for (int i = 0; i < STRIPE_COUNT; i++) {
+			this.stripes.set(i * PADDING, 0);
+		}
+	}
+
+	public String toString() {
+		return String.valueOf(get());
+	}
+
+
+	/**
+	 * Determine the stripe for the current thread, spreading the bits
+	 * of its identity hash code.
+	 */
+	private static int stripeIndex() {
+		int hash = System.identityHashCode(Thread.currentThread());
+		hash ^= (hash >>> 16);
+		hash ^= (hash >>> 8);
+		return hash & (STRIPE_COUNT - 1);
+	}
+
+}
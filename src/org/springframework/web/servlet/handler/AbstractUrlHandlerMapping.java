@@ -16,10 +16,15 @@
 
 package org.springframework.web.servlet.handler;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.StringTokenizer;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -27,6 +32,7 @@ import javax.servlet.http.HttpServletResponse;
 import org.springframework.beans.BeansException;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
+import org.springframework.util.BoundedConcurrentCache;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerMapping;
@@ -47,6 +53,12 @@ import org.springframework.web.util.UrlPathHelper;
  * current request path. The most exact match is defined as the longest
  * path pattern that matches the current request path.
  *
+ * <p>With the default {@link AntPathMatcher}, registered patterns are indexed
+ * by their first path segment, so that only patterns with a matching literal
+ * first segment or a wildcard first segment need to be checked. Resolved
+ * pattern matches are kept in a bounded cache of recent lookup paths;
+ * see {@link #setLookupCacheLimit "lookupCacheLimit"}.
+ *
  * @author Juergen Hoeller
  * @since 16.04.2003
  * @see #setAlwaysUseFullPath
@@ -55,16 +67,31 @@ import org.springframework.web.util.UrlPathHelper;
  */
 public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping {
 
+	/** Default maximum number of entries for the lookup cache: 1024 */
+	public static final int DEFAULT_LOOKUP_CACHE_LIMIT = 1024;
+
+	/** Marker for a lookup path that did not match any registered pattern */
+	private static final Object NO_MATCH = new Object();
+
+
 	private UrlPathHelper urlPathHelper = new UrlPathHelper();
 
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
+	private boolean indexablePathMatcher = true;
+
 	private Object rootHandler;
 
 	private boolean lazyInitHandlers = false;
 
 	private final Map handlerMap = new LinkedHashMap();
 
+	/** Index over the registered patterns, lazily (re-)built after registration */
+	private volatile PatternIndex patternIndex;
+
+	/** Cache of resolved pattern matches: lookup path --> best matching pattern (or NO_MATCH) */
+	private final BoundedConcurrentCache lookupCache = new BoundedConcurrentCache(DEFAULT_LOOKUP_CACHE_LIMIT);
+
 
 	/**
 	 * Set if URL lookup should always use the full path within the current servlet
@@ -103,11 +130,17 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping {
 	/**
 	 * Set the PathMatcher implementation to use for matching URL paths
 	 * against registered URL patterns. Default is AntPathMatcher.
+	 * <p>Note that the segment index over the registered patterns is only
+	 * used with the default AntPathMatcher: A custom PathMatcher (which might
+	 * use a different path separator or custom matching rules) will be
+	 * consulted for every registered pattern.
 	 * @see org.springframework.util.AntPathMatcher
 	 */
 	public void setPathMatcher(PathMatcher pathMatcher) {
 		Assert.notNull(pathMatcher, "PathMatcher must not be null");
 		this.pathMatcher = pathMatcher;
+		this.indexablePathMatcher = false;
+		clearLookupCache();
 	}
 
 	/**
@@ -141,6 +174,27 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping {
 		this.lazyInitHandlers = lazyInitHandlers;
 	}
 
+	/**
+	 * Specify the maximum number of lookup paths to cache pattern matches for
+	 * (including paths that did not match any pattern). Once the limit has been
+	 * reached, the least recently used entries get evicted; cache hits remain
+	 * free of any locking.
+	 * <p>Default is 1024. Set this to 0 to turn off the lookup cache.
+	 * <p>Direct matches against non-pattern URLs are always resolved through
+	 * the handler map itself and do not occupy cache entries.
+	 */
+	public void setLookupCacheLimit(int lookupCacheLimit) {
+		this.lookupCache.setLimit(lookupCacheLimit);
+		clearLookupCache();
+	}
+
+	/**
+	 * Return the maximum number of lookup paths to cache pattern matches for.
+	 */
+	public int getLookupCacheLimit() {
+		return this.lookupCache.getLimit();
+	}
+
 
 	/**
 	 * Look up a handler for the URL path of the given request.
@@ -190,14 +244,7 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping {
 			return buildPathExposingHandler(handler, urlPath);
 		}
 		// Pattern match?
-		String bestPathMatch = null;
-		for (Iterator it = this.handlerMap.keySet().iterator(); it.hasNext();) {
-			String registeredPath = (String) it.next();
-			if (this.pathMatcher.match(registeredPath, urlPath) &&
-					(bestPathMatch == null || bestPathMatch.length() < registeredPath.length())) {
-				bestPathMatch = registeredPath;
-			}
-		}
+		String bestPathMatch = getBestPathMatch(urlPath);
 		if (bestPathMatch != null) {
 			handler = this.handlerMap.get(bestPathMatch);
 			String pathWithinMapping = this.pathMatcher.extractPathWithinPattern(bestPathMatch, urlPath);
@@ -207,6 +254,51 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping {
 		return null;
 	}
 
+	/**
+	 * Determine the longest registered path pattern that matches the given URL path,
+	 * using the lookup cache if possible.
+	 * @param urlPath the URL path to match
+	 * @return the best matching registered path, or <code>null</code> if none
+	 */
+	private String getBestPathMatch(String urlPath) {
+		boolean useCache = (this.lookupCache.getLimit() > 0);
+		if (useCache) {
+			Object cached = this.lookupCache.get(urlPath);
+			if (cached != null) {
+				return (cached != NO_MATCH ? (String) cached : null);
+			}
+		}
+		String bestPathMatch = null;
+		if (this.indexablePathMatcher) {
+			PatternIndex index = this.patternIndex;
+			if (index == null) {
+				index = new PatternIndex(this.handlerMap.keySet());
+				this.patternIndex = index;
+			}
+			bestPathMatch = index.findBestMatch(urlPath, this.pathMatcher);
+		}
+		else {
+			for (Iterator it = this.handlerMap.keySet().iterator(); it.hasNext();) {
+				String registeredPath = (String) it.next();
+				if (this.pathMatcher.match(registeredPath, urlPath) &&
+						(bestPathMatch == null || bestPathMatch.length() < registeredPath.length())) {
+					bestPathMatch = registeredPath;
+				}
+			}
+		}
+		if (useCache) {
+			this.lookupCache.put(urlPath, (bestPathMatch != null ? (Object) bestPathMatch : NO_MATCH));
+		}
+		return bestPathMatch;
+	}
+
+	/**
+	 * Clear the cache of resolved lookup paths.
+	 */
+	private void clearLookupCache() {
+		this.lookupCache.clear();
+	}
+
 	/**
 	 * Build a handler object for the given raw handler, exposing the actual
 	 * handler as well as the {@link #PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE}
@@ -297,6 +389,8 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping {
 			}
 			else {
 				this.handlerMap.put(urlPath, resolvedHandler);
+				this.patternIndex = null;
+				clearLookupCache();
 				if (logger.isDebugEnabled()) {
 					logger.debug("Mapped URL path [" + urlPath + "] onto handler [" + resolvedHandler + "]");
 				}
@@ -316,6 +410,102 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping {
 	}
 
 
+	/**
+	 * Index over registered path patterns, grouping them by their first path
+	 * segment. Mirrors AntPathMatcher's tokenization: A pattern whose first
+	 * segment is literal can only match paths with the very same first segment,
+	 * whereas patterns with a wildcard in their first segment (as well as patterns
+	 * without any segment) need to be checked for every path.
+	 */
+	private static class PatternIndex {
+
+		private static final String PATH_SEPARATOR = AntPathMatcher.DEFAULT_PATH_SEPARATOR;
+
+		/** Literal first segment --> List of patterns, in registration order */
+		private final Map literalPatterns = new HashMap();
+
+		/** Patterns with a wildcard first segment, in registration order */
+		private final List wildcardPatterns = new ArrayList();
+
+		/** Registration order of all patterns: pattern --> Integer */
+		private final Map patternOrder = new HashMap();
+
+		public PatternIndex(Collection patterns) {
+			int order = 0;
+			for (Iterator it = patterns.iterator(); it.hasNext(); order++) {
+				String pattern = (String) it.next();
+				this.patternOrder.put(pattern, new Integer(order));
+				String firstSegment = getFirstSegment(pattern);
+				if (firstSegment == null || firstSegment.indexOf('*') != -1 || firstSegment.indexOf('?') != -1) {
+					this.wildcardPatterns.add(pattern);
+				}
+				else {
+					List bucket = (List) this.literalPatterns.get(firstSegment);
+					if (bucket == null) {
+						bucket = new ArrayList(4);
+						this.literalPatterns.put(firstSegment, bucket);
+					}
+					bucket.add(pattern);
+				}
+			}
+		}
+
+		/**
+		 * Find the longest matching pattern for the given path. In case of
+		 * patterns of equal length, the first registered pattern wins,
+		 * exactly like with a linear scan over all registered patterns.
+		 */
+		public String findBestMatch(String path, PathMatcher pathMatcher) {
+			String bestMatch = null;
+			String firstSegment = getFirstSegment(path);
+			if (firstSegment != null) {
+				List bucket = (List) this.literalPatterns.get(firstSegment);
+				if (bucket != null) {
+					bestMatch = findBestMatch(bucket, path, pathMatcher, null);
+				}
+			}
+			return findBestMatch(this.wildcardPatterns, path, pathMatcher, bestMatch);
+		}
+
+		private String findBestMatch(List candidates, String path, PathMatcher pathMatcher, String bestMatch) {
+			for (int i = 0; i < candidates.size(); i++) {
+				String pattern = (String) candidates.get(i);
+				if (isBetterMatch(pattern, bestMatch) && pathMatcher.match(pattern, path)) {
+					bestMatch = pattern;
+				}
+			}
+			return bestMatch;
+		}
+
+		private boolean isBetterMatch(String pattern, String bestMatch) {
+			if (bestMatch == null || bestMatch.length() < pattern.length()) {
+				return true;
+			}
+			if (bestMatch.length() > pattern.length()) {
+				return false;
+			}
+			int order = ((Integer) this.patternOrder.get(pattern)).intValue();
+			int bestOrder = ((Integer) this.patternOrder.get(bestMatch)).intValue();
+			return (order < bestOrder);
+		}
+
+		/**
+		 * Determine the first non-empty, trimmed path segment,
+		 * consistent with AntPathMatcher's path tokenization.
+		 */
+		private static String getFirstSegment(String path) {
+			StringTokenizer st = new StringTokenizer(path, PATH_SEPARATOR);
+			while (st.hasMoreTokens()) {
+				String token = st.nextToken().trim();
+				if (token.length() > 0) {
+					return token;
+				}
+			}
+			return null;
+		}
+	}
+
+
 	/**
 	 * Special interceptor for exposing the
 	 * {@link AbstractUrlHandlerMapping#PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE} attribute.
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 
+import org.springframework.util.BoundedConcurrentCache;
 import org.springframework.web.context.support.WebApplicationObjectSupport;
 import org.springframework.web.servlet.View;
 import org.springframework.web.servlet.ViewResolver;
@@ -30,6 +31,13 @@ import org.springframework.web.servlet.ViewResolver;
  * once resolved: This means that view resolution won't be a performance problem,
  * no matter how costly initial view retrieval is.
  *
+ * <p>Cached views are returned without any locking. A missing view gets created
+ * under a lock for its specific cache key, so that a slow view creation does not
+ * block the resolution of other views. The number of cached views is limited
+ * (see {@link #setCacheLimit "cacheLimit"}), evicting the least recently used
+ * entries. View names that could not be resolved are cached as well
+ * (see {@link #setCacheUnresolved "cacheUnresolved"}).
+ *
  * <p>Subclasses need to implement the {@link #loadView} template method,
  * building the View object for a specific view name and locale.
  *
@@ -39,11 +47,30 @@ import org.springframework.web.servlet.ViewResolver;
  */
 public abstract class AbstractCachingViewResolver extends WebApplicationObjectSupport implements ViewResolver {
 
+	/** Default maximum number of entries for the view cache: 1024 */
+	public static final int DEFAULT_CACHE_LIMIT = 1024;
+
+	/** Marker for a view name that could not be resolved */
+	private static final Object UNRESOLVED_VIEW = new Object();
+
+
 	/** Whether we should cache views, once resolved */
 	private boolean cache = true;
 
-	/** Map from view name to View instance */
-	private final Map viewCache = new HashMap();
+	/** Whether we should cache the fact that a view name could not be resolved */
+	private boolean cacheUnresolved = true;
+
+	/** Cache of resolved views, for lock-free access: cache key --> View (or UNRESOLVED_VIEW) */
+	private final BoundedConcurrentCache viewCache = new BoundedConcurrentCache(DEFAULT_CACHE_LIMIT) {
+		protected void onEviction(Object key, Object value) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Evicted view [" + key + "] from cache");
+			}
+		}
+	};
+
+	/** Monitors for views currently being created: cache key --> Object */
+	private final Map viewCreationLocks = new HashMap();
 
 
 	/**
@@ -63,6 +90,43 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
 		return this.cache;
 	}
 
+	/**
+	 * Specify the maximum number of entries for the view cache.
+	 * Once the limit has been reached, the least recently used views get evicted
+	 * (approximately: hits mark an entry as recently used without any locking,
+	 * and marked entries get a second chance on eviction).
+	 * <p>Default is 1024. A limit of 0 or below means no limit.
+	 */
+	public void setCacheLimit(int cacheLimit) {
+		this.viewCache.setLimit(cacheLimit);
+	}
+
+	/**
+	 * Return the maximum number of entries for the view cache.
+	 */
+	public int getCacheLimit() {
+		return this.viewCache.getLimit();
+	}
+
+	/**
+	 * Set whether an unresolved view name, i.e. a <code>null</code> result
+	 * from {@link #createView}, should be cached as well.
+	 * <p>Default is "true": A view name that could not be resolved will not be
+	 * looked up again, which is particularly beneficial when chaining resolvers.
+	 * Switch this off if views might become available at runtime, e.g. through
+	 * templates being added.
+	 */
+	public void setCacheUnresolved(boolean cacheUnresolved) {
+		this.cacheUnresolved = cacheUnresolved;
+	}
+
+	/**
+	 * Return whether unresolved view names get cached.
+	 */
+	public boolean isCacheUnresolved() {
+		return this.cacheUnresolved;
+	}
+
 
 	public View resolveViewName(String viewName, Locale locale) throws Exception {
 		if (!isCache()) {
@@ -71,17 +135,57 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
 		}
 		else {
 			Object cacheKey = getCacheKey(viewName, locale);
-			synchronized (this.viewCache) {
-				View view = (View) this.viewCache.get(cacheKey);
-				if (view == null) {
-					// Ask the subclass to create the View object.
-					view = createView(viewName, locale);
-					this.viewCache.put(cacheKey, view);
-					if (logger.isDebugEnabled()) {
-						logger.debug("Cached view [" + cacheKey + "]");
+			Object cachedView = this.viewCache.get(cacheKey);
+			if (cachedView != null) {
+				return (cachedView != UNRESOLVED_VIEW ? (View) cachedView : null);
+			}
+			Object lock = obtainCreationLock(cacheKey);
+			try {
+				synchronized (lock) {
+					cachedView = this.viewCache.get(cacheKey);
+					if (cachedView == null) {
+						// Ask the subclass to create the View object.
+						View view = createView(viewName, locale);
+						if (view == null && !this.cacheUnresolved) {
+							return null;
+						}
+						cachedView = (view != null ? (Object) view : UNRESOLVED_VIEW);
+						this.viewCache.put(cacheKey, cachedView);
+						if (logger.isDebugEnabled()) {
+							logger.debug((view != null ? "Cached view [" : "Cached unresolved view name [") + cacheKey + "]");
+						}
 					}
+					return (cachedView != UNRESOLVED_VIEW ? (View) cachedView : null);
 				}
-				return view;
+			}
+			finally {
+				releaseCreationLock(cacheKey, lock);
+			}
+		}
+	}
+
+	/**
+	 * Obtain the monitor for creating the view with the given cache key.
+	 */
+	private Object obtainCreationLock(Object cacheKey) {
+		synchronized (this.viewCreationLocks) {
+			Object lock = this.viewCreationLocks.get(cacheKey);
+			if (lock == null) {
+				lock = new Object();
+				this.viewCreationLocks.put(cacheKey, lock);
+			}
+			return lock;
+		}
+	}
+
+	/**
+	 * Release the given creation monitor. Threads still waiting for it will
+	 * find the created view in the cache once they obtain the monitor.
+	 */
+	private void releaseCreationLock(Object cacheKey, Object lock) {
+		synchronized (this.viewCreationLocks) {
+			if (this.viewCreationLocks.get(cacheKey) == lock) {
+				this.viewCreationLocks.remove(cacheKey);
 			}
 		}
 	}
@@ -112,10 +216,7 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
 		}
 		else {
 			Object cacheKey = getCacheKey(viewName, locale);
-			Object cachedView = null;
-			synchronized (this.viewCache) {
-				cachedView = this.viewCache.remove(cacheKey);
-			}
+			Object cachedView = this.viewCache.remove(cacheKey);
 			if (cachedView == null) {
 				// Some debug output might be useful...
 				if (logger.isDebugEnabled()) {
@@ -136,9 +237,7 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
 	 */
 	public void clearCache() {
 		logger.debug("Clearing entire view cache");
-		synchronized (this.viewCache) {
-			this.viewCache.clear();
-		}
+		this.viewCache.clear();
 	}
 
 
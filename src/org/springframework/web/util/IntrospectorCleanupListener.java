@@ -17,11 +17,14 @@
 package org.springframework.web.util;
 
 import java.beans.Introspector;
+import java.lang.reflect.Method;
 
 import javax.servlet.ServletContextEvent;
 import javax.servlet.ServletContextListener;
 
 import org.springframework.beans.CachedIntrospectionResults;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * Listener that flushes the JDK's {@link java.beans.Introspector JavaBeans Introspector}
@@ -47,7 +50,9 @@ import org.springframework.beans.CachedIntrospectionResults;
  * <b>Although Spring itself does not create JDK Introspector leaks, note that this
  * listener should nevertheless be used in scenarios where the Spring framework classes
  * themselves reside in a 'common' ClassLoader (such as the system ClassLoader).</b>
- * In such a scenario, this listener will properly clean up Spring's introspection cache.
+ * In such a scenario, this listener will properly clean up Spring's introspection cache,
+ * as well as Spring's cache of generated CGLIB proxy classes (if Spring AOP
+ * is present: it is detected and invoked reflectively, to not require it).
  *
  * <p>Application classes hardly ever need to use the JavaBeans Introspector
  * directly, so are normally not the cause of Introspector resource leaks.
@@ -68,15 +73,41 @@ import org.springframework.beans.CachedIntrospectionResults;
  * @see java.beans.Introspector#flushCaches()
  * @see org.springframework.beans.CachedIntrospectionResults#acceptClassLoader
  * @see org.springframework.beans.CachedIntrospectionResults#clearClassLoader
+ * @see org.springframework.aop.framework.AopProxyUtils#clearProxyClassCache
  */
 public class IntrospectorCleanupListener implements ServletContextListener {
 
+	private static final String AOP_PROXY_UTILS_CLASS_NAME = "org.springframework.aop.framework.AopProxyUtils";
+
+	/** AopProxyUtils.clearProxyClassCache(ClassLoader), or <code>null</code> if Spring AOP is not present */
+	private static final Method clearProxyClassCacheMethod;
+
+	static {
+		Method method = null;
+		ClassLoader cl = IntrospectorCleanupListener.class.getClassLoader();
+		if (ClassUtils.isPresent(AOP_PROXY_UTILS_CLASS_NAME, cl)) {
+			try {
+				method = ClassUtils.forName(AOP_PROXY_UTILS_CLASS_NAME, cl).getMethod(
+						"clearProxyClassCache", new Class[] {ClassLoader.class});
+			}
+			catch (Throwable ex) {
+				// Spring AOP without proxy class cache - nothing to clean up.
+			}
+		}
+		clearProxyClassCacheMethod = method;
+	}
+
+
 	public void contextInitialized(ServletContextEvent event) {
 		CachedIntrospectionResults.acceptClassLoader(Thread.currentThread().getContextClassLoader());
 	}
 
 	public void contextDestroyed(ServletContextEvent event) {
-		CachedIntrospectionResults.clearClassLoader(Thread.currentThread().getContextClassLoader());
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		CachedIntrospectionResults.clearClassLoader(classLoader);
+		if (clearProxyClassCacheMethod != null) {
+			ReflectionUtils.invokeMethod(clearProxyClassCacheMethod, null, new Object[] {classLoader});
+		}
 		Introspector.flushCaches();
 	}
 
@@ -28,6 +28,7 @@ import org.springframework.aop.MethodMatcher;
 import org.springframework.aop.Pointcut;
 import org.springframework.aop.aspectj.AspectJExpressionPointcut;
 import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.aop.support.DefaultPointcutAdvisor;
 import org.springframework.beans.IOther;
 import org.springframework.beans.ITestBean;
@@ -324,6 +325,24 @@ public class AspectJExpressionPointcutTests extends TestCase {
 		assertEquals("execution(* *(..)) && args(String) && this(Object)",expr.getPointcutExpression());		
 	}
 	
+	public void testMatchesAny() throws Exception {
+		Method[] methods = new Method[] {ITestBean.class.getMethod("getAge", null), getAge, setAge};
+		AspectJExpressionPointcut pc = (AspectJExpressionPointcut)
+				getPointcut("execution(* org.springframework.beans.ITestBean.getAge())");
+		assertTrue(pc.matchesAny(methods, TestBean.class, false));
+		assertFalse(pc.matchesAny(new Method[] {setAge}, TestBean.class, false));
+
+		pc = (AspectJExpressionPointcut) getPointcut("execution(* *..TestBean.getName(..))");
+		assertFalse(pc.matchesAny(methods, TestBean.class, false));
+	}
+
+	public void testCanApplyThroughMatchesAny() {
+		assertTrue(AopUtils.canApply(getPointcut("execution(* *..ITestBean.getAge())"), TestBean.class));
+		assertTrue(AopUtils.canApply(getPointcut("execution(* *..IOther.absquatulate())"), TestBean.class));
+		assertFalse(AopUtils.canApply(getPointcut("execution(* *..ITestBean.getAge())"), String.class));
+		assertFalse(AopUtils.canApply(getPointcut("execution(* *..TestBean.noSuchMethod())"), TestBean.class));
+	}
+
 	private Pointcut getPointcut(String expression) {
 		AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
 		pointcut.setExpression(expression);
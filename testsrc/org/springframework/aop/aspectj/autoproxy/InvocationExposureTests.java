@@ -0,0 +1,110 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.aspectj.autoproxy;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+import org.aspectj.lang.JoinPoint;
+
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
+import org.springframework.beans.ITestBean;
+import org.springframework.beans.TestBean;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+/**
+ * Tests that the current invocation only gets exposed for
+ * AspectJ advice that actually needs it.
+ *
+ * @author agent
+ */
+public class InvocationExposureTests extends TestCase {
+
+	private ClassPathXmlApplicationContext ctx;
+
+	private CountingAspect aspect;
+
+	protected void setUp() {
+		this.ctx = new ClassPathXmlApplicationContext("invocation-exposure-tests.xml", getClass());
+		this.aspect = (CountingAspect) this.ctx.getBean("countingAspect");
+	}
+
+	protected void tearDown() {
+		this.ctx.close();
+	}
+
+	public void testNoExposureForAdviceWithoutBindings() {
+		ITestBean bean = (ITestBean) this.ctx.getBean("plain");
+		assertFalse(isInvocationExposed(bean));
+		bean.getAge();
+		assertEquals(1, this.aspect.count);
+	}
+
+	public void testExposureForAdviceWithJoinPoint() {
+		ITestBean bean = (ITestBean) this.ctx.getBean("joinPoint");
+		assertTrue(isInvocationExposed(bean));
+		bean.getAge();
+		assertEquals(1, this.aspect.count);
+		assertEquals("getAge", this.aspect.lastJoinPoint.getSignature().getName());
+	}
+
+	public void testExposureForAdviceWithArgs() {
+		ITestBean bean = (ITestBean) this.ctx.getBean("args");
+		assertTrue(isInvocationExposed(bean));
+		bean.setAge(5);
+		assertEquals(1, this.aspect.count);
+		assertEquals(5, this.aspect.lastAge);
+	}
+
+	public void testExposureWhenDemanded() {
+		AspectJAwareAdvisorAutoProxyCreator apc = (AspectJAwareAdvisorAutoProxyCreator)
+				this.ctx.getBean("org.springframework.aop.config.internalAutoProxyCreator");
+		apc.setAlwaysExposeInvocation(true);
+		ITestBean bean = (ITestBean) apc.postProcessAfterInitialization(new TestBean(), "plain");
+		assertTrue(isInvocationExposed(bean));
+	}
+
+	private boolean isInvocationExposed(Object proxy) {
+		return Arrays.asList(((Advised) proxy).getAdvisors()).contains(ExposeInvocationInterceptor.ADVISOR);
+	}
+
+
+	public static class CountingAspect {
+
+		public int count;
+
+		public JoinPoint lastJoinPoint;
+
+		public int lastAge;
+
+		public void count() {
+			this.count++;
+		}
+
+		public void countWithJoinPoint(JoinPoint jp) {
+			this.count++;
+			this.lastJoinPoint = jp;
+		}
+
+		public void countWithArg(int age) {
+			this.count++;
+			this.lastAge = age;
+		}
+	}
+
+}
@@ -18,9 +18,12 @@ package org.springframework.aop.framework;
 
 import java.io.Serializable;
 import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
 
 import net.sf.cglib.core.CodeGenerationException;
 import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
 
 import org.springframework.aop.ClassFilter;
 import org.springframework.aop.MethodMatcher;
@@ -179,6 +182,52 @@ public class CglibProxyTests extends AbstractAopProxyTests {
 		assertEquals(target2.getAge(), proxy2.getAge());
 	}
 
+	public void testProxyClassCacheStatistics() {
+		CglibProxyClassStatistics statistics = new CglibProxyClassStatistics();
+		ITestBean proxy1 = getAdvisedProxy(new TestBean());
+		int generatedCount = statistics.getGeneratedClassCount();
+		long hitCount = statistics.getCacheHitCount();
+		assertTrue(statistics.getCachedClassCount() > 0);
+
+		ITestBean proxy2 = getAdvisedProxy(new TestBean());
+		assertSame(proxy1.getClass(), proxy2.getClass());
+		assertEquals(generatedCount, statistics.getGeneratedClassCount());
+		assertEquals(hitCount + 1, statistics.getCacheHitCount());
+
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.setProxyTargetClass(true);
+		pf.addAdvice(new MethodInterceptor() {
+			public Object invoke(MethodInvocation invocation) throws Throwable {
+				return invocation.proceed();
+			}
+		});
+		ITestBean proxy3 = (ITestBean) pf.getProxy();
+		assertNotSame(proxy1.getClass(), proxy3.getClass());
+		assertEquals(generatedCount + 1, statistics.getGeneratedClassCount());
+		assertTrue(statistics.getTotalGenerationTime() >= 0);
+	}
+
+	public void testProxyClassCacheClearedForClassLoader() {
+		CglibProxyClassStatistics statistics = new CglibProxyClassStatistics();
+		ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.setProxyTargetClass(true);
+		pf.addAdvice(new NopInterceptor());
+		ITestBean proxy1 = (ITestBean) pf.getProxy(classLoader);
+		int cachedCount = statistics.getCachedClassCount();
+		int generatedCount = statistics.getGeneratedClassCount();
+
+		ITestBean proxy2 = (ITestBean) pf.getProxy(classLoader);
+		assertSame(proxy1.getClass(), proxy2.getClass());
+		assertEquals(generatedCount, statistics.getGeneratedClassCount());
+
+		AopProxyUtils.clearProxyClassCache(classLoader);
+		assertEquals(cachedCount - 1, statistics.getCachedClassCount());
+		ITestBean proxy3 = (ITestBean) pf.getProxy(classLoader);
+		assertNotSame(proxy1.getClass(), proxy3.getClass());
+		assertEquals(generatedCount + 1, statistics.getGeneratedClassCount());
+	}
+
 	private ITestBean getAdvisedProxy(TestBean target) {
 		ProxyFactory pf = new ProxyFactory(new Class[]{ITestBean.class});
 		pf.setProxyTargetClass(true);
@@ -16,7 +16,11 @@
 
 package org.springframework.aop.framework;
 
+import java.lang.reflect.Method;
+import java.util.List;
+
 import junit.framework.TestCase;
+import org.aopalliance.intercept.MethodInvocation;
 
 import org.springframework.aop.Advisor;
 import org.springframework.aop.interceptor.DebugInterceptor;
@@ -24,6 +28,9 @@ import org.springframework.aop.interceptor.NopInterceptor;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.aop.support.DefaultIntroductionAdvisor;
 import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.DynamicMethodMatcherPointcut;
+import org.springframework.aop.support.NameMatchMethodPointcutAdvisor;
+import org.springframework.beans.DerivedTestBean;
 import org.springframework.beans.IOther;
 import org.springframework.beans.ITestBean;
 import org.springframework.beans.TestBean;
@@ -264,6 +271,114 @@ public class ProxyFactoryTests extends TestCase {
 		assertTrue(debugInterceptor.getCount() == 1);
 	}
 
+	public void testCompiledAdviceChainsWithJdkProxy() throws Throwable {
+		doTestCompiledAdviceChains(false);
+	}
+
+	public void testCompiledAdviceChainsWithCglibProxy() throws Throwable {
+		doTestCompiledAdviceChains(true);
+	}
+
+	private void doTestCompiledAdviceChains(boolean proxyTargetClass) throws Throwable {
+		TestBean target = new TestBean();
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.setProxyTargetClass(proxyTargetClass);
+		NopInterceptor nop1 = new NopInterceptor();
+		NopInterceptor nop2 = new NopInterceptor();
+		pf.addAdvice(nop1);
+		pf.addAdvice(nop2);
+		pf.setCompileAdviceChains(true);
+		pf.setFrozen(true);
+
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		assertEquals(proxyTargetClass, AopUtils.isCglibProxy(proxy));
+		proxy.setAge(42);
+		assertEquals(42, proxy.getAge());
+		assertEquals(42, target.getAge());
+		assertEquals(2, nop1.getCount());
+		assertEquals(2, nop2.getCount());
+
+		Exception ex = new IllegalStateException();
+		try {
+			proxy.exceptional(ex);
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException actual) {
+			assertSame(ex, actual);
+		}
+		assertEquals(3, nop1.getCount());
+		assertEquals(3, nop2.getCount());
+	}
+
+	public void testCompiledAdviceChainOnlyForFrozenConfiguration() throws Throwable {
+		TestBean target = new TestBean();
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.addAdvice(new NopInterceptor());
+		pf.setCompileAdviceChains(true);
+		Method getAge = ITestBean.class.getMethod("getAge", null);
+		assertNull(pf.getCompiledAdviceChain(getAge, TestBean.class));
+
+		pf.setFrozen(true);
+		CompiledAdviceChain compiledChain = pf.getCompiledAdviceChain(getAge, TestBean.class);
+		assertNotNull(compiledChain);
+		assertSame(compiledChain, pf.getCompiledAdviceChain(getAge, TestBean.class));
+		assertNull(pf.getCompiledAdviceChain(getAge, DerivedTestBean.class));
+
+		MethodInvocation invocation = compiledChain.createInvocation(null, target, getAge, null);
+		target.setAge(7);
+		assertEquals(new Integer(7), invocation.proceed());
+	}
+
+	public void testCompiledAdviceChainNotBuiltForDynamicMethodMatcher() throws Exception {
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvisor(new DefaultPointcutAdvisor(new DynamicMethodMatcherPointcut() {
+			public boolean matches(Method method, Class targetClass, Object[] args) {
+				return true;
+			}
+		}, new NopInterceptor()));
+		pf.setCompileAdviceChains(true);
+		pf.setFrozen(true);
+		Method getAge = ITestBean.class.getMethod("getAge", null);
+		assertNull(pf.getCompiledAdviceChain(getAge, TestBean.class));
+	}
+
+	public void testAdvisorChainsPrecomputedForFrozenConfiguration() throws Exception {
+		TestBean target = new TestBean();
+		ProxyFactory pf = new ProxyFactory(target);
+		NopInterceptor nop = new NopInterceptor();
+		NameMatchMethodPointcutAdvisor advisor = new NameMatchMethodPointcutAdvisor(nop);
+		advisor.setMappedName("getAge");
+		pf.addAdvisor(advisor);
+		pf.getProxy();
+		assertEquals(-1, pf.getPrecomputedMethodCount());
+		assertEquals(-1, pf.getUnadvisedMethodCount());
+
+		pf.setFrozen(true);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		assertTrue(pf.getPrecomputedMethodCount() > 0);
+		// ITestBean.getAge and TestBean.getAge
+		assertEquals(pf.getPrecomputedMethodCount() - 2, pf.getUnadvisedMethodCount());
+
+		Method getAge = ITestBean.class.getMethod("getAge", null);
+		List chain = pf.getInterceptorsAndDynamicInterceptionAdvice(getAge, TestBean.class);
+		assertEquals(1, chain.size());
+		assertSame(chain, pf.getInterceptorsAndDynamicInterceptionAdvice(
+				ITestBean.class.getMethod("getAge", null), TestBean.class));
+		assertTrue(pf.getInterceptorsAndDynamicInterceptionAdvice(
+				ITestBean.class.getMethod("getName", null), TestBean.class).isEmpty());
+		assertEquals(1, pf.getInterceptorsAndDynamicInterceptionAdvice(getAge, DerivedTestBean.class).size());
+
+		target.setAge(42);
+		assertEquals(42, proxy.getAge());
+		proxy.getName();
+		assertEquals(1, nop.getCount());
+
+		pf.setFrozen(false);
+		pf.addAdvice(new NopInterceptor());
+		assertEquals(-1, pf.getPrecomputedMethodCount());
+		assertEquals(2, pf.getInterceptorsAndDynamicInterceptionAdvice(getAge, TestBean.class).size());
+	}
+
 	public void testProxyTargetClassWithInterfaceAsTarget() {
 		ProxyFactory pf = new ProxyFactory();
 		pf.setTargetClass(ITestBean.class);
@@ -58,6 +58,22 @@ public class ConcurrencyThrottleInterceptorTests extends TestCase {
 		serializedProxy.getAge();
 	}
 
+	public void testAfterAccessCallbackWithoutAdaptiveConcurrency() {
+		final int[] afterAccessCount = new int[1];
+		ConcurrencyThrottleInterceptor cti = new ConcurrencyThrottleInterceptor() {
+			protected void afterAccess() {
+				afterAccessCount[0]++;
+				super.afterAccess();
+			}
+		};
+		ProxyFactory proxyFactory = new ProxyFactory(new TestBean());
+		proxyFactory.addAdvice(cti);
+		ITestBean proxy = (ITestBean) proxyFactory.getProxy();
+		proxy.getAge();
+		assertEquals(1, afterAccessCount[0]);
+		assertEquals(0, cti.getConcurrencyCount());
+	}
+
 	public void testMultipleThreadsWithLimit1() {
 		testMultipleThreads(1);
 	}
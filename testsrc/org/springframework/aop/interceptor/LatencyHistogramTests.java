@@ -0,0 +1,63 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.interceptor;
+
+import junit.framework.TestCase;
+
+/**
+ * @author agent
+ */
+public class LatencyHistogramTests extends TestCase {
+
+	public void testBucketBoundaries() {
+		for (long value = 0; value < 100000; value++) {
+			int index = LatencyHistogram.bucketIndex(value);
+			assertTrue(value <= LatencyHistogram.highestValueInBucket(index));
+			if (index > 0) {
+				assertTrue(value > LatencyHistogram.highestValueInBucket(index - 1));
+			}
+		}
+		assertEquals(LatencyHistogram.bucketIndex(1L << 40), LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+	}
+
+	public void testPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, histogram.getValueAtPercentile(99));
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000L, i % 100 == 0);
+		}
+		assertEquals(1000, histogram.getCount());
+		assertEquals(10, histogram.getErrorCount());
+		assertEquals(1000000, histogram.getMaxValue());
+		assertEquals(500500.0, histogram.getMeanValue(), 0.1);
+		assertAccurate(500000, histogram.getValueAtPercentile(50));
+		assertAccurate(990000, histogram.getValueAtPercentile(99));
+		assertAccurate(999000, histogram.getValueAtPercentile(99.9));
+		assertEquals(1000000, histogram.getValueAtPercentile(100));
+
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getErrorCount());
+		assertEquals(0, histogram.getMaxValue());
+	}
+
+	private void assertAccurate(long expected, long actual) {
+		assertTrue("Expected about " + expected + " but was " + actual,
+				actual >= expected && actual <= expected * 1.0625);
+	}
+
+}
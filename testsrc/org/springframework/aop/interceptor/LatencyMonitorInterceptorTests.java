@@ -0,0 +1,105 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.interceptor;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import junit.framework.TestCase;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.ITestBean;
+import org.springframework.beans.TestBean;
+import org.springframework.jmx.export.MBeanExporter;
+
+/**
+ * @author agent
+ */
+public class LatencyMonitorInterceptorTests extends TestCase {
+
+	private static final String GET_AGE = ITestBean.class.getName() + ".getAge";
+
+	private static final String EXCEPTIONAL = ITestBean.class.getName() + ".exceptional";
+
+
+	public void testRecordsInvocationsAndErrors() throws Throwable {
+		LatencyMonitorInterceptor interceptor = new LatencyMonitorInterceptor();
+		ITestBean proxy = createProxy(interceptor);
+		for (int i = 0; i < 10; i++) {
+			proxy.getAge();
+		}
+		try {
+			proxy.exceptional(new IllegalStateException());
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+
+		assertEquals(2, interceptor.getMonitoredMethodCount());
+		assertEquals(10, interceptor.getInvocationCount(GET_AGE));
+		assertEquals(0, interceptor.getErrorCount(GET_AGE));
+		assertEquals(1, interceptor.getInvocationCount(EXCEPTIONAL));
+		assertEquals(1, interceptor.getErrorCount(EXCEPTIONAL));
+		assertEquals(0, interceptor.getInvocationCount("noSuchMethod"));
+		assertTrue(interceptor.getTimeAtPercentile(GET_AGE, 99) <= interceptor.getMaxTime(GET_AGE));
+		assertTrue(interceptor.getReport().indexOf(GET_AGE) != -1);
+
+		interceptor.reset();
+		assertEquals(0, interceptor.getInvocationCount(GET_AGE));
+		assertEquals(0, interceptor.getErrorCount(EXCEPTIONAL));
+	}
+
+	public void testIntervalReporting() throws Exception {
+		LatencyMonitorInterceptor interceptor = new LatencyMonitorInterceptor();
+		interceptor.setIntervalMillis(100);
+		ITestBean proxy = createProxy(interceptor);
+		proxy.getAge();
+		proxy.getAge();
+		assertEquals(0, interceptor.getInvocationCount(GET_AGE));
+		Thread.sleep(150);
+		assertEquals(2, interceptor.getInvocationCount(GET_AGE));
+		Thread.sleep(200);
+		assertEquals(0, interceptor.getInvocationCount(GET_AGE));
+	}
+
+	public void testExportThroughMBeanExporter() throws Exception {
+		LatencyMonitorInterceptor interceptor = new LatencyMonitorInterceptor();
+		createProxy(interceptor).getAge();
+
+		MBeanServer server = MBeanServerFactory.newMBeanServer();
+		MBeanExporter exporter = new MBeanExporter();
+		exporter.setServer(server);
+		ObjectName objectName = new ObjectName("spring:name=latencyMonitor");
+		exporter.registerManagedResource(interceptor, objectName);
+
+		assertEquals(new Integer(1), server.getAttribute(objectName, "MonitoredMethodCount"));
+		assertEquals(new Long(1), server.invoke(objectName, "getInvocationCount",
+				new Object[] {GET_AGE}, new String[] {String.class.getName()}));
+		server.invoke(objectName, "reset", null, null);
+		assertEquals(0, interceptor.getInvocationCount(GET_AGE));
+	}
+
+	private ITestBean createProxy(LatencyMonitorInterceptor interceptor) {
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.setInterfaces(new Class[] {ITestBean.class});
+		pf.addAdvice(interceptor);
+		return (ITestBean) pf.getProxy();
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.support;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.interceptor.NopInterceptor;
+import org.springframework.beans.ITestBean;
+import org.springframework.beans.TestBean;
+
+/**
+ * @author agent
+ */
+public class AdvisorApplicabilityEvaluatorTests extends TestCase {
+
+	public void testSameResultAsAopUtils() {
+		List candidates = new ArrayList();
+		candidates.add(new DefaultPointcutAdvisor(new NopInterceptor()));
+		candidates.add(new NameMatchMethodPointcutAdvisor(new NopInterceptor()));
+		((NameMatchMethodPointcutAdvisor) candidates.get(1)).setMappedName("getAge");
+		candidates.add(new NameMatchMethodPointcutAdvisor(new NopInterceptor()));
+		((NameMatchMethodPointcutAdvisor) candidates.get(2)).setMappedName("noSuchMethod");
+		candidates.add(new DefaultIntroductionAdvisor(new DelegatingIntroductionInterceptor(new TestBean())));
+
+		AdvisorApplicabilityEvaluator evaluator = new AdvisorApplicabilityEvaluator();
+		assertEquals(AopUtils.findAdvisorsThatCanApply(candidates, TestBean.class),
+				evaluator.findAdvisorsThatCanApply(candidates, TestBean.class));
+		assertEquals(AopUtils.findAdvisorsThatCanApply(candidates, String.class),
+				evaluator.findAdvisorsThatCanApply(candidates, String.class));
+	}
+
+	public void testEqualClassFiltersEvaluatedOnce() {
+		CountingClassFilter classFilter1 = new CountingClassFilter();
+		CountingClassFilter classFilter2 = new CountingClassFilter();
+		Advisor advisor1 = createAdvisor(classFilter1);
+		Advisor advisor2 = createAdvisor(classFilter2);
+		List candidates = new ArrayList();
+		candidates.add(advisor1);
+		candidates.add(advisor2);
+
+		AdvisorApplicabilityEvaluator evaluator = new AdvisorApplicabilityEvaluator();
+		assertEquals(2, evaluator.findAdvisorsThatCanApply(candidates, TestBean.class).size());
+		assertEquals(1, classFilter1.count + classFilter2.count);
+		assertTrue(evaluator.findAdvisorsThatCanApply(candidates, String.class).isEmpty());
+		assertEquals(2, classFilter1.count + classFilter2.count);
+
+		assertEquals(2, evaluator.getEvaluationCount(advisor1));
+		assertEquals(2, evaluator.getEvaluationCount(advisor2));
+		assertTrue(evaluator.getMatchingTime(advisor1) >= 0);
+		String report = evaluator.getMatchingReport();
+		assertTrue(report.indexOf(advisor1.toString()) != -1);
+	}
+
+	private Advisor createAdvisor(ClassFilter classFilter) {
+		StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+			public boolean matches(Method method, Class targetClass) {
+				return method.getName().equals("getAge");
+			}
+		};
+		pointcut.setClassFilter(classFilter);
+		return new DefaultPointcutAdvisor(pointcut, new NopInterceptor());
+	}
+
+
+	private static class CountingClassFilter implements ClassFilter {
+
+		public int count;
+
+		public boolean matches(Class clazz) {
+			this.count++;
+			return ITestBean.class.isAssignableFrom(clazz);
+		}
+
+		public boolean equals(Object other) {
+			return (other instanceof CountingClassFilter);
+		}
+
+		public int hashCode() {
+			return CountingClassFilter.class.hashCode();
+		}
+	}
+
+}
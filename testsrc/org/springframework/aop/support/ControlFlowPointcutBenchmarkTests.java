@@ -0,0 +1,85 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.support;
+
+import junit.framework.TestCase;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.interceptor.NopInterceptor;
+import org.springframework.beans.ITestBean;
+import org.springframework.beans.TestBean;
+import org.springframework.util.StopWatch;
+
+/**
+ * Benchmarks for ControlFlowPointcut, comparing stack introspection
+ * (the default) with entry marker based control flow tracking.
+ *
+ * @author agent
+ * @since 2.5.1
+ */
+public class ControlFlowPointcutBenchmarkTests extends TestCase {
+
+	/** Increase this if you want meaningful results! */
+	private static final int ITERATIONS = 10000;
+
+
+	public void testBenchmarks() {
+		StopWatch sw = new StopWatch();
+		sw.start(ITERATIONS + " cflow invocations with stack introspection");
+		int count = timeInvocations(false);
+		sw.stop();
+		assertEquals(ITERATIONS, count);
+
+		sw.start(ITERATIONS + " cflow invocations with entry marker");
+		count = timeInvocations(true);
+		sw.stop();
+		assertEquals(ITERATIONS, count);
+	}
+
+	private int timeInvocations(boolean useEntryMarker) {
+		ControlFlowPointcut cflow = new ControlFlowPointcut(Caller.class, "getAge");
+		cflow.setUseEntryMarker(useEntryMarker);
+		NopInterceptor nop = new NopInterceptor();
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvisor(new DefaultPointcutAdvisor(cflow, nop));
+		ITestBean proxied = (ITestBean) pf.getProxy();
+
+		ProxyFactory callerPf = new ProxyFactory(new Caller());
+		callerPf.setProxyTargetClass(true);
+		if (useEntryMarker) {
+			callerPf.addAdvisor(cflow.getEntryMarkerAdvisor());
+		}
+		else {
+			callerPf.addAdvice(new NopInterceptor());
+		}
+		Caller caller = (Caller) callerPf.getProxy();
+
+		for (int i = 0; i < ITERATIONS; i++) {
+			caller.getAge(proxied);
+		}
+		return nop.getCount();
+	}
+
+
+	public static class Caller {
+
+		public int getAge(ITestBean proxied) {
+			return proxied.getAge();
+		}
+	}
+
+}
@@ -16,6 +16,8 @@
 
 package org.springframework.aop.support;
 
+import java.lang.reflect.Field;
+
 import junit.framework.TestCase;
 
 import org.springframework.aop.Pointcut;
@@ -90,6 +92,96 @@ public class ControlFlowPointcutTests extends TestCase {
 		assertEquals(1, cflow.getEvaluations());
 	}
 
+	public void testMatchesWithEntryMarker() {
+		TestBean target = new TestBean();
+		target.setAge(27);
+		NopInterceptor nop = new NopInterceptor();
+		ControlFlowPointcut cflow = new ControlFlowPointcut(Caller.class, "getAge");
+		cflow.setUseEntryMarker(true);
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.addAdvisor(new DefaultPointcutAdvisor(cflow, nop));
+		ITestBean proxied = (ITestBean) pf.getProxy();
+
+		ProxyFactory callerPf = new ProxyFactory(new Caller());
+		callerPf.setProxyTargetClass(true);
+		callerPf.addAdvisor(cflow.getEntryMarkerAdvisor());
+		Caller caller = (Caller) callerPf.getProxy();
+
+		// Not advised, not under Caller
+		assertEquals(target.getAge(), proxied.getAge());
+		assertEquals(0, nop.getCount());
+
+		// Will be advised
+		assertEquals(target.getAge(), caller.getAge(proxied));
+		assertEquals(1, nop.getCount());
+
+		// Won't be advised
+		assertEquals(target.getAge(), caller.nomatch(proxied));
+		assertEquals(1, nop.getCount());
+
+		// Won't be advised either: entry point not invoked through the proxy
+		assertEquals(target.getAge(), new Caller().getAge(proxied));
+		assertEquals(1, nop.getCount());
+		assertEquals(4, cflow.getEvaluations());
+	}
+
+	public void testEntryMarkerResetAfterException() {
+		ControlFlowPointcut cflow = new ControlFlowPointcut(Caller.class);
+		cflow.setUseEntryMarker(true);
+		ProxyFactory callerPf = new ProxyFactory(new Caller());
+		callerPf.setProxyTargetClass(true);
+		callerPf.addAdvisor(cflow.getEntryMarkerAdvisor());
+		Caller caller = (Caller) callerPf.getProxy();
+		try {
+			caller.getAge(null);
+			fail("Should have thrown NullPointerException");
+		}
+		catch (NullPointerException ex) {
+			// expected
+		}
+		assertFalse(cflow.matches(null, null, null));
+	}
+
+	public void testEntryMarkerReleasedAfterOutermostInvocation() throws Exception {
+		ControlFlowPointcut cflow = new ControlFlowPointcut(Caller.class);
+		cflow.setUseEntryMarker(true);
+		ProxyFactory callerPf = new ProxyFactory(new Caller());
+		callerPf.setProxyTargetClass(true);
+		callerPf.addAdvisor(cflow.getEntryMarkerAdvisor());
+		Caller caller = (Caller) callerPf.getProxy();
+		caller.getAge(new TestBean());
+
+		Field entryCountField = ControlFlowPointcut.class.getDeclaredField("entryCount");
+		entryCountField.setAccessible(true);
+		assertNull(((ThreadLocal) entryCountField.get(cflow)).get());
+	}
+
+	public void testEntryMarkerMatchesSubclassesLikeStackIntrospection() {
+		for (int i = 0; i < 2; i++) {
+			boolean useEntryMarker = (i == 1);
+			assertEquals(1, countAdvisedCalls(new InheritingCaller(), useEntryMarker));
+			assertEquals(0, countAdvisedCalls(new OverridingCaller(), useEntryMarker));
+		}
+	}
+
+	private int countAdvisedCalls(Caller callerTarget, boolean useEntryMarker) {
+		NopInterceptor nop = new NopInterceptor();
+		ControlFlowPointcut cflow = new ControlFlowPointcut(Caller.class, "getAge");
+		cflow.setUseEntryMarker(useEntryMarker);
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvisor(new DefaultPointcutAdvisor(cflow, nop));
+		ITestBean proxied = (ITestBean) pf.getProxy();
+
+		ProxyFactory callerPf = new ProxyFactory(callerTarget);
+		callerPf.setProxyTargetClass(true);
+		if (useEntryMarker) {
+			callerPf.addAdvisor(cflow.getEntryMarkerAdvisor());
+		}
+		Caller caller = (Caller) callerPf.getProxy();
+		caller.getAge(proxied);
+		return nop.getCount();
+	}
+
 	public void testEqualsAndHashCode() throws Exception {
 		assertEquals(new ControlFlowPointcut(One.class), new ControlFlowPointcut(One.class));
 		assertEquals(new ControlFlowPointcut(One.class, "getAge"), new ControlFlowPointcut(One.class, "getAge"));
@@ -97,8 +189,32 @@ public class ControlFlowPointcutTests extends TestCase {
 		assertEquals(new ControlFlowPointcut(One.class).hashCode(), new ControlFlowPointcut(One.class).hashCode());
 		assertEquals(new ControlFlowPointcut(One.class, "getAge").hashCode(), new ControlFlowPointcut(One.class, "getAge").hashCode());
 		assertFalse(new ControlFlowPointcut(One.class, "getAge").hashCode() == new ControlFlowPointcut(One.class).hashCode());
+		ControlFlowPointcut markerBased = new ControlFlowPointcut(One.class);
+		markerBased.setUseEntryMarker(true);
+		assertFalse(markerBased.equals(new ControlFlowPointcut(One.class)));
 	}
 	
+	public static class Caller {
+
+		public int getAge(ITestBean proxied) {
+			return proxied.getAge();
+		}
+
+		public int nomatch(ITestBean proxied) {
+			return proxied.getAge();
+		}
+	}
+
+	public static class InheritingCaller extends Caller {
+	}
+
+	public static class OverridingCaller extends Caller {
+
+		public int getAge(ITestBean proxied) {
+			return proxied.getAge();
+		}
+	}
+
 	public class One {
 		int getAge(ITestBean proxied) {
 			return proxied.getAge();
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.target;
+
+import java.util.NoSuchElementException;
+
+import junit.framework.TestCase;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.ITestBean;
+import org.springframework.beans.SerializablePerson;
+import org.springframework.beans.TestBean;
+import org.springframework.context.support.StaticApplicationContext;
+
+/**
+ * @author agent
+ */
+public class StripedPoolTargetSourceTests extends TestCase {
+
+	private StripedPoolTargetSource targetSource;
+
+	protected void tearDown() {
+		if (this.targetSource != null) {
+			this.targetSource.destroy();
+		}
+	}
+
+	public void testReuseOfReleasedTarget() throws Exception {
+		this.targetSource = new StripedPoolTargetSource();
+		prepareTargetSource(this.targetSource, SerializablePerson.class);
+
+		Object target = this.targetSource.getTarget();
+		assertEquals(1, this.targetSource.getActiveCount());
+		assertEquals(0, this.targetSource.getIdleCount());
+		this.targetSource.releaseTarget(target);
+		assertEquals(0, this.targetSource.getActiveCount());
+		assertEquals(1, this.targetSource.getIdleCount());
+		assertSame(target, this.targetSource.getTarget());
+	}
+
+	public void testHitMaxSize() throws Exception {
+		int maxSize = 10;
+		this.targetSource = new StripedPoolTargetSource();
+		this.targetSource.setMaxSize(maxSize);
+		this.targetSource.setMaxWait(1);
+		this.targetSource.setStripeCount(4);
+		prepareTargetSource(this.targetSource, SerializablePerson.class);
+
+		Object[] pooledInstances = new Object[maxSize];
+		for (int x = 0; x < maxSize; x++) {
+			Object instance = this.targetSource.getTarget();
+			assertNotNull(instance);
+			pooledInstances[x] = instance;
+		}
+		assertEquals(maxSize, this.targetSource.getActiveCount());
+
+		// should be at maximum now
+		try {
+			this.targetSource.getTarget();
+			fail("Should throw NoSuchElementException");
+		}
+		catch (NoSuchElementException ex) {
+			// desired
+		}
+
+		this.targetSource.releaseTarget(pooledInstances[9]);
+		pooledInstances[9] = this.targetSource.getTarget();
+
+		for (int i = 0; i < pooledInstances.length; i++) {
+			this.targetSource.releaseTarget(pooledInstances[i]);
+		}
+		assertEquals(0, this.targetSource.getActiveCount());
+		assertEquals(8, this.targetSource.getIdleCount());
+	}
+
+	public void testFailFastWhenExhausted() throws Exception {
+		this.targetSource = new StripedPoolTargetSource();
+		this.targetSource.setMaxSize(1);
+		this.targetSource.setMaxWait(0);
+		prepareTargetSource(this.targetSource, SerializablePerson.class);
+
+		this.targetSource.getTarget();
+		try {
+			this.targetSource.getTarget();
+			fail("Should throw NoSuchElementException");
+		}
+		catch (NoSuchElementException ex) {
+			// desired
+		}
+	}
+
+	public void testBlockingUntilReleased() throws Exception {
+		this.targetSource = new StripedPoolTargetSource();
+		this.targetSource.setMaxSize(1);
+		this.targetSource.setMaxWait(10000);
+		prepareTargetSource(this.targetSource, SerializablePerson.class);
+
+		final Object target = this.targetSource.getTarget();
+		Thread releaser = new Thread() {
+			public void run() {
+				try {
+					Thread.sleep(50);
+					targetSource.releaseTarget(target);
+				}
+				catch (Exception ex) {
+					throw new IllegalStateException(ex.toString());
+				}
+			}
+		};
+		releaser.start();
+		assertSame(target, this.targetSource.getTarget());
+		releaser.join();
+	}
+
+	public void testMinIdleAndEviction() throws Exception {
+		this.targetSource = new StripedPoolTargetSource();
+		this.targetSource.setMinIdle(2);
+		this.targetSource.setTimeBetweenEvictionRunsMillis(10);
+		this.targetSource.setMinEvictableIdleTimeMillis(0);
+		prepareTargetSource(this.targetSource, SerializablePerson.class);
+		assertEquals(2, this.targetSource.getIdleCount());
+
+		Object[] targets = new Object[5];
+		for (int i = 0; i < targets.length; i++) {
+			targets[i] = this.targetSource.getTarget();
+		}
+		for (int i = 0; i < targets.length; i++) {
+			this.targetSource.releaseTarget(targets[i]);
+		}
+		for (int i = 0; i < 100 && this.targetSource.getIdleCount() > 2; i++) {
+			Thread.sleep(10);
+		}
+		assertEquals(2, this.targetSource.getIdleCount());
+		assertEquals(0, this.targetSource.getActiveCount());
+	}
+
+	public void testConcurrentAccessThroughProxy() throws Exception {
+		this.targetSource = new StripedPoolTargetSource();
+		this.targetSource.setMaxSize(4);
+		prepareTargetSource(this.targetSource, TestBean.class);
+		ProxyFactory pf = new ProxyFactory();
+		pf.setInterfaces(new Class[] {ITestBean.class});
+		pf.setTargetSource(this.targetSource);
+		final ITestBean proxy = (ITestBean) pf.getProxy();
+
+		final Throwable[] failure = new Throwable[1];
+		Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread() {
+				public void run() {
+					try {
+						for (int j = 0; j < 1000; j++) {
+							proxy.setAge(j);
+							proxy.getAge();
+						}
+					}
+					catch (Throwable ex) {
+						failure[0] = ex;
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for (int i = 0; i < threads.length; i++) {
+			threads[i].join();
+		}
+		assertNull(failure[0]);
+		assertEquals(0, this.targetSource.getActiveCount());
+		assertTrue(this.targetSource.getIdleCount() <= 4);
+	}
+
+	private void prepareTargetSource(StripedPoolTargetSource targetSource, Class targetClass) {
+		String beanName = "target";
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.registerPrototype(beanName, targetClass);
+		targetSource.setTargetBeanName(beanName);
+		targetSource.setBeanFactory(applicationContext);
+	}
+
+}
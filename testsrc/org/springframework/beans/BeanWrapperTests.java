@@ -1415,6 +1415,53 @@ public class BeanWrapperTests extends TestCase {
 		}
 	}
 
+	public void testGeneratedAccessors() {
+		TestBean tb = new TestBean();
+		BeanWrapperImpl bw = new BeanWrapperImpl(tb);
+		bw.setUseGeneratedAccessors(true);
+		bw.setPropertyValue("name", "juergen");
+		bw.setPropertyValue("age", "99");
+		bw.setPropertyValue("spouse", new TestBean());
+		bw.setPropertyValue("spouse.name", "kerry");
+		assertEquals("juergen", tb.getName());
+		assertEquals(99, tb.getAge());
+		assertEquals("kerry", tb.getSpouse().getName());
+		assertEquals("juergen", bw.getPropertyValue("name"));
+		assertEquals(new Integer(99), bw.getPropertyValue("age"));
+		assertEquals("kerry", bw.getPropertyValue("spouse.name"));
+		assertNotNull(CachedIntrospectionResults.forClass(TestBean.class).getGeneratedAccessor());
+	}
+
+	public void testGeneratedAccessorsWithExceptions() {
+		TestBean tb = new TestBean();
+		BeanWrapperImpl bw = new BeanWrapperImpl(tb);
+		bw.setUseGeneratedAccessors(true);
+		try {
+			bw.setPropertyValue("touchy", "valid.");
+			fail("Should have thrown MethodInvocationException");
+		}
+		catch (MethodInvocationException ex) {
+			assertEquals("touchy", ex.getPropertyChangeEvent().getPropertyName());
+			assertEquals("Can't contain a .", ex.getCause().getMessage());
+		}
+		try {
+			bw.setPropertyValue("age", null);
+			fail("Should have thrown TypeMismatchException");
+		}
+		catch (TypeMismatchException ex) {
+			assertEquals("age", ex.getPropertyChangeEvent().getPropertyName());
+		}
+	}
+
+	public void testGeneratedAccessorsWithNonPublicClass() {
+		GetterBean gb = new GetterBean();
+		BeanWrapperImpl bw = new BeanWrapperImpl(gb);
+		bw.setUseGeneratedAccessors(true);
+		bw.setPropertyValue("name", "tom");
+		assertEquals("tom", gb.getName());
+		assertEquals("tom", bw.getPropertyValue("name"));
+	}
+
 
 	private static class DifferentTestBean extends TestBean {
 		// class to test naming of beans in a BeanWrapper error message
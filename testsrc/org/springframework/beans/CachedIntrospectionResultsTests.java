@@ -29,20 +29,44 @@ public class CachedIntrospectionResultsTests extends TestCase {
 		BeanWrapper bw = new BeanWrapperImpl(TestBean.class);
 		assertTrue(bw.isWritableProperty("name"));
 		assertTrue(bw.isWritableProperty("age"));
-		assertTrue(CachedIntrospectionResults.classCache.containsKey(TestBean.class));
+		assertTrue(CachedIntrospectionResults.isCached(TestBean.class));
 
 		ClassLoader child = new OverridingClassLoader(getClass().getClassLoader());
 		Class tbClass = child.loadClass("org.springframework.beans.TestBean");
-		assertFalse(CachedIntrospectionResults.classCache.containsKey(tbClass));
+		assertFalse(CachedIntrospectionResults.isCached(tbClass));
 		CachedIntrospectionResults.acceptClassLoader(child);
 		bw = new BeanWrapperImpl(tbClass);
 		assertTrue(bw.isWritableProperty("name"));
 		assertTrue(bw.isWritableProperty("age"));
-		assertTrue(CachedIntrospectionResults.classCache.containsKey(tbClass));
+		assertTrue(CachedIntrospectionResults.isCached(tbClass));
 		CachedIntrospectionResults.clearClassLoader(child);
-		assertFalse(CachedIntrospectionResults.classCache.containsKey(tbClass));
+		assertFalse(CachedIntrospectionResults.isCached(tbClass));
 
-		assertTrue(CachedIntrospectionResults.classCache.containsKey(TestBean.class));
+		assertTrue(CachedIntrospectionResults.isCached(TestBean.class));
+	}
+
+	public void testCacheStatistics() throws Exception {
+		// Warm the cache: BeanWrapperImpl introspects lazily.
+		new BeanWrapperImpl(TestBean.class).getPropertyValue("name");
+		long hits = CachedIntrospectionResults.getCacheHitCount();
+		long misses = CachedIntrospectionResults.getCacheMissCount();
+		long evictions = CachedIntrospectionResults.getCacheEvictionCount();
+
+		new BeanWrapperImpl(TestBean.class).getPropertyValue("name");
+		assertEquals(hits + 1, CachedIntrospectionResults.getCacheHitCount());
+		assertEquals(misses, CachedIntrospectionResults.getCacheMissCount());
+
+		ClassLoader child = new OverridingClassLoader(getClass().getClassLoader());
+		Class tbClass = child.loadClass("org.springframework.beans.TestBean");
+		CachedIntrospectionResults.acceptClassLoader(child);
+		new BeanWrapperImpl(tbClass).getPropertyValue("name");
+		assertEquals(misses + 1, CachedIntrospectionResults.getCacheMissCount());
+		new BeanWrapperImpl(tbClass).getPropertyValue("name");
+		assertEquals(hits + 2, CachedIntrospectionResults.getCacheHitCount());
+
+		CachedIntrospectionResults.clearClassLoader(child);
+		assertEquals(evictions + 1, CachedIntrospectionResults.getCacheEvictionCount());
+		assertFalse(CachedIntrospectionResults.isCached(tbClass));
 	}
 
 }
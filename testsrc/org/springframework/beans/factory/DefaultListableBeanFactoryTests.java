@@ -1557,6 +1557,53 @@ public class DefaultListableBeanFactoryTests extends TestCase {
 		assertTrue("Prototype creation took too long: " + sw.getTotalTimeMillis(), sw.getTotalTimeMillis() < 3000);
 	}
 
+	public void testPrototypeCreationWithPropertiesAndInstantiationPlansIsFastEnough() {
+		if (factoryLog.isTraceEnabled() || factoryLog.isDebugEnabled()) {
+			// Skip this test: Trace logging blows the time limit.
+			return;
+		}
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setCacheInstantiationPlans(true);
+		RootBeanDefinition rbd = new RootBeanDefinition(TestBean.class, false);
+		rbd.getPropertyValues().addPropertyValue("name", "juergen");
+		rbd.getPropertyValues().addPropertyValue("age", "99");
+		lbf.registerBeanDefinition("test", rbd);
+		StopWatch sw = new StopWatch();
+		sw.start("prototype");
+		for (int i = 0; i < 100000; i++) {
+			TestBean tb = (TestBean) lbf.getBean("test");
+			assertEquals("juergen", tb.getName());
+			assertEquals(99, tb.getAge());
+		}
+		sw.stop();
+		assertTrue("Prototype creation took too long: " + sw.getTotalTimeMillis(), sw.getTotalTimeMillis() < 3000);
+	}
+
+	public void testPrototypeCreationWithInstantiationPlans() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setCacheInstantiationPlans(true);
+		RootBeanDefinition rbd = new RootBeanDefinition(TestBean.class, false);
+		rbd.getPropertyValues().addPropertyValue("name", "juergen");
+		rbd.getPropertyValues().addPropertyValue("age", "99");
+		rbd.getPropertyValues().addPropertyValue("spouse", new RuntimeBeanReference("spouse"));
+		lbf.registerBeanDefinition("test", rbd);
+		RootBeanDefinition rbd2 = new RootBeanDefinition(TestBean.class, false);
+		rbd2.getPropertyValues().addPropertyValue("name", "kerry");
+		rbd2.getPropertyValues().addPropertyValue("age", "34");
+		lbf.registerBeanDefinition("spouse", rbd2);
+		TestBean previous = null;
+		for (int i = 0; i < 5; i++) {
+			TestBean tb = (TestBean) lbf.getBean("test");
+			assertNotSame(previous, tb);
+			assertEquals("juergen", tb.getName());
+			assertEquals(99, tb.getAge());
+			assertEquals("kerry", tb.getSpouse().getName());
+			assertEquals(34, tb.getSpouse().getAge());
+			assertNotSame(tb.getSpouse(), lbf.getBean("spouse"));
+			previous = tb;
+		}
+	}
+
 	/**
 	public void testPrototypeCreationWithPropertiesIsFastEnough2() throws Exception {
 		if (factoryLog.isTraceEnabled() || factoryLog.isDebugEnabled()) {
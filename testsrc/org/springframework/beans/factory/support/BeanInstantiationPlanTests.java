@@ -0,0 +1,60 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import junit.framework.TestCase;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.TestBean;
+
+/**
+ * @author agent
+ */
+public class BeanInstantiationPlanTests extends TestCase {
+
+	public void testExecutablePlan() {
+		MutablePropertyValues mpvs = new MutablePropertyValues();
+		PropertyValue pv = new PropertyValue("age", "99");
+		pv.setConvertedValue(new Integer(99));
+		mpvs.addPropertyValue(pv);
+		mpvs.setConverted();
+
+		BeanInstantiationPlan plan = BeanInstantiationPlan.build(new BeanWrapperImpl(new TestBean()), mpvs);
+		assertTrue(plan.isExecutable());
+		assertTrue(plan.isApplicableTo(TestBean.class));
+		TestBean tb = new TestBean();
+		plan.apply(tb);
+		assertEquals(99, tb.getAge());
+	}
+
+	public void testNonExecutableMarkerForUnsupportedPropertyValues() {
+		MutablePropertyValues mpvs = new MutablePropertyValues();
+		PropertyValue pv = new PropertyValue("doctor.company", "acme");
+		pv.setConvertedValue("acme");
+		mpvs.addPropertyValue(pv);
+		mpvs.setConverted();
+
+		BeanInstantiationPlan plan = BeanInstantiationPlan.build(new BeanWrapperImpl(new TestBean()), mpvs);
+		assertNotNull(plan);
+		assertFalse(plan.isExecutable());
+		assertTrue(plan.isApplicableTo(TestBean.class));
+		assertFalse(plan.isApplicableTo(Object.class));
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import junit.framework.TestCase;
+
+import org.springframework.beans.TestBean;
+import org.springframework.beans.factory.ObjectFactory;
+
+/**
+ * @author agent
+ */
+public class DefaultSingletonBeanRegistryTests extends TestCase {
+
+	public void testSingletons() {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+
+		TestBean tb = new TestBean();
+		beanRegistry.registerSingleton("tb", tb);
+		assertSame(tb, beanRegistry.getSingleton("tb"));
+
+		TestBean tb2 = (TestBean) beanRegistry.getSingleton("tb2", new ObjectFactory() {
+			public Object getObject() {
+				return new TestBean();
+			}
+		});
+		assertSame(tb2, beanRegistry.getSingleton("tb2"));
+		assertSame(tb2, beanRegistry.getSingleton("tb2", new ObjectFactory() {
+			public Object getObject() {
+				throw new IllegalStateException("Should not have been called");
+			}
+		}));
+
+		assertEquals(2, beanRegistry.getSingletonCount());
+		String[] names = beanRegistry.getSingletonNames();
+		assertEquals(2, names.length);
+		assertEquals("tb", names[0]);
+		assertEquals("tb2", names[1]);
+
+		beanRegistry.destroySingletons();
+		assertEquals(0, beanRegistry.getSingletonCount());
+		assertEquals(0, beanRegistry.getSingletonNames().length);
+	}
+
+	public void testEarlySingletonExposure() {
+		final DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		final TestBean early = new TestBean();
+
+		Object singleton = beanRegistry.getSingleton("tb", new ObjectFactory() {
+			public Object getObject() {
+				beanRegistry.addEarlySingleton("tb", early);
+				assertTrue(beanRegistry.isSingletonCurrentlyInCreation("tb"));
+				assertTrue(beanRegistry.containsSingleton("tb"));
+				assertSame(early, beanRegistry.getSingleton("tb"));
+				return early;
+			}
+		});
+
+		assertSame(early, singleton);
+		assertFalse(beanRegistry.isSingletonCurrentlyInCreation("tb"));
+		assertSame(early, beanRegistry.getSingleton("tb"));
+		assertEquals(1, beanRegistry.getSingletonCount());
+	}
+
+	public void testEarlySingletonRemovedOnDestroy() {
+		final DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		try {
+			beanRegistry.getSingleton("tb", new ObjectFactory() {
+				public Object getObject() {
+					beanRegistry.addEarlySingleton("tb", new TestBean());
+					beanRegistry.destroySingleton("tb");
+					throw new IllegalStateException("Creation failed");
+				}
+			});
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+		assertFalse(beanRegistry.containsSingleton("tb"));
+		assertNull(beanRegistry.getSingleton("tb"));
+		assertEquals(0, beanRegistry.getSingletonCount());
+	}
+
+}
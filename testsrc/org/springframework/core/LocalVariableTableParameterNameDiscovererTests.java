@@ -62,6 +62,20 @@ public class LocalVariableTableParameterNameDiscovererTests extends TestCase {
 		assertEquals("age", names[1]);
 	}
 
+	public void testClassFileReadOnceAcrossDiscovererInstances() throws NoSuchMethodException {
+		Method m = CacheProbe.class.getMethod("probe", new Class[] {String.class, int.class});
+		assertFalse(LocalVariableTableParameterNameDiscoverer.isCached(CacheProbe.class));
+		String[] names = new LocalVariableTableParameterNameDiscoverer().getParameterNames(m);
+		assertTrue(LocalVariableTableParameterNameDiscoverer.isCached(CacheProbe.class));
+		assertEquals("first", names[0]);
+		assertEquals("second", names[1]);
+
+		names[0] = "modified";
+		String[] otherNames = new LocalVariableTableParameterNameDiscoverer().getParameterNames(m);
+		assertEquals("first", otherNames[0]);
+		assertEquals("second", otherNames[1]);
+	}
+
 	public void testStaticMethodParameterNameDiscoveryNoArgs() throws NoSuchMethodException {
 		Method m = getClass().getMethod("staticMethodNoLocalVars", new Class[0]);
 		String[] names = discoverer.getParameterNames(m);
@@ -141,6 +155,31 @@ public class LocalVariableTableParameterNameDiscovererTests extends TestCase {
 		assertEquals("bb", names[1]);
 	}
 
+	public void testRepeatedDiscoveryReturnsIndependentArrays() throws Exception {
+		Method setName = TestBean.class.getMethod("setName", new Class[]{String.class});
+		String[] names = discoverer.getParameterNames(setName);
+		names[0] = "modified";
+		String[] names2 = discoverer.getParameterNames(setName);
+		assertNotSame(names, names2);
+		assertEquals("name", names2[0]);
+
+		// Other members of the same class are answered from the same class file pass.
+		Method setAge = TestBean.class.getMethod("setAge", new Class[]{int.class});
+		assertEquals("age", discoverer.getParameterNames(setAge)[0]);
+	}
+
+	public void testClassWithoutClassFile() throws Exception {
+		Object proxy = java.lang.reflect.Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class[] {Comparable.class}, new java.lang.reflect.InvocationHandler() {
+					public Object invoke(Object proxy, Method method, Object[] args) {
+						return null;
+					}
+				});
+		Method compareTo = proxy.getClass().getMethod("compareTo", new Class[]{Object.class});
+		assertNull(discoverer.getParameterNames(compareTo));
+		assertNull(discoverer.getParameterNames(compareTo));
+	}
+
 
 	public static void staticMethodNoLocalVars() {
 	}
@@ -198,4 +237,11 @@ public class LocalVariableTableParameterNameDiscovererTests extends TestCase {
 		}
 	}
 
+
+	public static class CacheProbe {
+
+		public void probe(String first, int second) {
+		}
+	}
+
 }
@@ -38,6 +38,27 @@ public final class SimpleAsyncTaskExecutorTests extends TestCase {
 		}
 	}
 
+	public void testRejectsWhenQueueIsFull() throws Exception {
+		final Object monitor = new Object();
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+		executor.setConcurrencyLimit(1);
+		executor.setMaxQueueSize(0);
+		synchronized (monitor) {
+			executor.execute(new AbstractNotifyingRunnable(monitor) {
+				protected void doRun() {
+				}
+			});
+			try {
+				executor.execute(new NoOpRunnable());
+				fail("Should have thrown TaskRejectedException");
+			}
+			catch (TaskRejectedException expected) {
+			}
+			assertEquals(1, executor.getRejectedCount());
+			monitor.wait();
+		}
+	}
+
 	public void testThrottleIsNotActiveByDefault() throws Exception {
 		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
 		assertFalse("Concurrency throttle must not default to being active (on)", executor.isThrottleActive());
@@ -16,11 +16,16 @@
 
 package org.springframework.jdbc.core;
 
+import org.easymock.MockControl;
+import org.springframework.beans.MethodInvocationException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.jdbc.core.test.Person;
 import org.springframework.jdbc.core.test.ConcretePerson;
 
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.List;
 
 /**
@@ -76,4 +81,211 @@ public class BeanPropertyRowMapperTests extends AbstractRowMapperTests {
 
 	}
 
+	public void testColumnPlanReusedForSubsequentRows() throws SQLException {
+		MockControl rsmdControl = MockControl.createControl(ResultSetMetaData.class);
+		ResultSetMetaData rsmd = (ResultSetMetaData) rsmdControl.getMock();
+		rsmd.getColumnCount();
+		rsmdControl.setReturnValue(3, 1);
+		rsmd.getColumnLabel(1);
+		rsmdControl.setReturnValue("NAME", 1);
+		rsmd.getColumnLabel(2);
+		rsmdControl.setReturnValue("unknown", 1);
+		rsmd.getColumnLabel(3);
+		rsmdControl.setReturnValue("age", 1);
+		rsmd.getColumnType(1);
+		rsmdControl.setReturnValue(Types.VARCHAR, 1);
+		rsmd.getColumnType(3);
+		rsmdControl.setReturnValue(Types.NUMERIC, 1);
+		rsmdControl.replay();
+
+		MockControl rsControl = MockControl.createControl(ResultSet.class);
+		ResultSet rs = (ResultSet) rsControl.getMock();
+		rs.getMetaData();
+		rsControl.setReturnValue(rsmd, 1);
+		rs.getString(1);
+		rsControl.setReturnValue("Bubba", 1);
+		rs.getLong(3);
+		rsControl.setReturnValue(22, 1);
+		rs.getString(1);
+		rsControl.setReturnValue(null, 1);
+		rs.getLong(3);
+		rsControl.setReturnValue(0, 1);
+		rsControl.replay();
+
+		BeanPropertyRowMapper mapper = new BeanPropertyRowMapper(Person.class);
+		Person bean = (Person) mapper.mapRow(rs, 0);
+		assertEquals("Bubba", bean.getName());
+		assertEquals(22L, bean.getAge());
+		bean = (Person) mapper.mapRow(rs, 1);
+		assertNull(bean.getName());
+		assertEquals(0L, bean.getAge());
+		rsControl.verify();
+		rsmdControl.verify();
+	}
+
+	public void testColumnMappingsSharedAcrossResultSets() throws SQLException {
+		MockControl rsmdControl = MockControl.createControl(ResultSetMetaData.class);
+		ResultSetMetaData rsmd = (ResultSetMetaData) rsmdControl.getMock();
+		rsmd.getColumnCount();
+		rsmdControl.setReturnValue(1, 2);
+		rsmd.getColumnLabel(1);
+		rsmdControl.setReturnValue("name", 2);
+		rsmd.getColumnType(1);
+		rsmdControl.setReturnValue(Types.VARCHAR, 1);
+		rsmdControl.replay();
+
+		MockControl rs1Control = MockControl.createControl(ResultSet.class);
+		ResultSet rs1 = (ResultSet) rs1Control.getMock();
+		rs1.getMetaData();
+		rs1Control.setReturnValue(rsmd, 1);
+		rs1.getString(1);
+		rs1Control.setReturnValue("Bubba", 1);
+		rs1Control.replay();
+
+		MockControl rs2Control = MockControl.createControl(ResultSet.class);
+		ResultSet rs2 = (ResultSet) rs2Control.getMock();
+		rs2.getMetaData();
+		rs2Control.setReturnValue(rsmd, 1);
+		rs2.getString(1);
+		rs2Control.setReturnValue("Dudley", 1);
+		rs2Control.replay();
+
+		BeanPropertyRowMapper mapper = new BeanPropertyRowMapper(Person.class);
+		assertEquals("Bubba", ((Person) mapper.mapRow(rs1, 0)).getName());
+		assertEquals("Dudley", ((Person) mapper.mapRow(rs2, 0)).getName());
+		rs1Control.verify();
+		rs2Control.verify();
+		rsmdControl.verify();
+	}
+
+	public void testInterleavedResultSetsWithDifferentColumns() throws SQLException {
+		MockControl rsmd1Control = MockControl.createControl(ResultSetMetaData.class);
+		ResultSetMetaData rsmd1 = (ResultSetMetaData) rsmd1Control.getMock();
+		rsmd1.getColumnCount();
+		rsmd1Control.setReturnValue(2, 2);
+		rsmd1.getColumnLabel(1);
+		rsmd1Control.setReturnValue("name", 2);
+		rsmd1.getColumnLabel(2);
+		rsmd1Control.setReturnValue("age", 2);
+		rsmd1.getColumnType(1);
+		rsmd1Control.setReturnValue(Types.VARCHAR, 1);
+		rsmd1.getColumnType(2);
+		rsmd1Control.setReturnValue(Types.NUMERIC, 1);
+		rsmd1Control.replay();
+
+		MockControl rs1Control = MockControl.createControl(ResultSet.class);
+		ResultSet rs1 = (ResultSet) rs1Control.getMock();
+		rs1.getMetaData();
+		rs1Control.setReturnValue(rsmd1, 2);
+		rs1.getString(1);
+		rs1Control.setReturnValue("Bubba", 2);
+		rs1.getLong(2);
+		rs1Control.setReturnValue(22, 2);
+		rs1Control.replay();
+
+		MockControl rsmd2Control = MockControl.createControl(ResultSetMetaData.class);
+		ResultSetMetaData rsmd2 = (ResultSetMetaData) rsmd2Control.getMock();
+		rsmd2.getColumnCount();
+		rsmd2Control.setReturnValue(1, 1);
+		rsmd2.getColumnLabel(1);
+		rsmd2Control.setReturnValue("age", 1);
+		rsmd2.getColumnType(1);
+		rsmd2Control.setReturnValue(Types.NUMERIC, 1);
+		rsmd2Control.replay();
+
+		MockControl rs2Control = MockControl.createControl(ResultSet.class);
+		ResultSet rs2 = (ResultSet) rs2Control.getMock();
+		rs2.getMetaData();
+		rs2Control.setReturnValue(rsmd2, 1);
+		rs2.getLong(1);
+		rs2Control.setReturnValue(33, 1);
+		rs2Control.replay();
+
+		BeanPropertyRowMapper mapper = new BeanPropertyRowMapper(Person.class);
+		Person bean = (Person) mapper.mapRow(rs1, 0);
+		assertEquals("Bubba", bean.getName());
+		bean = (Person) mapper.mapRow(rs2, 0);
+		assertNull(bean.getName());
+		assertEquals(33L, bean.getAge());
+		// Back to the first ResultSet: needs its own columns again.
+		bean = (Person) mapper.mapRow(rs1, 1);
+		assertEquals("Bubba", bean.getName());
+		assertEquals(22L, bean.getAge());
+		rs1Control.verify();
+		rsmd1Control.verify();
+		rs2Control.verify();
+		rsmd2Control.verify();
+	}
+
+	public void testDuplicateColumnNamesMapFirstColumn() throws SQLException {
+		MockControl rsmdControl = MockControl.createControl(ResultSetMetaData.class);
+		ResultSetMetaData rsmd = (ResultSetMetaData) rsmdControl.getMock();
+		rsmd.getColumnCount();
+		rsmdControl.setReturnValue(2, 1);
+		rsmd.getColumnLabel(1);
+		rsmdControl.setReturnValue("name", 1);
+		rsmd.getColumnLabel(2);
+		rsmdControl.setReturnValue("NAME", 1);
+		rsmd.getColumnType(1);
+		rsmdControl.setReturnValue(Types.VARCHAR, 1);
+		rsmdControl.replay();
+
+		MockControl rsControl = MockControl.createControl(ResultSet.class);
+		ResultSet rs = (ResultSet) rsControl.getMock();
+		rs.getMetaData();
+		rsControl.setReturnValue(rsmd, 1);
+		rs.getString(1);
+		rsControl.setReturnValue("Bubba", 1);
+		rsControl.replay();
+
+		BeanPropertyRowMapper mapper = new BeanPropertyRowMapper(Person.class);
+		assertEquals("Bubba", ((Person) mapper.mapRow(rs, 0)).getName());
+		rsControl.verify();
+		rsmdControl.verify();
+	}
+
+	public void testSetterExceptionExposedAsMethodInvocationException() throws SQLException {
+		MockControl rsmdControl = MockControl.createControl(ResultSetMetaData.class);
+		ResultSetMetaData rsmd = (ResultSetMetaData) rsmdControl.getMock();
+		rsmd.getColumnCount();
+		rsmdControl.setReturnValue(1, 1);
+		rsmd.getColumnLabel(1);
+		rsmdControl.setReturnValue("name", 1);
+		rsmd.getColumnType(1);
+		rsmdControl.setReturnValue(Types.VARCHAR, 1);
+		rsmdControl.replay();
+
+		MockControl rsControl = MockControl.createControl(ResultSet.class);
+		ResultSet rs = (ResultSet) rsControl.getMock();
+		rs.getMetaData();
+		rsControl.setReturnValue(rsmd, 1);
+		rs.getString(1);
+		rsControl.setReturnValue("Bubba", 1);
+		rsControl.replay();
+
+		BeanPropertyRowMapper mapper = new BeanPropertyRowMapper(FailingPerson.class);
+		try {
+			mapper.mapRow(rs, 0);
+			fail("Should have thrown MethodInvocationException");
+		}
+		catch (MethodInvocationException ex) {
+			assertEquals("name", ex.getPropertyChangeEvent().getPropertyName());
+			assertTrue(ex.getCause() instanceof IllegalArgumentException);
+		}
+	}
+
+
+	public static class FailingPerson {
+
+		private String name;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			throw new IllegalArgumentException("Name not accepted: " + name);
+		}
+	}
+
 }
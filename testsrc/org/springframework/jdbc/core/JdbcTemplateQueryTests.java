@@ -25,9 +25,11 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 import org.easymock.MockControl;
 
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.jdbc.AbstractJdbcTests;
 
@@ -931,4 +933,162 @@ public class JdbcTemplateQueryTests extends AbstractJdbcTests {
 		assertEquals("Return of a long", 87, l);
 	}
 
+	public void testQueryForIteratorWithArgs() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR WHERE ID < ?";
+
+		mockResultSet.next();
+		ctrlResultSet.setReturnValue(true);
+		mockResultSet.getInt(1);
+		ctrlResultSet.setReturnValue(11);
+		mockResultSet.next();
+		ctrlResultSet.setReturnValue(true);
+		mockResultSet.getInt(1);
+		ctrlResultSet.setReturnValue(12);
+		mockResultSet.next();
+		ctrlResultSet.setReturnValue(false);
+		mockResultSet.close();
+		ctrlResultSet.setVoidCallable();
+
+		mockPreparedStatement.setFetchSize(100);
+		ctrlPreparedStatement.setVoidCallable();
+		mockPreparedStatement.setObject(1, new Integer(3));
+		ctrlPreparedStatement.setVoidCallable();
+		mockPreparedStatement.executeQuery();
+		ctrlPreparedStatement.setReturnValue(mockResultSet);
+		mockPreparedStatement.getWarnings();
+		ctrlPreparedStatement.setReturnValue(null);
+		mockPreparedStatement.close();
+		ctrlPreparedStatement.setVoidCallable();
+
+		mockConnection.prepareStatement(sql);
+		ctrlConnection.setReturnValue(mockPreparedStatement);
+
+		replay();
+
+		JdbcTemplate template = new JdbcTemplate(mockDataSource);
+		template.setFetchSize(100);
+		RowIterator it = template.queryForIterator(sql, new Object[] {new Integer(3)}, new RowMapper() {
+			public Object mapRow(ResultSet rs, int rowNum) throws SQLException {
+				return new Integer(rs.getInt(1));
+			}
+		});
+		assertTrue(it.hasNext());
+		assertTrue(it.hasNext());
+		assertEquals(new Integer(11), it.next());
+		assertEquals(new Integer(12), it.next());
+		assertFalse(it.hasNext());
+		try {
+			it.next();
+			fail("Should have thrown NoSuchElementException");
+		}
+		catch (NoSuchElementException ex) {
+			// expected
+		}
+		it.close();
+	}
+
+	public void testQueryForIteratorClosedEarly() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR";
+
+		mockResultSet.next();
+		ctrlResultSet.setReturnValue(true);
+		mockResultSet.getInt(1);
+		ctrlResultSet.setReturnValue(11);
+		mockResultSet.close();
+		ctrlResultSet.setVoidCallable();
+
+		mockPreparedStatement.executeQuery();
+		ctrlPreparedStatement.setReturnValue(mockResultSet);
+		mockPreparedStatement.close();
+		ctrlPreparedStatement.setVoidCallable();
+
+		mockConnection.prepareStatement(sql);
+		ctrlConnection.setReturnValue(mockPreparedStatement);
+
+		replay();
+
+		JdbcTemplate template = new JdbcTemplate(mockDataSource);
+		RowIterator it = template.queryForIterator(sql, (PreparedStatementSetter) null, new RowMapper() {
+			public Object mapRow(ResultSet rs, int rowNum) throws SQLException {
+				return new Integer(rs.getInt(1));
+			}
+		});
+		assertEquals(new Integer(11), it.next());
+		it.close();
+		assertFalse(it.hasNext());
+		it.close();
+	}
+
+	public void testQueryForIteratorWithSQLExceptionWhileMapping() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR";
+		final SQLException sex = new SQLException("bad column");
+
+		mockResultSet.next();
+		ctrlResultSet.setReturnValue(true);
+		mockResultSet.close();
+		ctrlResultSet.setVoidCallable();
+
+		mockPreparedStatement.executeQuery();
+		ctrlPreparedStatement.setReturnValue(mockResultSet);
+		mockPreparedStatement.close();
+		ctrlPreparedStatement.setVoidCallable();
+
+		mockConnection.prepareStatement(sql);
+		ctrlConnection.setReturnValue(mockPreparedStatement);
+
+		replay();
+
+		JdbcTemplate template = new JdbcTemplate(mockDataSource);
+		RowIterator it = template.queryForIterator(sql, (PreparedStatementSetter) null, new RowMapper() {
+			public Object mapRow(ResultSet rs, int rowNum) throws SQLException {
+				throw sex;
+			}
+		});
+		try {
+			it.next();
+			fail("Should have thrown DataAccessException");
+		}
+		catch (DataAccessException ex) {
+			assertSame(sex, ex.getCause());
+		}
+		assertFalse(it.hasNext());
+	}
+
+	public void testQueryForIteratorCleansUpParametersOnRuntimeException() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR WHERE ID = ?";
+		final IllegalStateException failure = new IllegalStateException("bad parameter");
+
+		mockPreparedStatement.close();
+		ctrlPreparedStatement.setVoidCallable();
+
+		mockConnection.prepareStatement(sql);
+		ctrlConnection.setReturnValue(mockPreparedStatement);
+
+		replay();
+
+		final boolean[] cleanedUp = new boolean[1];
+		class FailingSetter implements PreparedStatementSetter, ParameterDisposer {
+			public void setValues(PreparedStatement ps) {
+				throw failure;
+			}
+			public void cleanupParameters() {
+				cleanedUp[0] = true;
+			}
+		}
+
+		JdbcTemplate template = new JdbcTemplate(mockDataSource);
+		try {
+			template.queryForIterator(sql, new FailingSetter(), new RowMapper() {
+				public Object mapRow(ResultSet rs, int rowNum) {
+					return null;
+				}
+			});
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			assertSame(failure, ex);
+		}
+		assertTrue(cleanedUp[0]);
+	}
+
 }
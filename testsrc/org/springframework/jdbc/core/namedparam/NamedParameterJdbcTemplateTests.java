@@ -20,6 +20,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -33,11 +34,13 @@ import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.AbstractJdbcTests;
 import org.springframework.jdbc.Customer;
 import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.PreparedStatementCallback;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.SqlProvider;
 import org.springframework.test.AssertThrows;
 
 /**
@@ -392,4 +395,51 @@ public class NamedParameterJdbcTemplateTests extends AbstractJdbcTests {
 		assertTrue("Customer forename was assigned correctly", cust.getForename().equals("rod"));
 	}
 
+	public void testParsedSqlCache() throws Exception {
+		NamedParameterJdbcTemplate jt = new NamedParameterJdbcTemplate(mockDataSource);
+		ParsedSql parsedSql = jt.getParsedSql(SELECT_NAMED_PARAMETERS);
+		assertSame(parsedSql, jt.getParsedSql(SELECT_NAMED_PARAMETERS));
+		assertEquals(NamedParameterJdbcTemplate.DEFAULT_CACHE_LIMIT, jt.getCacheLimit());
+	}
+
+	public void testParsedSqlCacheWithLimit() throws Exception {
+		NamedParameterJdbcTemplate jt = new NamedParameterJdbcTemplate(mockDataSource);
+		jt.setCacheLimit(2);
+		ParsedSql parsedSql1 = jt.getParsedSql("select * from t1 where id = :id");
+		ParsedSql parsedSql2 = jt.getParsedSql("select * from t2 where id = :id");
+		// Use the first statement again, so that the second one is the least recently used.
+		assertSame(parsedSql1, jt.getParsedSql("select * from t1 where id = :id"));
+		jt.getParsedSql("select * from t3 where id = :id");
+		assertSame(parsedSql1, jt.getParsedSql("select * from t1 where id = :id"));
+		assertNotSame(parsedSql2, jt.getParsedSql("select * from t2 where id = :id"));
+	}
+
+	public void testPreparedStatementCreatorWithCachedFactory() throws Exception {
+		NamedParameterJdbcTemplate jt = new NamedParameterJdbcTemplate(mockDataSource);
+		MapSqlParameterSource params = new MapSqlParameterSource();
+		params.addValue("id", new Integer(1));
+		params.addValue("country", "UK");
+		PreparedStatementCreator psc1 = jt.getPreparedStatementCreator(SELECT_NAMED_PARAMETERS, params);
+		PreparedStatementCreator psc2 = jt.getPreparedStatementCreator(SELECT_NAMED_PARAMETERS, params);
+		assertNotSame(psc1, psc2);
+		assertEquals(SELECT_NAMED_PARAMETERS_PARSED, ((SqlProvider) psc1).getSql());
+		assertEquals(SELECT_NAMED_PARAMETERS_PARSED, ((SqlProvider) psc2).getSql());
+
+		params.registerSqlType("id", Types.DECIMAL);
+		PreparedStatementCreator psc3 = jt.getPreparedStatementCreator(SELECT_NAMED_PARAMETERS, params);
+		assertEquals(SELECT_NAMED_PARAMETERS_PARSED, ((SqlProvider) psc3).getSql());
+	}
+
+	public void testPreparedStatementCreatorWithCollectionParameter() throws Exception {
+		NamedParameterJdbcTemplate jt = new NamedParameterJdbcTemplate(mockDataSource);
+		String sql = "select id from custmr where id in (:ids)";
+		MapSqlParameterSource params = new MapSqlParameterSource();
+		params.addValue("ids", Arrays.asList(new Object[] {new Integer(1), new Integer(2)}));
+		PreparedStatementCreator psc = jt.getPreparedStatementCreator(sql, params);
+		assertEquals("select id from custmr where id in (?, ?)", ((SqlProvider) psc).getSql());
+		params.addValue("ids", Arrays.asList(new Object[] {new Integer(1), new Integer(2), new Integer(3)}));
+		psc = jt.getPreparedStatementCreator(sql, params);
+		assertEquals("select id from custmr where id in (?, ?, ?)", ((SqlProvider) psc).getSql());
+	}
+
 }
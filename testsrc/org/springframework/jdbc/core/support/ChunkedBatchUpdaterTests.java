@@ -0,0 +1,242 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * @author agent
+ */
+public class ChunkedBatchUpdaterTests extends TestCase {
+
+	public void testSequentialChunks() {
+		RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+		ChunkedBatchUpdater updater = new ChunkedBatchUpdater(jdbcTemplate);
+		updater.setChunkSize(1000);
+
+		ChunkedBatchUpdater.BatchResult result = updater.batchUpdate("INSERT", createArgs(2500).iterator());
+		assertEquals(3, result.getChunkCount());
+		assertEquals(1000, result.getUpdateCounts(0).length);
+		assertEquals(1000, result.getUpdateCounts(1).length);
+		assertEquals(500, result.getUpdateCounts(2).length);
+		assertEquals(2500, result.getRowCount());
+		assertEquals(2500 * 2499 / 2, result.getTotalUpdateCount());
+		assertTrue(result.getExecutionTime(0) >= 0);
+		assertTrue(result.getTotalTime() >= 0);
+		assertEquals(1, jdbcTemplate.threads.size());
+		assertTrue(jdbcTemplate.threads.contains(Thread.currentThread()));
+	}
+
+	public void testEmptyIterator() {
+		ChunkedBatchUpdater updater = new ChunkedBatchUpdater(new RecordingJdbcTemplate());
+		ChunkedBatchUpdater.BatchResult result = updater.batchUpdate("INSERT", Collections.EMPTY_LIST.iterator());
+		assertEquals(0, result.getChunkCount());
+		assertEquals(0, result.getUpdateCounts().length);
+	}
+
+	public void testConcurrentChunks() {
+		RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+		jdbcTemplate.delay = 20;
+		ChunkedBatchUpdater updater = new ChunkedBatchUpdater(jdbcTemplate);
+		updater.setChunkSize(10);
+		updater.setTaskExecutor(new SimpleAsyncTaskExecutor());
+		updater.setConcurrency(3);
+
+		ChunkedBatchUpdater.BatchResult result = updater.batchUpdate("INSERT", createArgs(95).iterator());
+		assertEquals(10, result.getChunkCount());
+		int[] updateCounts = result.getUpdateCounts();
+		assertEquals(95, updateCounts.length);
+		for (int i = 0; i < updateCounts.length; i++) {
+			assertEquals(i, updateCounts[i]);
+		}
+		assertTrue(jdbcTemplate.maxActive <= 3);
+		assertFalse(jdbcTemplate.threads.contains(Thread.currentThread()));
+	}
+
+	public void testConcurrentChunksWithFailure() {
+		RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+		jdbcTemplate.failAtChunk = 2;
+		jdbcTemplate.delay = 20;
+		ChunkedBatchUpdater updater = new ChunkedBatchUpdater(jdbcTemplate);
+		updater.setChunkSize(10);
+		updater.setTaskExecutor(new SimpleAsyncTaskExecutor());
+		updater.setConcurrency(2);
+
+		try {
+			updater.batchUpdate("INSERT", createArgs(100).iterator());
+			fail("Should have thrown DataIntegrityViolationException");
+		}
+		catch (DataIntegrityViolationException ex) {
+			// expected
+		}
+		assertEquals(0, jdbcTemplate.active);
+		assertTrue(jdbcTemplate.chunkCount < 10);
+	}
+
+	public void testConcurrentChunksWithError() {
+		RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+		jdbcTemplate.failAtChunk = 1;
+		jdbcTemplate.failWithError = true;
+		ChunkedBatchUpdater updater = new ChunkedBatchUpdater(jdbcTemplate);
+		updater.setChunkSize(10);
+		updater.setTaskExecutor(new SimpleAsyncTaskExecutor());
+		updater.setConcurrency(2);
+
+		try {
+			updater.batchUpdate("INSERT", createArgs(30).iterator());
+			fail("Should have thrown OutOfMemoryError");
+		}
+		catch (OutOfMemoryError err) {
+			// expected
+		}
+		assertEquals(0, jdbcTemplate.active);
+	}
+
+	public void testChunksExecutedOnCallingThreadWithinTransactionSynchronization() {
+		RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+		ChunkedBatchUpdater updater = new ChunkedBatchUpdater(jdbcTemplate);
+		updater.setChunkSize(10);
+		updater.setTaskExecutor(new SimpleAsyncTaskExecutor());
+		updater.setConcurrency(4);
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			ChunkedBatchUpdater.BatchResult result = updater.batchUpdate("INSERT", createArgs(30).iterator());
+			assertEquals(3, result.getChunkCount());
+			assertEquals(1, jdbcTemplate.threads.size());
+			assertTrue(jdbcTemplate.threads.contains(Thread.currentThread()));
+		}
+		finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	public void testInvalidSettings() {
+		ChunkedBatchUpdater updater = new ChunkedBatchUpdater();
+		try {
+			updater.setChunkSize(0);
+			fail("Should have thrown IllegalArgumentException");
+		}
+		catch (IllegalArgumentException ex) {
+			// expected
+		}
+		try {
+			updater.afterPropertiesSet();
+			fail("Should have thrown IllegalArgumentException");
+		}
+		catch (IllegalArgumentException ex) {
+			// expected
+		}
+	}
+
+	private List createArgs(int count) {
+		List args = new ArrayList(count);
+		for (int i = 0; i < count; i++) {
+			args.add(new Object[] {new Integer(i), "name" + i});
+		}
+		return args;
+	}
+
+
+	/**
+	 * JdbcTemplate that applies each batch to a dummy PreparedStatement,
+	 * returning the first argument of each parameter set as update count.
+	 */
+	private static class RecordingJdbcTemplate extends JdbcTemplate {
+
+		public final Set threads = Collections.synchronizedSet(new HashSet());
+
+		public long delay;
+
+		public int failAtChunk = -1;
+
+		public boolean failWithError;
+
+		public int active;
+
+		public int maxActive;
+
+		public int chunkCount;
+
+		public int[] batchUpdate(String sql, BatchPreparedStatementSetter pss) throws DataAccessException {
+			int chunk;
+			synchronized (this) {
+				chunk = this.chunkCount++;
+				this.active++;
+				this.maxActive = Math.max(this.maxActive, this.active);
+			}
+			this.threads.add(Thread.currentThread());
+			try {
+				if (chunk == this.failAtChunk) {
+					if (this.failWithError) {
+						throw new OutOfMemoryError("simulated");
+					}
+					throw new DataIntegrityViolationException("duplicate key");
+				}
+				final List values = new ArrayList();
+				PreparedStatement ps = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+						new Class[] {PreparedStatement.class}, new InvocationHandler() {
+							public Object invoke(Object proxy, Method method, Object[] args) {
+								if (method.getName().equals("setObject") && ((Integer) args[0]).intValue() == 1) {
+									values.add(args[1]);
+								}
+								return null;
+							}
+						});
+				int[] result = new int[pss.getBatchSize()];
+				for (int i = 0; i < result.length; i++) {
+					pss.setValues(ps, i);
+					result[i] = ((Integer) values.get(i)).intValue();
+				}
+				if (this.delay > 0) {
+					Thread.sleep(this.delay);
+				}
+				return result;
+			}
+			catch (SQLException ex) {
+				throw new IllegalStateException(ex.getMessage());
+			}
+			catch (InterruptedException ex) {
+				throw new IllegalStateException(ex.getMessage());
+			}
+			finally {
+				synchronized (this) {
+					this.active--;
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.rowset;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import junit.framework.TestCase;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.ColumnarResultSetExtractor;
+
+/**
+ * @author agent
+ */
+public class ColumnarResultTests extends TestCase {
+
+	private static final String[] LABELS = new String[] {"id", "amount", "price", "qty", "name"};
+
+	private static final int[] TYPES = new int[] {Types.BIGINT, Types.DECIMAL, Types.DOUBLE, Types.INTEGER, Types.VARCHAR};
+
+	private final StubResultSetFactory resultSets = new StubResultSetFactory(LABELS, TYPES);
+
+
+	public void testPrimitiveColumnsAcrossChunks() throws SQLException {
+		int rowCount = 1000;
+		Object[][] data = new Object[rowCount][];
+		for (int i = 0; i < rowCount; i++) {
+			data[i] = new Object[] {new Long(i * 1000000000L), new Long(i), new Double(i / 2.0),
+					(i % 7 == 0 ? null : new Integer(i)), "name" + i};
+		}
+		ColumnarResultSetExtractor extractor = new ColumnarResultSetExtractor();
+		extractor.setChunkSize(100);
+		ColumnarResult result = (ColumnarResult) extractor.extractData(this.resultSets.createResultSet(data));
+
+		assertEquals(rowCount, result.getRowCount());
+		assertEquals(5, result.getColumnCount());
+		assertEquals(long.class, result.getColumnType(1));
+		assertEquals(long.class, result.getColumnType(2));
+		assertEquals(double.class, result.getColumnType(3));
+		assertEquals(int.class, result.getColumnType(4));
+		assertEquals(Object.class, result.getColumnType(5));
+		assertEquals(4, result.findColumn("QTY"));
+
+		for (int i = 0; i < rowCount; i++) {
+			assertEquals(i * 1000000000L, result.getLong(i, 1));
+			assertEquals(i, result.getLong(i, "amount"));
+			assertEquals(i / 2.0, result.getDouble(i, 3), 0);
+			if (i % 7 == 0) {
+				assertTrue(result.isNull(i, 4));
+				assertEquals(0, result.getInt(i, 4));
+				assertNull(result.getObject(i, 4));
+			}
+			else {
+				assertFalse(result.isNull(i, 4));
+				assertEquals(i, result.getInt(i, "qty"));
+				assertEquals(new Integer(i), result.getObject(i, 4));
+			}
+			assertEquals("name" + i, result.getObject(i, 5));
+		}
+
+		long[] ids = result.getLongColumn(1);
+		assertEquals(rowCount, ids.length);
+		assertEquals(999 * 1000000000L, ids[999]);
+		double[] qty = result.getDoubleColumn(4);
+		assertEquals(0, qty[7], 0);
+		assertEquals(8, qty[8], 0);
+	}
+
+	public void testInvalidAccess() throws SQLException {
+		ColumnarResult result = new ColumnarResult(this.resultSets.createResultSet(new Object[][] {
+				{new Long(1), new Long(2), new Double(3), new Integer(4), "five"}}));
+		try {
+			result.getInt(0, 1);
+			fail("Should have thrown InvalidDataAccessApiUsageException");
+		}
+		catch (InvalidDataAccessApiUsageException ex) {
+			// expected
+		}
+		try {
+			result.getDouble(0, 5);
+			fail("Should have thrown InvalidDataAccessApiUsageException");
+		}
+		catch (InvalidDataAccessApiUsageException ex) {
+			// expected
+		}
+		try {
+			result.getLong(1, 1);
+			fail("Should have thrown InvalidDataAccessApiUsageException");
+		}
+		catch (InvalidDataAccessApiUsageException ex) {
+			// expected
+		}
+		try {
+			result.getObject(0, "unknown");
+			fail("Should have thrown InvalidDataAccessApiUsageException");
+		}
+		catch (InvalidDataAccessApiUsageException ex) {
+			// expected
+		}
+	}
+
+	public void testSerialization() throws Exception {
+		ColumnarResult result = new ColumnarResult(this.resultSets.createResultSet(new Object[][] {
+				{new Long(1), null, new Double(3), new Integer(4), "five"}}));
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(result);
+		oos.close();
+		ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+		ColumnarResult copy = (ColumnarResult) ois.readObject();
+		assertEquals(1, copy.getRowCount());
+		assertEquals(1, copy.getLong(0, "id"));
+		assertTrue(copy.isNull(0, 2));
+		assertEquals("five", copy.getObject(0, 5));
+	}
+
+	public void testSmallResultDoesNotRetainFullChunks() throws Exception {
+		ColumnarResult result = new ColumnarResult(this.resultSets.createResultSet(new Object[][] {
+				{new Long(1), new Long(2), new Double(3), new Integer(4), "five"}}));
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(result);
+		oos.close();
+		// A full chunk of 1024 rows would take at least 4 KB for the int column alone.
+		assertTrue("Serialized form too large: " + bos.size(), bos.size() < 4096);
+		assertEquals(4, result.getInt(0, "qty"));
+	}
+
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.rowset;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+import javax.sql.rowset.CachedRowSet;
+
+import junit.framework.TestCase;
+import org.easymock.MockControl;
+
+import org.springframework.jdbc.InvalidResultSetAccessException;
+import org.springframework.jdbc.core.SqlRowSetResultSetExtractor;
+
+/**
+ * @author agent
+ */
+public class DisconnectedSqlRowSetTests extends TestCase {
+
+	private static final String[] LABELS = new String[] {"id", "amount", "name", "created"};
+
+	private static final int[] TYPES = new int[] {Types.INTEGER, Types.DECIMAL, Types.VARCHAR, Types.TIMESTAMP};
+
+	private static final Object[][] DATA = new Object[][] {
+			{new Integer(1), new BigDecimal("1.50"), "one", new Timestamp(1000)},
+			{new Integer(2), null, "2", null},
+			{new Integer(3), new BigDecimal("3"), null, new Timestamp(3000)}};
+
+	private final StubResultSetFactory resultSets = new StubResultSetFactory(LABELS, TYPES);
+
+
+	protected void setUp() {
+		this.resultSets.setDecimalScale(2);
+	}
+
+	public void testNavigation() throws SQLException {
+		SqlRowSet rowSet = new DisconnectedSqlRowSet(this.resultSets.createResultSet(DATA));
+		assertTrue(rowSet.isBeforeFirst());
+		assertEquals(0, rowSet.getRow());
+		assertTrue(rowSet.next());
+		assertTrue(rowSet.isFirst());
+		assertEquals(1, rowSet.getInt(1));
+		assertTrue(rowSet.last());
+		assertTrue(rowSet.isLast());
+		assertEquals(3, rowSet.getRow());
+		assertFalse(rowSet.next());
+		assertTrue(rowSet.isAfterLast());
+		assertFalse(rowSet.next());
+		assertTrue(rowSet.previous());
+		assertEquals(3, rowSet.getInt("ID"));
+
+		assertTrue(rowSet.absolute(-2));
+		assertEquals(2, rowSet.getRow());
+		assertTrue(rowSet.relative(-1));
+		assertEquals(1, rowSet.getRow());
+		assertFalse(rowSet.relative(-5));
+		assertTrue(rowSet.isBeforeFirst());
+		assertTrue(rowSet.relative(2));
+		assertEquals(2, rowSet.getRow());
+		assertFalse(rowSet.absolute(10));
+		assertTrue(rowSet.isAfterLast());
+		assertEquals(0, rowSet.getRow());
+		assertTrue(rowSet.first());
+		rowSet.afterLast();
+		assertTrue(rowSet.previous());
+		assertEquals(3, rowSet.getRow());
+		rowSet.beforeFirst();
+		try {
+			rowSet.getInt(1);
+			fail("Should have thrown InvalidResultSetAccessException");
+		}
+		catch (InvalidResultSetAccessException ex) {
+			// expected
+		}
+	}
+
+	public void testEmptyRowSet() throws SQLException {
+		SqlRowSet rowSet = new DisconnectedSqlRowSet(this.resultSets.createResultSet(new Object[0][]));
+		assertFalse(rowSet.isBeforeFirst());
+		assertFalse(rowSet.isAfterLast());
+		assertFalse(rowSet.first());
+		assertFalse(rowSet.next());
+		assertEquals(0, rowSet.getRow());
+	}
+
+	public void testValueConversion() throws SQLException {
+		SqlRowSet rowSet = new DisconnectedSqlRowSet(this.resultSets.createResultSet(DATA));
+		rowSet.next();
+		assertEquals(new BigDecimal("1.50"), rowSet.getBigDecimal("amount"));
+		assertEquals(1.5, rowSet.getDouble(2), 0);
+		assertEquals(1, rowSet.getLong(2));
+		assertEquals(new BigDecimal(1), rowSet.getBigDecimal(1));
+		assertEquals("1", rowSet.getString(1));
+		assertTrue(rowSet.getBoolean(1));
+		assertFalse(rowSet.wasNull());
+		assertEquals(new Timestamp(1000), rowSet.getTimestamp(4));
+		assertEquals(1000, rowSet.getDate(4).getTime());
+		try {
+			rowSet.getInt("name");
+			fail("Should have thrown InvalidResultSetAccessException");
+		}
+		catch (InvalidResultSetAccessException ex) {
+			// expected
+		}
+
+		rowSet.next();
+		assertEquals(0, rowSet.getInt(2));
+		assertTrue(rowSet.wasNull());
+		assertNull(rowSet.getBigDecimal(2));
+		assertEquals(2, rowSet.getShort("name"));
+		assertFalse(rowSet.wasNull());
+		assertNull(rowSet.getTimestamp(4));
+		assertTrue(rowSet.wasNull());
+	}
+
+	public void testMetaData() throws SQLException {
+		SqlRowSet rowSet = new DisconnectedSqlRowSet(this.resultSets.createResultSet(DATA));
+		SqlRowSetMetaData metaData = rowSet.getMetaData();
+		assertEquals(4, metaData.getColumnCount());
+		assertEquals("amount", metaData.getColumnLabel(2));
+		assertEquals("AMOUNT", metaData.getColumnName(2));
+		assertEquals(Types.DECIMAL, metaData.getColumnType(2));
+		assertEquals(10, metaData.getPrecision(2));
+		assertEquals(2, metaData.getScale(2));
+		assertEquals("ORDERS", metaData.getTableName(2));
+		assertEquals("AMOUNT", metaData.getColumnNames()[1]);
+		assertEquals(3, rowSet.findColumn("name"));
+		assertEquals(3, rowSet.findColumn("NAME"));
+		try {
+			metaData.getColumnType(5);
+			fail("Should have thrown InvalidResultSetAccessException");
+		}
+		catch (InvalidResultSetAccessException ex) {
+			// expected
+		}
+		try {
+			rowSet.findColumn("bogus");
+			fail("Should have thrown InvalidResultSetAccessException");
+		}
+		catch (InvalidResultSetAccessException ex) {
+			// expected
+		}
+	}
+
+	public void testMaxRowsWithoutReadingAhead() throws SQLException {
+		SqlRowSetResultSetExtractor extractor = new SqlRowSetResultSetExtractor();
+		extractor.setMaxRows(2);
+		SqlRowSet rowSet = (SqlRowSet) extractor.extractData(this.resultSets.createResultSet(DATA));
+		assertEquals(2, this.resultSets.getRowsRead());
+		assertTrue(rowSet.last());
+		assertEquals(2, rowSet.getRow());
+		assertEquals("2", rowSet.getString("name"));
+	}
+
+	public void testCustomCachedRowSetStillUsed() throws SQLException {
+		ResultSet rs = this.resultSets.createResultSet(DATA);
+		MockControl rowSetControl = MockControl.createControl(CachedRowSet.class);
+		final CachedRowSet cachedRowSet = (CachedRowSet) rowSetControl.getMock();
+		cachedRowSet.populate(rs);
+		rowSetControl.setVoidCallable(1);
+		cachedRowSet.getMetaData();
+		rowSetControl.setReturnValue(rs.getMetaData(), 1);
+		rowSetControl.replay();
+
+		SqlRowSetResultSetExtractor extractor = new SqlRowSetResultSetExtractor() {
+			protected CachedRowSet newCachedRowSet() {
+				return cachedRowSet;
+			}
+		};
+		SqlRowSet rowSet = (SqlRowSet) extractor.extractData(rs);
+		assertTrue(rowSet instanceof ResultSetWrappingSqlRowSet);
+		assertSame(cachedRowSet, ((ResultSetWrappingSqlRowSet) rowSet).getResultSet());
+		rowSetControl.verify();
+	}
+
+	public void testSerialization() throws Exception {
+		SqlRowSet rowSet = new DisconnectedSqlRowSet(this.resultSets.createResultSet(DATA));
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(rowSet);
+		oos.close();
+		ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+		SqlRowSet copy = (SqlRowSet) ois.readObject();
+		assertTrue(copy.absolute(3));
+		assertEquals(new Date(3000).getTime(), copy.getDate("created").getTime());
+		assertEquals("AMOUNT", copy.getMetaData().getColumnName(2));
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.rowset;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Creates forward-only ResultSets over in-memory rows, for the tests of
+ * Spring's disconnected result representations. Column names are the
+ * upper-case variants of the given labels; all columns report a precision
+ * of 10. Counts the rows read from all ResultSets created so far.
+ *
+ * @author agent
+ */
+class StubResultSetFactory {
+
+	private final String[] labels;
+
+	private final int[] types;
+
+	private int decimalScale = 0;
+
+	private int rowsRead;
+
+
+	public StubResultSetFactory(String[] labels, int[] types) {
+		this.labels = labels;
+		this.types = types;
+	}
+
+	/**
+	 * Set the scale to report for DECIMAL columns. Default is 0.
+	 */
+	public void setDecimalScale(int decimalScale) {
+		this.decimalScale = decimalScale;
+	}
+
+	/**
+	 * Return the number of rows that have been read through <code>next()</code>.
+	 */
+	public int getRowsRead() {
+		return this.rowsRead;
+	}
+
+
+	/**
+	 * Create a ResultSet over the given rows.
+	 * <p>Supports <code>getObject</code>, <code>getString</code>,
+	 * <code>getInt</code>, <code>getLong</code>, <code>getDouble</code>
+	 * and <code>wasNull</code> for accessing column values by index.
+	 */
+	public ResultSet createResultSet(final Object[][] data) {
+		final ResultSetMetaData rsmd = (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class[] {ResultSetMetaData.class}, new InvocationHandler() {
+					public Object invoke(Object proxy, Method method, Object[] args) throws SQLException {
+						String name = method.getName();
+						if (name.equals("getColumnCount")) {
+							return new Integer(labels.length);
+						}
+						int index = ((Integer) args[0]).intValue() - 1;
+						if (name.equals("getColumnLabel")) {
+							return labels[index];
+						}
+						if (name.equals("getColumnName")) {
+							return labels[index].toUpperCase();
+						}
+						if (name.equals("getColumnType")) {
+							return new Integer(types[index]);
+						}
+						if (name.equals("getPrecision")) {
+							return new Integer(10);
+						}
+						if (name.equals("getScale")) {
+							return new Integer(types[index] == Types.DECIMAL ? decimalScale : 0);
+						}
+						if (name.equals("getTableName")) {
+							return "ORDERS";
+						}
+						if (method.getReturnType().equals(String.class)) {
+							return null;
+						}
+						if (method.getReturnType().equals(boolean.class)) {
+							return Boolean.FALSE;
+						}
+						throw new SQLException("Not supported: " + name);
+					}
+				});
+		return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class[] {ResultSet.class}, new InvocationHandler() {
+					private int row = -1;
+					private boolean wasNull;
+					public Object invoke(Object proxy, Method method, Object[] args) {
+						String name = method.getName();
+						if (name.equals("equals")) {
+							return Boolean.valueOf(proxy == args[0]);
+						}
+						if (name.equals("hashCode")) {
+							return new Integer(System.identityHashCode(proxy));
+						}
+						if (name.equals("getMetaData")) {
+							return rsmd;
+						}
+						if (name.equals("next")) {
+							if (++this.row < data.length) {
+								rowsRead++;
+								return Boolean.TRUE;
+							}
+							return Boolean.FALSE;
+						}
+						if (name.equals("wasNull")) {
+							return Boolean.valueOf(this.wasNull);
+						}
+						if (args == null || !(args[0] instanceof Integer)) {
+							throw new UnsupportedOperationException(name);
+						}
+						Object value = data[this.row][((Integer) args[0]).intValue() - 1];
+						this.wasNull = (value == null);
+						if (name.equals("getObject") || name.equals("getString")) {
+							return value;
+						}
+						if (name.equals("getInt")) {
+							return new Integer(value != null ? ((Number) value).intValue() : 0);
+						}
+						if (name.equals("getLong")) {
+							return new Long(value != null ? ((Number) value).longValue() : 0);
+						}
+						if (name.equals("getDouble")) {
+							return new Double(value != null ? ((Number) value).doubleValue() : 0);
+						}
+						throw new UnsupportedOperationException(name);
+					}
+				});
+	}
+
+}
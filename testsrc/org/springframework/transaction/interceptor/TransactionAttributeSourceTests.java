@@ -16,6 +16,7 @@
 
 package org.springframework.transaction.interceptor;
 
+import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
@@ -24,6 +25,9 @@ import javax.servlet.ServletException;
 
 import junit.framework.TestCase;
 
+import org.springframework.beans.ITestBean;
+import org.springframework.beans.TestBean;
+import org.springframework.transaction.CallCountingTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
 
 /**
@@ -143,4 +147,87 @@ public final class TransactionAttributeSourceTests extends TestCase {
 		assertNull(ta);
 	}
 
+	public void testFallbackTransactionAttributeSourceCacheStatistics() throws Exception {
+		GetterTransactionAttributeSource tas = new GetterTransactionAttributeSource();
+		Method getName = ITestBean.class.getMethod("getName", (Class[]) null);
+		Method setName = ITestBean.class.getMethod("setName", new Class[] {String.class});
+
+		assertNotNull(tas.getTransactionAttribute(getName, TestBean.class));
+		assertNull(tas.getTransactionAttribute(setName, TestBean.class));
+		assertEquals(2, tas.getCacheMissCount());
+		assertEquals(0, tas.getCacheHitCount());
+		assertEquals(0, tas.getNegativeCacheHitCount());
+
+		assertNotNull(tas.getTransactionAttribute(getName, TestBean.class));
+		assertNull(tas.getTransactionAttribute(setName, TestBean.class));
+		assertNull(tas.getTransactionAttribute(setName, TestBean.class));
+		assertEquals(2, tas.getCacheMissCount());
+		assertEquals(1, tas.getCacheHitCount());
+		assertEquals(2, tas.getNegativeCacheHitCount());
+		assertEquals(2, tas.getCachedMethodCount());
+		assertEquals(1, tas.getCachedNonTransactionalMethodCount());
+	}
+
+	public void testFallbackTransactionAttributeSourceResolveTransactionAttributes() throws Exception {
+		GetterTransactionAttributeSource tas = new GetterTransactionAttributeSource();
+		int count = tas.resolveTransactionAttributes(TestBean.class);
+		assertTrue(count > 0);
+		assertTrue(tas.getCachedNonTransactionalMethodCount() > 0);
+		long misses = tas.getCacheMissCount();
+		int lookups = tas.lookupCount;
+
+		// Both interface and target class methods need to be covered.
+		assertNotNull(tas.getTransactionAttribute(ITestBean.class.getMethod("getAge", (Class[]) null), TestBean.class));
+		assertNotNull(tas.getTransactionAttribute(TestBean.class.getMethod("getAge", (Class[]) null), TestBean.class));
+		assertNull(tas.getTransactionAttribute(
+				ITestBean.class.getMethod("setAge", new Class[] {int.class}), TestBean.class));
+		assertEquals(misses, tas.getCacheMissCount());
+		assertEquals(lookups, tas.lookupCount);
+	}
+
+	public void testTransactionProxyFactoryBeanWithResolveAttributesOnStartup() throws Exception {
+		GetterTransactionAttributeSource tas = new GetterTransactionAttributeSource();
+		TransactionProxyFactoryBean pfb = new TransactionProxyFactoryBean();
+		pfb.setTransactionManager(new CallCountingTransactionManager());
+		pfb.setTransactionAttributeSource(tas);
+		pfb.setTarget(new TestBean());
+		pfb.setResolveAttributesOnStartup(true);
+		pfb.afterPropertiesSet();
+		long misses = tas.getCacheMissCount();
+		assertTrue(misses > 0);
+
+		ITestBean proxy = (ITestBean) pfb.getObject();
+		proxy.setAge(5);
+		assertEquals(5, proxy.getAge());
+		assertEquals(misses, tas.getCacheMissCount());
+	}
+
+	public void testTransactionProxyFactoryBeanResolvesAttributesLazilyByDefault() throws Exception {
+		GetterTransactionAttributeSource tas = new GetterTransactionAttributeSource();
+		TransactionProxyFactoryBean pfb = new TransactionProxyFactoryBean();
+		pfb.setTransactionManager(new CallCountingTransactionManager());
+		pfb.setTransactionAttributeSource(tas);
+		pfb.setTarget(new TestBean());
+		pfb.afterPropertiesSet();
+		assertEquals(0, tas.getCachedMethodCount());
+	}
+
+
+	/**
+	 * Fallback source that makes all getter methods transactional.
+	 */
+	private static class GetterTransactionAttributeSource extends AbstractFallbackTransactionAttributeSource {
+
+		public int lookupCount;
+
+		protected TransactionAttribute findTransactionAttribute(Method method) {
+			this.lookupCount++;
+			return (method.getName().startsWith("get") ? new DefaultTransactionAttribute() : null);
+		}
+
+		protected TransactionAttribute findTransactionAttribute(Class clazz) {
+			return null;
+		}
+	}
+
 }
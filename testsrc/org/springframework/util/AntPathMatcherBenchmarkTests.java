@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import junit.framework.TestCase;
+
+/**
+ * Benchmarks for AntPathMatcher, comparing matches against compiled
+ * (cached) patterns with matches that need to compile their pattern.
+ *
+ * @author agent
+ * @since 2.5.1
+ */
+public class AntPathMatcherBenchmarkTests extends TestCase {
+
+	/** Increase this if you want meaningful results! */
+	private static final int ITERATIONS = 20000;
+
+	private static final String[] PATTERNS = new String[] {
+			"/app/**/foo/*.html", "/app/*/foo/bar.html", "/app/foo/bar.html", "/app/**/*.jsp", "/**/b?r/*.html"};
+
+	private static final String[] PATHS = new String[] {
+			"/app/x/y/z/foo/bar.html", "/app/x/foo/bar.html", "/app/foo/bar.html", "/app/x/y/bar.html", "/other/path"};
+
+	/** Patterns for the result check, including corner cases of path tokenization */
+	private static final String[] CHECKED_PATTERNS = new String[] {
+			"/app/**/foo/*.html", "/app/*/foo/bar.html", "/app/foo/bar.html", "/app/**/*.jsp", "/**/b?r/*.html",
+			"/**/x/**/y/*.html", "/*", "/a/*/", "**/*.jsp", "/ a /b*", "/a/**/**/b", "/x/**"};
+
+	private static final String[] CHECKED_PATHS = new String[] {
+			"/app/x/y/z/foo/bar.html", "/app/x/foo/bar.html", "/app/foo/bar.html", "/app/x/y/bar.html", "/other/path",
+			"/a/x/q/y/p.html", "/a/", "/a/b/", "/ a / b /", "//app//foo/bar.html", "app/x.jsp", "/a/b", "/x",
+			"/x/y/x/z/y/w.html"};
+
+	/**
+	 * Expected results of <code>match</code> (before the blank) and <code>matchStart</code>
+	 * (after the blank) per checked pattern, one character per checked path,
+	 * as determined by the AntPathMatcher implementation of Spring 2.5.
+	 */
+	private static final String[] EXPECTED_RESULTS = new String[] {
+			"TTTFFFFFFTFFFF TTTTFFFFFTFFFF",
+			"FTFFFFFFFFFFFF FTFFFFFFFFFFFF",
+			"FFTFFFFFFTFFFF FFTFFFFFFTFFFF",
+			"FFFFFFFFFFFFFF TTTTFFFFFTFFFF",
+			"FFFFFFFFFFFFFF TTTTTTTTTTFTTT",
+			"FFFTFTFFFFFFFT TTTTTTTTTTFTTT",
+			"FFFFFFFFFFFFTF FFFFFFFFFFFFTF",
+			"FFFFFFTTTFFFFF FFFFFFTTTFFFFF",
+			"FFFFFFFFFFTFFF FFFFFFFFFFTFFF",
+			"FFFFFFFFFFFTFF FFFFFFTFFFFTFF",
+			"FFFFFFFTTFFTFF FFFFFTTTTFFTFF",
+			"FFFFFFFFFFFFTT FFFFFFFFFFFFTT"};
+
+
+	public void testBenchmarks() {
+		timeManyMatches();
+	}
+
+	public void testResultsAsExpected() {
+		AntPathMatcher pathMatcher = new AntPathMatcher();
+		// Twice: against freshly compiled patterns as well as against cached ones.
+		for (int run = 0; run < 2; run++) {
+			for (int i = 0; i < CHECKED_PATTERNS.length; i++) {
+				String expected = EXPECTED_RESULTS[i];
+				for (int j = 0; j < CHECKED_PATHS.length; j++) {
+					String description = CHECKED_PATTERNS[i] + " vs " + CHECKED_PATHS[j];
+					assertEquals("match " + description, expected.charAt(j) == 'T',
+							pathMatcher.match(CHECKED_PATTERNS[i], CHECKED_PATHS[j]));
+					assertEquals("matchStart " + description, expected.charAt(CHECKED_PATHS.length + 1 + j) == 'T',
+							pathMatcher.matchStart(CHECKED_PATTERNS[i], CHECKED_PATHS[j]));
+				}
+			}
+		}
+	}
+
+	protected long timeManyMatches() {
+		StopWatch sw = new StopWatch();
+		int matches = 0;
+
+		sw.start(ITERATIONS + " iterations with pattern compilation");
+		for (int i = 0; i < ITERATIONS; i++) {
+			matches += matchAll(new AntPathMatcher());
+		}
+		sw.stop();
+
+		AntPathMatcher pathMatcher = new AntPathMatcher();
+		sw.start(ITERATIONS + " iterations against compiled patterns");
+		for (int i = 0; i < ITERATIONS; i++) {
+			matches += matchAll(pathMatcher);
+		}
+		sw.stop();
+
+		assertEquals(0, matches % ITERATIONS);
+		return sw.getLastTaskTimeMillis();
+	}
+
+	private int matchAll(PathMatcher pathMatcher) {
+		int matches = 0;
+		for (int i = 0; i < PATTERNS.length; i++) {
+			for (int j = 0; j < PATHS.length; j++) {
+				if (pathMatcher.match(PATTERNS[i], PATHS[j])) {
+					matches++;
+				}
+			}
+		}
+		return matches;
+	}
+
+}
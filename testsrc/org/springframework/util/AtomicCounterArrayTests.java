@@ -0,0 +1,70 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import junit.framework.TestCase;
+
+/**
+ * @author agent
+ */
+public class AtomicCounterArrayTests extends TestCase {
+
+	public void testSingleThread() {
+		AtomicCounterArray counters = new AtomicCounterArray(3);
+		assertEquals(3, counters.length());
+		counters.increment(0);
+		counters.add(1, 5);
+		counters.add(1, -2);
+		counters.set(2, 7);
+		assertEquals(1, counters.get(0));
+		assertEquals(3, counters.get(1));
+		assertEquals(7, counters.get(2));
+		assertEquals("[1, 3, 7]", counters.toString());
+	}
+
+	public void testUpdateMax() {
+		AtomicCounterArray counters = new AtomicCounterArray(1);
+		counters.updateMax(0, 5);
+		counters.updateMax(0, 3);
+		assertEquals(5, counters.get(0));
+		counters.updateMax(0, 8);
+		assertEquals(8, counters.get(0));
+	}
+
+	public void testNoLostUpdatesAcrossThreads() throws Exception {
+		final AtomicCounterArray counters = new AtomicCounterArray(2);
+		Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			final int max = i;
+			threads[i] = new Thread() {
+				public void run() {
+					for (int j = 0; j < 10000; j++) {
+						counters.increment(0);
+						counters.updateMax(1, max);
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for (int i = 0; i < threads.length; i++) {
+			threads[i].join();
+		}
+		assertEquals(80000, counters.get(0));
+		assertEquals(7, counters.get(1));
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * @author agent
+ */
+public class BoundedConcurrentCacheTests extends TestCase {
+
+	public void testGetAndPut() {
+		BoundedConcurrentCache cache = new BoundedConcurrentCache(0);
+		assertNull(cache.get("a"));
+		cache.put("a", "1");
+		cache.put("b", "2");
+		assertEquals("1", cache.get("a"));
+		assertEquals(2, cache.size());
+		assertEquals("2", cache.remove("b"));
+		assertNull(cache.get("b"));
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+	public void testEvictionGivesAccessedEntriesSecondChance() {
+		final List evicted = new ArrayList();
+		BoundedConcurrentCache cache = new BoundedConcurrentCache(2) {
+			protected void onEviction(Object key, Object value) {
+				evicted.add(key);
+			}
+		};
+		cache.put("a", "1");
+		cache.put("b", "2");
+		assertEquals("1", cache.get("a"));
+		cache.put("c", "3");
+		assertEquals(1, evicted.size());
+		assertEquals("b", evicted.get(0));
+		assertEquals("1", cache.get("a"));
+		assertNull(cache.get("b"));
+		assertEquals(2, cache.size());
+
+		cache.put("d", "4");
+		assertEquals(2, evicted.size());
+		assertEquals(2, cache.size());
+	}
+
+	public void testLimitChange() {
+		BoundedConcurrentCache cache = new BoundedConcurrentCache(0);
+		for (int i = 0; i < 10; i++) {
+			cache.put(new Integer(i), "value");
+		}
+		assertEquals(10, cache.size());
+		cache.setLimit(3);
+		assertEquals(3, cache.getLimit());
+		cache.put(new Integer(10), "value");
+		assertEquals(3, cache.size());
+		assertNotNull(cache.get(new Integer(10)));
+	}
+
+}
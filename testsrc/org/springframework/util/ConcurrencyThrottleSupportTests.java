@@ -0,0 +1,135 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import junit.framework.TestCase;
+
+/**
+ * @author agent
+ */
+public class ConcurrencyThrottleSupportTests extends TestCase {
+
+	public void testRejectionWithFullQueue() {
+		TestThrottle throttle = new TestThrottle();
+		throttle.setConcurrencyLimit(1);
+		throttle.setMaxQueueSize(0);
+		throttle.beforeAccess();
+		try {
+			throttle.beforeAccess();
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+		assertEquals(1, throttle.getConcurrencyCount());
+		assertEquals(1, throttle.getRejectedCount());
+		throttle.afterAccess();
+		assertEquals(0, throttle.getConcurrencyCount());
+	}
+
+	public void testRejectionAfterTimeout() {
+		TestThrottle throttle = new TestThrottle();
+		throttle.setConcurrencyLimit(1);
+		throttle.setMaxWait(10);
+		throttle.beforeAccess();
+		try {
+			throttle.beforeAccess();
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+		assertEquals(0, throttle.getQueuedCount());
+		assertEquals(1, throttle.getRejectedCount());
+	}
+
+	public void testRejectionEnforcedIfCallbackReturns() {
+		TestThrottle throttle = new TestThrottle() {
+			protected void onAccessRejected(String msg) {
+			}
+		};
+		throttle.setConcurrencyLimit(1);
+		throttle.setMaxQueueSize(0);
+		throttle.beforeAccess();
+		try {
+			throttle.beforeAccess();
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+		assertEquals(1, throttle.getConcurrencyCount());
+	}
+
+	public void testPermitHandedToWaiter() throws Exception {
+		final TestThrottle throttle = new TestThrottle();
+		throttle.setConcurrencyLimit(1);
+		throttle.beforeAccess();
+		Thread waiter = new Thread() {
+			public void run() {
+				throttle.beforeAccess();
+			}
+		};
+		waiter.start();
+		for (int i = 0; i < 100 && throttle.getQueuedCount() == 0; i++) {
+			Thread.sleep(10);
+		}
+		assertEquals(1, throttle.getQueuedCount());
+		throttle.afterAccess();
+		waiter.join(1000);
+		assertFalse(waiter.isAlive());
+		assertEquals(1, throttle.getConcurrencyCount());
+		assertEquals(0, throttle.getQueuedCount());
+	}
+
+	public void testAdaptiveLimitDecreasesWithLatency() {
+		TestThrottle throttle = new TestThrottle();
+		throttle.setConcurrencyLimit(20);
+		throttle.setAdaptiveConcurrency(true);
+		throttle.setMinConcurrencyLimit(2);
+		for (int i = 0; i < 10; i++) {
+			throttle.beforeAccess();
+		}
+		throttle.afterAccess(1000);
+		for (int i = 0; i < 9; i++) {
+			throttle.afterAccess(100000);
+		}
+		int limit = throttle.getCurrentConcurrencyLimit();
+		assertTrue("Limit should have decreased: " + limit, limit < 20);
+		assertTrue("Limit should not be below minimum: " + limit, limit >= 2);
+	}
+
+	public void testAdaptiveLimitGrowsWhenInUse() {
+		TestThrottle throttle = new TestThrottle();
+		throttle.setConcurrencyLimit(4);
+		throttle.setAdaptiveConcurrency(true);
+		throttle.setMaxConcurrencyLimit(8);
+		for (int i = 0; i < 4; i++) {
+			throttle.beforeAccess();
+		}
+		for (int i = 0; i < 100; i++) {
+			throttle.afterAccess(1000);
+			throttle.beforeAccess();
+		}
+		assertEquals(8, throttle.getCurrentConcurrencyLimit());
+	}
+
+
+	private static class TestThrottle extends ConcurrencyThrottleSupport {
+	}
+
+}
@@ -259,6 +259,46 @@ public class PathMatcherTests extends TestCase {
 		assertFalse(pathMatcher.match(".*bla.test", "XXXbl.test"));
 	}
 
+	public void testAntPathMatcherWithIrregularPathSegments() {
+		PathMatcher pathMatcher = new AntPathMatcher();
+		// Empty segments are ignored, segments are trimmed.
+		assertTrue(pathMatcher.match("/test/*.html", "//test//bla.html"));
+		assertTrue(pathMatcher.match("/test/*.html", "/ test /bla.html "));
+		assertTrue(pathMatcher.match("/test/**/bla", "/test/ /x/bla"));
+		assertFalse(pathMatcher.match("/test/*.html", "/te st/bla.html"));
+		assertTrue(pathMatcher.match("/test/*", "/test/\t/"));
+		assertFalse(pathMatcher.match("/test/*/x", "/test//x"));
+		assertTrue(pathMatcher.match("/**", "/"));
+		assertFalse(pathMatcher.match("/*", ""));
+	}
+
+	public void testAntPathMatcherWithCompiledPatternCacheCollisions() {
+		PathMatcher pathMatcher = new AntPathMatcher();
+		// "Aa" and "BB" have the same hash code, hence share a slot in the pattern cache.
+		assertEquals("Aa".hashCode(), "BB".hashCode());
+		for (int i = 0; i < 3; i++) {
+			assertTrue(pathMatcher.match("/Aa/*", "/Aa/test"));
+			assertFalse(pathMatcher.match("/BB/*", "/Aa/test"));
+			assertTrue(pathMatcher.match("/BB/*", "/BB/test"));
+			assertFalse(pathMatcher.match("/Aa/*", "/BB/test"));
+		}
+		// Many distinct patterns, exceeding the size of the pattern cache.
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(pathMatcher.match("/app/" + i + "/*.html", "/app/" + i + "/index.html"));
+			assertFalse(pathMatcher.match("/app/" + i + "/*.html", "/app/" + (i + 1) + "/index.html"));
+		}
+	}
+
+	public void testAntPathMatcherWithChangedPathSeparator() {
+		AntPathMatcher pathMatcher = new AntPathMatcher();
+		assertTrue(pathMatcher.match("a/*", "a/b"));
+		assertFalse(pathMatcher.match("a.*", "a/b"));
+		pathMatcher.setPathSeparator(".");
+		assertFalse(pathMatcher.match("a/*", "a.b"));
+		assertTrue(pathMatcher.match("a.*", "a.b"));
+		assertTrue(pathMatcher.match("a.**", "a.b.c"));
+	}
+
 	public void testAntPathMatcherExtractPathWithinPattern() throws Exception {
 		PathMatcher pathMatcher = new AntPathMatcher();
 
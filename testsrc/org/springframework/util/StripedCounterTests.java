@@ -0,0 +1,57 @@
+/*
+ * Copyright 2002-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import junit.framework.TestCase;
+
+/**
+ * @author agent
+ */
+public class StripedCounterTests extends TestCase {
+
+	public void testSingleThread() {
+		StripedCounter counter = new StripedCounter();
+		assertEquals(0, counter.get());
+		counter.increment();
+		counter.add(5);
+		counter.add(-2);
+		assertEquals(4, counter.get());
+		assertEquals("4", counter.toString());
+		counter.reset();
+		assertEquals(0, counter.get());
+	}
+
+	public void testNoLostUpdatesAcrossThreads() throws Exception {
+		final StripedCounter counter = new StripedCounter();
+		Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread() {
+				public void run() {
+					for (int j = 0; j < 10000; j++) {
+						counter.increment();
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for (int i = 0; i < threads.length; i++) {
+			threads[i].join();
+		}
+		assertEquals(80000, counter.get());
+	}
+
+}
@@ -20,6 +20,7 @@ import junit.framework.TestCase;
 
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockServletContext;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.context.ConfigurableWebApplicationContext;
 import org.springframework.web.context.support.XmlWebApplicationContext;
 import org.springframework.web.servlet.HandlerExecutionChain;
@@ -237,6 +238,66 @@ public class PathMatchingUrlHandlerMappingTests extends TestCase {
 		assertEquals("Mapping not exposed", "show.html", req.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE));
 	}
 
+	public void testIndexedLookupMatchesLinearScan() throws Exception {
+		String[] patterns = new String[] {"welcome.html", "/**/pathmatchingTest.html", "/**/pathmatching??.html",
+				"/**/path??matching.html", "/**/??path??matching.html", "/**/*.jsp", "/administrator/**/pathmatching.html",
+				"/administrator/**/testlast*", "/administrator/another/bla.xml", "/administrator/testing/longer/**/**",
+				"/*test*.jpeg", "/*/test.jpeg", "/anotherTest*", "/shortpattern/testing", "/show123.html", "/sho*",
+				"/a?c/*", "/abc/**", "/abc/x", "?bc/*", "/*/b.html", "/a/*.html"};
+		AbstractUrlHandlerMapping indexed = createMapping(patterns);
+		AbstractUrlHandlerMapping linear = createMapping(patterns);
+		// A PathMatcher set explicitly turns off the pattern index.
+		linear.setPathMatcher(new AntPathMatcher());
+		linear.setLookupCacheLimit(0);
+
+		String[] paths = new String[] {"/welcome.html", "welcome.html", "//welcome.html", "/pathmatchingTest.html",
+				"/a/b/pathmatchingAA.html", "/administrator/test/testlastbit", "/administrator/another/bla.xml",
+				"/administrator/another/bla.gif", "/administrator/testing/longer/x/y", "/show1.html", "/show123.html",
+				"/shortpattern/testing", "/shortpattern/testing/toolong", "/x/test.jpeg", "/testing/bla.jsp",
+				"/anotherTest", "/anotherTestYeah", "/abc/x", "//abc//x", "/abc/y", "/abc/x/y", "abc/x", "/a/b.html",
+				"/ administrator /another/bla.xml", "/unknown/path", "/", ""};
+		for (int i = 0; i < paths.length; i++) {
+			assertEquals("Different match for path [" + paths[i] + "]",
+					getMatchedPattern(linear, paths[i]), getMatchedPattern(indexed, paths[i]));
+			// Second lookup is answered from the lookup cache.
+			assertEquals("Different cached match for path [" + paths[i] + "]",
+					getMatchedPattern(linear, paths[i]), getMatchedPattern(indexed, paths[i]));
+		}
+	}
+
+	public void testIndexedLookupPrefersFirstRegisteredPatternOfSameLength() throws Exception {
+		AbstractUrlHandlerMapping mapping = createMapping(new String[] {"/*/b.html", "/a/*.html"});
+		assertEquals("/*/b.html", getMatchedPattern(mapping, "/a/b.html"));
+		mapping = createMapping(new String[] {"/a/*.html", "/*/b.html"});
+		assertEquals("/a/*.html", getMatchedPattern(mapping, "/a/b.html"));
+	}
+
+	public void testLookupCacheIsBoundedAndReset() throws Exception {
+		AbstractUrlHandlerMapping mapping = createMapping(new String[] {"/a/*"});
+		mapping.setLookupCacheLimit(2);
+		for (int i = 0; i < 10; i++) {
+			assertEquals("/a/*", getMatchedPattern(mapping, "/a/" + i));
+			assertNull(getMatchedPattern(mapping, "/b/" + i));
+		}
+		mapping.registerHandler("/b/*", new StringBuffer("/b/*"));
+		assertEquals("/b/*", getMatchedPattern(mapping, "/b/9"));
+	}
+
+	private AbstractUrlHandlerMapping createMapping(String[] patterns) {
+		SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping();
+		mapping.setApplicationContext(wac);
+		for (int i = 0; i < patterns.length; i++) {
+			// Use a distinct handler per pattern, identifying the matched pattern.
+			mapping.registerHandler(patterns[i], new StringBuffer(patterns[i]));
+		}
+		return mapping;
+	}
+
+	private String getMatchedPattern(AbstractUrlHandlerMapping mapping, String path) {
+		HandlerExecutionChain hec = (HandlerExecutionChain) mapping.lookupHandler(path, null);
+		return (hec != null ? hec.getHandler().toString() : null);
+	}
+
 	private HandlerExecutionChain getHandler(MockHttpServletRequest req) throws Exception {
 		HandlerExecutionChain hec = hm.getHandler(req);
 		HandlerInterceptor[] interceptors = hec.getInterceptors();
@@ -415,6 +415,87 @@ public class ViewResolverTests extends TestCase {
 		}
 	}
 
+	public void testCacheUnresolved() throws Exception {
+		CountingViewResolver vr = new CountingViewResolver();
+		assertNull(vr.resolveViewName("unknown", Locale.getDefault()));
+		assertNull(vr.resolveViewName("unknown", Locale.getDefault()));
+		assertEquals(1, vr.loadCount);
+
+		vr.clearCache();
+		vr.setCacheUnresolved(false);
+		assertNull(vr.resolveViewName("unknown", Locale.getDefault()));
+		assertNull(vr.resolveViewName("unknown", Locale.getDefault()));
+		assertEquals(3, vr.loadCount);
+	}
+
+	public void testCacheLimitEvictsLeastRecentlyUsedViews() throws Exception {
+		CountingViewResolver vr = new CountingViewResolver();
+		vr.setCacheLimit(2);
+		View view1 = vr.resolveViewName("view1", Locale.getDefault());
+		View view2 = vr.resolveViewName("view2", Locale.getDefault());
+		// Access view1 again, so that view2 is the least recently used one.
+		assertSame(view1, vr.resolveViewName("view1", Locale.getDefault()));
+		vr.resolveViewName("view3", Locale.getDefault());
+		assertEquals(3, vr.loadCount);
+
+		assertSame(view1, vr.resolveViewName("view1", Locale.getDefault()));
+		assertEquals(3, vr.loadCount);
+		assertNotSame(view2, vr.resolveViewName("view2", Locale.getDefault()));
+		assertEquals(4, vr.loadCount);
+	}
+
+	public void testSlowViewCreationDoesNotBlockOtherViews() throws Exception {
+		final CountingViewResolver vr = new CountingViewResolver();
+		vr.resolveViewName("fast", Locale.getDefault());
+		vr.blockingViewName = "slow";
+		Thread slowThread = new Thread() {
+			public void run() {
+				try {
+					vr.resolveViewName("slow", Locale.getDefault());
+				}
+				catch (Exception ex) {
+					throw new IllegalStateException(ex.toString());
+				}
+			}
+		};
+		synchronized (vr) {
+			slowThread.start();
+			while (!vr.blocked) {
+				vr.wait();
+			}
+			// Both cached and newly created views resolve while "slow" is still being created.
+			assertNotNull(vr.resolveViewName("fast", Locale.getDefault()));
+			assertNotNull(vr.resolveViewName("other", Locale.getDefault()));
+			vr.blockingViewName = null;
+			vr.notifyAll();
+		}
+		slowThread.join();
+		assertNotNull(vr.resolveViewName("slow", Locale.getDefault()));
+		assertEquals(3, vr.loadCount);
+	}
+
+
+	private static class CountingViewResolver extends AbstractCachingViewResolver {
+
+		public int loadCount;
+
+		public String blockingViewName;
+
+		public boolean blocked;
+
+		protected synchronized View loadView(String viewName, Locale locale) throws Exception {
+			this.loadCount++;
+			if (viewName.equals(this.blockingViewName)) {
+				this.blocked = true;
+				notifyAll();
+				while (this.blockingViewName != null) {
+					wait();
+				}
+			}
+			return (viewName.startsWith("unknown") ? null : new InternalResourceView(viewName));
+		}
+	}
+
 
 	public static class TestView extends InternalResourceView {
 